@@ -0,0 +1,91 @@
+package com.skax.aiplatform.common.util.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ValidationOptions;
+
+/**
+ * 대용량 CSV 파일 경로 검증 (헤더 UTF-8 검증, 순차 전체 검사, 병렬 전체 검사).
+ * 파일은 요청한 크기로 생성하며, {@code corpusDirectory}를 지정하면 같은 크기의 파일을 다시 만들지 않고 재사용한다.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LargeCsvBenchmark -p megabytes=4096 -p corpusDirectory=/data/corpus
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class LargeCsvBenchmark {
+
+    private static final String ORIGINAL_NAME = "large.csv";
+
+    @Param({"256"})
+    public long megabytes;
+
+    /**
+     * 생성 파일을 보관할 디렉터리. 비우면 임시 디렉터리에 만들고 끝나면 삭제한다.
+     */
+    @Param({""})
+    public String corpusDirectory;
+
+    private Path directory;
+    private boolean temporary;
+    private Path csv;
+    private final ValidationOptions utf8 = ValidationOptions.builder().checkUTF8Encoding(true).build();
+    private final ValidationOptions fullScan = ValidationOptions.builder().fullUtf8Scan(true).build();
+    private final ValidationOptions parallelScan = ValidationOptions.builder().parallelScan(true).build();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        temporary = corpusDirectory.isEmpty();
+        directory = temporary ? Files.createTempDirectory("file-check-large-csv") : Paths.get(corpusDirectory);
+        csv = SampleCorpus.generateLargeCsv(directory.resolve(megabytes + "mb_" + SampleCorpus.LARGE_CSV_NAME),
+                megabytes << 20);
+        MultipartFileHeaderChecker.warmUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (temporary) {
+            ValidationBenchmark.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public FileCheckResult headerUtf8() {
+        return MultipartFileHeaderChecker.validate(csv, ORIGINAL_NAME, false, utf8);
+    }
+
+    @Benchmark
+    public FileCheckResult fullScan() {
+        return MultipartFileHeaderChecker.validate(csv, ORIGINAL_NAME, false, fullScan);
+    }
+
+    @Benchmark
+    public FileCheckResult parallelScan() {
+        return MultipartFileHeaderChecker.validate(csv, ORIGINAL_NAME, false, parallelScan);
+    }
+}
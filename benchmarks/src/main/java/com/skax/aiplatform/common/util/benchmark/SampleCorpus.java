@@ -0,0 +1,437 @@
+package com.skax.aiplatform.common.util.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+
+/**
+ * 벤치마크용 샘플 파일을 결정적으로 생성한다.
+ * 허용 확장자 14종마다 올바른 샘플({@code o_})과 확장자를 위장한 샘플({@code x_})을 만들고,
+ * CSV는 UTF-8, UTF-8-SIG(BOM), EUC-KR 세 가지 인코딩으로 만든다 (EUC-KR은 UTF-8 검증 모드에서 거부됨).
+ * 난수 시드와 ZIP 엔트리 시각을 고정하므로 같은 버전이면 어느 환경에서나 같은 바이트가 나온다.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.skax.aiplatform.common.util.benchmark.SampleCorpus /tmp/corpus [대용량 CSV MB]
+ * </pre>
+ */
+public final class SampleCorpus {
+
+    /**
+     * 생성되는 샘플 파일명 (벤치마크 파라미터와 같은 순서).
+     */
+    public static final List<String> SAMPLE_NAMES = List.of(
+            "o_csv_utf8.csv", "o_csv_utf8sig.csv", "x_csv_euckr.csv", "x_csv.csv",
+            "o_txt.txt", "x_txt.txt",
+            "o_xml.xml", "x_xml.xml",
+            "o_pdf.pdf", "x_pdf.pdf",
+            "o_png.png", "x_png.png",
+            "o_jpg.jpg", "x_jpg.jpg",
+            "o_jpeg.jpeg", "x_jpeg.jpeg",
+            "o_zip.zip", "x_zip.zip",
+            "o_xlsx.xlsx", "x_xlsx.xlsx",
+            "o_docx.docx", "x_docx.docx",
+            "o_pptx.pptx", "x_pptx.pptx",
+            "o_xls.xls", "x_xls.xls",
+            "o_doc.doc", "x_doc.doc",
+            "o_ppt.ppt", "x_ppt.ppt");
+
+    /**
+     * 대용량 CSV 파일명.
+     */
+    public static final String LARGE_CSV_NAME = "o_csv_large.csv";
+
+    private static final long SEED = 0x5EED_F11EL;
+    private static final int CSV_ROWS = 2_000;
+    private static final int IMAGE_SIZE = 64;
+    private static final int STREAM_SIZE = 1024;
+    private static final int LARGE_CSV_BUFFER_SIZE = 1 << 20;
+    private static final long BYTES_PER_MEGABYTE = 1L << 20;
+    // ZIP 엔트리 시각 (DOS 시각으로 저장되어 시간대에 무관)
+    private static final LocalDateTime ZIP_ENTRY_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private static final String CSV_HEADER = "id,이름,도시,금액,메모\n";
+    private static final String[] NAMES = {"김민수", "이서연", "박지훈", "최유진", "정하늘", "강도윤", "조수아", "윤지호"};
+    private static final String[] CITIES = {"서울", "부산", "대구", "인천", "광주", "대전", "울산", "세종"};
+    private static final String[] MEMOS = {"정상", "\"쉼표, 포함\"", "\"따옴표 \"\"인용\"\" 포함\"", "확인 필요"};
+
+    private SampleCorpus() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("사용법: SampleCorpus <출력 디렉터리> [대용량 CSV 크기(MB)]");
+            System.exit(1);
+        }
+        Path directory = Paths.get(args[0]);
+        for (Path file : generate(directory)) {
+            System.out.printf("%-24s %,12d bytes%n", file.getFileName(), Files.size(file));
+        }
+        if (args.length > 1) {
+            Path large = generateLargeCsv(directory.resolve(LARGE_CSV_NAME),
+                    Long.parseLong(args[1]) * BYTES_PER_MEGABYTE);
+            System.out.printf("%-24s %,12d bytes%n", large.getFileName(), Files.size(large));
+        }
+    }
+
+    /**
+     * 디렉터리에 {@link #SAMPLE_NAMES}의 샘플을 모두 생성한다 (있으면 덮어씀).
+     *
+     * @return 생성한 파일 경로 목록
+     */
+    public static List<Path> generate(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, byte[]> samples = samples();
+        List<Path> files = new ArrayList<>(samples.size());
+        for (String name : SAMPLE_NAMES) {
+            Path file = directory.resolve(name);
+            Files.write(file, samples.get(name));
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * 샘플 파일명별 내용을 메모리에 생성한다.
+     */
+    public static Map<String, byte[]> samples() throws IOException {
+        byte[] csv = csv(CSV_ROWS).getBytes(StandardCharsets.UTF_8);
+        byte[] text = text().getBytes(StandardCharsets.UTF_8);
+        byte[] xml = xml().getBytes(StandardCharsets.UTF_8);
+        byte[] pdf = pdf();
+        byte[] png = image("png");
+        byte[] jpeg = image("jpg");
+        byte[] zip = zip();
+        byte[] xlsx = xlsx();
+        byte[] docx = docx();
+        byte[] pptx = pptx();
+        byte[] xls = xls();
+        byte[] doc = doc();
+        byte[] ppt = ppt();
+
+        Map<String, byte[]> samples = new LinkedHashMap<>();
+        samples.put("o_csv_utf8.csv", csv);
+        samples.put("o_csv_utf8sig.csv", concat(UTF8_BOM, csv));
+        samples.put("x_csv_euckr.csv", csv(CSV_ROWS).getBytes(EUC_KR));
+        samples.put("x_csv.csv", png);
+        samples.put("o_txt.txt", text);
+        samples.put("x_txt.txt", pdf);
+        samples.put("o_xml.xml", xml);
+        samples.put("x_xml.xml", pdf);
+        samples.put("o_pdf.pdf", pdf);
+        samples.put("x_pdf.pdf", png);
+        samples.put("o_png.png", png);
+        samples.put("x_png.png", jpeg);
+        samples.put("o_jpg.jpg", jpeg);
+        samples.put("x_jpg.jpg", png);
+        samples.put("o_jpeg.jpeg", jpeg);
+        samples.put("x_jpeg.jpeg", png);
+        samples.put("o_zip.zip", zip);
+        samples.put("x_zip.zip", pdf);
+        samples.put("o_xlsx.xlsx", xlsx);
+        samples.put("x_xlsx.xlsx", docx);
+        samples.put("o_docx.docx", docx);
+        samples.put("x_docx.docx", zip);
+        samples.put("o_pptx.pptx", pptx);
+        samples.put("x_pptx.pptx", xlsx);
+        samples.put("o_xls.xls", xls);
+        samples.put("x_xls.xls", doc);
+        samples.put("o_doc.doc", doc);
+        samples.put("x_doc.doc", ppt);
+        samples.put("o_ppt.ppt", ppt);
+        samples.put("x_ppt.ppt", xls);
+        return samples;
+    }
+
+    /**
+     * 지정 크기 이상의 UTF-8 CSV를 스트리밍으로 생성한다. 같은 크기의 파일이 이미 있으면 다시 만들지 않는다.
+     *
+     * @param file  생성할 파일
+     * @param bytes 최소 크기 (마지막 행까지 채우므로 약간 커질 수 있음)
+     * @return 생성한 파일
+     */
+    public static Path generateLargeCsv(Path file, long bytes) throws IOException {
+        if (Files.isRegularFile(file) && Files.size(file) >= bytes
+                && Files.size(file) < bytes + LARGE_CSV_BUFFER_SIZE) {
+            return file;
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Random random = new Random(SEED);
+        StringBuilder row = new StringBuilder(128);
+        long written = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file),
+                StandardCharsets.UTF_8), LARGE_CSV_BUFFER_SIZE)) {
+            writer.write(CSV_HEADER);
+            written += CSV_HEADER.getBytes(StandardCharsets.UTF_8).length;
+            for (long id = 1; written < bytes; id++) {
+                row.setLength(0);
+                appendRow(row, id, random);
+                String line = row.toString();
+                writer.write(line);
+                written += line.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return file;
+    }
+
+    private static String csv(int rows) {
+        Random random = new Random(SEED);
+        StringBuilder csv = new StringBuilder(rows * 48);
+        csv.append(CSV_HEADER);
+        for (int id = 1; id <= rows; id++) {
+            appendRow(csv, id, random);
+        }
+        return csv.toString();
+    }
+
+    private static void appendRow(StringBuilder row, long id, Random random) {
+        row.append(id).append(',')
+                .append(NAMES[random.nextInt(NAMES.length)]).append(',')
+                .append(CITIES[random.nextInt(CITIES.length)]).append(',')
+                .append(random.nextInt(1_000_000)).append(',')
+                .append(MEMOS[random.nextInt(MEMOS.length)]).append('\n');
+    }
+
+    private static String text() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 200; i++) {
+            text.append(i).append(". 파일 검증 벤치마크용 텍스트 문단입니다. The quick brown fox jumps over the lazy dog.\n");
+        }
+        return text.toString();
+    }
+
+    private static String xml() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<records>\n");
+        Random random = new Random(SEED);
+        for (int id = 1; id <= 200; id++) {
+            xml.append("  <record id=\"").append(id).append("\"><name>")
+                    .append(NAMES[random.nextInt(NAMES.length)]).append("</name><city>")
+                    .append(CITIES[random.nextInt(CITIES.length)]).append("</city></record>\n");
+        }
+        return xml.append("</records>\n").toString();
+    }
+
+    /**
+     * 교차 참조 표의 오프셋까지 맞춘 1쪽짜리 PDF.
+     */
+    private static byte[] pdf() {
+        String content = "BT /F1 12 Tf 72 720 Td (file-check benchmark) Tj ET\n";
+        String[] objects = {
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents 4 0 R >>",
+                "<< /Length " + content.length() + " >>\nstream\n" + content + "endstream"
+        };
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        long[] offsets = new long[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        long xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f \n");
+        for (long offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R >>\n")
+                .append("startxref\n").append(xref).append("\n%%EOF\n");
+        return pdf.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] image(String format) throws IOException {
+        BufferedImage image = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < IMAGE_SIZE; y++) {
+            for (int x = 0; x < IMAGE_SIZE; x++) {
+                image.setRGB(x, y, (x * 4) << 16 | (y * 4) << 8 | (x ^ y) * 4);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IllegalStateException("이미지 포맷을 쓸 수 없습니다: " + format);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] zip() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("readme.txt", text());
+        entries.put("data/records.csv", csv(200));
+        return zip(entries);
+    }
+
+    private static byte[] xlsx() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("[Content_Types].xml", contentTypes(
+                "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                        + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"));
+        entries.put("_rels/.rels", rootRelationships("xl/workbook.xml"));
+        entries.put("xl/workbook.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+                + " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                + "<sheets><sheet name=\"Sheet1\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+        entries.put("xl/_rels/workbook.xml.rels", relationships("rId1",
+                "http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet",
+                "worksheets/sheet1.xml"));
+        StringBuilder sheet = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        Random random = new Random(SEED);
+        for (int row = 1; row <= 200; row++) {
+            sheet.append("<row r=\"").append(row).append("\"><c r=\"A").append(row).append("\"><v>")
+                    .append(row).append("</v></c><c r=\"B").append(row).append("\"><v>")
+                    .append(random.nextInt(1_000_000)).append("</v></c></row>");
+        }
+        entries.put("xl/worksheets/sheet1.xml", sheet.append("</sheetData></worksheet>").toString());
+        return zip(entries);
+    }
+
+    private static byte[] docx() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("[Content_Types].xml", contentTypes(
+                "<Override PartName=\"/word/document.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/>"));
+        entries.put("_rels/.rels", rootRelationships("word/document.xml"));
+        StringBuilder document = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>");
+        for (String line : text().split("\n")) {
+            document.append("<w:p><w:r><w:t>").append(line).append("</w:t></w:r></w:p>");
+        }
+        entries.put("word/document.xml", document.append("</w:body></w:document>").toString());
+        return zip(entries);
+    }
+
+    private static byte[] pptx() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("[Content_Types].xml", contentTypes(
+                "<Override PartName=\"/ppt/presentation.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.presentationml.presentation.main+xml\"/>"
+                        + "<Override PartName=\"/ppt/slides/slide1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.presentationml.slide+xml\"/>"));
+        entries.put("_rels/.rels", rootRelationships("ppt/presentation.xml"));
+        entries.put("ppt/presentation.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<p:presentation xmlns:p=\"http://schemas.openxmlformats.org/presentationml/2006/main\""
+                + " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                + "<p:sldIdLst><p:sldId id=\"256\" r:id=\"rId1\"/></p:sldIdLst></p:presentation>");
+        entries.put("ppt/_rels/presentation.xml.rels", relationships("rId1",
+                "http://schemas.openxmlformats.org/officeDocument/2006/relationships/slide", "slides/slide1.xml"));
+        entries.put("ppt/slides/slide1.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<p:sld xmlns:p=\"http://schemas.openxmlformats.org/presentationml/2006/main\"><p:cSld><p:spTree/>"
+                + "</p:cSld></p:sld>");
+        return zip(entries);
+    }
+
+    private static String contentTypes(String overrides) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + overrides + "</Types>";
+    }
+
+    private static String rootRelationships(String mainPart) {
+        return relationships("rId1",
+                "http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument", mainPart);
+    }
+
+    private static String relationships(String id, String type, String target) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"" + id + "\" Type=\"" + type + "\" Target=\"" + target + "\"/>"
+                + "</Relationships>";
+    }
+
+    private static byte[] zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setTimeLocal(ZIP_ENTRY_TIME);
+                zip.putNextEntry(zipEntry);
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * BIFF8 BOF/EOF 레코드만 담은 Workbook 스트림.
+     */
+    private static byte[] xls() throws IOException {
+        byte[] workbook = {
+                0x09, 0x08, 0x10, 0x00, 0x00, 0x06, 0x05, 0x00, 0x54, 0x38, (byte) 0xCD, 0x07,
+                (byte) 0xC1, 0x00, 0x01, 0x00, 0x06, 0x04, 0x00, 0x00,
+                0x0A, 0x00, 0x00, 0x00
+        };
+        return compoundFile(Map.of("Workbook", pad(workbook)));
+    }
+
+    /**
+     * FIB 식별자(0xA5EC)로 시작하는 WordDocument 스트림과 표 스트림.
+     */
+    private static byte[] doc() throws IOException {
+        byte[] wordDocument = {(byte) 0xEC, (byte) 0xA5, (byte) 0xC1, 0x00};
+        Map<String, byte[]> streams = new LinkedHashMap<>();
+        streams.put("WordDocument", pad(wordDocument));
+        streams.put("1Table", pad(new byte[0]));
+        return compoundFile(streams);
+    }
+
+    /**
+     * PowerPoint Document 스트림과 Current User 스트림.
+     */
+    private static byte[] ppt() throws IOException {
+        Map<String, byte[]> streams = new LinkedHashMap<>();
+        streams.put("PowerPoint Document", pad(new byte[]{0x0F, 0x00, (byte) 0xE8, 0x03}));
+        streams.put("Current User", pad(new byte[]{0x00, 0x00, (byte) 0xF6, 0x0F}));
+        return compoundFile(streams);
+    }
+
+    private static byte[] compoundFile(Map<String, byte[]> streams) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem()) {
+            for (Map.Entry<String, byte[]> stream : streams.entrySet()) {
+                fs.createDocument(new ByteArrayInputStream(stream.getValue()), stream.getKey());
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            fs.writeFilesystem(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 스트림을 1 KB로 채운다. 복합 문서 전체가 헤더 구간(8 KB)보다 작아 스트림 검증에서도 디렉터리까지 확인된다.
+     */
+    private static byte[] pad(byte[] prefix) {
+        byte[] padded = new byte[STREAM_SIZE];
+        System.arraycopy(prefix, 0, padded, 0, prefix.length);
+        return padded;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] joined = new byte[first.length + second.length];
+        System.arraycopy(first, 0, joined, 0, first.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+}
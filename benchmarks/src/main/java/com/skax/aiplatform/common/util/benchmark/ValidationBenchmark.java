@@ -0,0 +1,113 @@
+package com.skax.aiplatform.common.util.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+
+/**
+ * 샘플별 검증 처리량과 평균 시간.
+ * MultipartFile 경로와 파일 경로 검증을 기본 모드와 UTF-8 검증 모드로 각각 측정한다.
+ * 할당률은 {@code -prof gc}로 함께 측정한다.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ValidationBenchmark -prof gc
+ * java -jar target/benchmarks.jar ValidationBenchmark -p sample=o_csv_utf8.csv,x_xlsx.xlsx
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ValidationBenchmark {
+
+    @Param({
+            "o_csv_utf8.csv", "o_csv_utf8sig.csv", "x_csv_euckr.csv", "x_csv.csv",
+            "o_txt.txt", "x_txt.txt",
+            "o_xml.xml", "x_xml.xml",
+            "o_pdf.pdf", "x_pdf.pdf",
+            "o_png.png", "x_png.png",
+            "o_jpg.jpg", "x_jpg.jpg",
+            "o_jpeg.jpeg", "x_jpeg.jpeg",
+            "o_zip.zip", "x_zip.zip",
+            "o_xlsx.xlsx", "x_xlsx.xlsx",
+            "o_docx.docx", "x_docx.docx",
+            "o_pptx.pptx", "x_pptx.pptx",
+            "o_xls.xls", "x_xls.xls",
+            "o_doc.doc", "x_doc.doc",
+            "o_ppt.ppt", "x_ppt.ppt"
+    })
+    public String sample;
+
+    private Path corpus;
+    private Path path;
+    private MultipartFile multipartFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        corpus = Files.createTempDirectory("file-check-corpus");
+        SampleCorpus.generate(corpus);
+        path = corpus.resolve(sample);
+        multipartFile = new MockMultipartFile("file", sample, null, Files.readAllBytes(path));
+        MultipartFileHeaderChecker.warmUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        deleteRecursively(corpus);
+    }
+
+    @Benchmark
+    public FileCheckResult multipart() {
+        return MultipartFileHeaderChecker.validate(multipartFile);
+    }
+
+    @Benchmark
+    public FileCheckResult multipartUtf8() {
+        return MultipartFileHeaderChecker.validate(multipartFile, true);
+    }
+
+    @Benchmark
+    public FileCheckResult path() {
+        return MultipartFileHeaderChecker.validate(path, sample);
+    }
+
+    @Benchmark
+    public FileCheckResult pathUtf8() {
+        return MultipartFileHeaderChecker.validate(path, sample, false, true);
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.skax.aiplatform.common.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 여러 파일을 동시에 검증하는 실행기.
+ * 동시에 실행 중인 작업 수를 상한 이하로 유지하고, 결과는 입력 순서대로 돌려준다.
+ * 실패 즉시 중단(fail-fast) 모드에서는 첫 실패를 받는 즉시 남은 작업을 취소한다.
+ */
+final class BatchValidator {
+
+    private BatchValidator() {
+    }
+
+    /**
+     * 공유 실행기 보관 클래스.
+     * Java 21 이상에서 실행되면 가상 스레드 실행기를, 그 외에는 데몬 스레드 캐시 풀을 사용한다.
+     * 동시 실행 수는 호출마다 {@link #run}이 제한하므로 풀 자체에는 상한을 두지 않는다.
+     */
+    private static final class ExecutorHolder {
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        private ExecutorHolder() {
+        }
+
+        private static ExecutorService createExecutor() {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // 가상 스레드를 지원하지 않는 런타임
+                return Executors.newCachedThreadPool(new DaemonThreadFactory());
+            }
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "file-check-batch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * 입력마다 작업을 실행하고 결과를 입력 순서대로 모은다.
+     *
+     * @param inputs         검증 대상
+     * @param task           입력 하나를 검증하는 작업
+     * @param isFailure      실패 결과 판별
+     * @param cancelled      취소되었거나 실행되지 않은 입력 자리에 넣을 결과
+     * @param maxConcurrency 동시에 실행할 최대 작업 수
+     * @param failFast       첫 실패 시 남은 작업을 취소할지 여부
+     * @return 입력 순서와 같은 결과 목록 (수정 불가)
+     */
+    static <T, R> List<R> run(List<T> inputs, Function<T, R> task, Predicate<R> isFailure, R cancelled,
+                              int maxConcurrency, boolean failFast) {
+        int count = inputs.size();
+        List<R> results = new ArrayList<>(Collections.nCopies(count, cancelled));
+        ExecutorCompletionService<R> completion = new ExecutorCompletionService<>(ExecutorHolder.EXECUTOR);
+        Map<Future<R>, Integer> pending = new IdentityHashMap<>();
+
+        int next = 0;
+        boolean stopped = false;
+        try {
+            while (!pending.isEmpty() || (!stopped && next < count)) {
+                // 상한까지 작업을 채운 뒤 완료를 하나씩 받는다
+                while (!stopped && next < count && pending.size() < maxConcurrency) {
+                    T input = inputs.get(next);
+                    pending.put(completion.submit(() -> task.apply(input)), next);
+                    next++;
+                }
+                Future<R> done = completion.take();
+                Integer index = pending.remove(done);
+                R result = resultOf(done, cancelled);
+                results.set(index, result);
+                if (failFast && !stopped && result != cancelled && isFailure.test(result)) {
+                    stopped = true;
+                    cancelAll(pending);
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll(pending);
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            cancelAll(pending);
+            throw e;
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private static <R> R resultOf(Future<R> future, R cancelled) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            return cancelled;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static <R> void cancelAll(Map<Future<R>, Integer> pending) {
+        for (Future<R> future : pending.keySet()) {
+            future.cancel(true);
+        }
+    }
+}
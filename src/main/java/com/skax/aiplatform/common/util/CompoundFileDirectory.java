@@ -0,0 +1,304 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * OLE2 복합 문서(CFB, Compound File Binary)의 디렉터리로 .doc/.xls/.ppt를 구분하는 최소 리더.
+ * 헤더 섹터, 디렉터리 체인을 따라가는 데 필요한 FAT 섹터, 디렉터리 섹터만 위치 지정 읽기로 읽고,
+ * 루트 스토리지의 자식 중 {@code Workbook}/{@code Book}, {@code WordDocument}, {@code PowerPoint Document}
+ * 스트림이 있는지 확인한다. 스트림 내용은 읽지 않는다.
+ */
+final class CompoundFileDirectory {
+
+    private static final int HEADER_SIZE = 512;
+    private static final int DIRECTORY_ENTRY_SIZE = 128;
+    private static final int HEADER_DIFAT_ENTRIES = 109;
+    private static final int HEADER_DIFAT_OFFSET = 0x4C;
+
+    // 섹터 번호 중 이 값보다 크면 특수 값 (ENDOFCHAIN, FREESECT 등)
+    private static final long MAX_REGULAR_SECTOR = 0xFFFFFFFAL;
+    private static final int NO_STREAM = -1;
+
+    private static final int TYPE_STREAM = 2;
+    private static final int TYPE_ROOT = 5;
+
+    // 손상되었거나 순환하는 체인에 대비한 상한
+    private static final int MAX_DIRECTORY_SECTORS = 4096;
+    private static final int MAX_DIFAT_SECTORS = 1024;
+
+    private static final byte[] SIGNATURE = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    private CompoundFileDirectory() {
+    }
+
+    /**
+     * 판별 결과.
+     */
+    enum Kind {
+        XLS(SignatureMatcher.MIME_XLS, ".xls"),
+        DOC(SignatureMatcher.MIME_DOC, ".doc"),
+        PPT(SignatureMatcher.MIME_PPT, ".ppt"),
+        // 올바른 복합 문서이지만 Office 97-2003 문서가 아님 (암호화된 OOXML, msg, msi 등)
+        OTHER(SignatureMatcher.MIME_TIKA_MSOFFICE, null),
+        // 헤더나 디렉터리 체인이 손상되어 읽을 수 없음
+        CORRUPT(null, null);
+
+        private final String mime;
+        private final String extension;
+
+        Kind(String mime, String extension) {
+            this.mime = mime;
+            this.extension = extension;
+        }
+
+        String mime() {
+            return mime;
+        }
+
+        /**
+         * 이 종류에 해당하는 확장자 (소문자, 점 포함). 해당 없으면 null.
+         */
+        String extension() {
+            return extension;
+        }
+    }
+
+    /**
+     * 헤더와 디렉터리를 읽어 문서 종류를 판별한다.
+     */
+    static Kind classify(PositionalSource source) throws IOException {
+        long size = source.size();
+        if (size < HEADER_SIZE) {
+            return Kind.CORRUPT;
+        }
+        ByteBuffer header = readAt(source, 0L, HEADER_SIZE);
+        if (header.limit() < HEADER_SIZE || !hasSignature(header)) {
+            return Kind.CORRUPT;
+        }
+        int sectorShift = header.getShort(0x1E) & 0xFFFF;
+        if ((header.getShort(0x1C) & 0xFFFF) != 0xFFFE || (sectorShift != 9 && sectorShift != 12)) {
+            return Kind.CORRUPT;
+        }
+
+        Reader reader = new Reader(source, header, sectorShift);
+        byte[] directory = reader.readDirectory(header.getInt(0x30) & 0xFFFFFFFFL);
+        if (directory == null) {
+            return Kind.CORRUPT;
+        }
+        return classifyEntries(ByteBuffer.wrap(directory).order(ByteOrder.LITTLE_ENDIAN),
+                directory.length / DIRECTORY_ENTRY_SIZE);
+    }
+
+    /**
+     * 루트 스토리지의 자식(레드-블랙 트리)을 순회하며 문서 스트림을 찾는다.
+     */
+    private static Kind classifyEntries(ByteBuffer entries, int count) {
+        if (count == 0 || entries.get(0x42) != TYPE_ROOT) {
+            return Kind.CORRUPT;
+        }
+        boolean workbook = false;
+        boolean wordDocument = false;
+        boolean powerPoint = false;
+
+        int[] stack = new int[count];
+        int top = 0;
+        int visited = 0;
+        int child = entries.getInt(0x4C);
+        if (child != NO_STREAM) {
+            stack[top++] = child;
+        }
+        while (top > 0) {
+            int id = stack[--top];
+            if (id < 0 || id >= count || ++visited > count) {
+                // 범위를 벗어나거나 순환하는 트리
+                return Kind.CORRUPT;
+            }
+            int base = id * DIRECTORY_ENTRY_SIZE;
+            if (entries.get(base + 0x42) == TYPE_STREAM) {
+                String name = entryName(entries, base);
+                workbook |= "Workbook".equalsIgnoreCase(name) || "Book".equalsIgnoreCase(name);
+                wordDocument |= "WordDocument".equalsIgnoreCase(name);
+                powerPoint |= "PowerPoint Document".equalsIgnoreCase(name);
+            }
+            int left = entries.getInt(base + 0x44);
+            int right = entries.getInt(base + 0x48);
+            if (left != NO_STREAM) {
+                if (top == stack.length) {
+                    return Kind.CORRUPT;
+                }
+                stack[top++] = left;
+            }
+            if (right != NO_STREAM) {
+                if (top == stack.length) {
+                    return Kind.CORRUPT;
+                }
+                stack[top++] = right;
+            }
+        }
+
+        if (wordDocument) {
+            return Kind.DOC;
+        }
+        if (powerPoint) {
+            return Kind.PPT;
+        }
+        if (workbook) {
+            return Kind.XLS;
+        }
+        return Kind.OTHER;
+    }
+
+    private static String entryName(ByteBuffer entries, int base) {
+        // 이름 길이는 종료 문자(2바이트)를 포함한 바이트 수
+        int length = Math.min(entries.getShort(base + 0x40) & 0xFFFF, 64);
+        int chars = Math.max(0, length / 2 - 1);
+        char[] name = new char[chars];
+        for (int i = 0; i < chars; i++) {
+            name[i] = entries.getChar(base + i * 2);
+        }
+        return new String(name);
+    }
+
+    private static boolean hasSignature(ByteBuffer header) {
+        for (int i = 0; i < SIGNATURE.length; i++) {
+            if (header.get(i) != SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer readAt(PositionalSource source, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        int read = source.read(position, buffer);
+        buffer.clear();
+        buffer.limit(Math.max(read, 0));
+        return buffer;
+    }
+
+    /**
+     * 섹터 체인을 따라가는 리더. 마지막으로 읽은 FAT 섹터만 캐시한다.
+     */
+    private static final class Reader {
+
+        private final PositionalSource source;
+        private final ByteBuffer header;
+        private final int sectorSize;
+        private final int entriesPerSector;
+
+        private long cachedFatIndex = -1L;
+        private ByteBuffer cachedFat;
+        private long difatSector;
+        private long difatIndex;
+        private ByteBuffer difat;
+
+        Reader(PositionalSource source, ByteBuffer header, int sectorShift) {
+            this.source = source;
+            this.header = header;
+            this.sectorSize = 1 << sectorShift;
+            this.entriesPerSector = sectorSize / Integer.BYTES;
+            this.difatSector = header.getInt(0x44) & 0xFFFFFFFFL;
+        }
+
+        /**
+         * 디렉터리 체인 전체를 읽는다.
+         *
+         * @return 디렉터리 바이트, 체인이 손상되었으면 null
+         */
+        byte[] readDirectory(long firstSector) throws IOException {
+            byte[] directory = new byte[sectorSize];
+            int length = 0;
+            long sector = firstSector;
+            for (int count = 0; sector <= MAX_REGULAR_SECTOR; count++) {
+                if (count == MAX_DIRECTORY_SECTORS) {
+                    return null;
+                }
+                ByteBuffer data = readSector(sector);
+                if (data == null) {
+                    return null;
+                }
+                if (length + data.limit() > directory.length) {
+                    directory = Arrays.copyOf(directory, directory.length * 2);
+                }
+                data.get(0, directory, length, data.limit());
+                length += data.limit();
+                sector = nextSector(sector);
+                if (sector < 0) {
+                    return null;
+                }
+            }
+            return Arrays.copyOf(directory, length - length % DIRECTORY_ENTRY_SIZE);
+        }
+
+        private ByteBuffer readSector(long sector) throws IOException {
+            long position = (sector + 1) * sectorSize;
+            if (position >= source.size()) {
+                return null;
+            }
+            ByteBuffer data = readAt(source, position, sectorSize);
+            // 파일 끝의 마지막 섹터는 잘려 있을 수 있음 (일부 작성 도구)
+            return data.limit() >= DIRECTORY_ENTRY_SIZE ? data : null;
+        }
+
+        /**
+         * FAT에서 다음 섹터 번호를 찾는다.
+         *
+         * @return 다음 섹터 번호 (특수 값 포함), FAT를 읽을 수 없으면 -1
+         */
+        private long nextSector(long sector) throws IOException {
+            long fatIndex = sector / entriesPerSector;
+            if (fatIndex != cachedFatIndex) {
+                long fatSector = fatSectorLocation(fatIndex);
+                if (fatSector < 0 || fatSector > MAX_REGULAR_SECTOR) {
+                    return -1L;
+                }
+                ByteBuffer fat = readSector(fatSector);
+                if (fat == null || fat.limit() < sectorSize) {
+                    return -1L;
+                }
+                cachedFat = fat;
+                cachedFatIndex = fatIndex;
+            }
+            return cachedFat.getInt((int) (sector % entriesPerSector) * Integer.BYTES) & 0xFFFFFFFFL;
+        }
+
+        /**
+         * n번째 FAT 섹터의 위치. 헤더의 DIFAT 배열(109개) 이후는 DIFAT 섹터 체인을 따라간다.
+         */
+        private long fatSectorLocation(long fatIndex) throws IOException {
+            if (fatIndex < HEADER_DIFAT_ENTRIES) {
+                return header.getInt(HEADER_DIFAT_OFFSET + (int) fatIndex * Integer.BYTES) & 0xFFFFFFFFL;
+            }
+            // DIFAT 섹터 하나에는 (entriesPerSector - 1)개의 항목과 다음 DIFAT 섹터 번호가 있음
+            int perDifat = entriesPerSector - 1;
+            long target = (fatIndex - HEADER_DIFAT_ENTRIES) / perDifat;
+            if (target >= MAX_DIFAT_SECTORS) {
+                return -1L;
+            }
+            if (difat == null || target < difatIndex) {
+                difatSector = header.getInt(0x44) & 0xFFFFFFFFL;
+                difatIndex = 0L;
+                difat = null;
+            }
+            while (difat == null || difatIndex < target) {
+                if (difat != null) {
+                    difatSector = difat.getInt(perDifat * Integer.BYTES) & 0xFFFFFFFFL;
+                    difatIndex++;
+                }
+                if (difatSector > MAX_REGULAR_SECTOR) {
+                    return -1L;
+                }
+                difat = readSector(difatSector);
+                if (difat == null || difat.limit() < sectorSize) {
+                    return -1L;
+                }
+            }
+            int slot = (int) ((fatIndex - HEADER_DIFAT_ENTRIES) % perDifat);
+            return difat.getInt(slot * Integer.BYTES) & 0xFFFFFFFFL;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * CSV 파일 전체를 검사하는 스캐너.
+ * UTF-8 유효성(첫 잘못된 시퀀스 위치)을 한 번의 읽기로 확인한다.
+ * 구조 검사({@link CsvStructureScanner}, 따옴표 규칙 포함)를 요청하면 같은 읽기에서 함께 수행한다
+ * (따옴표 상태가 구간 경계를 넘으므로 순차 모드만).
+ * 순차 모드와, 파일을 구간별로 메모리 매핑해 포크-조인 풀에서 병렬로 검사하는 모드를 제공하며
+ * 두 모드는 항상 같은 결과를 낸다.
+ */
+final class CsvContentScanner {
+
+    // 병렬 모드 기본 구간 크기
+    static final int DEFAULT_SEGMENT_SIZE = 32 * 1024 * 1024;
+
+    // UTF-8 문자 하나가 구간 경계를 넘어 이어질 수 있는 최대 바이트 수
+    private static final int MAX_CONTINUATION_BYTES = 3;
+
+    private CsvContentScanner() {
+    }
+
+    /**
+     * 검사 결과.
+     *
+     * @param malformedOffset 처음 발견한 잘못된 UTF-8 시퀀스의 바이트 위치, 없으면 -1
+     * @param structure       구조 검사 결과, 요청하지 않았으면 null
+     */
+    record Result(long malformedOffset, CsvStructureScanner.Result structure) {
+    }
+
+    /**
+     * 데이터를 조각 단위로 받아 순차 검사하는 누적기.
+     * 리액티브 스트림처럼 데이터를 직접 읽어 올 수 없는 호출자가 받은 조각을 차례로 넘길 때 사용한다.
+     */
+    static final class Incremental {
+
+        private final Utf8StreamValidator validator = new Utf8StreamValidator();
+        private final CsvStructureScanner structure;
+
+        Incremental() {
+            this(null);
+        }
+
+        /**
+         * @param structure 같은 데이터로 구조 검사를 함께 수행할 스캐너, 필요 없으면 null
+         */
+        Incremental(CsvStructureScanner structure) {
+            this.structure = structure;
+        }
+
+        /**
+         * 버퍼의 {@code [from, to)} 구간을 검사한다.
+         *
+         * @return 지금까지 올바른 UTF-8이고 구조 위반이 없으면 true, 아니면 false (이후 검사 불필요)
+         */
+        boolean update(ByteBuffer buffer, int from, int to) {
+            if (!validator.update(buffer, from, to)) {
+                return false;
+            }
+            return structure == null || structure.update(buffer, from, to);
+        }
+
+        /**
+         * 입력 끝을 알리고 결과를 돌려준다.
+         */
+        Result finish() {
+            validator.finish();
+            return new Result(validator.errorOffset(), structure != null ? structure.finish() : null);
+        }
+    }
+
+    /**
+     * 스트림을 끝까지 순차 검사한다. 스트림은 닫지 않는다.
+     *
+     * @param structure 함께 수행할 구조 검사, 필요 없으면 null
+     */
+    static Result scan(InputStream input, byte[] buffer, CsvStructureScanner structure) throws IOException {
+        Incremental scan = new Incremental(structure);
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        int n;
+        while ((n = input.read(buffer)) > 0) {
+            if (!scan.update(view, 0, n)) {
+                break;
+            }
+        }
+        return scan.finish();
+    }
+
+    /**
+     * 세션 채널을 처음부터 끝까지 위치 지정 읽기로 순차 검사한다. 헤더 구간은 이미 읽은 버퍼를 사용한다.
+     *
+     * @param structure 함께 수행할 구조 검사, 필요 없으면 null
+     */
+    static Result scan(PathValidationSession session, int bufferSize, CsvStructureScanner structure)
+            throws IOException {
+        Incremental scan = new Incremental(structure);
+        byte[] header = session.head();
+        if (!scan.update(ByteBuffer.wrap(header), 0, header.length)) {
+            return scan.finish();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        long position = header.length;
+        while (position < session.size()) {
+            buffer.clear();
+            int n = session.read(position, buffer);
+            if (n <= 0) {
+                break;
+            }
+            if (!scan.update(buffer, 0, n)) {
+                break;
+            }
+            position += n;
+        }
+        return scan.finish();
+    }
+
+    /**
+     * 파일을 {@code segmentSize} 단위로 메모리 매핑하여 포크-조인 풀에서 병렬 검사한다.
+     * 각 구간은 자신의 범위에서 시작하는 UTF-8 문자를 검사하고, 경계를 넘는 마지막 문자는 다음 구간의 바이트까지 읽어 완성한다.
+     * 다음 구간은 앞쪽의 연속 바이트를 건너뛰고 시작하며, 건너뛴 바이트 수가 앞 구간이 넘겨 읽은 바이트 수와 같은지
+     * 병합 단계에서 확인한다.
+     */
+    static Result scanParallel(FileChannel channel, long size, int segmentSize, ForkJoinPool pool)
+            throws IOException {
+        if (segmentSize <= MAX_CONTINUATION_BYTES) {
+            throw new IllegalArgumentException("segmentSize must be greater than " + MAX_CONTINUATION_BYTES);
+        }
+        int segments = (int) Math.max(1L, (size + segmentSize - 1) / segmentSize);
+        SegmentResult[] results = new SegmentResult[segments];
+        try {
+            pool.invoke(new SegmentRangeTask(channel, size, segmentSize, results, 0, segments));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        int previousOverrun = 0;
+        for (int i = 0; i < segments; i++) {
+            SegmentResult result = results[i];
+            long start = (long) i * segmentSize;
+            if (result.skipped != previousOverrun) {
+                // 앞 구간 문자에 속하지 않는 연속 바이트가 구간 시작에 있음
+                return new Result(start + Math.min(result.skipped, previousOverrun), null);
+            }
+            if (result.malformedOffset >= 0) {
+                return new Result(result.malformedOffset, null);
+            }
+            previousOverrun = result.overrun;
+        }
+        return new Result(-1L, null);
+    }
+
+    private static SegmentResult scanSegment(FileChannel channel, long size, long start, long end)
+            throws IOException {
+        long mappedEnd = Math.min(size, end + MAX_CONTINUATION_BYTES);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, mappedEnd - start);
+        int limit = (int) (end - start);
+        int mappedLimit = (int) (mappedEnd - start);
+
+        // 앞 구간 문자에 이어지는 연속 바이트 건너뛰기 (최대 3바이트)
+        int skipped = 0;
+        if (start > 0) {
+            while (skipped < MAX_CONTINUATION_BYTES && skipped < limit
+                    && (buffer.get(skipped) & 0xC0) == 0x80) {
+                skipped++;
+            }
+        }
+
+        Utf8StreamValidator validator = new Utf8StreamValidator(start + skipped);
+        if (!validator.update(buffer, skipped, limit)) {
+            return new SegmentResult(skipped, 0, validator.errorOffset());
+        }
+        // 구간 끝에서 끊긴 문자는 다음 구간 바이트로 완성
+        int overrun = 0;
+        while (validator.hasPendingSequence() && limit + overrun < mappedLimit) {
+            if (!validator.update(buffer, limit + overrun, limit + overrun + 1)) {
+                return new SegmentResult(skipped, overrun, validator.errorOffset());
+            }
+            overrun++;
+        }
+        if (validator.hasPendingSequence() && mappedEnd == size) {
+            validator.finish();
+        }
+        return new SegmentResult(skipped, overrun, validator.errorOffset());
+    }
+
+    private record SegmentResult(int skipped, int overrun, long malformedOffset) {
+    }
+
+    /**
+     * 구간 인덱스 범위를 절반씩 나누어 병렬로 검사하는 작업.
+     */
+    private static final class SegmentRangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long size;
+        private final int segmentSize;
+        private final transient SegmentResult[] results;
+        private final int from;
+        private final int to;
+
+        SegmentRangeTask(FileChannel channel, long size, int segmentSize, SegmentResult[] results, int from,
+                         int to) {
+            this.channel = channel;
+            this.size = size;
+            this.segmentSize = segmentSize;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                long start = (long) from * segmentSize;
+                long end = Math.min(size, start + segmentSize);
+                try {
+                    results[from] = scanSegment(channel, size, start, end);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SegmentRangeTask(channel, size, segmentSize, results, from, middle),
+                    new SegmentRangeTask(channel, size, segmentSize, results, middle, to));
+        }
+    }
+}
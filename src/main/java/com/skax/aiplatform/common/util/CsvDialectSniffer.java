@@ -0,0 +1,578 @@
+package com.skax.aiplatform.common.util;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ColumnType;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.CsvInfo;
+
+/**
+ * CSV 형식 판별에 이미 읽은 앞부분으로 방언(구분자, 따옴표, 줄 끝)과 스키마(헤더 여부, 열 이름, 열 타입)를 추정한다.
+ * 셀은 바이트 구간으로만 분류하고, 문자열은 헤더 행의 열 이름에만 만든다.
+ * 표본이 파일 일부이면 끝에서 잘린 레코드는 제외하고, 완전한 레코드의 평균 길이로 전체 행 수를 추정한다.
+ */
+final class CsvDialectSniffer {
+
+    // 구분자 후보 (같은 조건이면 앞선 후보 우선)
+    private static final byte[] DELIMITER_CANDIDATES = {',', ';', '\t'};
+    // 구분자 판별에 쓰는 최대 레코드 수
+    private static final int DELIMITER_SAMPLE_RECORDS = 20;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private static final String TERMINATOR_LF = "\n";
+    private static final String TERMINATOR_CRLF = "\r\n";
+    private static final String TERMINATOR_CR = "\r";
+
+    private CsvDialectSniffer() {
+    }
+
+    /**
+     * 앞부분 레코드들에서 따옴표 밖 개수가 모든 레코드에서 같은 구분자 후보(쉼표, 세미콜론, 탭) 중 가장 많은 것을 고른다.
+     * 그런 후보가 없으면 첫 레코드에 가장 많이 나온 후보, 후보가 전혀 없으면 쉼표를 고른다.
+     *
+     * @param sample 파일 앞부분
+     * @param length 사용할 길이
+     */
+    static byte detectDelimiter(byte[] sample, int length) {
+        int candidates = DELIMITER_CANDIDATES.length;
+        int[] first = new int[candidates];
+        int[] current = new int[candidates];
+        boolean[] consistent = new boolean[candidates];
+        Arrays.fill(consistent, true);
+        int records = 0;
+        boolean quoted = false;
+        boolean empty = true;
+        for (int i = bomLength(sample, length); i < length && records < DELIMITER_SAMPLE_RECORDS; i++) {
+            byte b = sample[i];
+            if (b == '"') {
+                quoted = !quoted;
+                empty = false;
+            } else if (quoted) {
+                continue;
+            } else if (b == '\n' || b == '\r') {
+                if (empty) {
+                    // 빈 줄은 비교하지 않음
+                    continue;
+                }
+                for (int c = 0; c < candidates; c++) {
+                    if (records == 0) {
+                        first[c] = current[c];
+                    } else if (current[c] != first[c]) {
+                        consistent[c] = false;
+                    }
+                    current[c] = 0;
+                }
+                records++;
+                empty = true;
+            } else {
+                empty = false;
+                for (int c = 0; c < candidates; c++) {
+                    if (b == DELIMITER_CANDIDATES[c]) {
+                        current[c]++;
+                    }
+                }
+            }
+        }
+        if (records == 0) {
+            // 줄 끝이 없는 한 줄짜리 표본
+            System.arraycopy(current, 0, first, 0, candidates);
+        }
+        int best = -1;
+        for (int c = 0; c < candidates; c++) {
+            if (first[c] > 0 && consistent[c] && (best < 0 || first[c] > first[best])) {
+                best = c;
+            }
+        }
+        if (best < 0) {
+            for (int c = 0; c < candidates; c++) {
+                if (first[c] > 0 && (best < 0 || first[c] > first[best])) {
+                    best = c;
+                }
+            }
+        }
+        return best < 0 ? DELIMITER_CANDIDATES[0] : DELIMITER_CANDIDATES[best];
+    }
+
+    /**
+     * 표본으로 방언과 스키마를 추정한다.
+     *
+     * @param sample   파일 앞부분
+     * @param length   사용할 길이
+     * @param complete 표본이 파일 전체인지 여부
+     * @param size     파일 크기, 모르면 -1
+     * @param charset  열 이름 디코딩에 쓸 문자셋
+     * @return CSV 정보 (레코드 수는 -1), 완전한 레코드가 하나도 없으면 null
+     */
+    static CsvInfo sniff(byte[] sample, int length, boolean complete, long size, Charset charset) {
+        int start = bomLength(sample, length);
+        byte delimiter = detectDelimiter(sample, length);
+        byte quote = detectQuote(sample, length, delimiter);
+        return new Parser(sample, start, length, complete, delimiter, quote).run(size, charset);
+    }
+
+    /**
+     * 필드 시작 문자로 따옴표 문자를 정한다. 큰따옴표로 시작하는 필드가 없고 작은따옴표로 감싼 필드만 있으면
+     * 작은따옴표, 아니면 큰따옴표(RFC 4180).
+     * 작은따옴표는 같은 줄에서 닫히고 바로 뒤에 구분자나 줄 끝이 와야 감싼 필드로 센다
+     * (Excel이 텍스트 표시로 붙이는 {@code '00123} 같은 값은 세지 않음).
+     *
+     * @param sample    파일 앞부분
+     * @param length    사용할 길이
+     * @param delimiter 판별한 구분자
+     */
+    static byte detectQuote(byte[] sample, int length, byte delimiter) {
+        int doubleQuotes = 0;
+        int singleQuotes = 0;
+        boolean fieldStart = true;
+        for (int i = bomLength(sample, length); i < length; i++) {
+            byte b = sample[i];
+            if (fieldStart) {
+                if (b == '"') {
+                    doubleQuotes++;
+                } else if (b == '\'' && isClosedField(sample, i + 1, length, delimiter)) {
+                    singleQuotes++;
+                }
+            }
+            fieldStart = b == delimiter || b == '\n' || b == '\r';
+        }
+        return doubleQuotes == 0 && singleQuotes > 0 ? (byte) '\'' : (byte) '"';
+    }
+
+    /**
+     * {@code from}부터 같은 줄에 작은따옴표가 있고 그 뒤가 구분자, 줄 끝, 표본 끝인지 확인한다.
+     */
+    private static boolean isClosedField(byte[] sample, int from, int length, byte delimiter) {
+        for (int i = from; i < length && sample[i] != '\n' && sample[i] != '\r'; i++) {
+            if (sample[i] == '\'') {
+                if (i + 1 == length) {
+                    return true;
+                }
+                byte next = sample[i + 1];
+                if (next == delimiter || next == '\n' || next == '\r') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int bomLength(byte[] bytes, int length) {
+        return length >= UTF8_BOM.length && bytes[0] == UTF8_BOM[0] && bytes[1] == UTF8_BOM[1]
+                && bytes[2] == UTF8_BOM[2] ? UTF8_BOM.length : 0;
+    }
+
+    /**
+     * 셀 바이트 구간의 타입. 빈 셀은 null.
+     * 0으로 시작하는 두 자리 이상의 정수는 코드 값(우편번호, 전화번호 등)으로 보고 텍스트로 분류한다.
+     */
+    static ColumnType classify(byte[] bytes, int from, int to) {
+        while (from < to && isBlank(bytes[from])) {
+            from++;
+        }
+        while (to > from && isBlank(bytes[to - 1])) {
+            to--;
+        }
+        int length = to - from;
+        if (length == 0) {
+            return null;
+        }
+        if (equalsIgnoreCase(bytes, from, to, "true") || equalsIgnoreCase(bytes, from, to, "false")) {
+            return ColumnType.BOOLEAN;
+        }
+        int dateEnd = dateEnd(bytes, from, to);
+        if (dateEnd == to) {
+            return ColumnType.DATE;
+        }
+        if (dateEnd > 0 && isTimeSuffix(bytes, dateEnd, to)) {
+            return ColumnType.DATETIME;
+        }
+        return classifyNumber(bytes, from, to);
+    }
+
+    /**
+     * 두 타입을 합친다. 정수와 실수는 실수로, 날짜와 날짜시각은 날짜시각으로, 그 밖의 조합은 텍스트로 합친다.
+     */
+    static ColumnType merge(ColumnType a, ColumnType b) {
+        if (a == null || a == b) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (isOneOf(a, b, ColumnType.INTEGER, ColumnType.DECIMAL)) {
+            return ColumnType.DECIMAL;
+        }
+        if (isOneOf(a, b, ColumnType.DATE, ColumnType.DATETIME)) {
+            return ColumnType.DATETIME;
+        }
+        return ColumnType.TEXT;
+    }
+
+    private static boolean isOneOf(ColumnType a, ColumnType b, ColumnType x, ColumnType y) {
+        return (a == x || a == y) && (b == x || b == y);
+    }
+
+    private static ColumnType classifyNumber(byte[] bytes, int from, int to) {
+        int i = from;
+        if (bytes[i] == '+' || bytes[i] == '-') {
+            i++;
+        }
+        int integerStart = i;
+        while (i < to && isDigit(bytes[i])) {
+            i++;
+        }
+        int integerDigits = i - integerStart;
+        if (i == to) {
+            if (integerDigits == 0) {
+                return ColumnType.TEXT;
+            }
+            return integerDigits > 1 && bytes[integerStart] == '0' ? ColumnType.TEXT : ColumnType.INTEGER;
+        }
+        int fractionDigits = 0;
+        if (bytes[i] == '.') {
+            i++;
+            int fractionStart = i;
+            while (i < to && isDigit(bytes[i])) {
+                i++;
+            }
+            fractionDigits = i - fractionStart;
+        }
+        if (integerDigits + fractionDigits == 0) {
+            return ColumnType.TEXT;
+        }
+        if (i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            if (i < to && (bytes[i] == '+' || bytes[i] == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < to && isDigit(bytes[i])) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return ColumnType.TEXT;
+            }
+        }
+        return i == to ? ColumnType.DECIMAL : ColumnType.TEXT;
+    }
+
+    /**
+     * {@code yyyy-MM-dd} ({@code -}, {@code /}, {@code .} 구분) 형식이면 날짜 끝 위치, 아니면 -1.
+     */
+    private static int dateEnd(byte[] bytes, int from, int to) {
+        if (to - from < 10) {
+            return -1;
+        }
+        byte separator = bytes[from + 4];
+        if (separator != '-' && separator != '/' && separator != '.') {
+            return -1;
+        }
+        if (!digits(bytes, from, 4) || bytes[from + 7] != separator || !digits(bytes, from + 5, 2)
+                || !digits(bytes, from + 8, 2)) {
+            return -1;
+        }
+        int month = (bytes[from + 5] - '0') * 10 + bytes[from + 6] - '0';
+        int day = (bytes[from + 8] - '0') * 10 + bytes[from + 9] - '0';
+        return month >= 1 && month <= 12 && day >= 1 && day <= 31 ? from + 10 : -1;
+    }
+
+    /**
+     * 날짜 뒤의 {@code [T ]HH:mm[:ss[.fff]][Z|±HH[:]mm]} 형식 여부.
+     */
+    private static boolean isTimeSuffix(byte[] bytes, int from, int to) {
+        if (to - from < 6 || (bytes[from] != 'T' && bytes[from] != ' ')) {
+            return false;
+        }
+        int i = from + 1;
+        if (!digits(bytes, i, 2) || bytes[i + 2] != ':' || !digits(bytes, i + 3, 2)) {
+            return false;
+        }
+        i += 5;
+        if (i + 3 <= to && bytes[i] == ':' && digits(bytes, i + 1, 2)) {
+            i += 3;
+            if (i < to && bytes[i] == '.') {
+                i++;
+                int fractionStart = i;
+                while (i < to && isDigit(bytes[i])) {
+                    i++;
+                }
+                if (i == fractionStart) {
+                    return false;
+                }
+            }
+        }
+        if (i == to) {
+            return true;
+        }
+        if (bytes[i] == 'Z') {
+            return i + 1 == to;
+        }
+        if (bytes[i] != '+' && bytes[i] != '-') {
+            return false;
+        }
+        int offsetLength = to - i - 1;
+        return offsetLength == 4 && digits(bytes, i + 1, 4)
+                || offsetLength == 5 && digits(bytes, i + 1, 2) && bytes[i + 3] == ':' && digits(bytes, i + 4, 2);
+    }
+
+    private static boolean digits(byte[] bytes, int from, int count) {
+        if (from + count > bytes.length) {
+            return false;
+        }
+        for (int i = from; i < from + count; i++) {
+            if (!isDigit(bytes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static boolean equalsIgnoreCase(byte[] bytes, int from, int to, String ascii) {
+        if (to - from != ascii.length()) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length(); i++) {
+            if ((bytes[from + i] | 0x20) != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 표본 한 건을 레코드 단위로 읽으며 타입을 모으는 파서.
+     * 레코드가 끝나기 전에는 셀 구간만 모아 두므로, 표본 끝에서 잘린 레코드는 결과에 반영되지 않는다.
+     */
+    private static final class Parser {
+
+        private final byte[] sample;
+        private final int start;
+        private final int length;
+        private final boolean complete;
+        private final byte delimiter;
+        private final byte quote;
+
+        // 현재 레코드의 셀 구간과 이스케이프된 따옴표 포함 여부
+        private int[] cellFrom = new int[16];
+        private int[] cellTo = new int[16];
+        private boolean[] cellEscaped = new boolean[16];
+        private int cells;
+
+        // 첫 레코드 (헤더 후보)
+        private int[] headerFrom;
+        private int[] headerTo;
+        private boolean[] headerEscaped;
+        private ColumnType[] headerTypes;
+        // 두 번째 레코드부터 합친 열 타입
+        private ColumnType[] dataTypes;
+        private int columns;
+
+        private long records;
+        // 마지막 완전한 레코드의 끝 위치
+        private int consumed;
+        private String lineTerminator;
+
+        Parser(byte[] sample, int start, int length, boolean complete, byte delimiter, byte quote) {
+            this.sample = sample;
+            this.start = start;
+            this.length = length;
+            this.complete = complete;
+            this.delimiter = delimiter;
+            this.quote = quote;
+            this.consumed = start;
+        }
+
+        CsvInfo run(long size, Charset charset) {
+            parse();
+            if (records == 0) {
+                return null;
+            }
+            boolean header = detectHeader();
+            List<String> names = header ? columnNames(charset) : List.of();
+            List<ColumnType> types = new ArrayList<>(columns);
+            for (int c = 0; c < columns; c++) {
+                ColumnType type = header ? dataTypes[c] : merge(headerTypes[c], dataTypes[c]);
+                types.add(type != null ? type : ColumnType.TEXT);
+            }
+            long dataRows = records - (header ? 1 : 0);
+            return new CsvInfo((char) delimiter, (char) quote, lineTerminator, header, columns, names,
+                    List.copyOf(types), estimateRows(dataRows, header, size), -1L);
+        }
+
+        private void parse() {
+            int i = start;
+            while (i < length) {
+                int recordStart = i;
+                cells = 0;
+                boolean ended = false;
+                while (!ended) {
+                    // 셀 하나 읽기
+                    int from;
+                    int to;
+                    boolean escaped = false;
+                    if (i < length && sample[i] == quote) {
+                        from = ++i;
+                        while (true) {
+                            if (i >= length) {
+                                // 표본 끝에서 따옴표 필드가 잘림
+                                return;
+                            }
+                            if (sample[i] == quote) {
+                                if (i + 1 < length && sample[i + 1] == quote) {
+                                    escaped = true;
+                                    i += 2;
+                                    continue;
+                                }
+                                break;
+                            }
+                            i++;
+                        }
+                        to = i++;
+                        // 닫는 따옴표 뒤의 문자는 구조 검사의 몫이므로 다음 구분자까지 건너뜀
+                        while (i < length && sample[i] != delimiter && sample[i] != '\n' && sample[i] != '\r') {
+                            i++;
+                        }
+                    } else {
+                        from = i;
+                        while (i < length && sample[i] != delimiter && sample[i] != '\n' && sample[i] != '\r') {
+                            i++;
+                        }
+                        to = i;
+                    }
+                    addCell(from, to, escaped);
+
+                    if (i >= length) {
+                        if (!complete) {
+                            // 표본 끝에서 잘린 레코드
+                            return;
+                        }
+                        ended = true;
+                    } else if (sample[i] == delimiter) {
+                        i++;
+                        if (i >= length && !complete) {
+                            return;
+                        }
+                    } else {
+                        String terminator = TERMINATOR_LF;
+                        if (sample[i] == '\r') {
+                            if (i + 1 < length && sample[i + 1] == '\n') {
+                                terminator = TERMINATOR_CRLF;
+                                i++;
+                            } else if (i + 1 >= length && !complete) {
+                                // CR 다음 바이트를 알 수 없음
+                                return;
+                            } else {
+                                terminator = TERMINATOR_CR;
+                            }
+                        }
+                        i++;
+                        if (lineTerminator == null) {
+                            lineTerminator = terminator;
+                        }
+                        ended = true;
+                    }
+                }
+                if (cells == 1 && cellFrom[0] == cellTo[0] && cellFrom[0] == recordStart) {
+                    // 빈 줄
+                    consumed = i;
+                    continue;
+                }
+                endRecord();
+                consumed = i;
+            }
+        }
+
+        private void addCell(int from, int to, boolean escaped) {
+            if (cells == cellFrom.length) {
+                cellFrom = Arrays.copyOf(cellFrom, cells * 2);
+                cellTo = Arrays.copyOf(cellTo, cells * 2);
+                cellEscaped = Arrays.copyOf(cellEscaped, cells * 2);
+            }
+            cellFrom[cells] = from;
+            cellTo[cells] = to;
+            cellEscaped[cells] = escaped;
+            cells++;
+        }
+
+        private void endRecord() {
+            if (records == 0) {
+                columns = cells;
+                headerFrom = Arrays.copyOf(cellFrom, cells);
+                headerTo = Arrays.copyOf(cellTo, cells);
+                headerEscaped = Arrays.copyOf(cellEscaped, cells);
+                headerTypes = new ColumnType[cells];
+                dataTypes = new ColumnType[cells];
+                for (int c = 0; c < cells; c++) {
+                    headerTypes[c] = classify(sample, cellFrom[c], cellTo[c]);
+                }
+            } else {
+                // 열 개수가 다른 레코드는 구조 검사의 몫이므로 첫 레코드의 열까지만 반영
+                int limit = Math.min(cells, columns);
+                for (int c = 0; c < limit; c++) {
+                    dataTypes[c] = merge(dataTypes[c], classify(sample, cellFrom[c], cellTo[c]));
+                }
+            }
+            records++;
+        }
+
+        /**
+         * 첫 레코드가 헤더인지 판단한다.
+         * 텍스트가 아닌 타입으로 추정된 열에서 첫 레코드 값이 텍스트면 헤더 쪽, 같은 계열이면 데이터 쪽으로 센다.
+         * 판단할 열이 없으면(모든 열이 텍스트) 첫 레코드의 모든 값이 비어 있지 않은 텍스트일 때 헤더로 본다.
+         */
+        private boolean detectHeader() {
+            int votes = 0;
+            boolean allText = true;
+            for (int c = 0; c < columns; c++) {
+                ColumnType first = headerTypes[c];
+                ColumnType data = dataTypes[c];
+                if (first != ColumnType.TEXT) {
+                    allText = false;
+                }
+                if (data == null || data == ColumnType.TEXT || first == null) {
+                    continue;
+                }
+                votes += first == ColumnType.TEXT ? 1 : -1;
+            }
+            return votes > 0 || votes == 0 && allText;
+        }
+
+        private List<String> columnNames(Charset charset) {
+            List<String> names = new ArrayList<>(columns);
+            for (int c = 0; c < columns; c++) {
+                String name = new String(sample, headerFrom[c], headerTo[c] - headerFrom[c], charset).trim();
+                if (headerEscaped[c]) {
+                    String single = String.valueOf((char) quote);
+                    name = name.replace(single + single, single);
+                }
+                names.add(name);
+            }
+            return List.copyOf(names);
+        }
+
+        /**
+         * 데이터 행 수. 표본이 파일 전체면 정확한 값, 아니면 완전한 레코드의 평균 바이트 수로 추정한 값.
+         */
+        private long estimateRows(long dataRows, boolean header, long size) {
+            if (complete) {
+                return dataRows;
+            }
+            if (size < 0 || consumed <= start) {
+                return -1L;
+            }
+            double bytesPerRecord = (double) (consumed - start) / records;
+            long estimatedRecords = Math.round((size - start) / bytesPerRecord);
+            return Math.max(dataRows, estimatedRecords - (header ? 1 : 0));
+        }
+    }
+}
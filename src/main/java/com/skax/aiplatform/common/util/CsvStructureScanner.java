@@ -0,0 +1,320 @@
+package com.skax.aiplatform.common.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * RFC 4180 기준으로 CSV 구조를 한 번의 스트리밍으로 검사하는 상태 기계.
+ * 따옴표 필드 규칙(필드 시작에서만 열고, 안쪽 따옴표는 두 번 쓰며, 닫은 뒤에는 구분자나 줄 끝만 허용),
+ * 모든 레코드의 열 개수가 첫 레코드와 같은지, 줄 끝이 CRLF나 LF 한 가지로만 쓰였는지 확인한다.
+ * 상태는 고정 크기 필드뿐이므로 파일 크기와 관계없이 메모리 사용량이 일정하다.
+ * 따옴표 문자는 방언 추정 결과를 따른다 (기본은 큰따옴표, 작은따옴표로 감싼 필드만 있으면 작은따옴표).
+ * 구분자, 따옴표, CR, LF는 모두 ASCII이므로 UTF-8 등 ASCII 호환 인코딩이면 바이트 단위로 판단할 수 있다.
+ * 데이터 끝의 빈 줄은 무시하며, 중간의 빈 줄은 열이 하나인 파일에서만 레코드로 인정한다.
+ */
+final class CsvStructureScanner {
+
+    /**
+     * 구조 위반 종류.
+     */
+    enum Violation {
+        /** 따옴표로 연 필드가 파일 끝까지 닫히지 않음 */
+        UNCLOSED_QUOTE,
+        /** 따옴표로 시작하지 않은 필드 안의 따옴표, 또는 닫는 따옴표 뒤의 문자 */
+        STRAY_QUOTE,
+        /** 레코드의 열 개수가 첫 레코드와 다름 */
+        COLUMN_COUNT,
+        /** LF 없이 쓰인 CR, 또는 CRLF와 LF를 섞어 쓴 줄 끝 */
+        LINE_ENDING
+    }
+
+    /**
+     * 검사 결과.
+     *
+     * @param records        레코드 수 (첫 레코드 포함, 끝의 빈 줄 제외)
+     * @param columns        첫 레코드의 열 수 (레코드가 없으면 0)
+     * @param delimiter      검사에 쓴 필드 구분자
+     * @param quote          검사에 쓴 따옴표 문자
+     * @param lineTerminator 레코드 구분 줄 끝 ({@code "\r\n"} 또는 {@code "\n"}), 줄 끝이 없으면 null
+     * @param violation      처음 발견한 위반, 없으면 null
+     * @param line           위반이 있는 줄 번호 (1부터), 위반이 없으면 0
+     */
+    record Result(long records, int columns, byte delimiter, byte quote, String lineTerminator,
+                  Violation violation, long line) {
+
+        boolean valid() {
+            return violation == null;
+        }
+    }
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private static final String TERMINATOR_LF = "\n";
+    private static final String TERMINATOR_CRLF = "\r\n";
+
+    // 바이트 분류
+    private static final byte ORDINARY = 0;
+    private static final byte DELIMITER = 1;
+    private static final byte QUOTE = 2;
+    private static final byte CR = 3;
+    private static final byte LF = 4;
+
+    // 상태
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    // 따옴표 필드 안에서 따옴표를 읽음 (두 번째 따옴표면 이스케이프, 아니면 필드 닫힘)
+    private static final int QUOTE_SEEN = 3;
+    // 따옴표 밖에서 CR을 읽음 (LF가 와야 함)
+    private static final int CR_SEEN = 4;
+
+    private final byte delimiter;
+    private final byte quote;
+    private final byte[] classes = new byte[256];
+
+    private int state = FIELD_START;
+    // BOM 후보로 건너뛴 바이트 수 (BOM이 아니면 일반 문자로 되돌림)
+    private int bomMatched;
+    private boolean bomPossible = true;
+    // 현재 레코드에서 끝난 필드 수
+    private int fields;
+    // 현재 레코드가 줄 끝으로 바로 시작했는지 (빈 줄)
+    private boolean blankRecord;
+    private int columns = -1;
+    private long records;
+    // 아직 레코드로 인정하지 않은 중간 빈 줄 수와 첫 빈 줄 번호
+    private long pendingBlanks;
+    private long pendingBlankLine;
+    private String lineTerminator;
+    private long line = 1L;
+    private long quoteLine;
+    private Violation violation;
+    private long violationLine;
+
+    /**
+     * @param delimiter 필드 구분자 ({@link CsvDialectSniffer#detectDelimiter}로 판별)
+     * @param quote     따옴표 문자 ({@link CsvDialectSniffer#detectQuote}로 판별)
+     */
+    CsvStructureScanner(byte delimiter, byte quote) {
+        this.delimiter = delimiter;
+        this.quote = quote;
+        classes[delimiter & 0xFF] = DELIMITER;
+        classes[quote & 0xFF] = QUOTE;
+        classes['\r'] = CR;
+        classes['\n'] = LF;
+    }
+
+    /**
+     * 버퍼의 {@code [from, to)} 구간을 절대 인덱스로 검사한다. 버퍼의 position/limit은 변경하지 않는다.
+     *
+     * @return 지금까지 위반이 없으면 true, 위반을 발견하면 false (이후 호출은 무시됨)
+     */
+    boolean update(ByteBuffer buffer, int from, int to) {
+        if (violation != null) {
+            return false;
+        }
+        int i = from;
+        if (bomPossible) {
+            i = skipBom(buffer, i, to);
+        }
+        while (i < to) {
+            if (state == UNQUOTED) {
+                // 일반 문자 구간은 분류 표만 보고 건너뜀
+                while (i < to && classes[buffer.get(i) & 0xFF] == ORDINARY) {
+                    i++;
+                }
+            } else if (state == QUOTED) {
+                byte type;
+                while (i < to && (type = classes[buffer.get(i) & 0xFF]) != QUOTE) {
+                    if (type == LF) {
+                        line++;
+                    }
+                    i++;
+                }
+            }
+            if (i == to) {
+                break;
+            }
+            if (!accept(classes[buffer.get(i) & 0xFF])) {
+                return false;
+            }
+            i++;
+        }
+        return true;
+    }
+
+    /**
+     * 입력 끝을 알리고 결과를 돌려준다.
+     */
+    Result finish() {
+        if (violation == null) {
+            if (bomPossible && bomMatched > 0) {
+                // BOM 앞부분만 있는 파일은 일반 문자로 취급
+                state = UNQUOTED;
+            }
+            switch (state) {
+                case QUOTED -> fail(Violation.UNCLOSED_QUOTE, quoteLine);
+                case CR_SEEN -> fail(Violation.LINE_ENDING, line);
+                case UNQUOTED, QUOTE_SEEN -> {
+                    fields++;
+                    endRecord(null);
+                }
+                default -> {
+                    if (fields > 0) {
+                        // 구분자로 끝난 마지막 레코드 (빈 마지막 필드)
+                        fields++;
+                        endRecord(null);
+                    }
+                }
+            }
+        }
+        return new Result(records, Math.max(columns, 0), delimiter, quote, lineTerminator, violation,
+                violationLine);
+    }
+
+    private int skipBom(ByteBuffer buffer, int i, int to) {
+        while (i < to && bomMatched < UTF8_BOM.length) {
+            if (buffer.get(i) != UTF8_BOM[bomMatched]) {
+                bomPossible = false;
+                if (bomMatched > 0) {
+                    // BOM이 아니었으므로 건너뛴 바이트는 첫 필드의 일반 문자
+                    state = UNQUOTED;
+                }
+                return i;
+            }
+            bomMatched++;
+            i++;
+        }
+        if (bomMatched == UTF8_BOM.length) {
+            bomPossible = false;
+        }
+        return i;
+    }
+
+    private boolean accept(byte type) {
+        switch (state) {
+            case FIELD_START -> {
+                switch (type) {
+                    case QUOTE -> {
+                        state = QUOTED;
+                        quoteLine = line;
+                    }
+                    case DELIMITER -> fields++;
+                    case CR -> {
+                        blankRecord = fields == 0;
+                        fields++;
+                        state = CR_SEEN;
+                    }
+                    case LF -> {
+                        blankRecord = fields == 0;
+                        fields++;
+                        return endRecord(TERMINATOR_LF);
+                    }
+                    default -> state = UNQUOTED;
+                }
+            }
+            case UNQUOTED -> {
+                switch (type) {
+                    case QUOTE -> {
+                        return fail(Violation.STRAY_QUOTE, line);
+                    }
+                    case DELIMITER -> {
+                        fields++;
+                        state = FIELD_START;
+                    }
+                    case CR -> {
+                        fields++;
+                        state = CR_SEEN;
+                    }
+                    case LF -> {
+                        fields++;
+                        return endRecord(TERMINATOR_LF);
+                    }
+                    default -> {
+                    }
+                }
+            }
+            case QUOTED -> {
+                if (type == QUOTE) {
+                    state = QUOTE_SEEN;
+                } else if (type == LF) {
+                    line++;
+                }
+            }
+            case QUOTE_SEEN -> {
+                switch (type) {
+                    case QUOTE -> state = QUOTED;
+                    case DELIMITER -> {
+                        fields++;
+                        state = FIELD_START;
+                    }
+                    case CR -> {
+                        fields++;
+                        state = CR_SEEN;
+                    }
+                    case LF -> {
+                        fields++;
+                        return endRecord(TERMINATOR_LF);
+                    }
+                    default -> {
+                        return fail(Violation.STRAY_QUOTE, line);
+                    }
+                }
+            }
+            default -> {
+                // CR_SEEN
+                if (type != LF) {
+                    return fail(Violation.LINE_ENDING, line);
+                }
+                return endRecord(TERMINATOR_CRLF);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 레코드를 마친다. 필드 수는 마지막 필드까지 센 상태여야 한다.
+     *
+     * @param terminator 레코드를 끝낸 줄 끝, 파일 끝에서 끝났으면 null
+     */
+    private boolean endRecord(String terminator) {
+        if (terminator != null) {
+            if (lineTerminator == null) {
+                lineTerminator = terminator;
+            } else if (!lineTerminator.equals(terminator)) {
+                return fail(Violation.LINE_ENDING, line);
+            }
+        }
+        if (terminator != null && blankRecord) {
+            // 빈 줄은 뒤에 레코드가 이어질 때만 판단 (파일 끝의 빈 줄은 무시)
+            if (pendingBlanks++ == 0) {
+                pendingBlankLine = line;
+            }
+        } else {
+            if (columns < 0) {
+                columns = fields;
+            }
+            if (pendingBlanks > 0) {
+                if (columns != 1) {
+                    return fail(Violation.COLUMN_COUNT, pendingBlankLine);
+                }
+                records += pendingBlanks;
+                pendingBlanks = 0;
+            }
+            if (fields != columns) {
+                return fail(Violation.COLUMN_COUNT, line);
+            }
+            records++;
+        }
+        fields = 0;
+        blankRecord = false;
+        state = FIELD_START;
+        line++;
+        return true;
+    }
+
+    private boolean fail(Violation violation, long line) {
+        this.violation = violation;
+        this.violationLine = line;
+        return false;
+    }
+}
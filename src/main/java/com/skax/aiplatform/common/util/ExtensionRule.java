@@ -0,0 +1,275 @@
+package com.skax.aiplatform.common.util;
+
+import java.util.function.Predicate;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+
+/**
+ * 허용 확장자별 검증 규칙 표 (클래스 초기화 시 한 번 구성).
+ * 확장자마다 허용 MIME 토큰, MIME 타입이 맞지 않을 때 헤더로 확인하는 시그니처 검사, 파일 타입을 묶어 두며,
+ * 파일 경로 검증과 스트림 검증이 같은 표로 판단한다.
+ * 확장자 조회는 대소문자를 구분하지 않으며 문자열을 새로 만들지 않는다.
+ */
+enum ExtensionRule {
+
+    // 선언 순서가 허용 확장자 안내 문구의 순서가 된다
+    PPT(".ppt", FileType.PRESENTATION, Container.OLE2, ExtensionRule::isOle2, "ms-powerpoint"),
+    PPTX(".pptx", FileType.PRESENTATION, Container.OOXML, ExtensionRule::isOoxmlPresentation,
+            "presentationml", "ms-powerpoint", "ooxml"),
+    PDF(".pdf", FileType.PDF, Container.NONE, ExtensionRule::isPdf, "pdf"),
+    DOC(".doc", FileType.DOCUMENT, Container.OLE2, ExtensionRule::isOle2, "msword"),
+    DOCX(".docx", FileType.DOCUMENT, Container.OOXML, ExtensionRule::isOoxmlWord,
+            "wordprocessingml", "msword", "ooxml"),
+    XLS(".xls", FileType.EXCEL, Container.OLE2, ExtensionRule::isOle2, "ms-excel", "spreadsheet"),
+    XLSX(".xlsx", FileType.EXCEL, Container.OOXML, ExtensionRule::isOoxmlSpreadsheet,
+            "spreadsheet", "zip", "ooxml", "ms-excel"),
+    PNG(".png", FileType.IMAGE, Container.NONE, ExtensionRule::isPng, "image/png"),
+    JPG(".jpg", FileType.IMAGE, Container.NONE, ExtensionRule::isJpeg, "image/jpeg"),
+    JPEG(".jpeg", FileType.IMAGE, Container.NONE, ExtensionRule::isJpeg, "image/jpeg"),
+    // 텍스트는 시그니처가 없으므로 MIME 타입으로만 판단
+    TXT(".txt", FileType.TEXT, Container.NONE, header -> false, "text"),
+    ZIP(".zip", FileType.ARCHIVE, Container.NONE, ExtensionRule::isZipLocalHeader, "zip"),
+    CSV(".csv", FileType.CSV, Container.NONE, MultipartFileHeaderChecker::looksLikeCsvFromBytes,
+            "csv", "text/plain", "text/comma-separated-values"),
+    XML(".xml", FileType.XML, Container.NONE, ExtensionRule::isMarkup, "xml");
+
+    /**
+     * 확장자가 가리키는 컨테이너 포맷 (내부 디렉터리로 문서 종류를 확정하는 대상).
+     */
+    enum Container {
+        NONE,
+        // ZIP 기반 문서 (.xlsx, .docx, .pptx)
+        OOXML,
+        // OLE2 복합 문서 (.xls, .doc, .ppt)
+        OLE2
+    }
+
+    // OOXML 메인 파트는 헤더 앞 1KB 평문에서만 찾는다
+    private static final int OOXML_PROBE_BYTES = 1024;
+    // XML 선언/루트 요소 확인 구간
+    private static final int MARKUP_PROBE_BYTES = 5;
+
+    // 형식별 최소 구조 크기 (이보다 작으면 필수 구조를 담을 수 없음)
+    // OLE2: 헤더 512 + FAT 섹터 512 + 디렉터리 섹터 512
+    private static final int MIN_OLE2_BYTES = 1536;
+    // OOXML: [Content_Types].xml 로컬 헤더(30 + 19) + 중앙 디렉터리 항목(46 + 19) + 끝 레코드(22)
+    private static final int MIN_OOXML_BYTES = 136;
+    // ZIP: 빈 아카이브의 끝 레코드
+    private static final int MIN_ZIP_BYTES = 22;
+    // PDF: "%PDF-1.x" + "%%EOF"
+    private static final int MIN_PDF_BYTES = 13;
+    // PNG: 시그니처 8 + IHDR 25 + IDAT 12 + IEND 12 (청크 데이터 제외)
+    private static final int MIN_PNG_BYTES = 57;
+    // JPEG: SOI 2 + SOF(1채널) 13 + SOS(1채널) 10 + EOI 2
+    private static final int MIN_JPEG_BYTES = 27;
+    // XML: "<a/>"
+    private static final int MIN_XML_BYTES = 4;
+    private static final int MIN_TEXT_BYTES = 1;
+
+    // 대소문자 무시 해시로 찾는 개방 주소법 표 (크기는 2의 거듭제곱)
+    private static final ExtensionRule[] TABLE = new ExtensionRule[32];
+    private static final String ALLOWED_TEXT;
+
+    static {
+        StringBuilder text = new StringBuilder();
+        for (ExtensionRule rule : values()) {
+            int slot = hash(rule.extension, 0) & (TABLE.length - 1);
+            while (TABLE[slot] != null) {
+                slot = (slot + 1) & (TABLE.length - 1);
+            }
+            TABLE[slot] = rule;
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(rule.extension);
+        }
+        ALLOWED_TEXT = text.toString();
+    }
+
+    private final String extension;
+    private final FileType fileType;
+    private final Container container;
+    private final Predicate<byte[]> signature;
+    private final String[] mimeTokens;
+
+    ExtensionRule(String extension, FileType fileType, Container container, Predicate<byte[]> signature,
+                  String... mimeTokens) {
+        this.extension = extension;
+        this.fileType = fileType;
+        this.container = container;
+        this.signature = signature;
+        this.mimeTokens = mimeTokens;
+    }
+
+    /**
+     * 소문자 확장자 (점 포함).
+     */
+    String extension() {
+        return extension;
+    }
+
+    FileType fileType() {
+        return fileType;
+    }
+
+    Container container() {
+        return container;
+    }
+
+    /**
+     * 형식의 최소 구조 크기 (바이트). 이보다 작은 파일은 내용을 읽지 않고 거부할 수 있다.
+     */
+    int minSize() {
+        return switch (this) {
+            case PPT, DOC, XLS -> MIN_OLE2_BYTES;
+            case PPTX, DOCX, XLSX -> MIN_OOXML_BYTES;
+            case ZIP -> MIN_ZIP_BYTES;
+            case PDF -> MIN_PDF_BYTES;
+            case PNG -> MIN_PNG_BYTES;
+            case JPG, JPEG -> MIN_JPEG_BYTES;
+            case XML -> MIN_XML_BYTES;
+            case TXT, CSV -> MIN_TEXT_BYTES;
+        };
+    }
+
+    /**
+     * 확장자로 규칙을 찾는다 (대소문자 무시).
+     *
+     * @param extension 점을 포함한 확장자
+     * @return 규칙, 허용되지 않은 확장자면 null
+     */
+    static ExtensionRule of(String extension) {
+        if (extension == null || extension.isEmpty()) {
+            return null;
+        }
+        return lookup(extension, 0);
+    }
+
+    /**
+     * 파일명의 마지막 점 이후를 확장자로 보고 규칙을 찾는다 (확장자 문자열을 잘라내지 않음).
+     *
+     * @return 규칙, 확장자가 없거나 허용되지 않으면 null
+     */
+    static ExtensionRule ofName(String originalName) {
+        if (originalName == null) {
+            return null;
+        }
+        int index = originalName.lastIndexOf('.');
+        return index >= 0 ? lookup(originalName, index) : null;
+    }
+
+    /**
+     * 허용 확장자 목록 안내 문구 (선언 순서).
+     */
+    static String allowedExtensionsText() {
+        return ALLOWED_TEXT;
+    }
+
+    /**
+     * 감지된 MIME 타입이 허용 토큰을 포함하거나, 그렇지 않으면 헤더 시그니처가 확장자와 맞는지 확인한다.
+     */
+    boolean accepts(String mime, byte[] header) {
+        return mimeMatches(mime) || signature.test(header);
+    }
+
+    /**
+     * 감지된 MIME 타입이 허용 토큰 중 하나를 포함하는지 여부 (대소문자 무시).
+     */
+    boolean mimeMatches(String mime) {
+        for (String token : mimeTokens) {
+            if (containsIgnoreCase(mime, token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ExtensionRule lookup(String value, int from) {
+        int mask = TABLE.length - 1;
+        int length = value.length() - from;
+        for (int slot = hash(value, from) & mask; TABLE[slot] != null; slot = (slot + 1) & mask) {
+            ExtensionRule rule = TABLE[slot];
+            if (rule.extension.length() == length && value.regionMatches(true, from, rule.extension, 0, length)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static int hash(String value, int from) {
+        int h = 0;
+        for (int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            h = 31 * h + c;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean containsIgnoreCase(String value, String token) {
+        int end = value.length() - token.length();
+        for (int i = 0; i <= end; i++) {
+            if (value.regionMatches(true, i, token, 0, token.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOle2(byte[] header) {
+        return header.length >= 8 && header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF
+                && header[2] == 0x11 && header[3] == (byte) 0xE0;
+    }
+
+    private static boolean isPdf(byte[] header) {
+        return header.length >= 4 && header[0] == 0x25 && header[1] == 0x50
+                && header[2] == 0x44 && header[3] == 0x46;
+    }
+
+    private static boolean isPng(byte[] header) {
+        return header.length >= 4 && header[0] == (byte) 0x89 && header[1] == 0x50
+                && header[2] == 0x4E && header[3] == 0x47;
+    }
+
+    private static boolean isJpeg(byte[] header) {
+        return header.length >= 3 && header[0] == (byte) 0xFF && header[1] == (byte) 0xD8
+                && header[2] == (byte) 0xFF;
+    }
+
+    private static boolean isZipLocalHeader(byte[] header) {
+        return header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B
+                && header[2] == 0x03 && header[3] == 0x04;
+    }
+
+    private static boolean isOoxmlSpreadsheet(byte[] header) {
+        return hasOoxmlMainPart(header, SignatureMatcher.OOXML_SPREADSHEET_MAIN);
+    }
+
+    private static boolean isOoxmlWord(byte[] header) {
+        return hasOoxmlMainPart(header, SignatureMatcher.OOXML_WORD_MAIN);
+    }
+
+    private static boolean isOoxmlPresentation(byte[] header) {
+        return hasOoxmlMainPart(header, SignatureMatcher.OOXML_PRESENTATION_MAIN);
+    }
+
+    private static boolean hasOoxmlMainPart(byte[] header, byte[] mainPart) {
+        return header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B
+                && SignatureMatcher.indexOf(header, OOXML_PROBE_BYTES, mainPart) >= 0;
+    }
+
+    /**
+     * 앞쪽 공백을 건너뛴 첫 바이트가 {@code <}인지 확인한다 (XML 선언 또는 루트 요소).
+     */
+    private static boolean isMarkup(byte[] header) {
+        int limit = Math.min(MARKUP_PROBE_BYTES, header.length);
+        for (int i = 0; i < limit; i++) {
+            if ((header[i] & 0xFF) > ' ') {
+                return header[i] == '<';
+            }
+        }
+        return false;
+    }
+}
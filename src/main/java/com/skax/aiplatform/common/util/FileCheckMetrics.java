@@ -0,0 +1,27 @@
+package com.skax.aiplatform.common.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 파일 검증 메트릭을 Micrometer 레지스트리에 연결하는 바인더.
+ * Spring Boot Actuator 환경에서는 {@link FileCheckMetricsAutoConfiguration}이 빈으로 등록하므로 별도 설정이 필요 없다.
+ * 그 외 환경에서는 {@code new FileCheckMetrics().bindTo(registry)}로 직접 연결한다.
+ * 바인딩하지 않으면 검증 경로에서 시간 측정을 하지 않는다.
+ * 검증기는 정적 유틸리티이므로 레지스트리는 하나만 연결되며, 마지막으로 바인딩한 레지스트리가 사용된다.
+ * 여러 백엔드로 보내려면 CompositeMeterRegistry를 바인딩한다.
+ */
+public final class FileCheckMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        MultipartFileHeaderChecker.setMetrics(new ValidationMetrics(registry));
+    }
+
+    /**
+     * 메트릭 기록을 중지한다.
+     */
+    public static void unbind() {
+        MultipartFileHeaderChecker.setMetrics(null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.skax.aiplatform.common.util;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Micrometer가 있으면 파일 검증 메트릭 바인더를 등록한다.
+ * Actuator가 {@link io.micrometer.core.instrument.binder.MeterBinder} 빈을 레지스트리에 바인딩하므로
+ * {@code /actuator/metrics/file.check.*}로 노출된다.
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+public class FileCheckMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FileCheckMetrics fileCheckMetrics() {
+        return new FileCheckMetrics();
+    }
+}
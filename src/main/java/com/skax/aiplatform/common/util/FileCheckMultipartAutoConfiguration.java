@@ -0,0 +1,59 @@
+package com.skax.aiplatform.common.util;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ValidationOptions;
+
+import jakarta.servlet.Servlet;
+
+/**
+ * {@code file-check.multipart.enabled=true}이면 Spring MVC의 멀티파트 리졸버를
+ * {@link HeaderCheckingMultipartResolver}로 등록한다. 크기 제한과 임시 디렉터리는
+ * {@code spring.servlet.multipart.*} 설정을 그대로 따르고, 최대 파트 수는 {@code file-check.multipart.max-parts}가
+ * 없으면 {@code server.tomcat.max-part-count}를 따른다.
+ */
+@AutoConfiguration(before = MultipartAutoConfiguration.class, after = FileCheckPolicyAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({Servlet.class, DispatcherServlet.class})
+@ConditionalOnProperty(prefix = FileCheckProperties.PREFIX + ".multipart", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({FileCheckProperties.class, MultipartProperties.class, ServerProperties.class})
+public class FileCheckMultipartAutoConfiguration {
+
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    @ConditionalOnMissingBean(MultipartResolver.class)
+    public HeaderCheckingMultipartResolver multipartResolver(FileCheckProperties properties,
+                                                             MultipartProperties multipart,
+                                                             ServerProperties server) {
+        FileCheckProperties.Multipart settings = properties.getMultipart();
+        HeaderCheckingMultipartResolver resolver = new HeaderCheckingMultipartResolver();
+        resolver.setMaxFileSize(multipart.getMaxFileSize().toBytes());
+        resolver.setMaxRequestSize(multipart.getMaxRequestSize().toBytes());
+        resolver.setFileSizeThreshold(multipart.getFileSizeThreshold().toBytes());
+        if (StringUtils.hasText(multipart.getLocation())) {
+            resolver.setLocation(Path.of(multipart.getLocation()));
+        }
+        resolver.setStrictServletCompliance(multipart.isStrictServletCompliance());
+        resolver.setMaxParts(settings.getMaxParts() != null
+                ? settings.getMaxParts()
+                : server.getTomcat().getMaxPartCount());
+        resolver.setValidationOptions(ValidationOptions.builder()
+                .checkUTF8Encoding(settings.isCheckEncoding())
+                .build());
+        resolver.setTenantHeader(settings.getTenantHeader());
+        return resolver;
+    }
+}
@@ -0,0 +1,82 @@
+package com.skax.aiplatform.common.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 기본 정책과 테넌트별 정책을 묶은 불변 스냅샷.
+ * {@link MultipartFileHeaderChecker#setPolicies}로 스냅샷 전체를 한 번에 교체하므로,
+ * 검증 중인 요청은 시작할 때 읽은 스냅샷으로 끝까지 검증된다.
+ */
+public final class FileCheckPolicies {
+
+    private static final FileCheckPolicies DEFAULTS = new FileCheckPolicies(FileCheckPolicy.defaults(), Map.of());
+
+    private final FileCheckPolicy defaultPolicy;
+    private final Map<String, FileCheckPolicy> tenants;
+
+    private FileCheckPolicies(FileCheckPolicy defaultPolicy, Map<String, FileCheckPolicy> tenants) {
+        this.defaultPolicy = defaultPolicy;
+        this.tenants = tenants;
+    }
+
+    /**
+     * 기본 정책만 있는 스냅샷.
+     */
+    public static FileCheckPolicies defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * 테넌트 없이 기본 정책만 지정한다.
+     */
+    public static FileCheckPolicies of(FileCheckPolicy defaultPolicy) {
+        return of(defaultPolicy, Map.of());
+    }
+
+    /**
+     * @param defaultPolicy 테넌트를 지정하지 않았거나 등록되지 않은 테넌트에 적용할 정책
+     * @param tenants       테넌트 ID별 정책
+     */
+    public static FileCheckPolicies of(FileCheckPolicy defaultPolicy, Map<String, FileCheckPolicy> tenants) {
+        if (defaultPolicy == null) {
+            throw new IllegalArgumentException("defaultPolicy must not be null");
+        }
+        Map<String, FileCheckPolicy> copy = new LinkedHashMap<>();
+        tenants.forEach((tenant, policy) -> {
+            if (tenant == null || policy == null) {
+                throw new IllegalArgumentException("tenant and policy must not be null: " + tenant);
+            }
+            copy.put(tenant, policy);
+        });
+        return new FileCheckPolicies(defaultPolicy, Collections.unmodifiableMap(copy));
+    }
+
+    public FileCheckPolicy defaultPolicy() {
+        return defaultPolicy;
+    }
+
+    /**
+     * 테넌트 ID별 정책 (읽기 전용).
+     */
+    public Map<String, FileCheckPolicy> tenants() {
+        return tenants;
+    }
+
+    /**
+     * 테넌트의 정책. 테넌트가 null이거나 등록되지 않았으면 기본 정책.
+     */
+    public FileCheckPolicy forTenant(String tenant) {
+        if (tenant == null) {
+            return defaultPolicy;
+        }
+        FileCheckPolicy policy = tenants.get(tenant);
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    @Override
+    public String toString() {
+        return "FileCheckPolicies[default=" + defaultPolicy + ", tenants=" + tenants + "]";
+    }
+}
@@ -0,0 +1,652 @@
+package com.skax.aiplatform.common.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FailureCode;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ValidationOptions;
+
+/**
+ * 파일 검증 정책 (허용 확장자, 전체/파일 타입별 최대 크기, 헤더/CSV 샘플 구간 크기, 허용 CSV 인코딩, 저장 시 UTF-8 변환,
+ * 이미지 최대 픽셀 수와 PNG 청크 CRC 확인, XML 심층 검사와 한도, 최소 검증 단계).
+ * 생성 시 한 번 검증하고 조회용 표로 컴파일한 불변 객체이므로, 검증 경로에서는 잠금 없이 읽기만 한다.
+ * 테넌트별 정책은 {@link FileCheckPolicies}로 묶어 {@link MultipartFileHeaderChecker#setPolicies}로 교체한다.
+ */
+public final class FileCheckPolicy {
+
+    /**
+     * 정책이 강제하는 최소 검증 단계. 호출자가 요청한 옵션보다 낮으면 이 단계로 올린다.
+     */
+    public enum Depth {
+        /**
+         * MIME 타입, 헤더 시그니처, 컨테이너 구조만 검증 (기본값).
+         */
+        HEADER,
+        /**
+         * CSV 인코딩 검증 포함 ({@code checkUTF8Encoding}).
+         */
+        ENCODING,
+        /**
+         * CSV 전체 스트리밍 검사 포함 ({@code fullUtf8Scan}).
+         */
+        FULL_SCAN,
+        /**
+         * CSV 구조 검사 포함 ({@code csvStructure}).
+         */
+        STRUCTURE
+    }
+
+    static final int MIN_HEADER_READ_BYTES = 1024;
+    static final int MAX_HEADER_READ_BYTES = 1 << 20;
+    static final int MIN_CSV_SNIFF_BYTES = 64;
+    static final int DEFAULT_XML_MAX_DEPTH = 256;
+    static final int DEFAULT_XML_MAX_ATTRIBUTES = 256;
+    // JDK StAX 구현의 요소당 속성 수 한도 (jdk.xml.elementAttributeLimit 기본값)
+    static final int MAX_XML_ATTRIBUTES = 10_000;
+
+    private static final String ENC_UTF8 = MultipartFileHeaderChecker.ENC_UTF8;
+    private static final String ENC_UTF8_SIG = MultipartFileHeaderChecker.ENC_UTF8_SIG;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    // 캐시 키에 넣는 정책 지문 길이 (16진수 문자 수)
+    private static final int FINGERPRINT_LENGTH = 16;
+
+    private static final FileCheckPolicy DEFAULTS = builder().build();
+
+    private final Set<String> allowedExtensions;
+    private final long maxFileSize;
+    private final Map<FileType, Long> maxSizes;
+    private final int headerReadBytes;
+    private final int csvSniffBytes;
+    private final Set<String> csvEncodings;
+    private final boolean csvTranscode;
+    private final long maxImagePixels;
+    private final boolean imageCrcCheck;
+    private final boolean xmlWellFormed;
+    private final int xmlMaxDepth;
+    private final int xmlMaxAttributes;
+    private final Depth depth;
+
+    // 컴파일된 조회 표
+    private final boolean[] allowedRules;
+    private final long[] maxSizeByType;
+    private final FileCheckResult[] tooLargeByType;
+    private final String[] encodingNames;
+    private final String[] encodingCanonicalNames;
+    // 디코딩에 쓰는 문자셋 이름 (EUC-KR과 CP949를 같은 계열로 묶기 위함)
+    private final String[] encodingDecodingNames;
+    private final FileCheckResult extensionNotAllowed;
+    private final FileCheckResult imageTooLarge;
+    private final FileCheckResult xmlDepthExceeded;
+    private final FileCheckResult xmlAttributesExceeded;
+    private final String fingerprint;
+
+    private FileCheckPolicy(Builder builder) {
+        this.allowedExtensions = Collections.unmodifiableSet(new LinkedHashSet<>(builder.allowedExtensions));
+        this.maxFileSize = builder.maxFileSize;
+        this.maxSizes = Collections.unmodifiableMap(new EnumMap<>(builder.maxSizes));
+        this.headerReadBytes = builder.headerReadBytes;
+        this.csvSniffBytes = builder.csvSniffBytes;
+        this.csvEncodings = Collections.unmodifiableSet(new LinkedHashSet<>(builder.csvEncodings));
+        this.csvTranscode = builder.csvTranscode;
+        this.maxImagePixels = builder.maxImagePixels;
+        this.imageCrcCheck = builder.imageCrcCheck;
+        this.xmlWellFormed = builder.xmlWellFormed;
+        this.xmlMaxDepth = builder.xmlMaxDepth;
+        this.xmlMaxAttributes = builder.xmlMaxAttributes;
+        this.depth = builder.depth;
+
+        this.allowedRules = new boolean[ExtensionRule.values().length];
+        for (String extension : allowedExtensions) {
+            allowedRules[ExtensionRule.of(extension).ordinal()] = true;
+        }
+        this.maxSizeByType = new long[FileType.values().length];
+        this.tooLargeByType = new FileCheckResult[maxSizeByType.length];
+        for (FileType type : FileType.values()) {
+            long limit = Math.min(maxFileSize, maxSizes.getOrDefault(type, Long.MAX_VALUE));
+            maxSizeByType[type.ordinal()] = limit;
+            tooLargeByType[type.ordinal()] = new FileCheckResult(false, null, null, null, null,
+                    FailureCode.FILE_TOO_LARGE, Long.toString(limit));
+        }
+        this.encodingNames = csvEncodings.toArray(new String[0]);
+        this.encodingCanonicalNames = new String[encodingNames.length];
+        this.encodingDecodingNames = new String[encodingNames.length];
+        for (int i = 0; i < encodingNames.length; i++) {
+            encodingCanonicalNames[i] = canonicalCharsetName(encodingNames[i]);
+            encodingDecodingNames[i] = decodingCharsetName(encodingNames[i]);
+        }
+        this.extensionNotAllowed = new FileCheckResult(false,
+                MultipartFileHeaderChecker.ERR_INVALID_EXTENSION + String.join(", ", allowedExtensions),
+                null, null, null, FailureCode.EXTENSION_NOT_ALLOWED, null);
+        this.imageTooLarge = new FileCheckResult(false, null, null, null, null, FailureCode.IMAGE_TOO_LARGE,
+                Long.toString(maxImagePixels));
+        this.xmlDepthExceeded = new FileCheckResult(false,
+                MultipartFileHeaderChecker.ERR_XML_DEPTH_EXCEEDED + xmlMaxDepth + ")", null, null, null,
+                FailureCode.XML_LIMIT_EXCEEDED, Integer.toString(xmlMaxDepth));
+        this.xmlAttributesExceeded = new FileCheckResult(false,
+                MultipartFileHeaderChecker.ERR_XML_ATTRIBUTES_EXCEEDED + xmlMaxAttributes + ")", null, null, null,
+                FailureCode.XML_LIMIT_EXCEEDED, Integer.toString(xmlMaxAttributes));
+        this.fingerprint = fingerprint(describe());
+    }
+
+    /**
+     * 기본 정책 (모든 지원 확장자 허용, 크기와 이미지 픽셀 수 제한 없음, 헤더 8KB, CSV 샘플 4KB, UTF-8/UTF-8-SIG, 헤더 검증).
+     */
+    public static FileCheckPolicy defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        Builder builder = new Builder()
+                .allowedExtensions(allowedExtensions)
+                .maxFileSize(maxFileSize)
+                .headerReadBytes(headerReadBytes)
+                .csvSniffBytes(csvSniffBytes)
+                .csvEncodings(csvEncodings)
+                .csvTranscode(csvTranscode)
+                .maxImagePixels(maxImagePixels)
+                .imageCrcCheck(imageCrcCheck)
+                .xmlWellFormed(xmlWellFormed)
+                .xmlMaxDepth(xmlMaxDepth)
+                .xmlMaxAttributes(xmlMaxAttributes)
+                .depth(depth);
+        maxSizes.forEach(builder::maxSize);
+        return builder;
+    }
+
+    /**
+     * 허용 확장자 (소문자, 점 포함, 지정 순서).
+     */
+    public Set<String> allowedExtensions() {
+        return allowedExtensions;
+    }
+
+    /**
+     * 파일 타입에 관계없이 적용하는 최대 크기 (바이트). 제한이 없으면 {@link Long#MAX_VALUE}.
+     */
+    public long maxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * 파일 타입별 최대 크기 (바이트). 지정하지 않은 타입은 {@link #maxFileSize()}만 적용.
+     */
+    public Map<FileType, Long> maxSizes() {
+        return maxSizes;
+    }
+
+    /**
+     * 파일 타입에 적용되는 최대 크기 (전체 최대 크기와 타입별 최대 크기 중 작은 값, 바이트).
+     * 제한이 없으면 {@link Long#MAX_VALUE}.
+     */
+    public long maxSize(FileType type) {
+        return maxSizeByType[type.ordinal()];
+    }
+
+    /**
+     * 시그니처, MIME 타입, 인코딩 판별에 읽는 파일 앞부분 크기 (바이트).
+     */
+    public int headerReadBytes() {
+        return headerReadBytes;
+    }
+
+    /**
+     * CSV 형식 판별에 쓰는 앞부분 크기 (바이트).
+     */
+    public int csvSniffBytes() {
+        return csvSniffBytes;
+    }
+
+    /**
+     * 허용 CSV 인코딩 (지정 순서). UTF-8 BOM 파일은 {@code UTF-8-SIG}로 판별된다.
+     */
+    public Set<String> csvEncodings() {
+        return csvEncodings;
+    }
+
+    /**
+     * 저장하면서 검증할 때 UTF-8 외 허용 인코딩으로 판별된 CSV를 UTF-8로 변환해 쓸지 여부.
+     */
+    public boolean csvTranscode() {
+        return csvTranscode;
+    }
+
+    /**
+     * 이미지(PNG, JPEG) 최대 픽셀 수 (너비 × 높이). 제한이 없으면 {@link Long#MAX_VALUE}.
+     */
+    public long maxImagePixels() {
+        return maxImagePixels;
+    }
+
+    /**
+     * PNG를 IEND 청크까지 따라가며 모든 청크의 CRC를 확인할지 여부 (끄면 IHDR 청크만 확인).
+     */
+    public boolean imageCrcCheck() {
+        return imageCrcCheck;
+    }
+
+    /**
+     * .xml 파일을 항상 StAX로 끝까지 읽어 잘 구성되었는지 확인할지 여부 ({@code xmlWellFormed} 옵션을 강제).
+     */
+    public boolean xmlWellFormed() {
+        return xmlWellFormed;
+    }
+
+    /**
+     * XML 심층 검사의 최대 요소 중첩 깊이.
+     */
+    public int xmlMaxDepth() {
+        return xmlMaxDepth;
+    }
+
+    /**
+     * XML 심층 검사에서 요소 하나에 허용하는 최대 속성 수 (네임스페이스 선언 포함).
+     */
+    public int xmlMaxAttributes() {
+        return xmlMaxAttributes;
+    }
+
+    /**
+     * 강제하는 최소 검증 단계.
+     */
+    public Depth depth() {
+        return depth;
+    }
+
+    /**
+     * 확장자 규칙이 이 정책에서 허용되는지 여부.
+     */
+    boolean allows(ExtensionRule rule) {
+        return rule != null && allowedRules[rule.ordinal()];
+    }
+
+    /**
+     * 크기가 파일 타입의 최대 크기를 넘으면 실패 결과 (정책별로 한 번만 생성), 아니면 null.
+     */
+    FileCheckResult sizeLimitExceeded(FileType type, long size) {
+        return size > maxSizeByType[type.ordinal()] ? tooLargeByType[type.ordinal()] : null;
+    }
+
+    /**
+     * 허용되지 않은 확장자 실패 결과 (정책별로 한 번만 생성).
+     */
+    FileCheckResult extensionNotAllowed() {
+        return extensionNotAllowed;
+    }
+
+    /**
+     * 이미지 픽셀 수가 최대 픽셀 수를 넘으면 실패 결과 (정책별로 한 번만 생성), 아니면 null.
+     */
+    FileCheckResult imagePixelsExceeded(long pixels) {
+        return pixels > maxImagePixels ? imageTooLarge : null;
+    }
+
+    /**
+     * XML 요소 중첩 깊이 초과 실패 결과 (정책별로 한 번만 생성).
+     */
+    FileCheckResult xmlDepthExceeded() {
+        return xmlDepthExceeded;
+    }
+
+    /**
+     * XML 요소 속성 수 초과 실패 결과 (정책별로 한 번만 생성).
+     */
+    FileCheckResult xmlAttributesExceeded() {
+        return xmlAttributesExceeded;
+    }
+
+    /**
+     * 판별된 CSV 인코딩이 허용되는지 여부 (대소문자 무시, 같은 문자셋의 별칭 포함).
+     * EUC-KR로 판별된 CSV는 CP949를 허용한 정책에서도 허용한다 (같은 문자셋으로 디코딩함).
+     */
+    boolean acceptsEncoding(String encoding) {
+        for (String name : encodingNames) {
+            if (name.equalsIgnoreCase(encoding)) {
+                return true;
+            }
+        }
+        String canonical = canonicalCharsetName(encoding);
+        if (canonical == null) {
+            return false;
+        }
+        for (String name : encodingCanonicalNames) {
+            if (canonical.equals(name)) {
+                return true;
+            }
+        }
+        String decoding = decodingCharsetName(encoding);
+        for (String name : encodingDecodingNames) {
+            if (name != null && name.equals(decoding)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 허용한 UTF-8 외 인코딩 중 바이트 배열을 엄격하게 디코딩할 수 있는 첫 인코딩 (지정 순서).
+     *
+     * @param truncated 바이트 배열이 파일 끝까지 담지 못했는지 여부 (끝부분의 잘린 멀티바이트 문자 허용)
+     * @return 허용 인코딩 이름, 없으면 null
+     */
+    String legacyEncodingOf(byte[] bytes, boolean truncated) {
+        for (int i = 0; i < encodingNames.length; i++) {
+            String decoding = encodingDecodingNames[i];
+            if (decoding == null || decoding.equals(StandardCharsets.UTF_8.name())) {
+                continue;
+            }
+            CharsetDecoder decoder = Charset.forName(decoding).newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            CharBuffer out = CharBuffer.allocate(bytes.length);
+            CoderResult result = decoder.decode(ByteBuffer.wrap(bytes), out, !truncated);
+            if (!result.isError() && (truncated || !decoder.flush(out).isError())) {
+                return encodingNames[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 호출자 옵션을 정책의 최소 검증 단계로 올리고, 정책이 XML 심층 검사를 켜면 함께 켠다. 이미 충분하면 그대로 반환한다.
+     */
+    ValidationOptions apply(ValidationOptions options) {
+        if (xmlWellFormed && !options.xmlWellFormed()) {
+            options = options.toBuilder().xmlWellFormed(true).build();
+        }
+        switch (depth) {
+            case STRUCTURE:
+                return options.csvStructure() ? options : options.toBuilder().csvStructure(true).build();
+            case FULL_SCAN:
+                return options.fullScanRequested() ? options : options.toBuilder().fullUtf8Scan(true).build();
+            case ENCODING:
+                return options.utf8CheckRequested() ? options : options.toBuilder().checkUTF8Encoding(true).build();
+            default:
+                return options;
+        }
+    }
+
+    /**
+     * 정책 내용의 지문 (결과 캐시 키용, 같은 내용이면 재시작 후에도 같음).
+     */
+    String fingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FileCheckPolicy policy && fingerprint.equals(policy.fingerprint)
+                && describe().equals(policy.describe());
+    }
+
+    @Override
+    public int hashCode() {
+        return fingerprint.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FileCheckPolicy[" + describe() + "]";
+    }
+
+    private String describe() {
+        return "allowedExtensions=" + allowedExtensions + ", maxFileSize=" + maxFileSize
+                + ", maxSizes=" + maxSizes + ", headerReadBytes=" + headerReadBytes + ", csvSniffBytes=" + csvSniffBytes
+                + ", csvEncodings=" + csvEncodings + ", csvTranscode=" + csvTranscode + ", maxImagePixels=" + maxImagePixels
+                + ", imageCrcCheck=" + imageCrcCheck + ", xmlWellFormed=" + xmlWellFormed
+                + ", xmlMaxDepth=" + xmlMaxDepth + ", xmlMaxAttributes=" + xmlMaxAttributes + ", depth=" + depth;
+    }
+
+    private static String fingerprint(String description) {
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM)
+                    .digest(description.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, FINGERPRINT_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 Java 플랫폼은 SHA-256을 제공해야 함
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decodingCharsetName(String name) {
+        if (name == null || ENC_UTF8_SIG.equalsIgnoreCase(name)) {
+            return null;
+        }
+        Charset charset = Utf8TranscodingChannel.decodingCharset(name);
+        return charset != null ? charset.name() : null;
+    }
+
+    private static String canonicalCharsetName(String name) {
+        if (name == null || ENC_UTF8_SIG.equalsIgnoreCase(name)) {
+            return null;
+        }
+        try {
+            return Charset.isSupported(name) ? Charset.forName(name).name() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@link FileCheckPolicy} 빌더. 잘못된 값은 {@link IllegalArgumentException}으로 거부한다.
+     */
+    public static final class Builder {
+        private Set<String> allowedExtensions = allRuleExtensions();
+        private long maxFileSize = Long.MAX_VALUE;
+        private final Map<FileType, Long> maxSizes = new EnumMap<>(FileType.class);
+        private int headerReadBytes = MultipartFileHeaderChecker.HEADER_READ_BYTES;
+        private int csvSniffBytes = MultipartFileHeaderChecker.CSV_SNIFF_BYTES;
+        private Set<String> csvEncodings = new LinkedHashSet<>(List.of(ENC_UTF8, ENC_UTF8_SIG));
+        private boolean csvTranscode;
+        private long maxImagePixels = Long.MAX_VALUE;
+        private boolean imageCrcCheck;
+        private boolean xmlWellFormed;
+        private int xmlMaxDepth = DEFAULT_XML_MAX_DEPTH;
+        private int xmlMaxAttributes = DEFAULT_XML_MAX_ATTRIBUTES;
+        private Depth depth = Depth.HEADER;
+
+        private Builder() {
+        }
+
+        /**
+         * 허용 확장자 (점은 생략 가능, 대소문자 무시). 지원 확장자만 지정할 수 있다.
+         */
+        public Builder allowedExtensions(Collection<String> extensions) {
+            if (extensions == null || extensions.isEmpty()) {
+                throw new IllegalArgumentException("allowedExtensions must not be empty");
+            }
+            Set<String> normalized = new LinkedHashSet<>();
+            for (String extension : extensions) {
+                String value = extension == null ? "" : extension.trim().toLowerCase(Locale.ROOT);
+                if (!value.isEmpty() && value.charAt(0) != '.') {
+                    value = "." + value;
+                }
+                ExtensionRule rule = ExtensionRule.of(value);
+                if (rule == null) {
+                    throw new IllegalArgumentException("unsupported extension: " + extension
+                            + " (supported: " + ExtensionRule.allowedExtensionsText() + ")");
+                }
+                normalized.add(rule.extension());
+            }
+            this.allowedExtensions = normalized;
+            return this;
+        }
+
+        /**
+         * 파일 타입에 관계없이 적용하는 최대 크기 (바이트, 기본 제한 없음).
+         */
+        public Builder maxFileSize(long bytes) {
+            if (bytes < 1) {
+                throw new IllegalArgumentException("maxFileSize must be positive: " + bytes);
+            }
+            this.maxFileSize = bytes;
+            return this;
+        }
+
+        /**
+         * 파일 타입의 최대 크기 (바이트). 전체 최대 크기보다 크면 전체 최대 크기가 적용된다.
+         */
+        public Builder maxSize(FileType type, long bytes) {
+            if (type == null) {
+                throw new IllegalArgumentException("type must not be null");
+            }
+            if (bytes < 1) {
+                throw new IllegalArgumentException("maxSize must be positive: " + type + "=" + bytes);
+            }
+            maxSizes.put(type, bytes);
+            return this;
+        }
+
+        /**
+         * 헤더 구간 크기 (1KB ~ 1MB, 기본 8KB).
+         */
+        public Builder headerReadBytes(int headerReadBytes) {
+            if (headerReadBytes < MIN_HEADER_READ_BYTES || headerReadBytes > MAX_HEADER_READ_BYTES) {
+                throw new IllegalArgumentException("headerReadBytes must be between " + MIN_HEADER_READ_BYTES
+                        + " and " + MAX_HEADER_READ_BYTES + ": " + headerReadBytes);
+            }
+            this.headerReadBytes = headerReadBytes;
+            return this;
+        }
+
+        /**
+         * CSV 형식 판별 구간 크기 (64바이트 ~ 헤더 구간 크기, 기본 4KB).
+         */
+        public Builder csvSniffBytes(int csvSniffBytes) {
+            if (csvSniffBytes < MIN_CSV_SNIFF_BYTES) {
+                throw new IllegalArgumentException("csvSniffBytes must be at least " + MIN_CSV_SNIFF_BYTES + ": "
+                        + csvSniffBytes);
+            }
+            this.csvSniffBytes = csvSniffBytes;
+            return this;
+        }
+
+        /**
+         * 허용 CSV 인코딩 (기본 UTF-8, UTF-8-SIG). Java가 지원하는 문자셋 이름이나 {@code UTF-8-SIG}만 지정할 수 있다.
+         */
+        public Builder csvEncodings(Collection<String> encodings) {
+            if (encodings == null || encodings.isEmpty()) {
+                throw new IllegalArgumentException("csvEncodings must not be empty");
+            }
+            Set<String> names = new LinkedHashSet<>();
+            for (String encoding : encodings) {
+                String name = encoding == null ? "" : encoding.trim();
+                if (!ENC_UTF8_SIG.equalsIgnoreCase(name) && canonicalCharsetName(name) == null) {
+                    throw new IllegalArgumentException("unsupported encoding: " + encoding);
+                }
+                names.add(ENC_UTF8_SIG.equalsIgnoreCase(name) ? ENC_UTF8_SIG : name);
+            }
+            this.csvEncodings = names;
+            return this;
+        }
+
+        /**
+         * 저장하면서 검증할 때 UTF-8 외 허용 인코딩으로 판별된 CSV를 UTF-8로 변환해 쓸지 여부 (기본 false).
+         * 변환할 인코딩은 {@link #csvEncodings}로 허용해야 하며, 켜면 저장 시 CSV 인코딩 검증도 함께 수행한다.
+         */
+        public Builder csvTranscode(boolean csvTranscode) {
+            this.csvTranscode = csvTranscode;
+            return this;
+        }
+
+        /**
+         * 이미지(PNG, JPEG) 최대 픽셀 수 (너비 × 높이, 기본 제한 없음).
+         * 픽셀을 디코딩하지 않고 PNG IHDR 청크와 JPEG SOF 마커의 크기만으로 판정한다 (압축 폭탄 방어).
+         */
+        public Builder maxImagePixels(long pixels) {
+            if (pixels < 1) {
+                throw new IllegalArgumentException("maxImagePixels must be positive: " + pixels);
+            }
+            this.maxImagePixels = pixels;
+            return this;
+        }
+
+        /**
+         * PNG를 IEND 청크까지 따라가며 모든 청크의 CRC를 확인할지 여부 (기본 false).
+         * 켜면 PNG 파일 전체를 읽는다 (경로 검증과 저장하면서 검증할 때, 스트림 검증은 크기를 알 때).
+         */
+        public Builder imageCrcCheck(boolean imageCrcCheck) {
+            this.imageCrcCheck = imageCrcCheck;
+            return this;
+        }
+
+        /**
+         * .xml 파일을 항상 StAX로 끝까지 읽어 잘 구성되었는지 확인할지 여부 (기본 false, 호출자 옵션으로도 켤 수 있음).
+         */
+        public Builder xmlWellFormed(boolean xmlWellFormed) {
+            this.xmlWellFormed = xmlWellFormed;
+            return this;
+        }
+
+        /**
+         * XML 심층 검사의 최대 요소 중첩 깊이 (기본 256).
+         */
+        public Builder xmlMaxDepth(int xmlMaxDepth) {
+            if (xmlMaxDepth < 1) {
+                throw new IllegalArgumentException("xmlMaxDepth must be positive: " + xmlMaxDepth);
+            }
+            this.xmlMaxDepth = xmlMaxDepth;
+            return this;
+        }
+
+        /**
+         * XML 심층 검사에서 요소 하나에 허용하는 최대 속성 수 (네임스페이스 선언 포함, 1 ~ 10000, 기본 256).
+         */
+        public Builder xmlMaxAttributes(int xmlMaxAttributes) {
+            if (xmlMaxAttributes < 1 || xmlMaxAttributes > MAX_XML_ATTRIBUTES) {
+                throw new IllegalArgumentException("xmlMaxAttributes must be between 1 and " + MAX_XML_ATTRIBUTES
+                        + ": " + xmlMaxAttributes);
+            }
+            this.xmlMaxAttributes = xmlMaxAttributes;
+            return this;
+        }
+
+        /**
+         * 강제하는 최소 검증 단계 (기본 {@link Depth#HEADER}).
+         */
+        public Builder depth(Depth depth) {
+            if (depth == null) {
+                throw new IllegalArgumentException("depth must not be null");
+            }
+            this.depth = depth;
+            return this;
+        }
+
+        public FileCheckPolicy build() {
+            if (csvSniffBytes > headerReadBytes) {
+                throw new IllegalArgumentException("csvSniffBytes must not exceed headerReadBytes: "
+                        + csvSniffBytes + " > " + headerReadBytes);
+            }
+            return new FileCheckPolicy(this);
+        }
+
+        private static Set<String> allRuleExtensions() {
+            Set<String> extensions = new LinkedHashSet<>();
+            for (ExtensionRule rule : ExtensionRule.values()) {
+                extensions.add(rule.extension());
+            }
+            return extensions;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.skax.aiplatform.common.util;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * {@code file-check.*} 설정을 검증 정책으로 설치한다.
+ * 설정이 없으면 기본 정책이 그대로 적용된다.
+ * Spring Cloud가 있으면 {@code EnvironmentChangeEvent}로 {@code file-check.*}가 바뀔 때 정책을 다시 설치한다.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(FileCheckProperties.class)
+public class FileCheckPolicyAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FileCheckPolicyInstaller fileCheckPolicyInstaller(FileCheckProperties properties,
+                                                             Environment environment) {
+        return new FileCheckPolicyInstaller(properties, environment);
+    }
+
+    /**
+     * Spring Cloud Context가 클래스패스에 있을 때만 등록 (컴파일 의존성 없이 클래스 이름으로 확인).
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = FileCheckPolicyReloader.EVENT_CLASS)
+    static class RefreshConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FileCheckPolicyReloader fileCheckPolicyReloader(FileCheckPolicyInstaller installer) {
+            return new FileCheckPolicyReloader(installer);
+        }
+    }
+}
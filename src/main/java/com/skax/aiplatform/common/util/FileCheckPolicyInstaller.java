@@ -0,0 +1,55 @@
+package com.skax.aiplatform.common.util;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * {@code file-check.*} 설정을 검증 정책으로 컴파일해 {@link MultipartFileHeaderChecker}에 설치한다.
+ * 설정 원천이 바뀐 뒤 {@link #reload()}를 호출하면 환경에서 다시 바인딩해 정책 스냅샷을 통째로 교체한다.
+ * Spring Cloud가 있으면 {@link FileCheckPolicyReloader}가 {@code EnvironmentChangeEvent}마다 호출하며,
+ * 그 밖에 환경을 직접 바꾸는 쪽(관리 API 등)은 환경 갱신 직후 호출한다.
+ * 새 설정이 잘못되었으면 예외를 던지고 기존 정책을 유지한다.
+ * 빈이 소멸되면 기본 정책으로 되돌린다.
+ */
+public class FileCheckPolicyInstaller implements InitializingBean, DisposableBean {
+
+    private final FileCheckProperties properties;
+    private final Environment environment;
+
+    public FileCheckPolicyInstaller(FileCheckProperties properties, Environment environment) {
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        install(properties);
+    }
+
+    /**
+     * 환경에서 {@code file-check.*}를 다시 바인딩해 정책을 교체한다.
+     *
+     * @return 새로 설치한 정책 스냅샷
+     * @throws IllegalArgumentException 새 설정이 잘못된 경우 (기존 정책 유지)
+     */
+    public FileCheckPolicies reload() {
+        FileCheckProperties rebound = Binder.get(environment)
+                .bind(FileCheckProperties.PREFIX, FileCheckProperties.class)
+                .orElseGet(FileCheckProperties::new);
+        return install(rebound);
+    }
+
+    @Override
+    public void destroy() {
+        MultipartFileHeaderChecker.setPolicies(null);
+    }
+
+    private static FileCheckPolicies install(FileCheckProperties source) {
+        // 컴파일이 끝난 뒤에만 교체하므로 실패해도 검증 경로는 기존 스냅샷을 계속 사용
+        FileCheckPolicies compiled = source.toPolicies();
+        MultipartFileHeaderChecker.setPolicies(compiled);
+        return compiled;
+    }
+}
@@ -0,0 +1,235 @@
+package com.skax.aiplatform.common.util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.unit.DataSize;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+
+/**
+ * {@code file-check.*}의 정책 항목 (기본 정책과 테넌트 정책 공통). null인 항목은 상위 정책을 따른다.
+ */
+public class FileCheckPolicyProperties {
+
+    /**
+     * 허용 확장자 (지원 확장자 중에서 선택, 점 생략 가능).
+     */
+    private List<String> allowedExtensions;
+
+    /**
+     * 파일 타입에 관계없이 적용하는 최대 크기.
+     */
+    private DataSize maxFileSize;
+
+    /**
+     * 파일 타입별 최대 크기 (예: {@code image: 10MB}).
+     */
+    private Map<FileType, DataSize> maxSize = new LinkedHashMap<>();
+
+    /**
+     * 헤더 구간 크기 (1KB ~ 1MB).
+     */
+    private DataSize headerReadSize;
+
+    /**
+     * CSV 형식 판별 구간 크기.
+     */
+    private DataSize csvSniffSize;
+
+    /**
+     * 허용 CSV 인코딩.
+     */
+    private List<String> csvEncodings;
+
+    /**
+     * 저장하면서 검증할 때 UTF-8 외 허용 인코딩의 CSV를 UTF-8로 변환해 쓸지 여부.
+     */
+    private Boolean csvTranscode;
+
+    /**
+     * 이미지(PNG, JPEG) 최대 픽셀 수 (너비 × 높이).
+     */
+    private Long maxImagePixels;
+
+    /**
+     * PNG의 모든 청크 CRC를 IEND까지 확인할지 여부.
+     */
+    private Boolean imageCrcCheck;
+
+    /**
+     * .xml 파일을 항상 StAX로 끝까지 읽어 잘 구성되었는지 확인할지 여부.
+     */
+    private Boolean xmlWellFormed;
+
+    /**
+     * XML 심층 검사의 최대 요소 중첩 깊이.
+     */
+    private Integer xmlMaxDepth;
+
+    /**
+     * XML 심층 검사에서 요소 하나에 허용하는 최대 속성 수.
+     */
+    private Integer xmlMaxAttributes;
+
+    /**
+     * 최소 검증 단계.
+     */
+    private FileCheckPolicy.Depth depth;
+
+    public List<String> getAllowedExtensions() {
+        return allowedExtensions;
+    }
+
+    public void setAllowedExtensions(List<String> allowedExtensions) {
+        this.allowedExtensions = allowedExtensions;
+    }
+
+    public DataSize getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(DataSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public Map<FileType, DataSize> getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(Map<FileType, DataSize> maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getHeaderReadSize() {
+        return headerReadSize;
+    }
+
+    public void setHeaderReadSize(DataSize headerReadSize) {
+        this.headerReadSize = headerReadSize;
+    }
+
+    public DataSize getCsvSniffSize() {
+        return csvSniffSize;
+    }
+
+    public void setCsvSniffSize(DataSize csvSniffSize) {
+        this.csvSniffSize = csvSniffSize;
+    }
+
+    public List<String> getCsvEncodings() {
+        return csvEncodings;
+    }
+
+    public void setCsvEncodings(List<String> csvEncodings) {
+        this.csvEncodings = csvEncodings;
+    }
+
+    public Boolean getCsvTranscode() {
+        return csvTranscode;
+    }
+
+    public void setCsvTranscode(Boolean csvTranscode) {
+        this.csvTranscode = csvTranscode;
+    }
+
+    public Long getMaxImagePixels() {
+        return maxImagePixels;
+    }
+
+    public void setMaxImagePixels(Long maxImagePixels) {
+        this.maxImagePixels = maxImagePixels;
+    }
+
+    public Boolean getImageCrcCheck() {
+        return imageCrcCheck;
+    }
+
+    public void setImageCrcCheck(Boolean imageCrcCheck) {
+        this.imageCrcCheck = imageCrcCheck;
+    }
+
+    public Boolean getXmlWellFormed() {
+        return xmlWellFormed;
+    }
+
+    public void setXmlWellFormed(Boolean xmlWellFormed) {
+        this.xmlWellFormed = xmlWellFormed;
+    }
+
+    public Integer getXmlMaxDepth() {
+        return xmlMaxDepth;
+    }
+
+    public void setXmlMaxDepth(Integer xmlMaxDepth) {
+        this.xmlMaxDepth = xmlMaxDepth;
+    }
+
+    public Integer getXmlMaxAttributes() {
+        return xmlMaxAttributes;
+    }
+
+    public void setXmlMaxAttributes(Integer xmlMaxAttributes) {
+        this.xmlMaxAttributes = xmlMaxAttributes;
+    }
+
+    public FileCheckPolicy.Depth getDepth() {
+        return depth;
+    }
+
+    public void setDepth(FileCheckPolicy.Depth depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * 지정한 항목만 빌더에 덮어쓴다.
+     */
+    FileCheckPolicy.Builder applyTo(FileCheckPolicy.Builder builder) {
+        if (allowedExtensions != null) {
+            builder.allowedExtensions(allowedExtensions);
+        }
+        if (maxFileSize != null) {
+            builder.maxFileSize(maxFileSize.toBytes());
+        }
+        if (maxSize != null) {
+            maxSize.forEach((type, size) -> builder.maxSize(type, size.toBytes()));
+        }
+        if (headerReadSize != null) {
+            builder.headerReadBytes(toIntBytes(headerReadSize));
+        }
+        if (csvSniffSize != null) {
+            builder.csvSniffBytes(toIntBytes(csvSniffSize));
+        }
+        if (csvEncodings != null) {
+            builder.csvEncodings(csvEncodings);
+        }
+        if (csvTranscode != null) {
+            builder.csvTranscode(csvTranscode);
+        }
+        if (maxImagePixels != null) {
+            builder.maxImagePixels(maxImagePixels);
+        }
+        if (imageCrcCheck != null) {
+            builder.imageCrcCheck(imageCrcCheck);
+        }
+        if (xmlWellFormed != null) {
+            builder.xmlWellFormed(xmlWellFormed);
+        }
+        if (xmlMaxDepth != null) {
+            builder.xmlMaxDepth(xmlMaxDepth);
+        }
+        if (xmlMaxAttributes != null) {
+            builder.xmlMaxAttributes(xmlMaxAttributes);
+        }
+        if (depth != null) {
+            builder.depth(depth);
+        }
+        return builder;
+    }
+
+    private static int toIntBytes(DataSize size) {
+        // int 범위를 넘는 값은 끝값으로 잘라 빌더의 범위 검사에서 거부되도록 함
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(Integer.MIN_VALUE, size.toBytes()));
+    }
+}
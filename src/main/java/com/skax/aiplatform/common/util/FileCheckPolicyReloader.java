@@ -0,0 +1,58 @@
+package com.skax.aiplatform.common.util;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Spring Cloud의 {@code EnvironmentChangeEvent}({@code /actuator/refresh}, {@code /actuator/busrefresh} 등)를 받아
+ * 바뀐 키 중 {@code file-check.*}가 있으면 {@link FileCheckPolicyInstaller#reload()}로 정책을 다시 설치한다.
+ * Spring Cloud를 컴파일 의존성으로 두지 않으므로 이벤트는 클래스 이름으로 구분하고 바뀐 키는 리플렉션으로 읽는다.
+ * 새 설정이 잘못되었으면 {@link FileCheckPolicyInstaller#reload()}의 예외가 이벤트 발행자에게 전달되고 기존 정책이 유지된다.
+ */
+public class FileCheckPolicyReloader implements ApplicationListener<ApplicationEvent> {
+
+    static final String EVENT_CLASS = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+
+    private static final String KEY_PREFIX = FileCheckProperties.PREFIX + ".";
+    private static final String METHOD_GET_KEYS = "getKeys";
+
+    private final FileCheckPolicyInstaller installer;
+
+    public FileCheckPolicyReloader(FileCheckPolicyInstaller installer) {
+        this.installer = installer;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (EVENT_CLASS.equals(event.getClass().getName()) && changesPolicy(event)) {
+            installer.reload();
+        }
+    }
+
+    @Override
+    public boolean supportsAsyncExecution() {
+        // 환경 갱신 직후 같은 스레드에서 교체해야 갱신 요청이 끝났을 때 새 정책이 적용되어 있음
+        return false;
+    }
+
+    private static boolean changesPolicy(ApplicationEvent event) {
+        Collection<?> keys;
+        try {
+            Method getKeys = event.getClass().getMethod(METHOD_GET_KEYS);
+            keys = (Collection<?>) getKeys.invoke(event);
+        } catch (ReflectiveOperationException e) {
+            // 바뀐 키를 알 수 없으면 다시 바인딩 (정책이 같으면 같은 정책으로 교체될 뿐)
+            return true;
+        }
+        for (Object key : keys) {
+            if (key instanceof String name
+                    && (name.startsWith(KEY_PREFIX) || name.equals(FileCheckProperties.PREFIX))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,133 @@
+package com.skax.aiplatform.common.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code file-check.*} 설정. 최상위 값은 기본 정책이고, {@code file-check.tenants.<테넌트 ID>.*}는
+ * 지정한 항목만 기본 정책을 덮어쓴다. 지정하지 않은 항목은 {@link FileCheckPolicy#defaults()}를 따른다.
+ *
+ * <pre>
+ * file-check:
+ *   allowed-extensions: [.csv, .xlsx, .pdf]
+ *   max-size:
+ *     pdf: 50MB
+ *   max-image-pixels: 100000000
+ *   xml-well-formed: true
+ *   tenants:
+ *     acme:
+ *       allowed-extensions: [.csv]
+ *       csv-encodings: [UTF-8, UTF-8-SIG, CP949]
+ *       csv-transcode: true
+ *       depth: encoding
+ *   multipart:
+ *     enabled: true
+ *     tenant-header: X-Tenant-Id
+ *     max-parts: 20
+ * </pre>
+ */
+@ConfigurationProperties(prefix = FileCheckProperties.PREFIX)
+public class FileCheckProperties extends FileCheckPolicyProperties {
+
+    public static final String PREFIX = "file-check";
+
+    /**
+     * 테넌트 ID별 정책 (지정한 항목만 기본 정책을 덮어씀).
+     */
+    private Map<String, FileCheckPolicyProperties> tenants = new LinkedHashMap<>();
+
+    /**
+     * 멀티파트 파싱 중 검증 설정.
+     */
+    private final Multipart multipart = new Multipart();
+
+    public Map<String, FileCheckPolicyProperties> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, FileCheckPolicyProperties> tenants) {
+        this.tenants = tenants;
+    }
+
+    public Multipart getMultipart() {
+        return multipart;
+    }
+
+    /**
+     * 설정을 검증 정책 스냅샷으로 컴파일한다.
+     *
+     * @throws IllegalArgumentException 허용되지 않는 값이 있으면 (테넌트 ID 포함)
+     */
+    public FileCheckPolicies toPolicies() {
+        FileCheckPolicy defaultPolicy = applyTo(FileCheckPolicy.builder()).build();
+        Map<String, FileCheckPolicy> compiled = new LinkedHashMap<>();
+        tenants.forEach((tenant, policy) -> {
+            try {
+                compiled.put(tenant, policy.applyTo(defaultPolicy.toBuilder()).build());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(PREFIX + ".tenants." + tenant + ": " + e.getMessage(), e);
+            }
+        });
+        return FileCheckPolicies.of(defaultPolicy, compiled);
+    }
+
+    /**
+     * {@code file-check.multipart.*} 설정 ({@link HeaderCheckingMultipartResolver}).
+     */
+    public static class Multipart {
+
+        /**
+         * 멀티파트 요청을 파싱하면서 파일 파트를 검증하는 리졸버를 등록할지 여부.
+         */
+        private boolean enabled;
+
+        /**
+         * CSV 파트의 인코딩까지 검증할지 여부.
+         */
+        private boolean checkEncoding;
+
+        /**
+         * 적용할 정책의 테넌트 ID를 읽을 요청 헤더 이름 (없으면 기본 정책).
+         */
+        private String tenantHeader;
+
+        /**
+         * 요청 하나의 최대 파트 수 (음수면 제한 없음). 지정하지 않으면 {@code server.tomcat.max-part-count}를 따른다.
+         */
+        private Integer maxParts;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isCheckEncoding() {
+            return checkEncoding;
+        }
+
+        public void setCheckEncoding(boolean checkEncoding) {
+            this.checkEncoding = checkEncoding;
+        }
+
+        public String getTenantHeader() {
+            return tenantHeader;
+        }
+
+        public void setTenantHeader(String tenantHeader) {
+            this.tenantHeader = tenantHeader;
+        }
+
+        public Integer getMaxParts() {
+            return maxParts;
+        }
+
+        public void setMaxParts(Integer maxParts) {
+            this.maxParts = maxParts;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ColumnType;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ContentInfo;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.CsvInfo;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FailureCode;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ImageInfo;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.XmlInfo;
+
+/**
+ * 디렉터리에 결과를 키별 작은 파일로 저장하는 내장 2차 저장소.
+ * 애플리케이션을 재시작해도, 같은 볼륨을 공유하는 여러 인스턴스 사이에서도 결과를 재사용할 수 있다.
+ * 결과는 {@link Properties} 텍스트로 저장하며(역직렬화 취약점이 없도록 Java 직렬화는 사용하지 않음),
+ * 임시 파일에 쓴 뒤 원자적으로 이동하므로 읽는 쪽이 쓰다 만 파일을 보지 않는다.
+ */
+public final class FileVerdictStore implements VerdictStore {
+
+    private static final String SUFFIX = ".verdict";
+    private static final String TEMP_PREFIX = "verdict-";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String PROP_OK = "ok";
+    private static final String PROP_MESSAGE = "message";
+    private static final String PROP_MIME = "mimeType";
+    private static final String PROP_FILE_TYPE = "fileType";
+    private static final String PROP_ENCODING = "encoding";
+    private static final String PROP_FAILURE_CODE = "failureCode";
+    private static final String PROP_DETAIL = "detail";
+    private static final String PROP_CREATED = "createdAt";
+    private static final String PROP_CSV_RECORDS = "csv.records";
+    private static final String PROP_CSV_COLUMNS = "csv.columns";
+    private static final String PROP_CSV_DELIMITER = "csv.delimiter";
+    private static final String PROP_CSV_LINE_TERMINATOR = "csv.lineTerminator";
+    private static final String PROP_CSV_QUOTE = "csv.quote";
+    private static final String PROP_CSV_HEADER = "csv.header";
+    // 열 이름은 쉼표를 포함할 수 있으므로 열 번호별 키로 저장
+    private static final String PROP_CSV_COLUMN_NAME_PREFIX = "csv.columnName.";
+    private static final String PROP_CSV_COLUMN_TYPES = "csv.columnTypes";
+    private static final String PROP_CSV_ESTIMATED_ROWS = "csv.estimatedRows";
+    private static final String PROP_IMAGE_WIDTH = "image.width";
+    private static final String PROP_IMAGE_HEIGHT = "image.height";
+    private static final String PROP_IMAGE_BIT_DEPTH = "image.bitDepth";
+    private static final String PROP_XML_ROOT = "xml.root";
+    private static final String PROP_XML_ENCODING = "xml.encoding";
+    private static final String PROP_XML_NAMESPACE = "xml.namespace";
+
+    private final Path directory;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    /**
+     * @param directory 결과를 저장할 디렉터리 (없으면 생성)
+     * @param ttl       결과 유효 기간
+     */
+    public FileVerdictStore(Path directory, Duration ttl) throws IOException {
+        this(directory, ttl, Clock.systemUTC());
+    }
+
+    FileVerdictStore(Path directory, Duration ttl, Clock clock) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public FileCheckResult get(String key) {
+        Path file = fileOf(key);
+        if (file == null) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            // 읽을 수 없는 항목은 미스로 처리
+            return null;
+        }
+        try {
+            long created = Long.parseLong(properties.getProperty(PROP_CREATED, "0"));
+            if (clock.millis() - created > ttlMillis) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            boolean ok = Boolean.parseBoolean(properties.getProperty(PROP_OK));
+            String fileType = properties.getProperty(PROP_FILE_TYPE);
+            String failureCode = properties.getProperty(PROP_FAILURE_CODE);
+            return new FileCheckResult(
+                    ok,
+                    properties.getProperty(PROP_MESSAGE),
+                    properties.getProperty(PROP_MIME),
+                    fileType != null ? FileType.valueOf(fileType) : null,
+                    properties.getProperty(PROP_ENCODING),
+                    failureCode != null ? FailureCode.valueOf(failureCode) : ok ? null : FailureCode.OTHER,
+                    properties.getProperty(PROP_DETAIL),
+                    readContent(properties));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, FileCheckResult result) {
+        Path file = fileOf(key);
+        if (file == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(PROP_OK, Boolean.toString(result.ok()));
+        setIfPresent(properties, PROP_MESSAGE, result.message());
+        setIfPresent(properties, PROP_MIME, result.mimeType());
+        setIfPresent(properties, PROP_FILE_TYPE, result.fileType() != null ? result.fileType().name() : null);
+        setIfPresent(properties, PROP_ENCODING, result.encoding());
+        setIfPresent(properties, PROP_FAILURE_CODE, result.failureCode() != null ? result.failureCode().name() : null);
+        setIfPresent(properties, PROP_DETAIL, result.detail());
+        writeContent(properties, result.content());
+        properties.setProperty(PROP_CREATED, Long.toString(clock.millis()));
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                properties.store(output, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            // 저장 실패는 무시 (다음 요청에서 다시 검증)
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // 남은 임시 파일은 clear()에서 정리됨
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (name.endsWith(SUFFIX) || name.startsWith(TEMP_PREFIX) && name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 키에 해당하는 파일 경로. 키에 파일명으로 쓸 수 없는 문자가 있으면 null.
+     */
+    private Path fileOf(String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            boolean allowed = c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                    || c == '-' || c == '_';
+            if (!allowed) {
+                return null;
+            }
+        }
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static ContentInfo readContent(Properties properties) {
+        String width = properties.getProperty(PROP_IMAGE_WIDTH);
+        if (width != null) {
+            return new ImageInfo(Integer.parseInt(width), Integer.parseInt(properties.getProperty(PROP_IMAGE_HEIGHT)),
+                    Integer.parseInt(properties.getProperty(PROP_IMAGE_BIT_DEPTH)));
+        }
+        String root = properties.getProperty(PROP_XML_ROOT);
+        if (root != null) {
+            return new XmlInfo(properties.getProperty(PROP_XML_ENCODING), root,
+                    properties.getProperty(PROP_XML_NAMESPACE));
+        }
+        String delimiter = properties.getProperty(PROP_CSV_DELIMITER);
+        if (delimiter == null) {
+            return null;
+        }
+        boolean header = Boolean.parseBoolean(properties.getProperty(PROP_CSV_HEADER));
+        int columns = Integer.parseInt(properties.getProperty(PROP_CSV_COLUMNS));
+        List<String> names = new ArrayList<>();
+        if (header) {
+            for (int c = 0; c < columns; c++) {
+                names.add(properties.getProperty(PROP_CSV_COLUMN_NAME_PREFIX + c, ""));
+            }
+        }
+        List<ColumnType> types = new ArrayList<>();
+        String typeNames = properties.getProperty(PROP_CSV_COLUMN_TYPES, "");
+        if (!typeNames.isEmpty()) {
+            for (String type : typeNames.split(",")) {
+                types.add(ColumnType.valueOf(type));
+            }
+        }
+        return new CsvInfo(delimiter.charAt(0), properties.getProperty(PROP_CSV_QUOTE, "\"").charAt(0),
+                properties.getProperty(PROP_CSV_LINE_TERMINATOR), header, columns, List.copyOf(names),
+                List.copyOf(types), Long.parseLong(properties.getProperty(PROP_CSV_ESTIMATED_ROWS, "-1")),
+                Long.parseLong(properties.getProperty(PROP_CSV_RECORDS, "-1")));
+    }
+
+    private static void writeContent(Properties properties, ContentInfo content) {
+        if (content instanceof CsvInfo csv) {
+            properties.setProperty(PROP_CSV_DELIMITER, String.valueOf(csv.delimiter()));
+            properties.setProperty(PROP_CSV_QUOTE, String.valueOf(csv.quote()));
+            setIfPresent(properties, PROP_CSV_LINE_TERMINATOR, csv.lineTerminator());
+            properties.setProperty(PROP_CSV_HEADER, Boolean.toString(csv.header()));
+            properties.setProperty(PROP_CSV_COLUMNS, Integer.toString(csv.columns()));
+            for (int c = 0; c < csv.columnNames().size(); c++) {
+                properties.setProperty(PROP_CSV_COLUMN_NAME_PREFIX + c, csv.columnNames().get(c));
+            }
+            StringBuilder types = new StringBuilder();
+            for (ColumnType type : csv.columnTypes()) {
+                if (types.length() > 0) {
+                    types.append(',');
+                }
+                types.append(type.name());
+            }
+            properties.setProperty(PROP_CSV_COLUMN_TYPES, types.toString());
+            properties.setProperty(PROP_CSV_ESTIMATED_ROWS, Long.toString(csv.estimatedRows()));
+            properties.setProperty(PROP_CSV_RECORDS, Long.toString(csv.records()));
+        } else if (content instanceof ImageInfo image) {
+            properties.setProperty(PROP_IMAGE_WIDTH, Integer.toString(image.width()));
+            properties.setProperty(PROP_IMAGE_HEIGHT, Integer.toString(image.height()));
+            properties.setProperty(PROP_IMAGE_BIT_DEPTH, Integer.toString(image.bitDepth()));
+        } else if (content instanceof XmlInfo xml) {
+            properties.setProperty(PROP_XML_ROOT, xml.rootElement());
+            setIfPresent(properties, PROP_XML_ENCODING, xml.declaredEncoding());
+            setIfPresent(properties, PROP_XML_NAMESPACE, xml.namespace());
+        }
+    }
+
+    private static void setIfPresent(Properties properties, String name, String value) {
+        if (value != null) {
+            properties.setProperty(name, value);
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.DefaultMultipartHttpServletRequest;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ValidationOptions;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 멀티파트 요청 본문을 직접 파싱하면서 파일 파트마다 앞부분을 {@link MultipartFileHeaderChecker}로 검증하는 리졸버.
+ * 서블릿 컨테이너의 파서는 본문 전체를 임시 디렉터리에 쓴 뒤에야 컨트롤러가 검증할 수 있지만,
+ * 이 리졸버는 파일 파트의 헤더 구간(정책의 {@link FileCheckPolicy#headerReadBytes()})이 도착하는 즉시 검증하고
+ * 실패하면 {@link RejectedUploadException}을 던져 나머지 본문을 읽지 않는다.
+ * 통과한 파트만 임시 파일(헤더 구간 안에서 끝나는 {@code fileSizeThreshold} 이하 파트는 메모리)에 쓰며,
+ * 쓰는 중 정책의 타입별 최대 크기나 {@code maxFileSize}를 넘으면 그 시점에 중단한다.
+ * PNG/JPEG는 쓰는 동안 청크/마커 구조도 따라가므로 헤더 구간 뒤에 SOF가 있는 JPEG도 정책의 최대 픽셀 수를 넘으면
+ * 그 시점에 중단한다.
+ * 헤더 구간보다 큰 .doc/.xls/.ppt는 임시 파일에 다 쓴 뒤 OLE2 디렉터리로 문서 종류를 확정해 확장자와 대조한다.
+ * XML 심층 검사가 필요한 .xml은 임시 파일에 다 쓴 뒤 그 파일을 StAX로 읽어 확인하고, 위반이면 파트를 돌려주지 않는다.
+ * 파싱 중 검증은 헤더 구간 검증이며, CSV 전체 검사가 필요하면 컨트롤러에서 저장한 파일로 수행한다
+ * (헤더 구간 안에서 끝나는 파일은 파싱 중에 검사한다).
+ * 파일명이 빈 파트(파일을 고르지 않은 입력)는 검증하지 않는다. 요청은 항상 즉시 파싱한다.
+ * 파트 수가 {@link #setMaxParts}를 넘으면 그 파트를 읽기 전에 중단한다.
+ */
+public class HeaderCheckingMultipartResolver implements MultipartResolver {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String MULTIPART_PREFIX = "multipart/";
+    private static final String BOUNDARY_PARAMETER = "boundary";
+    private static final String TEMP_PREFIX = "upload-";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String ERR_NO_BOUNDARY = "멀티파트 요청의 Content-Type에 올바른 경계(boundary)가 없습니다.";
+    private static final String ERR_BAD_DISPOSITION = "멀티파트 파트의 Content-Disposition 형식이 잘못되었습니다: ";
+    private static final String ERR_PARSE_FAILED = "멀티파트 요청을 읽지 못했습니다.";
+    private static final String ERR_TOO_MANY_PARTS = "멀티파트 요청의 파트 수가 최대값을 넘었습니다. (최대 ";
+
+    private long maxFileSize = -1L;
+    private long maxRequestSize = -1L;
+    private long fileSizeThreshold;
+    private int maxParts = -1;
+    private Path location;
+    private boolean strictServletCompliance;
+    private ValidationOptions options = ValidationOptions.defaults();
+    private String tenantHeader;
+
+    /**
+     * 파일 파트 하나의 최대 크기 (바이트, 음수면 제한 없음). 넘으면 {@link MaxUploadSizeExceededException}.
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * 요청 본문의 최대 크기 (바이트, 음수면 제한 없음). {@code Content-Length}가 넘으면 본문을 읽기 전에 거절한다.
+     */
+    public void setMaxRequestSize(long maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    /**
+     * 이 크기 이하의 작은 파일 파트는 임시 파일 대신 메모리에 보관한다 (바이트, 헤더 구간 안에서 끝나는 파트만).
+     */
+    public void setFileSizeThreshold(long fileSizeThreshold) {
+        this.fileSizeThreshold = fileSizeThreshold;
+    }
+
+    /**
+     * 요청 하나의 최대 파트 수 (폼 필드와 파일 파트 모두, 음수면 제한 없음). 넘으면 {@link MultipartException}.
+     * 작은 파트를 많이 보내 파트마다 헤더 파싱과 임시 파일 생성을 반복시키는 요청을 막는다.
+     */
+    public void setMaxParts(int maxParts) {
+        this.maxParts = maxParts;
+    }
+
+    /**
+     * 임시 파일 디렉터리. null이면 시스템 임시 디렉터리.
+     */
+    public void setLocation(Path location) {
+        this.location = location;
+    }
+
+    /**
+     * {@code multipart/form-data} 요청만 처리할지 여부 (기본 false - 모든 {@code multipart/} 요청).
+     */
+    public void setStrictServletCompliance(boolean strictServletCompliance) {
+        this.strictServletCompliance = strictServletCompliance;
+    }
+
+    /**
+     * 파일 파트 검증 옵션. 테넌트는 {@link #setTenantHeader}로 지정한 요청 헤더가 있으면 그 값으로 바뀐다.
+     */
+    public void setValidationOptions(ValidationOptions options) {
+        this.options = options != null ? options : ValidationOptions.defaults();
+    }
+
+    /**
+     * 적용할 정책의 테넌트 ID를 읽을 요청 헤더 이름. null이면 검증 옵션의 테넌트를 쓴다.
+     * 클라이언트가 보낸 값을 그대로 쓰므로 게이트웨이가 설정하는 헤더여야 한다.
+     */
+    public void setTenantHeader(String tenantHeader) {
+        this.tenantHeader = StringUtils.hasText(tenantHeader) ? tenantHeader : null;
+    }
+
+    @Override
+    public boolean isMultipart(HttpServletRequest request) {
+        return StringUtils.startsWithIgnoreCase(request.getContentType(),
+                strictServletCompliance ? MediaType.MULTIPART_FORM_DATA_VALUE : MULTIPART_PREFIX);
+    }
+
+    @Override
+    public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) throws MultipartException {
+        String boundary = boundary(request.getContentType());
+        if (maxRequestSize >= 0 && request.getContentLengthLong() > maxRequestSize) {
+            // 본문을 읽기 전에 거절
+            throw new MaxUploadSizeExceededException(maxRequestSize);
+        }
+        ValidationOptions requestOptions = optionsFor(request);
+        FileCheckPolicy policy = MultipartFileHeaderChecker.policyFor(requestOptions);
+        requestOptions = policy.apply(requestOptions);
+
+        MultiValueMap<String, MultipartFile> files = new LinkedMultiValueMap<>();
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        Map<String, String> parameterContentTypes = new LinkedHashMap<>();
+        boolean parsed = false;
+        try {
+            InputStream body = request.getInputStream();
+            if (maxRequestSize >= 0) {
+                // Content-Length 없이 (chunked) 보낸 본문도 제한
+                body = new RequestSizeLimit(body, maxRequestSize);
+            }
+            MultipartStreamParser parser = new MultipartStreamParser(body, boundary, BUFFER_SIZE);
+            HttpHeaders headers;
+            int parts = 0;
+            while ((headers = parser.nextPart()) != null) {
+                if (maxParts >= 0 && ++parts > maxParts) {
+                    throw new MultipartException(ERR_TOO_MANY_PARTS + maxParts + ")");
+                }
+                ContentDisposition disposition = contentDisposition(headers);
+                if (disposition == null || disposition.getName() == null) {
+                    // 이름 없는 파트는 무시 (본문은 다음 파트로 넘어갈 때 버림)
+                    continue;
+                }
+                String name = disposition.getName();
+                String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+                if (disposition.getFilename() == null) {
+                    String value = readParameter(parser.body(), contentType, request.getCharacterEncoding());
+                    parameters.merge(name, new String[] {value}, HeaderCheckingMultipartResolver::append);
+                    if (contentType != null) {
+                        parameterContentTypes.putIfAbsent(name, contentType);
+                    }
+                } else {
+                    files.add(name, spool(parser.body(), name, disposition.getFilename(), contentType,
+                            requestOptions, policy));
+                }
+            }
+            parsed = true;
+        } catch (IOException e) {
+            throw new MultipartException(ERR_PARSE_FAILED, e);
+        } finally {
+            if (!parsed) {
+                delete(files);
+            }
+        }
+        return new DefaultMultipartHttpServletRequest(request, files, parameters, parameterContentTypes);
+    }
+
+    @Override
+    public void cleanupMultipart(MultipartHttpServletRequest request) {
+        delete(request.getMultiFileMap());
+    }
+
+    private ValidationOptions optionsFor(HttpServletRequest request) {
+        String tenant = tenantHeader != null ? request.getHeader(tenantHeader) : null;
+        return StringUtils.hasText(tenant) ? options.toBuilder().tenant(tenant.trim()).build() : options;
+    }
+
+    /**
+     * 파일 파트를 검증하고 보관한다. 헤더 구간을 먼저 읽어 검증하므로 실패하면 아무것도 쓰지 않는다.
+     *
+     * @throws RejectedUploadException 헤더 검증에 실패했거나 정책의 최대 크기를 넘은 경우
+     */
+    private SpooledMultipartFile spool(InputStream body, String name, String filename, String contentType,
+                                       ValidationOptions requestOptions, FileCheckPolicy policy) throws IOException {
+        ValidationTrace trace = MultipartFileHeaderChecker.startTrace(ValidationTrace.Route.MULTIPART);
+        try {
+            return spool(trace.count(body), name, filename, contentType, requestOptions, policy, trace);
+        } catch (RejectedUploadException e) {
+            trace.finish(e.getResult());
+            throw e;
+        } catch (MaxUploadSizeExceededException e) {
+            trace.finish(MultipartFileHeaderChecker.sizeLimitFailure(e.getMaxUploadSize()));
+            throw e;
+        }
+    }
+
+    /**
+     * {@link #spool}의 본체. 통과한 파트는 여기서 추적을 마치고, 실패는 예외를 받은 호출자가 기록한다.
+     *
+     * @param trace 메트릭 추적 ({@link ValidationTrace#NOOP}이면 측정 안 함)
+     */
+    private SpooledMultipartFile spool(InputStream body, String name, String filename, String contentType,
+                                       ValidationOptions requestOptions, FileCheckPolicy policy,
+                                       ValidationTrace trace) throws IOException {
+        long phaseStart = trace.begin();
+        byte[] header = body.readNBytes(policy.headerReadBytes());
+        trace.end(ValidationTrace.Phase.HEADER_READ, phaseStart);
+        if (filename.isEmpty() && header.length == 0) {
+            // 파일을 고르지 않은 입력 (브라우저가 빈 파일명과 빈 본문으로 보냄, 검증하지 않으므로 기록 안 함)
+            return new SpooledMultipartFile(name, filename, contentType, header);
+        }
+        FileCheckResult result = MultipartFileHeaderChecker.validateHeader(header, filename, requestOptions,
+                policy, null, trace);
+        if (!result.ok()) {
+            throw new RejectedUploadException(name, filename, result);
+        }
+        if (maxFileSize >= 0 && header.length > maxFileSize) {
+            throw new MaxUploadSizeExceededException(maxFileSize);
+        }
+        boolean complete = header.length < policy.headerReadBytes();
+        if (complete && header.length <= fileSizeThreshold) {
+            trace.finish(result);
+            return new SpooledMultipartFile(name, filename, contentType, header);
+        }
+
+        ExtensionRule rule = ExtensionRule.ofName(filename);
+        // 헤더 구간 검증은 헤더 뒤의 JPEG SOF와 PNG 청크 CRC를 보지 못하므로 쓰는 동안 구조를 따라가 확인
+        ImageWalker imageWalker = complete ? null : ImageWalker.forRule(rule, policy.imageCrcCheck());
+        if (imageWalker != null) {
+            imageWalker.update(header, 0, header.length);
+        }
+        Path file = location != null
+                ? Files.createTempFile(location, TEMP_PREFIX, TEMP_SUFFIX)
+                : Files.createTempFile(TEMP_PREFIX, TEMP_SUFFIX);
+        boolean keep = false;
+        try {
+            long size = header.length;
+            try (OutputStream output = Files.newOutputStream(file)) {
+                output.write(header);
+                if (!complete) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int n;
+                    while ((n = body.read(buffer)) >= 0) {
+                        size += n;
+                        if (maxFileSize >= 0 && size > maxFileSize) {
+                            throw new MaxUploadSizeExceededException(maxFileSize);
+                        }
+                        FileCheckResult tooLarge = policy.sizeLimitExceeded(rule.fileType(), size);
+                        if (tooLarge != null) {
+                            throw new RejectedUploadException(name, filename, tooLarge);
+                        }
+                        if (imageWalker != null && !imageWalker.done()) {
+                            phaseStart = trace.begin();
+                            boolean done = imageWalker.update(buffer, 0, n);
+                            trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                            if (done) {
+                                checkImage(imageWalker, name, filename, policy);
+                            }
+                        }
+                        output.write(buffer, 0, n);
+                    }
+                }
+                if (imageWalker != null) {
+                    imageWalker.finish();
+                    checkImage(imageWalker, name, filename, policy);
+                }
+            }
+            if (!complete && rule.container() == ExtensionRule.Container.OLE2) {
+                // 헤더 구간 검증은 OLE2 디렉터리를 보지 못해 문서 종류를 확정하지 않았으므로 다 쓴 임시 파일로 확인
+                phaseStart = trace.begin();
+                try {
+                    checkOle2(file, name, filename);
+                } finally {
+                    trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                }
+            }
+            if (!complete && rule == ExtensionRule.XML && requestOptions.xmlWellFormed()) {
+                // 헤더 구간 검증은 헤더 구간 안에서 끝나는 문서만 심층 검사하므로 다 쓴 임시 파일로 확인
+                phaseStart = trace.begin();
+                try {
+                    checkXml(file, name, filename, policy);
+                } finally {
+                    trace.end(ValidationTrace.Phase.XML_SCAN, phaseStart);
+                }
+            }
+            trace.finish(result);
+            keep = true;
+            return new SpooledMultipartFile(name, filename, contentType, file, size);
+        } finally {
+            if (!keep) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * 이미지 구조 확인 결과를 판정한다.
+     *
+     * @throws RejectedUploadException 이미지 구조가 손상되었거나 정책의 최대 픽셀 수를 넘은 경우
+     */
+    private static void checkImage(ImageWalker walker, String name, String filename, FileCheckPolicy policy) {
+        FileCheckResult result = MultipartFileHeaderChecker.checkImage(walker, policy);
+        if (result != null) {
+            throw new RejectedUploadException(name, filename, result);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 OLE2 문서의 디렉터리를 읽어 문서 종류가 확장자와 맞는지 확인한다.
+     *
+     * @throws RejectedUploadException 디렉터리가 손상되었거나 문서 종류가 확장자와 다른 경우
+     */
+    private static void checkOle2(Path file, String name, String filename) throws IOException {
+        FileCheckResult result;
+        // 헤더 구간은 이미 검증했으므로 디렉터리 구간만 위치 지정 읽기로 읽음
+        try (PathValidationSession session = PathValidationSession.open(file, 0)) {
+            result = MultipartFileHeaderChecker.validateOle2Directory(session, filename);
+        }
+        if (result != null) {
+            throw new RejectedUploadException(name, filename, result);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 XML 문서를 끝까지 읽어 잘 구성되었는지 확인한다.
+     *
+     * @throws RejectedUploadException 잘 구성되지 않았거나 정책의 XML 한도를 넘은 경우
+     */
+    private static void checkXml(Path file, String name, String filename, FileCheckPolicy policy)
+            throws IOException {
+        XmlWellFormedness.Result xml;
+        try (InputStream input = Files.newInputStream(file)) {
+            xml = XmlWellFormedness.check(input, policy.xmlMaxDepth(), policy.xmlMaxAttributes(),
+                    policy.maxSize(FileType.XML));
+        }
+        FileCheckResult result = MultipartFileHeaderChecker.checkXml(xml, policy);
+        if (result != null) {
+            throw new RejectedUploadException(name, filename, result);
+        }
+    }
+
+    /**
+     * 일반 폼 필드 값을 읽는다. 파트의 문자셋, 요청 문자셋, UTF-8 순서로 디코딩한다.
+     */
+    private static String readParameter(InputStream body, String contentType, String requestEncoding)
+            throws IOException {
+        Charset charset = null;
+        if (contentType != null) {
+            try {
+                charset = MediaType.parseMediaType(contentType).getCharset();
+            } catch (IllegalArgumentException e) {
+                // 형식이 잘못되었거나 지원하지 않는 문자셋이면 요청 문자셋으로 읽음
+            }
+        }
+        if (charset == null && requestEncoding != null && Charset.isSupported(requestEncoding)) {
+            charset = Charset.forName(requestEncoding);
+        }
+        return new String(body.readAllBytes(), charset != null ? charset : StandardCharsets.UTF_8);
+    }
+
+    private static String[] append(String[] values, String[] added) {
+        String[] merged = new String[values.length + added.length];
+        System.arraycopy(values, 0, merged, 0, values.length);
+        System.arraycopy(added, 0, merged, values.length, added.length);
+        return merged;
+    }
+
+    private static String boundary(String contentType) {
+        String boundary = null;
+        try {
+            boundary = contentType != null
+                    ? MediaType.parseMediaType(contentType).getParameter(BOUNDARY_PARAMETER)
+                    : null;
+        } catch (InvalidMediaTypeException e) {
+            // 아래에서 경계 없음으로 처리
+        }
+        if (boundary != null && boundary.length() >= 2 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        if (boundary == null || boundary.isEmpty()
+                || boundary.length() > MultipartStreamParser.MAX_BOUNDARY_LENGTH) {
+            throw new MultipartException(ERR_NO_BOUNDARY);
+        }
+        return boundary;
+    }
+
+    private static ContentDisposition contentDisposition(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.CONTENT_DISPOSITION);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ContentDisposition.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new MultipartException(ERR_BAD_DISPOSITION + value, e);
+        }
+    }
+
+    private static void delete(MultiValueMap<String, MultipartFile> files) {
+        for (List<MultipartFile> values : files.values()) {
+            for (MultipartFile file : values) {
+                if (file instanceof SpooledMultipartFile spooled) {
+                    try {
+                        spooled.delete();
+                    } catch (IOException e) {
+                        // 삭제하지 못한 임시 파일은 임시 디렉터리 정리에 맡기고 나머지 파일을 계속 삭제
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 요청 본문 크기를 세면서 최대 크기를 넘으면 {@link MaxUploadSizeExceededException}을 던지는 스트림.
+     */
+    private static final class RequestSizeLimit extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        RequestSizeLimit(InputStream input, long limit) {
+            super(input);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            count += n;
+            if (count > limit) {
+                throw new MaxUploadSizeExceededException(limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.skax.aiplatform.common.util;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ImageInfo;
+
+/**
+ * 이미지 파일의 청크/마커 구조를 픽셀 디코딩 없이 따라가며 크기와 비트 깊이를 읽는 스트리밍 상태 기계.
+ * 바이트를 받은 순서대로 {@link #update}에 넘기며, 입력 조각 경계와 무관하게 같은 결과를 낸다.
+ * 생성 후에는 메모리를 할당하지 않으므로 스트림, 위치 지정 읽기, 저장 중 복사 어디서나 같은 방식으로 쓴다.
+ */
+interface ImageWalker {
+
+    /**
+     * 구조 위반 종류.
+     */
+    enum Violation {
+        /** 크기 정보(PNG IHDR, JPEG SOF)가 없거나 값이 올바르지 않음 */
+        HEADER_INVALID,
+        /** 청크/마커 구조가 올바르지 않음 */
+        STRUCTURE_INVALID,
+        /** PNG 청크 CRC 불일치 */
+        CRC_MISMATCH,
+        /** 구조가 끝나기 전에 파일이 끝남 (잘린 업로드) */
+        TRUNCATED
+    }
+
+    /**
+     * 파일 바이트를 처음부터 순서대로 받는다 ({@link #pendingSkip()}으로 건너뛴 구간은 제외).
+     *
+     * @return 판정이 끝났으면 true (이후 입력은 무시)
+     */
+    boolean update(byte[] bytes, int offset, int length);
+
+    /**
+     * 판정에 필요 없어 읽지 않고 건너뛰어도 되는 다음 바이트 수 (JPEG 세그먼트 본문 등).
+     * 건너뛰었으면 {@link #skipped(long)}로 알린다. 건너뛰지 않고 {@link #update}로 넘겨도 된다.
+     */
+    default long pendingSkip() {
+        return 0L;
+    }
+
+    /**
+     * {@link #pendingSkip()} 중 실제로 건너뛴 바이트 수를 알린다.
+     */
+    default void skipped(long count) {
+    }
+
+    /**
+     * 판정이 끝났는지 여부.
+     */
+    boolean done();
+
+    /**
+     * 입력이 끝났음을 알린다. 판정이 끝나지 않았으면 잘린 파일로 판정한다.
+     */
+    void finish();
+
+    /**
+     * 발견한 위반, 없으면 null.
+     */
+    Violation violation();
+
+    /**
+     * 읽은 크기 정보, 아직 읽지 못했거나 위반이면 null.
+     * PNG는 CRC를 끝까지 확인하는 중이어도 IHDR을 읽은 뒤부터 돌려준다.
+     */
+    ImageInfo info();
+
+    /**
+     * 확장자 규칙에 맞는 걷기 상태 기계를 만든다.
+     *
+     * @param verifyCrc PNG를 IEND 청크까지 따라가며 모든 청크의 CRC를 확인할지 여부
+     * @return 구조를 따라갈 이미지 형식이 아니면 null
+     */
+    static ImageWalker forRule(ExtensionRule rule, boolean verifyCrc) {
+        if (rule == ExtensionRule.PNG) {
+            return new PngChunkWalker(verifyCrc);
+        }
+        if (rule == ExtensionRule.JPG || rule == ExtensionRule.JPEG) {
+            return new JpegMarkerWalker();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,214 @@
+package com.skax.aiplatform.common.util;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ImageInfo;
+
+/**
+ * JPEG 마커 세그먼트를 SOI부터 첫 SOFn 마커까지 따라가는 {@link ImageWalker}.
+ * SOFn 세그먼트에서 표본 정밀도(비트 깊이), 높이, 너비를 읽고 끝낸다. 그 앞의 APPn(EXIF 썸네일 등),
+ * DQT, DHT 세그먼트는 길이만 읽고 본문은 건너뛴다 ({@link #pendingSkip()}).
+ * 세그먼트 사이의 찌꺼기 바이트는 libjpeg처럼 다음 마커까지 무시하지만, SOF 없이 SOS나 EOI가 나오면 거부한다.
+ */
+final class JpegMarkerWalker implements ImageWalker {
+
+    private static final int MARKER_PREFIX = 0xFF;
+    private static final int SOI = 0xD8;
+    private static final int EOI = 0xD9;
+    private static final int SOS = 0xDA;
+    private static final int TEM = 0x01;
+    private static final int RST0 = 0xD0;
+    private static final int RST7 = 0xD7;
+    private static final int SOF0 = 0xC0;
+    private static final int SOF15 = 0xCF;
+    // SOF 범위 안의 비 SOF 마커 (DHT, JPG 예약, DAC)
+    private static final int DHT = 0xC4;
+    private static final int JPG = 0xC8;
+    private static final int DAC = 0xCC;
+    // SOF 세그먼트 앞부분: 정밀도 1 + 높이 2 + 너비 2 + 성분 수 1
+    private static final int SOF_HEAD_BYTES = 6;
+    private static final int LENGTH_BYTES = 2;
+    // 무손실 JPEG은 2~16비트, 기본/확장 DCT는 8/12비트
+    private static final int MIN_PRECISION = 2;
+    private static final int MAX_PRECISION = 16;
+
+    private enum State {
+        SOI,
+        MARKER,
+        MARKER_CODE,
+        LENGTH,
+        SOF,
+        SKIP,
+        DONE
+    }
+
+    // 고정 길이 필드 수집 버퍼 (SOI, 세그먼트 길이, SOF 앞부분)
+    private final byte[] field = new byte[SOF_HEAD_BYTES];
+    private int need;
+    private int filled;
+    private State state;
+    private int marker;
+    // 건너뛸 세그먼트 본문의 남은 바이트 수
+    private long remaining;
+    private ImageInfo info;
+    private Violation violation;
+
+    JpegMarkerWalker() {
+        expect(State.SOI, 2);
+    }
+
+    @Override
+    public boolean update(byte[] bytes, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        while (i < end && state != State.DONE) {
+            switch (state) {
+                case SKIP -> {
+                    int n = (int) Math.min(remaining, end - i);
+                    i += n;
+                    skipped(n);
+                }
+                case MARKER -> {
+                    // 다음 마커 접두 바이트까지 찌꺼기 무시
+                    while (i < end && (bytes[i] & 0xFF) != MARKER_PREFIX) {
+                        i++;
+                    }
+                    if (i < end) {
+                        i++;
+                        state = State.MARKER_CODE;
+                    }
+                }
+                case MARKER_CODE -> markerCode(bytes[i++] & 0xFF);
+                default -> {
+                    int n = Math.min(need - filled, end - i);
+                    System.arraycopy(bytes, i, field, filled, n);
+                    filled += n;
+                    i += n;
+                    if (filled == need) {
+                        complete();
+                    }
+                }
+            }
+        }
+        return state == State.DONE;
+    }
+
+    @Override
+    public long pendingSkip() {
+        return state == State.SKIP ? remaining : 0L;
+    }
+
+    @Override
+    public void skipped(long count) {
+        remaining -= count;
+        if (remaining == 0) {
+            state = State.MARKER;
+        }
+    }
+
+    @Override
+    public boolean done() {
+        return state == State.DONE;
+    }
+
+    @Override
+    public void finish() {
+        if (state != State.DONE) {
+            reject(Violation.TRUNCATED);
+        }
+    }
+
+    @Override
+    public Violation violation() {
+        return violation;
+    }
+
+    @Override
+    public ImageInfo info() {
+        return info;
+    }
+
+    private void markerCode(int code) {
+        if (code == MARKER_PREFIX) {
+            // 마커 앞의 채움 바이트
+            return;
+        }
+        if (code == 0 || code == TEM || code >= RST0 && code <= RST7) {
+            // 길이 없는 마커 또는 엔트로피 구간의 바이트 채움 (SOF 앞에서는 무시)
+            state = State.MARKER;
+            return;
+        }
+        if (code == SOI) {
+            reject(Violation.STRUCTURE_INVALID);
+            return;
+        }
+        if (code == SOS || code == EOI) {
+            // 스캔이나 파일 끝이 크기 정보보다 먼저 나옴
+            reject(Violation.HEADER_INVALID);
+            return;
+        }
+        marker = code;
+        expect(State.LENGTH, LENGTH_BYTES);
+    }
+
+    /**
+     * 고정 길이 필드를 다 모았을 때 다음 상태를 정한다.
+     */
+    private void complete() {
+        switch (state) {
+            case SOI -> {
+                if ((field[0] & 0xFF) != MARKER_PREFIX || (field[1] & 0xFF) != SOI) {
+                    reject(Violation.STRUCTURE_INVALID);
+                    return;
+                }
+                state = State.MARKER;
+            }
+            case LENGTH -> {
+                // 세그먼트 길이는 길이 필드 자신을 포함
+                int length = (field[0] & 0xFF) << 8 | field[1] & 0xFF;
+                if (isStartOfFrame(marker)) {
+                    if (length < LENGTH_BYTES + SOF_HEAD_BYTES) {
+                        reject(Violation.HEADER_INVALID);
+                        return;
+                    }
+                    expect(State.SOF, SOF_HEAD_BYTES);
+                } else if (length < LENGTH_BYTES) {
+                    reject(Violation.STRUCTURE_INVALID);
+                } else if (length == LENGTH_BYTES) {
+                    state = State.MARKER;
+                } else {
+                    remaining = length - LENGTH_BYTES;
+                    state = State.SKIP;
+                }
+            }
+            case SOF -> {
+                int precision = field[0] & 0xFF;
+                int height = (field[1] & 0xFF) << 8 | field[2] & 0xFF;
+                int width = (field[3] & 0xFF) << 8 | field[4] & 0xFF;
+                int components = field[5] & 0xFF;
+                // 높이 0은 첫 스캔 뒤 DNL 마커로 정하는 형식이지만 픽셀 수를 미리 알 수 없으므로 거부
+                if (precision < MIN_PRECISION || precision > MAX_PRECISION || height == 0 || width == 0
+                        || components == 0) {
+                    reject(Violation.HEADER_INVALID);
+                    return;
+                }
+                info = new ImageInfo(width, height, precision);
+                state = State.DONE;
+            }
+            default -> throw new IllegalStateException(state.name());
+        }
+    }
+
+    private static boolean isStartOfFrame(int code) {
+        return code >= SOF0 && code <= SOF15 && code != DHT && code != JPG && code != DAC;
+    }
+
+    private void expect(State next, int bytes) {
+        state = next;
+        need = bytes;
+        filled = 0;
+    }
+
+    private void reject(Violation found) {
+        violation = found;
+        state = State.DONE;
+    }
+}
@@ -1,17 +1,25 @@
 package com.skax.aiplatform.common.util;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Reader;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Set;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.tika.detect.DefaultDetector;
+import org.apache.tika.detect.Detector;
 import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
@@ -27,71 +35,251 @@ import com.ibm.icu.text.CharsetMatch;
 public final class MultipartFileHeaderChecker {
 
     // 헤더 읽기 크기 (파일 헤더만 읽기 위해 충분한 크기)
-    private static final int HEADER_READ_BYTES = 8192;
-    private static final int CSV_SNIFF_BYTES = 4096;
+    // 스트림 검증이 참조하는 앞부분 구간 전체 (CSV 샘플, 인코딩 샘플 포함)
+    // 헤더/CSV 샘플 구간은 정책 기본값이며 FileCheckPolicy로 바꿀 수 있음
+    static final int HEADER_READ_BYTES = 8192;
+    static final int CSV_SNIFF_BYTES = 4096;
     private static final int CHARSET_SAMPLE_BYTES = 8192; // 헤더만 읽도록 변경
     private static final int COPY_BUFFER_SIZE = 8192;
-
-    // 허용 파일 확장자 목록
-    private static final Set<String> ALLOWED_EXTENSIONS = Set.of(
-            ".ppt", ".pptx", ".pdf", ".doc", ".docx",
-            ".xls", ".xlsx", ".png", ".jpg", ".jpeg",
-            ".txt", ".zip", ".csv", ".xml");
-
-    // 파일 확장자
-    private static final String EXT_XLSX = ".xlsx";
-    private static final String EXT_XLS = ".xls";
-    private static final String EXT_CSV = ".csv";
+    private static final int FULL_SCAN_BUFFER_SIZE = 64 * 1024;
+    // 이미지 구조를 따라갈 때의 읽기 버퍼 (JPEG 세그먼트 본문은 읽지 않고 건너뜀)
+    private static final int IMAGE_WALK_BUFFER_SIZE = 8192;
+    // 일괄 검증 기본 동시 실행 수 (헤더 읽기 위주의 I/O 대기 작업)
+    private static final int DEFAULT_BATCH_CONCURRENCY = 16;
 
     // MIME 타입
-    private static final String MIME_XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-    private static final String MIME_TIKA_OOXML = "application/x-tika-ooxml";
-    private static final String MIME_WORD = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
-    private static final String MIME_PRESENTATION = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+    private static final String MIME_TIKA_OOXML = SignatureMatcher.MIME_TIKA_OOXML;
 
     // 인코딩
-    private static final String ENC_UTF8 = "UTF-8";
-    private static final String ENC_UTF8_SIG = "UTF-8-SIG";
+    static final String ENC_UTF8 = "UTF-8";
+    static final String ENC_UTF8_SIG = "UTF-8-SIG";
 
     // 성공 메시지
     private static final String MSG_SUCCESS = "검증 성공";
     private static final String MSG_SUCCESS_CSV = "검증 성공(CSV, UTF-8)";
+    private static final String MSG_SUCCESS_CSV_PREFIX = "검증 성공(CSV, ";
     private static final String MSG_SUCCESS_EXCEL = "검증 성공(Excel)";
 
     // 에러 메시지
     private static final String ERR_EMPTY_FILE = "빈 파일입니다.";
-    private static final String ERR_INVALID_EXTENSION = "허용되지 않은 파일 확장자입니다. 허용 확장자: ";
+    static final String ERR_INVALID_EXTENSION = "허용되지 않은 파일 확장자입니다. 허용 확장자: ";
     private static final String ERR_UNSUPPORTED_TYPE = "지원하지 않는 파일 타입입니다. (감지된 MIME: ";
     private static final String ERR_FILE_PROCESS = "파일 처리 오류: ";
     private static final String ERR_CSV_ENCODING_UNKNOWN = "CSV 인코딩을 판별할 수 없습니다.";
     private static final String ERR_CSV_ENCODING_INVALID = "CSV는 UTF-8 이어야 합니다. (감지: ";
     private static final String ERR_CSV_EMPTY = "CSV 내용이 비어 있습니다.";
+    private static final String ERR_CSV_UTF8_MALFORMED = "CSV에 올바르지 않은 UTF-8 바이트 시퀀스가 있습니다. (위치: ";
+    private static final String ERR_SUFFIX_BYTE_OFFSET = " 바이트)";
+    private static final String ERR_FILE_TOO_LARGE = "파일 크기가 허용 한도를 초과합니다. (최대: ";
+    private static final String ERR_FILE_TOO_SMALL = "파일 크기가 형식의 최소 구조 크기보다 작습니다. (최소: ";
+    private static final String ERR_CSV_QUOTE_UNBALANCED_LINE = "CSV에 닫히지 않은 따옴표(\") 필드가 있습니다. (시작 줄: ";
+    private static final String ERR_CSV_QUOTE_INVALID = "CSV 따옴표(\") 사용이 올바르지 않습니다. (줄: ";
+    private static final String ERR_CSV_COLUMN_COUNT = "CSV 레코드의 열 개수가 첫 레코드와 다릅니다. (줄: ";
+    private static final String ERR_CSV_LINE_ENDING = "CSV 줄 끝 문자가 올바르지 않거나 섞여 있습니다. (줄: ";
+    private static final String ERR_CSV_TRANSCODE_FAILED = "CSV를 UTF-8로 변환할 수 없습니다. 판별된 인코딩으로 읽을 수 없는 바이트가 있습니다. (위치: ";
     private static final String ERR_CSV_FORMAT_INVALID = "파일 확장자가 .csv이지만 실제 파일 내용이 CSV 형식이 아닙니다.";
     private static final String ERR_EXTENSION_MIME_MISMATCH = "파일 확장자와 실제 파일 형식(MIME 타입)이 일치하지 않습니다. 확장자: ";
     private static final String ERR_XLSX_INVALID = "XLSX 포맷 오류: ";
     private static final String ERR_XLS_INVALID = "XLS 포맷 오류: ";
     private static final String ERR_EXCEL_INVALID = "Excel 포맷 오류: ";
+    private static final String ERR_ZIP_INVALID = "ZIP 포맷 오류: ";
+    private static final String ERR_OLE2_INVALID = "OLE2 포맷 오류: ";
+    private static final String ERR_PDF_INVALID = "PDF 포맷 오류: ";
+    private static final String ERR_IMAGE_INVALID = "이미지 포맷 오류: ";
+    private static final String ERR_IMAGE_TOO_LARGE = "이미지 픽셀 수가 허용 한도를 초과합니다. (최대: ";
+    private static final String ERR_SUFFIX_PIXELS = " 픽셀)";
+    private static final String ERR_XML_MALFORMED = "XML 문서가 올바르게 구성되지 않았습니다.";
+    private static final String ERR_XML_MALFORMED_AT = "XML 문서가 올바르게 구성되지 않았습니다. (줄:열 ";
+    private static final String ERR_XML_DTD = "XML 문서에 DOCTYPE(DTD) 선언은 허용되지 않습니다.";
+    private static final String ERR_XML_TOKEN_TOO_LARGE = "XML 태그, 주석 또는 처리 명령 하나의 크기가 한도를 초과합니다. (최대: "
+            + XmlWellFormedness.MAX_TOKEN_BYTES + ERR_SUFFIX_BYTE_OFFSET;
+    static final String ERR_XML_DEPTH_EXCEEDED = "XML 요소 중첩 깊이가 허용 한도를 초과합니다. (최대: ";
+    static final String ERR_XML_ATTRIBUTES_EXCEEDED = "XML 요소의 속성 수가 허용 한도를 초과합니다. (최대: ";
     private static final String ERR_DETAIL_NO_FILENAME = "파일명이 없습니다.";
     private static final String ERR_DETAIL_FILE_TOO_SMALL = "파일이 너무 작습니다.";
     private static final String ERR_DETAIL_INVALID_XLSX = "올바른 XLSX 파일이 아닙니다.";
     private static final String ERR_DETAIL_INVALID_XLS = "올바른 XLS 파일이 아닙니다.";
     private static final String ERR_DETAIL_INVALID_EXCEL = "올바른 Excel 파일이 아닙니다.";
+    private static final String ERR_DETAIL_XLSX_UNCONFIRMED = "헤더에서 XLSX 형식을 확인할 수 없습니다.";
     private static final String ERR_DETAIL_FILE_READ = "파일을 읽을 수 없습니다.";
+    private static final String ERR_DETAIL_ZIP_CENTRAL_DIRECTORY = "중앙 디렉터리를 찾을 수 없습니다.";
+    private static final String ERR_DETAIL_OLE2_DIRECTORY = "복합 문서 디렉터리를 읽을 수 없습니다.";
+    private static final String ERR_DETAIL_PDF_EOF = "파일 끝에 %%EOF가 없습니다. (잘린 파일)";
+    private static final String ERR_DETAIL_PDF_STARTXREF = "파일 끝에 startxref 오프셋이 없습니다.";
+    private static final String ERR_DETAIL_PDF_XREF = "startxref 오프셋이 교차 참조 구간을 가리키지 않습니다.";
+    private static final String ERR_DETAIL_IMAGE_HEADER = "크기 정보(PNG IHDR, JPEG SOF)가 없거나 올바르지 않습니다.";
+    private static final String ERR_DETAIL_IMAGE_STRUCTURE = "청크/마커 구조가 올바르지 않습니다.";
+    private static final String ERR_DETAIL_IMAGE_CRC = "PNG 청크 CRC가 일치하지 않습니다.";
+    private static final String ERR_DETAIL_IMAGE_TRUNCATED = "이미지 구조가 끝나기 전에 파일이 끝났습니다. (잘린 파일)";
     private static final String ERR_SUFFIX_CLOSE_PAREN = ")";
     private static final String ERR_DETAIL_PATH_DELETE = "파일 삭제에 실패했습니다: ";
     private static final String ERR_DETAIL_POST_VALIDATION_DELETE = "검증 후 파일 삭제에 실패했습니다: ";
-    private static final String ERR_DETAIL_OOXML_REFINE = "OOXML MIME 정제에 실패했습니다.";
-    private static final String ERR_DETAIL_HEADER_READ = "파일 헤더를 읽는 중 오류가 발생했습니다: ";
+    private static final String ERR_DETAIL_WARM_UP = "MIME 감지기 예열에 실패했습니다.";
+    private static final String ERR_BATCH_CANCELLED = "다른 파일의 검증 실패로 검증이 취소되었습니다.";
+    private static final String ERR_DETAIL_BATCH_CONCURRENCY = "maxConcurrency는 1 이상이어야 합니다: ";
+    private static final String ERR_DETAIL_FAILED_RESULT = "실패한 검증 결과로는 UTF-8 스트림을 열 수 없습니다: ";
+    private static final String ERR_DETECTED_MIME = ", 감지된 MIME: ";
+
+    // 고정 메시지 실패 결과 (거부 경로에서 할당 없음)
+    private static final FileCheckResult FAIL_EMPTY_FILE = failure(FailureCode.EMPTY_FILE, ERR_EMPTY_FILE);
+    private static final FileCheckResult FAIL_NO_FILENAME = failure(FailureCode.NO_FILENAME,
+            ERR_FILE_PROCESS + ERR_DETAIL_NO_FILENAME);
+    private static final FileCheckResult FAIL_FILE_READ = failure(FailureCode.FILE_READ, ERR_DETAIL_FILE_READ);
+    // 확장자 규칙별 최소 크기 미달 결과 (규칙 순서)
+    private static final FileCheckResult[] FAIL_FILE_TOO_SMALL = tooSmallFailures();
+    private static final FileCheckResult FAIL_ZIP_INVALID = failure(FailureCode.ZIP_INVALID,
+            ERR_ZIP_INVALID + ERR_DETAIL_ZIP_CENTRAL_DIRECTORY);
+    private static final FileCheckResult FAIL_OLE2_INVALID = failure(FailureCode.OLE2_INVALID,
+            ERR_OLE2_INVALID + ERR_DETAIL_OLE2_DIRECTORY);
+    private static final FileCheckResult FAIL_PDF_EOF = failure(FailureCode.PDF_INVALID,
+            ERR_PDF_INVALID + ERR_DETAIL_PDF_EOF);
+    private static final FileCheckResult FAIL_PDF_STARTXREF = failure(FailureCode.PDF_INVALID,
+            ERR_PDF_INVALID + ERR_DETAIL_PDF_STARTXREF);
+    private static final FileCheckResult FAIL_PDF_XREF = failure(FailureCode.PDF_INVALID,
+            ERR_PDF_INVALID + ERR_DETAIL_PDF_XREF);
+    private static final FileCheckResult FAIL_IMAGE_HEADER = failure(FailureCode.IMAGE_INVALID,
+            ERR_IMAGE_INVALID + ERR_DETAIL_IMAGE_HEADER);
+    private static final FileCheckResult FAIL_IMAGE_STRUCTURE = failure(FailureCode.IMAGE_INVALID,
+            ERR_IMAGE_INVALID + ERR_DETAIL_IMAGE_STRUCTURE);
+    private static final FileCheckResult FAIL_IMAGE_CRC = failure(FailureCode.IMAGE_INVALID,
+            ERR_IMAGE_INVALID + ERR_DETAIL_IMAGE_CRC);
+    private static final FileCheckResult FAIL_IMAGE_TRUNCATED = failure(FailureCode.IMAGE_INVALID,
+            ERR_IMAGE_INVALID + ERR_DETAIL_IMAGE_TRUNCATED);
+    private static final FileCheckResult FAIL_XML_MALFORMED = failure(FailureCode.XML_MALFORMED, ERR_XML_MALFORMED);
+    private static final FileCheckResult FAIL_XML_DTD = failure(FailureCode.XML_DTD_NOT_ALLOWED, ERR_XML_DTD);
+    private static final FileCheckResult FAIL_XML_TOKEN_TOO_LARGE = new FileCheckResult(false,
+            ERR_XML_TOKEN_TOO_LARGE, null, null, null, FailureCode.XML_LIMIT_EXCEEDED,
+            Integer.toString(XmlWellFormedness.MAX_TOKEN_BYTES));
+    private static final FileCheckResult FAIL_XLSX_TOO_SMALL = failure(FailureCode.EXCEL_INVALID,
+            ERR_XLSX_INVALID + ERR_DETAIL_FILE_TOO_SMALL);
+    private static final FileCheckResult FAIL_XLSX_INVALID = failure(FailureCode.EXCEL_INVALID,
+            ERR_XLSX_INVALID + ERR_DETAIL_INVALID_XLSX);
+    private static final FileCheckResult FAIL_XLSX_UNCONFIRMED = failure(FailureCode.EXCEL_INVALID,
+            ERR_XLSX_INVALID + ERR_DETAIL_XLSX_UNCONFIRMED);
+    private static final FileCheckResult FAIL_XLS_TOO_SMALL = failure(FailureCode.EXCEL_INVALID,
+            ERR_XLS_INVALID + ERR_DETAIL_FILE_TOO_SMALL);
+    private static final FileCheckResult FAIL_XLS_INVALID = failure(FailureCode.EXCEL_INVALID,
+            ERR_XLS_INVALID + ERR_DETAIL_INVALID_XLS);
+    private static final FileCheckResult FAIL_EXCEL_TOO_SMALL = failure(FailureCode.EXCEL_INVALID,
+            ERR_EXCEL_INVALID + ERR_DETAIL_FILE_TOO_SMALL);
+    private static final FileCheckResult FAIL_EXCEL_INVALID = failure(FailureCode.EXCEL_INVALID,
+            ERR_EXCEL_INVALID + ERR_DETAIL_INVALID_EXCEL);
+    private static final FileCheckResult FAIL_CSV_FORMAT_INVALID = failure(FailureCode.CSV_FORMAT_INVALID,
+            ERR_CSV_FORMAT_INVALID);
+    private static final FileCheckResult FAIL_CSV_ENCODING_UNKNOWN = failure(FailureCode.CSV_ENCODING_UNKNOWN,
+            ERR_CSV_ENCODING_UNKNOWN);
+    private static final FileCheckResult FAIL_CSV_EMPTY = failure(FailureCode.CSV_EMPTY, ERR_CSV_EMPTY);
+    private static final FileCheckResult FAIL_CANCELLED = failure(FailureCode.CANCELLED, ERR_BATCH_CANCELLED);
 
     // OOXML 관련
     private static final String OOXML_CONTENT_TYPES_XML = "[Content_Types].xml";
     private static final String OOXML_SPREADSHEET_MAIN = "spreadsheetml.sheet.main+xml";
-    private static final String OOXML_WORD_MAIN = "wordprocessingml.document.main+xml";
-    private static final String OOXML_PRESENTATION_MAIN = "presentationml.presentation.main+xml";
+
+    // 인코딩 판별 결과 (고속 경로는 할당 없이 공유)
+    private static final CharsetVerdict CHARSET_UTF8 = new CharsetVerdict(ENC_UTF8, ENC_UTF8);
+    private static final CharsetVerdict CHARSET_UTF8_SIG = new CharsetVerdict(ENC_UTF8, ENC_UTF8_SIG);
+    private static final CharsetVerdict CHARSET_UNKNOWN = new CharsetVerdict(null, null);
+
+    // ICU4J 감지기는 생성 비용이 있고 스레드 안전하지 않으므로 스레드별로 재사용
+    private static final ThreadLocal<CharsetDetector> CHARSET_DETECTOR =
+            ThreadLocal.withInitial(CharsetDetector::new);
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    // 예열용 최소 샘플 (시그니처가 없는 텍스트 - Tika 경로를 거치도록)
+    private static final byte[] WARM_UP_SAMPLE = "id,name\n1,warm-up\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    // 검증 결과 캐시 (null이면 사용 안 함)
+    private static volatile VerdictCache verdictCache;
+
+    // 검증 메트릭 (null이면 기록 안 함, FileCheckMetrics가 설정)
+    private static volatile ValidationMetrics metrics;
+
+    // 검증 정책 스냅샷 (null이면 기본 정책)
+    private static volatile FileCheckPolicies policies;
 
     private MultipartFileHeaderChecker() {
     }
 
+    /**
+     * 공유 MIME 감지기 보관 클래스.
+     * Tika DefaultDetector 생성 시 ServiceLoader 스캔과 매직 테이블 구성이 일어나므로
+     * 클래스 초기화 시점에 한 번만 생성한다. DefaultDetector는 스레드 안전하다.
+     */
+    private static final class DetectorHolder {
+        private static final Detector DETECTOR = new DefaultDetector();
+
+        private DetectorHolder() {
+        }
+    }
+
+    /**
+     * MIME 감지기를 미리 생성하고 한 번 감지를 수행하여 예열한다.
+     * 애플리케이션 시작 시 호출하면 배포 후 첫 업로드에도 감지기 생성 비용이 발생하지 않는다.
+     * 여러 번 호출해도 안전하다.
+     */
+    public static void warmUp() {
+        try {
+            detectMimeWithTika(WARM_UP_SAMPLE, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(ERR_DETAIL_WARM_UP, e);
+        }
+    }
+
+    /**
+     * 검증 결과 캐시를 설정한다. null이면 캐시를 사용하지 않는다 (기본값).
+     * 설정하면 {@link #validate(MultipartFile, ValidationOptions)} 계열 검증이 내용 지문이 같은 파일의 결과를 재사용한다.
+     */
+    public static void setVerdictCache(VerdictCache cache) {
+        verdictCache = cache;
+    }
+
+    /**
+     * 현재 설정된 검증 결과 캐시. 없으면 null.
+     */
+    public static VerdictCache getVerdictCache() {
+        return verdictCache;
+    }
+
+    /**
+     * 검증 정책 스냅샷을 교체한다. null이면 기본 정책으로 되돌린다.
+     * 참조 하나를 바꾸는 것이므로 검증 중인 요청을 막지 않으며, 이후 시작하는 검증부터 새 정책이 적용된다.
+     */
+    public static void setPolicies(FileCheckPolicies fileCheckPolicies) {
+        policies = fileCheckPolicies;
+    }
+
+    /**
+     * 현재 적용 중인 검증 정책 스냅샷.
+     */
+    public static FileCheckPolicies getPolicies() {
+        FileCheckPolicies current = policies;
+        return current != null ? current : FileCheckPolicies.defaults();
+    }
+
+    /**
+     * 옵션의 테넌트에 적용할 정책.
+     */
+    static FileCheckPolicy policyFor(ValidationOptions options) {
+        FileCheckPolicies current = policies;
+        return current != null ? current.forTenant(options.tenant()) : FileCheckPolicy.defaults();
+    }
+
+    /**
+     * 설정된 메트릭 기록기로 검증 한 건의 추적을 시작한다 (검증 진입점이 이 클래스 밖에 있는 경로용).
+     *
+     * @return 메트릭이 설정되지 않았으면 {@link ValidationTrace#NOOP}
+     */
+    static ValidationTrace startTrace(ValidationTrace.Route route) {
+        return ValidationTrace.start(metrics, route);
+    }
+
+    /**
+     * 검증 메트릭 기록기를 설정한다. null이면 기록하지 않는다 (기본값).
+     */
+    static void setMetrics(ValidationMetrics validationMetrics) {
+        metrics = validationMetrics;
+    }
+
     /**
      * 지원 파일 포맷 유형.
      */
@@ -108,10 +296,372 @@ public final class MultipartFileHeaderChecker {
         OTHER
     }
 
+    /**
+     * 검증 실패 사유 코드. 메시지 문구 대신 이 코드로 분기한다.
+     */
+    public enum FailureCode {
+        /** 파일이 없거나 비어 있음 */
+        EMPTY_FILE,
+        /** 파일명이 없음 */
+        NO_FILENAME,
+        /** 허용되지 않은 확장자 */
+        EXTENSION_NOT_ALLOWED,
+        /** 정책의 최대 크기 초과 (상세: 최대 크기 바이트 수) */
+        FILE_TOO_LARGE,
+        /** 형식의 최소 구조 크기 미만 (상세: 최소 크기 바이트 수) */
+        FILE_TOO_SMALL,
+        /** 파일 내용을 읽을 수 없음 */
+        FILE_READ,
+        /** 입출력 오류 (상세: 예외 메시지) */
+        IO_ERROR,
+        /** 지원하지 않는 파일 타입 (감지 MIME은 mimeType) */
+        UNSUPPORTED_TYPE,
+        /** 확장자와 실제 형식 불일치 (상세: 확장자, 감지 MIME은 mimeType) */
+        EXTENSION_MIME_MISMATCH,
+        /** ZIP 중앙 디렉터리 손상 */
+        ZIP_INVALID,
+        /** OLE2 복합 문서 디렉터리 손상 */
+        OLE2_INVALID,
+        /** PDF 파일 끝 구조 손상 ({@code %%EOF}, {@code startxref}, 교차 참조 오프셋 - 잘린 업로드 등) */
+        PDF_INVALID,
+        /** PNG 청크 또는 JPEG 마커 구조 손상 (IHDR/SOF 누락, 청크 CRC 불일치, 잘린 파일) */
+        IMAGE_INVALID,
+        /** 이미지 픽셀 수(너비 × 높이)가 정책의 최대 픽셀 수 초과 (상세: 최대 픽셀 수) */
+        IMAGE_TOO_LARGE,
+        /** XML 문서가 잘 구성되지 않음 (태그 짝, 선언되지 않은 엔티티 등, 상세: 줄:열, 위치를 모르면 없음) */
+        XML_MALFORMED,
+        /** XML 문서에 DOCTYPE(DTD) 선언이 있음 (엔티티 확장 폭탄, 외부 엔티티 차단) */
+        XML_DTD_NOT_ALLOWED,
+        /** XML 요소 중첩 깊이, 요소당 속성 수 또는 토큰 크기가 한도 초과 (상세: 한도) */
+        XML_LIMIT_EXCEEDED,
+        /** Excel 헤더 구조 오류 */
+        EXCEL_INVALID,
+        /** .csv 확장자이지만 CSV 형식이 아님 */
+        CSV_FORMAT_INVALID,
+        /** CSV 인코딩 판별 불가 */
+        CSV_ENCODING_UNKNOWN,
+        /** CSV가 UTF-8이 아님 (상세: 감지된 인코딩) */
+        CSV_ENCODING_INVALID,
+        /** CSV 내용이 비어 있음 */
+        CSV_EMPTY,
+        /** CSV에 잘못된 UTF-8 시퀀스 (상세: 바이트 위치) */
+        CSV_UTF8_MALFORMED,
+        /** CSV에 닫히지 않은 따옴표 필드 (구조 검사, 상세: 따옴표를 연 줄 번호) */
+        CSV_QUOTE_UNBALANCED,
+        /** CSV 필드 중간의 따옴표 또는 닫는 따옴표 뒤의 문자 (상세: 줄 번호) */
+        CSV_QUOTE_INVALID,
+        /** CSV 레코드의 열 개수가 첫 레코드와 다름 (상세: 줄 번호) */
+        CSV_COLUMN_COUNT_MISMATCH,
+        /** CSV에 LF 없는 CR 또는 CRLF와 LF 혼용 (상세: 줄 번호) */
+        CSV_LINE_ENDING_INVALID,
+        /** 저장 중 UTF-8 변환에서 판별된 인코딩으로 읽을 수 없는 바이트 (상세: 원본 기준 바이트 위치) */
+        CSV_TRANSCODE_FAILED,
+        /** 일괄 검증에서 다른 파일의 실패로 취소됨 */
+        CANCELLED,
+        /** 코드 없이 메시지만으로 만든 실패 */
+        OTHER
+    }
+
     /**
      * 검증 결과.
+     * 실패 결과는 {@link #failureCode()}로 사유를 구분하며, 상세 값이 있는 실패의 메시지는
+     * {@link #message()}를 호출할 때 코드와 상세 값으로 만든다 (거부 경로에서 문자열을 미리 만들지 않음).
+     *
+     * @param ok          검증 성공 여부
+     * @param message     메시지 (상세 값으로 만드는 실패 메시지는 null로 두고 조회 시 생성)
+     * @param mimeType    감지된 MIME 타입 (불일치/미지원 실패에서는 판정에 쓰인 감지 MIME)
+     * @param fileType    파일 타입 (성공 시)
+     * @param encoding    인코딩 (CSV UTF-8 검증 시)
+     * @param failureCode 실패 사유 코드 (성공이면 null)
+     * @param detail      실패 상세 값 (확장자, 감지 인코딩, 바이트 위치, 예외 메시지 등), 없으면 null
+     * @param content     형식별 내용 정보 (CSV 방언과 스키마, 이미지 크기, XML 루트 요소 등), 없으면 null
+     */
+    public record FileCheckResult(boolean ok, String message, String mimeType, FileType fileType, String encoding,
+                                  FailureCode failureCode, String detail, ContentInfo content)
+            implements Serializable {
+
+        /**
+         * 내용 정보 없이 결과를 만든다.
+         */
+        public FileCheckResult(boolean ok, String message, String mimeType, FileType fileType, String encoding,
+                               FailureCode failureCode, String detail) {
+            this(ok, message, mimeType, fileType, encoding, failureCode, detail, null);
+        }
+
+        /**
+         * 실패 코드 없이 결과를 만든다 (실패면 {@link FailureCode#OTHER}).
+         */
+        public FileCheckResult(boolean ok, String message, String mimeType, FileType fileType, String encoding) {
+            this(ok, message, mimeType, fileType, encoding, ok ? null : FailureCode.OTHER, null);
+        }
+
+        @Override
+        public String message() {
+            return message != null ? message : renderFailure(failureCode, detail, mimeType);
+        }
+
+        /**
+         * CSV 방언과 스키마, CSV가 아니거나 추정하지 못했으면 null.
+         */
+        public CsvInfo csv() {
+            return content instanceof CsvInfo csv ? csv : null;
+        }
+
+        /**
+         * 이미지 크기와 비트 깊이, PNG/JPEG가 아니거나 구조를 끝까지 확인하지 못했으면 null.
+         */
+        public ImageInfo image() {
+            return content instanceof ImageInfo image ? image : null;
+        }
+
+        /**
+         * XML 선언 인코딩과 루트 요소, XML 심층 검사를 하지 않았으면 null.
+         */
+        public XmlInfo xml() {
+            return content instanceof XmlInfo xml ? xml : null;
+        }
+
+        FileCheckResult withContent(ContentInfo content) {
+            return content == null ? this
+                    : new FileCheckResult(ok, message, mimeType, fileType, encoding, failureCode, detail, content);
+        }
+
+        @Override
+        public String toString() {
+            return "FileCheckResult[ok=" + ok + ", message=" + message() + ", mimeType=" + mimeType
+                    + ", fileType=" + fileType + ", encoding=" + encoding + ", failureCode=" + failureCode
+                    + ", detail=" + detail + ", content=" + content + "]";
+        }
+    }
+
+    /**
+     * 검증 중 얻은 형식별 내용 정보.
+     */
+    public sealed interface ContentInfo extends Serializable {
+    }
+
+    /**
+     * CSV 방언과 스키마. 방언과 스키마는 CSV 판별에 읽은 앞부분으로 추정하고, 레코드 수는 구조 검사를 한 경우에만 정확히 센다.
+     *
+     * @param delimiter      필드 구분자
+     * @param quote          따옴표 문자
+     * @param lineTerminator 레코드 구분 줄 끝 ({@code "\r\n"}, {@code "\n"}, {@code "\r"}), 레코드가 한 줄뿐이면 null
+     * @param header         첫 레코드가 헤더인지 여부 (추정)
+     * @param columns        열 수 (첫 레코드 기준)
+     * @param columnNames    헤더의 열 이름, 헤더가 없으면 빈 목록
+     * @param columnTypes    데이터 행으로 추정한 열 타입
+     * @param estimatedRows  데이터 행 수 (헤더 제외), 앞부분이 파일 전체이거나 구조 검사를 했으면 정확한 값,
+     *                       아니면 행 평균 바이트 수로 추정한 값, 파일 크기를 모르면 -1
+     * @param records        구조 검사로 센 레코드 수 (헤더 포함, 끝의 빈 줄 제외), 구조 검사를 하지 않았으면 -1
      */
-    public record FileCheckResult(boolean ok, String message, String mimeType, FileType fileType, String encoding) {
+    public record CsvInfo(char delimiter, char quote, String lineTerminator, boolean header, int columns,
+                          List<String> columnNames, List<ColumnType> columnTypes, long estimatedRows,
+                          long records) implements ContentInfo {
+    }
+
+    /**
+     * PNG IHDR 청크나 JPEG SOF 마커에서 읽은 이미지 크기. 픽셀은 디코딩하지 않는다.
+     *
+     * @param width    너비 (픽셀)
+     * @param height   높이 (픽셀)
+     * @param bitDepth 표본당 비트 수 (PNG 비트 깊이, JPEG 표본 정밀도)
+     */
+    public record ImageInfo(int width, int height, int bitDepth) implements ContentInfo {
+
+        /**
+         * 픽셀 수 (너비 × 높이).
+         */
+        public long pixels() {
+            return (long) width * height;
+        }
+    }
+
+    /**
+     * XML 심층 검사로 읽은 문서 정보.
+     *
+     * @param declaredEncoding XML 선언의 {@code encoding} 값, 선언이 없거나 인코딩을 적지 않았으면 null
+     * @param rootElement      루트 요소 이름 (접두사가 있으면 {@code 접두사:이름})
+     * @param namespace        루트 요소의 네임스페이스 URI, 없으면 null
+     */
+    public record XmlInfo(String declaredEncoding, String rootElement, String namespace) implements ContentInfo {
+    }
+
+    /**
+     * CSV 열 타입.
+     */
+    public enum ColumnType {
+        /** true/false */
+        BOOLEAN,
+        /** 부호가 있을 수 있는 정수 (0으로 시작하는 두 자리 이상은 제외) */
+        INTEGER,
+        /** 소수점이나 지수가 있는 수 */
+        DECIMAL,
+        /** yyyy-MM-dd (-, /, . 구분) */
+        DATE,
+        /** 날짜와 시각 (ISO 8601 형식, 시간대 선택) */
+        DATETIME,
+        /** 그 밖의 값 */
+        TEXT
+    }
+
+    /**
+     * 저장하면서 검증한 결과.
+     *
+     * @param result     검증 결과 ({@code encoding}은 원본 인코딩)
+     * @param size       대상에 쓴 바이트 수 (헤더 검증에 실패해 쓰지 않았으면 0)
+     * @param sha256     대상에 쓴 내용의 SHA-256 (소문자 16진수), 쓰지 않았으면 null
+     * @param transcoded 정책의 {@code csvTranscode}에 따라 원본 인코딩을 UTF-8로 변환해 썼는지 여부
+     */
+    public record StoreResult(FileCheckResult result, long size, String sha256, boolean transcoded) {
+
+        /**
+         * 변환 없이 저장한 결과를 만든다.
+         */
+        public StoreResult(FileCheckResult result, long size, String sha256) {
+            this(result, size, sha256, false);
+        }
+
+        public boolean ok() {
+            return result.ok();
+        }
+    }
+
+    /**
+     * 검증 옵션.
+     *
+     * @param checkUTF8Encoding CSV/XLS/XLSX 파일의 UTF-8 인코딩 검증 여부 (헤더 구간만 검사)
+     * @param fullUtf8Scan      CSV 파일 전체를 스트리밍으로 읽어 UTF-8 유효성을 엄격하게 검사할지 여부.
+     *                          켜면 UTF-8 인코딩 검증도 함께 수행되며, 실패 시 첫 잘못된 시퀀스의 바이트 위치를 알려준다.
+     * @param parallelScan      파일 경로 검증에서 전체 검사를 구간별 메모리 매핑과 포크-조인 풀로 병렬 수행할지 여부.
+     *                          켜면 전체 검사도 함께 켜지며, 결과는 순차 검사와 같다. 스트림 검증에서는 순차로 수행된다.
+     * @param tenant            적용할 정책의 테넌트 ID ({@link #setPolicies}). null이면 기본 정책.
+     * @param csvStructure      전체 검사와 같은 읽기에서 CSV 구조(RFC 4180 따옴표 규칙, 열 개수, 줄 끝)를 검사하고
+     *                          레코드 수와 열 수를 결과({@link FileCheckResult#csv()})에 담을지 여부.
+     *                          켜면 전체 검사도 함께 켜지며, 따옴표 상태가 구간 경계를 넘으므로 순차로 수행된다.
+     * @param xmlWellFormed     .xml 파일 전체를 DTD 없이 StAX로 읽어 잘 구성되었는지와 정책의 깊이/속성 수 한도를
+     *                          확인하고, 선언 인코딩과 루트 요소를 결과({@link FileCheckResult#xml()})에 담을지 여부.
+     */
+    public record ValidationOptions(boolean checkUTF8Encoding, boolean fullUtf8Scan, boolean parallelScan,
+                                    String tenant, boolean csvStructure, boolean xmlWellFormed) {
+
+        private static final ValidationOptions DEFAULTS = builder().build();
+
+        /**
+         * XML 검사 없이 옵션을 만든다.
+         */
+        public ValidationOptions(boolean checkUTF8Encoding, boolean fullUtf8Scan, boolean parallelScan,
+                                 String tenant, boolean csvStructure) {
+            this(checkUTF8Encoding, fullUtf8Scan, parallelScan, tenant, csvStructure, false);
+        }
+
+        /**
+         * 구조 검사 없이 옵션을 만든다.
+         */
+        public ValidationOptions(boolean checkUTF8Encoding, boolean fullUtf8Scan, boolean parallelScan,
+                                 String tenant) {
+            this(checkUTF8Encoding, fullUtf8Scan, parallelScan, tenant, false);
+        }
+
+        /**
+         * 기본 정책을 쓰는 옵션을 만든다.
+         */
+        public ValidationOptions(boolean checkUTF8Encoding, boolean fullUtf8Scan, boolean parallelScan) {
+            this(checkUTF8Encoding, fullUtf8Scan, parallelScan, null);
+        }
+
+        /**
+         * 기본 옵션 (MIME 타입과 헤더 시그니처만 검증).
+         */
+        public static ValidationOptions defaults() {
+            return DEFAULTS;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public Builder toBuilder() {
+            return new Builder()
+                    .checkUTF8Encoding(checkUTF8Encoding)
+                    .fullUtf8Scan(fullUtf8Scan)
+                    .parallelScan(parallelScan)
+                    .tenant(tenant)
+                    .csvStructure(csvStructure)
+                    .xmlWellFormed(xmlWellFormed);
+        }
+
+        /**
+         * UTF-8 인코딩 검증이 필요한지 여부 (전체 검사를 켜면 함께 켜짐).
+         */
+        boolean utf8CheckRequested() {
+            return checkUTF8Encoding || fullScanRequested();
+        }
+
+        /**
+         * CSV 전체 검사가 필요한지 여부 (병렬 검사나 구조 검사를 켜면 함께 켜짐).
+         */
+        boolean fullScanRequested() {
+            return fullUtf8Scan || parallelScan || csvStructure;
+        }
+
+        /**
+         * 검증 결과에 영향을 주는 옵션을 비트로 표현한다 (결과 캐시 키용).
+         * 병렬 검사는 순차 검사와 결과가 같으므로 전체 검사와 같은 비트로 취급한다.
+         */
+        int verdictBits() {
+            return (utf8CheckRequested() ? 1 : 0) | (fullScanRequested() ? 2 : 0) | (csvStructure ? 4 : 0)
+                    | (xmlWellFormed ? 8 : 0);
+        }
+
+        /**
+         * {@link ValidationOptions} 빌더.
+         */
+        public static final class Builder {
+            private boolean checkUTF8Encoding;
+            private boolean fullUtf8Scan;
+            private boolean parallelScan;
+            private String tenant;
+            private boolean csvStructure;
+            private boolean xmlWellFormed;
+
+            private Builder() {
+            }
+
+            public Builder checkUTF8Encoding(boolean checkUTF8Encoding) {
+                this.checkUTF8Encoding = checkUTF8Encoding;
+                return this;
+            }
+
+            public Builder fullUtf8Scan(boolean fullUtf8Scan) {
+                this.fullUtf8Scan = fullUtf8Scan;
+                return this;
+            }
+
+            public Builder parallelScan(boolean parallelScan) {
+                this.parallelScan = parallelScan;
+                return this;
+            }
+
+            public Builder tenant(String tenant) {
+                this.tenant = tenant;
+                return this;
+            }
+
+            public Builder csvStructure(boolean csvStructure) {
+                this.csvStructure = csvStructure;
+                return this;
+            }
+
+            public Builder xmlWellFormed(boolean xmlWellFormed) {
+                this.xmlWellFormed = xmlWellFormed;
+                return this;
+            }
+
+            public ValidationOptions build() {
+                return new ValidationOptions(checkUTF8Encoding, fullUtf8Scan, parallelScan, tenant, csvStructure,
+                        xmlWellFormed);
+            }
+        }
     }
 
     /**
@@ -133,28 +683,426 @@ public final class MultipartFileHeaderChecker {
      * @return 검증 결과
      */
     public static FileCheckResult validate(MultipartFile file, boolean checkUTF8Encoding) {
-        if (file == null || file.isEmpty()) {
-            return fail(ERR_EMPTY_FILE);
+        return validate(file, ValidationOptions.builder().checkUTF8Encoding(checkUTF8Encoding).build());
+    }
+
+    /**
+     * 업로드된 멀티파트 파일을 주어진 옵션으로 검증한다.
+     *
+     * @param file    검증할 파일
+     * @param options 검증 옵션
+     * @return 검증 결과
+     */
+    public static FileCheckResult validate(MultipartFile file, ValidationOptions options) {
+        ValidationTrace trace = ValidationTrace.start(metrics, ValidationTrace.Route.STREAM);
+        return trace.finish(validateMultipart(file, options, trace));
+    }
+
+    private static FileCheckResult validateMultipart(MultipartFile file, ValidationOptions options,
+                                                     ValidationTrace trace) {
+        // 정책 스냅샷은 검증 한 건에 한 번만 읽음
+        FileCheckPolicy policy = policyFor(options);
+        options = policy.apply(options);
+        FileCheckResult precheck = validateUpload(file, policy);
+        if (precheck != null) {
+            return precheck;
         }
 
         String originalName = file.getOriginalFilename();
-        if (originalName == null) {
-            return fail(ERR_FILE_PROCESS + ERR_DETAIL_NO_FILENAME);
+
+        // 대용량 파일 지원: InputStream에서 헤더만 읽어서 검증
+        // 임시 파일을 만들지 않아 디스크 공간을 절약합니다
+        VerdictCache cache = verdictCache;
+        try (InputStream inputStream = trace.count(file.getInputStream());
+             ReopeningStreamSource container = new ReopeningStreamSource(
+                     () -> trace.count(file.getInputStream()), file.getSize())) {
+            if (cache != null) {
+                return validateCached(cache, inputStream, originalName, file.getSize(), options, policy, trace,
+                        container);
+            }
+            return validateFromInputStream(inputStream, originalName, file.getSize(), options, policy, trace,
+                    container);
+        } catch (IOException e) {
+            return ioFailure(e);
         }
+    }
 
-        // 파일 확장자 유효성 체크
-        String extension = extractExtension(originalName);
-        if (!isAllowedExtension(extension)) {
-            return fail(ERR_INVALID_EXTENSION + String.join(", ", ALLOWED_EXTENSIONS));
+    /**
+     * 헤더 구간의 내용 지문으로 캐시를 먼저 조회하고, 없으면 검증한 뒤 저장한다.
+     * 헤더 구간만으로 결과가 정해지는 경우에만 저장한다 (OLE2 디렉터리, CSV 전체 검사, PDF 끝 구조 검사, JPEG 마커와
+     * PNG 청크 CRC 확인, XML 심층 검사는 헤더가 파일 전체일 때만, {@link #dependsOnFullContent}).
+     */
+    private static FileCheckResult validateCached(VerdictCache cache, InputStream inputStream, String originalName,
+                                                  long size, ValidationOptions options, FileCheckPolicy policy,
+                                                  ValidationTrace trace, PositionalSource container)
+            throws IOException {
+        int headerReadBytes = policy.headerReadBytes();
+        if (!inputStream.markSupported()) {
+            inputStream = new java.io.BufferedInputStream(inputStream, headerReadBytes * 2);
         }
+        inputStream.mark(headerReadBytes * 2);
+        byte[] header = inputStream.readNBytes(headerReadBytes);
+        inputStream.reset();
 
-        // 대용량 파일 지원: InputStream에서 헤더만 읽어서 검증
-        // 임시 파일을 만들지 않아 디스크 공간을 절약합니다
-        try (InputStream inputStream = file.getInputStream()) {
-            return validateFromInputStream(inputStream, originalName, checkUTF8Encoding);
+        String key = VerdictCache.key(size, header, extractExtension(originalName), options.verdictBits(),
+                policy.fingerprint());
+        FileCheckResult cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        FileCheckResult result = validateFromInputStream(inputStream, originalName, size, options, policy, trace,
+                container);
+        if (header.length < headerReadBytes || !dependsOnFullContent(originalName, options, policy)) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * 업로드 파일을 검증하면서 대상 경로에 저장하고 SHA-256을 계산한다.
+     * 업로드 스트림은 한 번만 읽고 대상에는 한 번만 쓴다 (검증, {@code transferTo}, 해시 계산을 따로 할 때의 반복 읽기 제거).
+     * 검증에 실패하면 대상 파일은 삭제된다.
+     *
+     * @param file        저장할 파일
+     * @param destination 저장 경로 (있으면 덮어씀)
+     * @param options     검증 옵션
+     * @return 저장 결과
+     */
+    public static StoreResult storeAndValidate(MultipartFile file, Path destination, ValidationOptions options) {
+        ValidationTrace trace = ValidationTrace.start(metrics, ValidationTrace.Route.STORE);
+        FileCheckPolicy policy = policyFor(options);
+        options = policy.apply(options);
+        FileCheckResult precheck = validateUpload(file, policy);
+        if (precheck != null) {
+            return new StoreResult(trace.finish(precheck), 0L, null);
+        }
+
+        boolean keep = false;
+        try (InputStream inputStream = trace.count(file.getInputStream());
+             ReopeningStreamSource container = new ReopeningStreamSource(
+                     () -> trace.count(file.getInputStream()), file.getSize())) {
+            StoreResult stored;
+            try (OutputStream outputStream = Files.newOutputStream(destination)) {
+                stored = StoringValidator.copy(inputStream, file.getOriginalFilename(), outputStream, options,
+                        policy, FULL_SCAN_BUFFER_SIZE, container, trace);
+            }
+            keep = stored.ok();
+            trace.finish(stored.result());
+            return stored;
+        } catch (IOException e) {
+            return new StoreResult(trace.finish(ioFailure(e)), 0L, null);
+        } finally {
+            if (!keep) {
+                try {
+                    Files.deleteIfExists(destination);
+                } catch (IOException cleanupError) {
+                    throw new IllegalStateException(ERR_DETAIL_POST_VALIDATION_DELETE + destination, cleanupError);
+                }
+            }
+        }
+    }
+
+    /**
+     * 업로드 파일을 검증하면서 출력 스트림에 쓰고 SHA-256을 계산한다. 출력 스트림은 닫지 않는다.
+     * 헤더 검증에 실패하면 아무것도 쓰지 않지만, 파일 끝까지 읽어야 하는 검사(CSV 전체 검사)에서 실패하면
+     * 이미 쓴 내용이 남으므로 결과가 실패면 호출자가 출력을 폐기해야 한다.
+     *
+     * @param file        저장할 파일
+     * @param destination 출력 스트림
+     * @param options     검증 옵션
+     * @return 저장 결과
+     */
+    public static StoreResult storeAndValidate(MultipartFile file, OutputStream destination,
+                                               ValidationOptions options) {
+        ValidationTrace trace = ValidationTrace.start(metrics, ValidationTrace.Route.STORE);
+        FileCheckPolicy policy = policyFor(options);
+        options = policy.apply(options);
+        FileCheckResult precheck = validateUpload(file, policy);
+        if (precheck != null) {
+            return new StoreResult(trace.finish(precheck), 0L, null);
+        }
+        try (InputStream inputStream = trace.count(file.getInputStream());
+             ReopeningStreamSource container = new ReopeningStreamSource(
+                     () -> trace.count(file.getInputStream()), file.getSize())) {
+            StoreResult stored = StoringValidator.copy(inputStream, file.getOriginalFilename(), destination,
+                    options, policy, FULL_SCAN_BUFFER_SIZE, container, trace);
+            trace.finish(stored.result());
+            return stored;
+        } catch (IOException e) {
+            return new StoreResult(trace.finish(ioFailure(e)), 0L, null);
+        }
+    }
+
+    /**
+     * 검증 결과의 CSV 인코딩을 기준으로 업로드 파일을 UTF-8로 읽는 스트림을 연다.
+     * 정책이 허용한 레거시 인코딩(EUC-KR, CP949 등)으로 판별된 CSV는 읽는 동안 고정 크기 버퍼로 변환하며,
+     * 변환한 사본을 만들지 않는다. UTF-8 계열이거나 인코딩을 판별하지 않은 결과면 원본 스트림을 그대로 돌려준다.
+     * 읽는 중 판별된 인코딩으로 디코딩할 수 없는 바이트를 만나면 {@link IOException}이 발생한다.
+     *
+     * @param file   검증한 파일
+     * @param result 같은 파일의 성공한 검증 결과
+     * @return UTF-8 스트림 (호출자가 닫아야 함)
+     * @throws IllegalArgumentException 실패한 검증 결과인 경우
+     */
+    public static InputStream openUtf8Stream(MultipartFile file, FileCheckResult result) throws IOException {
+        Charset charset = transcodeCharset(result);
+        InputStream source = file.getInputStream();
+        return charset == null ? source
+                : Channels.newInputStream(new Utf8TranscodingChannel(Channels.newChannel(source), charset));
+    }
+
+    /**
+     * {@link #openUtf8Stream}과 같지만 채널로 연다.
+     *
+     * @param file   검증한 파일
+     * @param result 같은 파일의 성공한 검증 결과
+     * @return UTF-8 채널 (호출자가 닫아야 함)
+     * @throws IllegalArgumentException 실패한 검증 결과인 경우
+     */
+    public static ReadableByteChannel openUtf8Channel(MultipartFile file, FileCheckResult result)
+            throws IOException {
+        Charset charset = transcodeCharset(result);
+        ReadableByteChannel source = Channels.newChannel(file.getInputStream());
+        return charset == null ? source : new Utf8TranscodingChannel(source, charset);
+    }
+
+    /**
+     * 검증 결과의 CSV를 UTF-8로 변환할 때 쓸 원본 문자셋.
+     *
+     * @return 문자셋, CSV가 아니거나 UTF-8 계열이거나 인코딩을 판별하지 않았으면 null
+     * @throws IllegalArgumentException 실패한 검증 결과인 경우
+     */
+    static Charset transcodeCharset(FileCheckResult result) {
+        if (!result.ok()) {
+            throw new IllegalArgumentException(ERR_DETAIL_FAILED_RESULT + result.failureCode());
+        }
+        if (result.fileType() != FileType.CSV || result.encoding() == null || isUtf8Encoding(result.encoding())) {
+            return null;
+        }
+        return Utf8TranscodingChannel.decodingCharset(result.encoding());
+    }
+
+    /**
+     * UTF-8 변환 실패 결과.
+     *
+     * @param offset 디코딩하지 못한 바이트의 원본 기준 위치
+     */
+    static FileCheckResult transcodeFailure(long offset) {
+        return fail(FailureCode.CSV_TRANSCODE_FAILED, Long.toString(offset), null);
+    }
+
+    /**
+     * 정책 밖에서 호출자가 정한 최대 크기(멀티파트 {@code maxFileSize} 등)를 넘은 실패 결과.
+     */
+    static FileCheckResult sizeLimitFailure(long limit) {
+        return fail(FailureCode.FILE_TOO_LARGE, Long.toString(limit), null);
+    }
+
+    /**
+     * 업로드 파일의 존재, 파일명, 확장자, 크기를 확인한다 (스트림을 열지 않음).
+     *
+     * @return 실패 결과, 문제가 없으면 null
+     */
+    private static FileCheckResult validateUpload(MultipartFile file, FileCheckPolicy policy) {
+        if (file == null || file.isEmpty()) {
+            return FAIL_EMPTY_FILE;
+        }
+        String originalName = file.getOriginalFilename();
+        FileCheckResult nameCheck = validateName(originalName, policy);
+        if (nameCheck != null) {
+            return nameCheck;
+        }
+        return validateSize(ExtensionRule.ofName(originalName), file.getSize(), policy);
+    }
+
+    /**
+     * 호출자가 이미 모은 파일 앞부분(최대 {@link FileCheckPolicy#headerReadBytes()}바이트)으로 검증한다.
+     * 리액티브 진입점처럼 스트림을 되감거나 다시 읽을 수 없는 호출자용이다.
+     * 헤더가 정책의 헤더 구간보다 짧으면 파일 전체로 간주한다.
+     * CSV 전체 검사는 수행하지 않으며, 필요하면 호출자가 {@link CsvContentScanner.Incremental}로 이어서 검사한 뒤
+     * {@link #completeCsvScan}으로 결과를 합친다.
+     *
+     * @param options 정책의 최소 검증 단계를 적용한 옵션 ({@link FileCheckPolicy#apply})
+     * @param policy  호출자가 헤더 구간을 모을 때 쓴 정책
+     */
+    static FileCheckResult validateHeader(byte[] header, String originalName, ValidationOptions options,
+                                          FileCheckPolicy policy) {
+        return validateHeader(header, originalName, options, policy, null, ValidationTrace.NOOP);
+    }
+
+    /**
+     * 업로드 파일의 헤더 구간만으로 검증하되, 헤더 구간보다 큰 OLE2 문서는 원본에서 디렉터리를 읽어 확인한다.
+     *
+     * @param container 파일 전체를 위치 지정 읽기로 읽는 원본, 없으면 null (OLE2 문서 종류를 확정하지 않음)
+     * @param trace     메트릭 추적 (헤더 구간을 읽은 뒤의 단계만 측정)
+     */
+    static FileCheckResult validateHeader(byte[] header, String originalName, ValidationOptions options,
+                                          FileCheckPolicy policy, PositionalSource container,
+                                          ValidationTrace trace) {
+        if (header.length == 0) {
+            return FAIL_EMPTY_FILE;
+        }
+        FileCheckResult nameCheck = validateName(originalName, policy);
+        if (nameCheck != null) {
+            return nameCheck;
+        }
+        // 헤더 구간보다 짧으면 파일 전체이므로 크기를 알 수 있음
+        long size = header.length < policy.headerReadBytes() ? header.length : -1L;
+        if (size >= 0) {
+            FileCheckResult sizeCheck = validateSize(ExtensionRule.ofName(originalName), size, policy);
+            if (sizeCheck != null) {
+                return sizeCheck;
+            }
+        }
+        ValidationOptions headerOnly = options.toBuilder()
+                .checkUTF8Encoding(options.utf8CheckRequested())
+                .fullUtf8Scan(false)
+                .parallelScan(false)
+                .csvStructure(false)
+                .build();
+        try {
+            return validateFromInputStream(new ByteArrayInputStream(header), originalName, size, headerOnly,
+                    policy, trace, container);
         } catch (IOException e) {
-            return fail(ERR_FILE_PROCESS + e.getMessage());
+            return ioFailure(e);
+        }
+    }
+
+    /**
+     * 헤더 구간 뒤의 내용까지 결과에 영향을 주는지 여부 (OLE2 디렉터리, CSV 전체 검사, PDF 끝 구조 검사,
+     * 헤더 구간 뒤에 SOF가 있을 수 있는 JPEG, CRC를 끝까지 확인하는 PNG, 심층 검사하는 XML).
+     *
+     * @param options 정책의 최소 검증 단계를 적용한 옵션
+     */
+    static boolean dependsOnFullContent(String originalName, ValidationOptions options, FileCheckPolicy policy) {
+        if (isFullCsvScanRequired(originalName, options)) {
+            return true;
+        }
+        ExtensionRule rule = ExtensionRule.ofName(originalName);
+        return rule.container() == ExtensionRule.Container.OLE2
+                || rule == ExtensionRule.PDF || rule == ExtensionRule.JPG || rule == ExtensionRule.JPEG
+                || rule == ExtensionRule.PNG && policy.imageCrcCheck()
+                || rule == ExtensionRule.XML && options.xmlWellFormed();
+    }
+
+    /**
+     * 파일 전체 CSV 검사가 필요한지 여부.
+     *
+     * @param options 정책의 최소 검증 단계를 적용한 옵션
+     */
+    static boolean isFullCsvScanRequired(String originalName, ValidationOptions options) {
+        return options.fullScanRequested() && ExtensionRule.ofName(originalName) == ExtensionRule.CSV;
+    }
+
+    /**
+     * 헤더 검증 결과와 CSV 전체 검사 결과를 합친다.
+     */
+    static FileCheckResult completeCsvScan(FileCheckResult headerResult, CsvContentScanner.Result scan) {
+        return completeCsvScan(headerResult, scan, false);
+    }
+
+    /**
+     * 헤더 검증 결과와 CSV 전체 검사 결과를 합친다.
+     *
+     * @param transcoded 전체 검사가 UTF-8로 변환한 내용을 대상으로 했는지 여부
+     */
+    static FileCheckResult completeCsvScan(FileCheckResult headerResult, CsvContentScanner.Result scan,
+                                           boolean transcoded) {
+        // 정책이 허용한 UTF-8 외 인코딩으로 판별된 CSV는 변환한 경우에만 전체 검사 대상
+        if (!headerResult.ok() || !transcoded && !isUtf8Encoding(headerResult.encoding())) {
+            return headerResult;
+        }
+        FileCheckResult scanCheck = checkCsvScan(scan);
+        return scanCheck != null ? scanCheck : headerResult.withContent(csvInfo(headerResult.csv(), scan));
+    }
+
+    /**
+     * 구조 검사가 요청된 경우 파일 앞부분으로 구분자를 정한 구조 스캐너를 만든다.
+     *
+     * @param options 정책의 최소 검증 단계를 적용한 옵션
+     * @param head    파일 앞부분 (구분자 판별용)
+     * @return 구조 스캐너, 요청되지 않았으면 null
+     */
+    static CsvStructureScanner newStructureScanner(ValidationOptions options, byte[] head) {
+        if (!options.csvStructure()) {
+            return null;
+        }
+        byte delimiter = CsvDialectSniffer.detectDelimiter(head, head.length);
+        return new CsvStructureScanner(delimiter, CsvDialectSniffer.detectQuote(head, head.length, delimiter));
+    }
+
+    /**
+     * 파일명과 확장자를 확인한다.
+     *
+     * @return 실패 결과, 문제가 없으면 null
+     */
+    private static FileCheckResult validateName(String originalName, FileCheckPolicy policy) {
+        if (originalName == null) {
+            return FAIL_NO_FILENAME;
+        }
+        // 파일 확장자 유효성 체크 (정책의 허용 확장자)
+        if (!policy.allows(ExtensionRule.ofName(originalName))) {
+            return policy.extensionNotAllowed();
         }
+        return null;
+    }
+
+    /**
+     * 파일 크기만으로 거부할 수 있는지 확인한다 (내용을 읽지 않음).
+     * 형식의 최소 구조 크기와 정책의 최대 크기(전체, 파일 타입별)를 비교하며, 실패 결과는 미리 만들어 둔 것을 반환한다.
+     *
+     * @return 실패 결과, 문제가 없으면 null
+     */
+    private static FileCheckResult validateSize(ExtensionRule rule, long size, FileCheckPolicy policy) {
+        if (size == 0) {
+            return FAIL_EMPTY_FILE;
+        }
+        if (size < rule.minSize()) {
+            return FAIL_FILE_TOO_SMALL[rule.ordinal()];
+        }
+        return policy.sizeLimitExceeded(rule.fileType(), size);
+    }
+
+    /**
+     * 여러 업로드 파일을 기본 동시 실행 수로 동시에 검증한다.
+     *
+     * @param files   검증할 파일 목록
+     * @param options 검증 옵션
+     * @return 입력 순서와 같은 검증 결과 목록
+     */
+    public static List<FileCheckResult> validateAll(List<MultipartFile> files, ValidationOptions options) {
+        return validateAll(files, options, DEFAULT_BATCH_CONCURRENCY, false);
+    }
+
+    /**
+     * 여러 업로드 파일을 동시에 검증한다.
+     * 실행 환경이 가상 스레드를 지원하면(Java 21 이상) 가상 스레드에서, 아니면 공유 스레드 풀에서 실행한다.
+     * 전체 소요 시간은 파일별 소요 시간의 합이 아니라 가장 느린 파일에 가까워진다.
+     *
+     * @param files          검증할 파일 목록
+     * @param options        검증 옵션
+     * @param maxConcurrency 동시에 검증할 최대 파일 수
+     * @param failFast       true면 첫 실패 시 남은 검증을 취소하고, 취소된 파일 자리에는 취소 결과를 넣는다
+     * @return 입력 순서와 같은 검증 결과 목록 (수정 불가)
+     */
+    public static List<FileCheckResult> validateAll(List<MultipartFile> files, ValidationOptions options,
+                                                    int maxConcurrency, boolean failFast) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(ERR_DETAIL_BATCH_CONCURRENCY + maxConcurrency);
+        }
+        if (files == null || files.isEmpty()) {
+            return List.of();
+        }
+        if (files.size() == 1 || maxConcurrency == 1 && !failFast) {
+            // 동시 실행 이득이 없으면 호출 스레드에서 순서대로 검증
+            List<FileCheckResult> results = new ArrayList<>(files.size());
+            for (MultipartFile file : files) {
+                results.add(validate(file, options));
+            }
+            return Collections.unmodifiableList(results);
+        }
+        return BatchValidator.run(files, file -> validate(file, options), result -> !result.ok(),
+                FAIL_CANCELLED, maxConcurrency, failFast);
     }
 
     /**
@@ -162,62 +1110,159 @@ public final class MultipartFileHeaderChecker {
      *
      * @param inputStream       파일 InputStream
      * @param originalName      원본 파일명
-     * @param checkUTF8Encoding UTF-8 인코딩 검증 여부
+     * @param size              파일 크기 (CSV 행 수 추정용), 모르면 -1
+     * @param options           검증 옵션
+     * @param trace             메트릭 추적 ({@link ValidationTrace#NOOP}이면 측정 안 함)
+     * @param container         파일 전체를 위치 지정 읽기로 읽는 원본 (헤더 구간보다 큰 OLE2 문서의 디렉터리 확인용),
+     *                          없으면 null
      * @return 검증 결과
      */
-    private static FileCheckResult validateFromInputStream(InputStream inputStream, String originalName,
-                                                           boolean checkUTF8Encoding) throws IOException {
+    private static FileCheckResult validateFromInputStream(InputStream inputStream, String originalName, long size,
+                                                           ValidationOptions options, FileCheckPolicy policy,
+                                                           ValidationTrace trace, PositionalSource container)
+            throws IOException {
         // InputStream을 mark/reset 지원하는 BufferedInputStream으로 래핑
+        int headerReadBytes = policy.headerReadBytes();
         if (!inputStream.markSupported()) {
-            inputStream = new java.io.BufferedInputStream(inputStream, HEADER_READ_BYTES * 2);
+            inputStream = new java.io.BufferedInputStream(inputStream, headerReadBytes * 2);
         }
 
-        // 헤더만 읽기 (최대 HEADER_READ_BYTES 바이트)
-        inputStream.mark(HEADER_READ_BYTES * 2);
-        byte[] header = inputStream.readNBytes(HEADER_READ_BYTES);
+        // 헤더만 읽기 (최대 정책의 헤더 구간 바이트)
+        long phaseStart = trace.begin();
+        inputStream.mark(headerReadBytes * 2);
+        byte[] header = inputStream.readNBytes(headerReadBytes);
         inputStream.reset(); // 이후 사용을 위해 reset
+        trace.end(ValidationTrace.Phase.HEADER_READ, phaseStart);
 
         if (header.length == 0) {
-            return fail(ERR_DETAIL_FILE_READ);
+            return FAIL_FILE_READ;
+        }
+
+        // 확장자 규칙 조회 (호출자가 파일명 검증을 마친 상태)
+        ExtensionRule rule = ExtensionRule.ofName(originalName);
+        if (!policy.allows(rule)) {
+            return policy.extensionNotAllowed();
+        }
+
+        // MIME 타입 감지 (내장 시그니처 매처 우선, 텍스트 계열만 Tika)
+        phaseStart = trace.begin();
+        SignatureMatcher.Signature signature = SignatureMatcher.match(header);
+        String mime = detectMimeFromHeaderBytes(signature, header, originalName, rule.extension());
+        trace.end(ValidationTrace.Phase.MIME_DETECTION, phaseStart);
+        if (signature != null) {
+            trace.fileType(signature.fileType());
+        }
+
+        // 작은 파일은 헤더 버퍼에 파일 전체가 담기므로 컨테이너 내부 디렉터리까지 확인
+        // 헤더 구간보다 큰 OLE2 문서는 다시 열 수 있는 원본이 있으면 디렉터리 구간만 읽어 확인
+        PositionalSource containerSource = header.length < headerReadBytes ? PositionalSource.of(header)
+                : signature == SignatureMatcher.Signature.OLE2 ? container : null;
+        if (containerSource == null && signature == SignatureMatcher.Signature.OLE2) {
+            // 디렉터리를 확인하지 못했으므로 확장자만으로 .doc/.xls/.ppt를 확정하지 않음
+            mime = SignatureMatcher.MIME_TIKA_MSOFFICE;
+        }
+        phaseStart = trace.begin();
+        FileCheckResult containerCheck = containerSource != null
+                ? validateContainer(signature, containerSource, rule, originalName, mime)
+                : null;
+        trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+        if (containerCheck != null) {
+            if (!containerCheck.ok()) {
+                return containerCheck;
+            }
+            mime = containerCheck.mimeType();
         }
 
-        // MIME 타입 감지
-        String mime = detectMimeFromHeaderBytes(header, originalName);
-
         // 확장자와 MIME 타입 일치 검증
-        String extension = extractExtension(originalName);
-        FileCheckResult extensionMimeCheck = validateExtensionMimeMatchFromBytes(extension, mime, header, inputStream,
-                originalName);
-        if (!extensionMimeCheck.ok()) {
+        phaseStart = trace.begin();
+        FileCheckResult extensionMimeCheck = validateExtensionMimeMatch(rule, originalName, mime, header);
+        trace.end(ValidationTrace.Phase.EXTENSION_MATCH, phaseStart);
+        if (extensionMimeCheck != null) {
             return extensionMimeCheck;
         }
 
-        // 파일 타입 결정 (path가 null이므로 확장자와 MIME 타입만으로 판단)
-        FileType fileType = determineFileTypeFromExtensionAndMime(mime, extension);
-        if (fileType == null) {
-            return fail(ERR_UNSUPPORTED_TYPE + mime + ERR_SUFFIX_CLOSE_PAREN);
+        // 파일 타입은 확장자 규칙으로 결정 (MIME 타입/시그니처 확인을 통과한 상태)
+        FileType fileType = rule.fileType();
+        trace.fileType(fileType);
+
+        // PDF는 파일 끝 구조로 잘린 파일을 거부 (크기를 모르는 헤더 구간만의 검증은 제외)
+        if (rule == ExtensionRule.PDF && (header.length < headerReadBytes || size >= 0)) {
+            phaseStart = trace.begin();
+            FileCheckResult pdfCheck = validatePdfTrailer(header.length < headerReadBytes
+                    ? PositionalSource.of(header)
+                    : PdfTrailer.readTail(inputStream, header, size));
+            trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+            if (pdfCheck != null) {
+                return pdfCheck;
+            }
+        }
+
+        // PNG/JPEG는 청크/마커 구조에서 크기를 읽어 픽셀 수 한도를 확인 (크기를 모르는 헤더 구간만의 검증은
+        // 헤더 구간 안에서 판정된 경우만 - 판정되지 않으면 호출자가 나머지를 이어 받아 확인)
+        ImageWalker imageWalker = ImageWalker.forRule(rule, policy.imageCrcCheck());
+        if (imageWalker != null) {
+            phaseStart = trace.begin();
+            if (header.length < headerReadBytes || size < 0) {
+                imageWalker.update(header, 0, header.length);
+                if (header.length < headerReadBytes) {
+                    imageWalker.finish();
+                }
+            } else {
+                walkImage(imageWalker, header, inputStream);
+            }
+            trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+            FileCheckResult imageCheck = checkImage(imageWalker, policy);
+            if (imageCheck != null) {
+                return imageCheck;
+            }
+            return ok(MSG_SUCCESS, mime, fileType, null).withContent(imageWalker.info());
+        }
+
+        // XML 심층 검사는 문서 끝까지 읽어야 하므로 크기를 모르는 헤더 구간만의 검증은 파일 전체가 담긴 경우만
+        if (rule == ExtensionRule.XML && options.xmlWellFormed() && (header.length < headerReadBytes || size >= 0)) {
+            phaseStart = trace.begin();
+            XmlWellFormedness.Result xml = XmlWellFormedness.check(header.length < headerReadBytes
+                            ? new ByteArrayInputStream(header)
+                            : inputStream,
+                    policy.xmlMaxDepth(), policy.xmlMaxAttributes(), policy.maxSize(FileType.XML));
+            trace.end(ValidationTrace.Phase.XML_SCAN, phaseStart);
+            FileCheckResult xmlCheck = checkXml(xml, policy);
+            if (xmlCheck != null) {
+                return xmlCheck;
+            }
+            return ok(MSG_SUCCESS, mime, fileType, null).withContent(xml.info());
         }
 
         // CSV/XLS/XLSX 파일이고 인코딩 체크가 필요한 경우
-        if (checkUTF8Encoding) {
-            if (EXT_CSV.equalsIgnoreCase(extension)) {
+        CsvInfo dialect = null;
+        if (options.utf8CheckRequested()) {
+            if (rule == ExtensionRule.CSV) {
                 // CSV 형식 확인을 위해 더 읽기
-                inputStream.mark(CSV_SNIFF_BYTES);
-                byte[] csvHeader = inputStream.readNBytes(CSV_SNIFF_BYTES);
+                phaseStart = trace.begin();
+                inputStream.mark(policy.csvSniffBytes());
+                byte[] csvHeader = inputStream.readNBytes(policy.csvSniffBytes());
                 inputStream.reset();
+                boolean looksLikeCsv = looksLikeCsvFromBytes(csvHeader, policy.csvSniffBytes());
+                trace.end(ValidationTrace.Phase.CSV_SNIFF, phaseStart);
 
-                if (!looksLikeCsvFromBytes(csvHeader)) {
-                    return fail(ERR_CSV_FORMAT_INVALID);
+                if (!looksLikeCsv) {
+                    return FAIL_CSV_FORMAT_INVALID;
                 }
 
                 // 인코딩 검증
-                String detected = detectCharsetFromBytes(csvHeader);
-                String normalized = normalizeUtf8FromBytes(detected, csvHeader);
+                phaseStart = trace.begin();
+                // 판별 구간을 다 채웠으면 끝의 멀티바이트 문자가 잘렸을 수 있음
+                boolean truncated = csvHeader.length >= policy.csvSniffBytes();
+                CharsetVerdict charset = acceptedCsvCharset(detectCsvCharset(csvHeader, truncated), csvHeader,
+                        truncated, policy);
+                String detected = charset.detected();
+                String normalized = charset.normalized();
+                trace.end(ValidationTrace.Phase.CHARSET_DETECTION, phaseStart);
                 if (normalized == null) {
-                    return fail(ERR_CSV_ENCODING_UNKNOWN);
+                    return FAIL_CSV_ENCODING_UNKNOWN;
                 }
-                if (!normalized.equalsIgnoreCase(ENC_UTF8) && !normalized.equalsIgnoreCase(ENC_UTF8_SIG)) {
-                    return fail(ERR_CSV_ENCODING_INVALID + detected + ERR_SUFFIX_CLOSE_PAREN);
+                if (!policy.acceptsEncoding(normalized)) {
+                    return fail(FailureCode.CSV_ENCODING_INVALID, detected, null);
                 }
 
                 // 빈 파일 체크를 위해 헤더 바이트에서 첫 줄 확인
@@ -246,47 +1291,83 @@ public final class MultipartFileHeaderChecker {
                 firstLine = firstLine.replace("\r", "").trim();
 
                 if (firstLine.isEmpty()) {
-                    return fail(ERR_CSV_EMPTY);
+                    return FAIL_CSV_EMPTY;
+                }
+
+                phaseStart = trace.begin();
+                dialect = sniffCsv(csvHeader, size, normalized, policy);
+                trace.end(ValidationTrace.Phase.CSV_SNIFF, phaseStart);
+
+                // 엄격 모드: 스트림 끝까지 UTF-8 유효성 검사 (스트림은 헤더 시작 위치로 reset된 상태)
+                // 정책이 UTF-8 외 인코딩을 허용해 그 인코딩으로 판별된 경우에는 UTF-8 검사 대상이 아님
+                if (options.fullScanRequested() && isUtf8Encoding(normalized)) {
+                    phaseStart = trace.begin();
+                    CsvContentScanner.Result scan = CsvContentScanner.scan(inputStream,
+                            new byte[FULL_SCAN_BUFFER_SIZE], newStructureScanner(options, csvHeader));
+                    trace.end(ValidationTrace.Phase.CSV_FULL_SCAN, phaseStart);
+                    FileCheckResult scanCheck = checkCsvScan(scan);
+                    if (scanCheck != null) {
+                        return scanCheck;
+                    }
+                    return csvSuccess(mime, normalized).withContent(csvInfo(dialect, scan));
                 }
 
-                return ok(MSG_SUCCESS_CSV, mime, FileType.CSV, normalized);
-            } else if (EXT_XLS.equalsIgnoreCase(extension) || EXT_XLSX.equalsIgnoreCase(extension)) {
+                return csvSuccess(mime, normalized).withContent(dialect);
+            } else if (rule == ExtensionRule.XLS || rule == ExtensionRule.XLSX) {
                 // Excel 파일은 헤더 시그니처만 확인
-                if (EXT_XLSX.equalsIgnoreCase(extension)) {
+                if (rule == ExtensionRule.XLSX) {
                     if (header.length < 4 || header[0] != 0x50 || header[1] != 0x4B ||
                             header[2] != 0x03 || header[3] != 0x04) {
-                        return fail(ERR_XLSX_INVALID + ERR_DETAIL_INVALID_XLSX);
+                        return FAIL_XLSX_INVALID;
                     }
-                } else if (EXT_XLS.equalsIgnoreCase(extension)) {
+                } else {
                     if (header.length < 8 || header[0] != (byte) 0xD0 || header[1] != (byte) 0xCF ||
                             header[2] != 0x11 || header[3] != (byte) 0xE0) {
-                        return fail(ERR_XLS_INVALID + ERR_DETAIL_INVALID_XLS);
+                        return FAIL_XLS_INVALID;
                     }
                 }
                 return ok(MSG_SUCCESS_EXCEL, mime, FileType.EXCEL, null);
             }
         } else {
             // 인코딩 체크가 필요 없더라도 확장자가 .csv인 경우 CSV 형식인지 확인
-            if (EXT_CSV.equalsIgnoreCase(extension)) {
-                inputStream.mark(CSV_SNIFF_BYTES);
-                byte[] csvHeader = inputStream.readNBytes(CSV_SNIFF_BYTES);
+            if (rule == ExtensionRule.CSV) {
+                phaseStart = trace.begin();
+                inputStream.mark(policy.csvSniffBytes());
+                byte[] csvHeader = inputStream.readNBytes(policy.csvSniffBytes());
                 inputStream.reset();
+                boolean looksLikeCsv = looksLikeCsvFromBytes(csvHeader, policy.csvSniffBytes());
+                if (looksLikeCsv) {
+                    // 인코딩을 판별하지 않으므로 열 이름은 UTF-8로 디코딩
+                    dialect = sniffCsv(csvHeader, size, null, policy);
+                }
+                trace.end(ValidationTrace.Phase.CSV_SNIFF, phaseStart);
 
-                if (!looksLikeCsvFromBytes(csvHeader)) {
-                    return fail(ERR_CSV_FORMAT_INVALID);
+                if (!looksLikeCsv) {
+                    return FAIL_CSV_FORMAT_INVALID;
                 }
             }
         }
 
         // 일반적인 검증 성공
-        return ok(MSG_SUCCESS, mime, fileType, null);
+        return ok(MSG_SUCCESS, mime, fileType, null).withContent(dialect);
     }
 
     /**
      * 바이트 배열에서 MIME 타입을 감지합니다.
+     * 내장 시그니처 매처로 판별되면 Tika를 거치지 않습니다.
      */
-    private static String detectMimeFromHeaderBytes(byte[] header, String originalName) throws IOException {
-        DefaultDetector detector = new DefaultDetector();
+    private static String detectMimeFromHeaderBytes(SignatureMatcher.Signature signature, byte[] header,
+                                                    String originalName, String extension) throws IOException {
+        if (signature != null) {
+            return SignatureMatcher.mimeOf(signature, header, extension);
+        }
+        return detectMimeWithTika(header, originalName);
+    }
+
+    /**
+     * Tika 공유 감지기로 MIME 타입을 감지합니다 (시그니처가 없는 텍스트 계열 등).
+     */
+    private static String detectMimeWithTika(byte[] header, String originalName) throws IOException {
         Metadata metadata = new Metadata();
         if (originalName != null) {
             metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, originalName);
@@ -294,7 +1375,7 @@ public final class MultipartFileHeaderChecker {
 
         try (ByteArrayInputStream byteStream = new ByteArrayInputStream(header);
              TikaInputStream stream = TikaInputStream.get(byteStream)) {
-            MediaType mediaType = detector.detect(stream, metadata);
+            MediaType mediaType = DetectorHolder.DETECTOR.detect(stream, metadata);
             String mime = mediaType.toString();
             if (MIME_TIKA_OOXML.equalsIgnoreCase(mime)) {
                 return refineOoxmlMime(header, mime);
@@ -304,227 +1385,81 @@ public final class MultipartFileHeaderChecker {
     }
 
     /**
-     * 바이트 배열에서 확장자와 MIME 타입 일치 여부를 검증합니다.
+     * 바이트 배열에서 CSV 형식인지 확인합니다.
      */
-    private static FileCheckResult validateExtensionMimeMatchFromBytes(String extension, String mime,
-                                                                       byte[] header, InputStream inputStream, String originalName) throws IOException {
-        if (extension == null || extension.isEmpty() || mime == null) {
-            return ok(MSG_SUCCESS, mime, null, null);
-        }
-
-        String extLower = extension.toLowerCase();
-        String mimeLower = mime.toLowerCase();
-
-        // 확장자별 예상 MIME 타입과 실제 감지된 MIME 타입 비교
-        // 파일 시그니처는 이미 header에 있으므로 추가 읽기 불필요
-        switch (extLower) {
-            case ".xlsx":
-                if (!mimeLower.contains("spreadsheet") && !mimeLower.contains("zip") &&
-                        !mimeLower.contains("ooxml") && !mimeLower.contains("ms-excel")) {
-                    if (header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B) {
-                        // ZIP 시그니처 확인
-                        if (header.length >= 1024) {
-                            String headerStr = new String(header, 0, Math.min(1024, header.length),
-                                    StandardCharsets.ISO_8859_1);
-                            if (headerStr.contains(OOXML_SPREADSHEET_MAIN)) {
-                                return ok(MSG_SUCCESS, mime, null, null);
-                            }
-                        }
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".xls":
-                if (!mimeLower.contains("ms-excel") && !mimeLower.contains("spreadsheet")) {
-                    if (header.length >= 8 && header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF &&
-                            header[2] == 0x11 && header[3] == (byte) 0xE0) {
-                        return ok(MSG_SUCCESS, mime, null, null);
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".csv":
-                // MIME 타입이 CSV 관련이 아닌 경우, 실제 파일 내용 확인
-                if (!mimeLower.contains("csv") && !mimeLower.contains("text/plain") &&
-                        !mimeLower.contains("text/comma-separated-values")) {
-                    if (looksLikeCsvFromBytes(header)) {
-                        return ok(MSG_SUCCESS, mime, null, null);
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                // MIME 타입이 CSV 관련이더라도 실제 파일 내용이 CSV 형식인지 확인
-                // (확장자와 MIME이 일치해도 실제 내용이 다를 수 있음)
-                if (!looksLikeCsvFromBytes(header)) {
-                    return fail(ERR_CSV_FORMAT_INVALID);
-                }
-                break;
-
-            case ".pdf":
-                if (!mimeLower.contains("pdf")) {
-                    if (header.length >= 4 && header[0] == 0x25 && header[1] == 0x50 &&
-                            header[2] == 0x44 && header[3] == 0x46) {
-                        return ok(MSG_SUCCESS, mime, null, null);
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
+    static boolean looksLikeCsvFromBytes(byte[] bytes) {
+        return looksLikeCsvFromBytes(bytes, CSV_SNIFF_BYTES);
+    }
 
-            case ".png":
-                if (!mimeLower.contains("image/png")) {
-                    if (header.length >= 4 && header[0] == (byte) 0x89 && header[1] == 0x50 &&
-                            header[2] == 0x4E && header[3] == 0x47) {
-                        return ok(MSG_SUCCESS, mime, null, null);
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".jpg":
-            case ".jpeg":
-                if (!mimeLower.contains("image/jpeg")) {
-                    if (header.length >= 3 && header[0] == (byte) 0xFF && header[1] == (byte) 0xD8 &&
-                            header[2] == (byte) 0xFF) {
-                        return ok(MSG_SUCCESS, mime, null, null);
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
+    /**
+     * 바이트 배열 앞 {@code sniffBytes}바이트에서 CSV 형식인지 확인합니다.
+     */
+    private static boolean looksLikeCsvFromBytes(byte[] bytes, int sniffBytes) {
+        if (bytes == null || bytes.length == 0) {
+            return false;
+        }
+        byte[] stripped = stripBomIfNecessary(bytes);
+        String sample = new String(stripped, 0, Math.min(stripped.length, sniffBytes),
+                StandardCharsets.ISO_8859_1);
+        boolean hasDelimiter = sample.contains(",") || sample.contains(";") || sample.contains("\t");
+        boolean hasNewLine = sample.contains("\n") || sample.contains("\r");
+        return hasDelimiter && hasNewLine;
+    }
 
-            case ".zip":
-                if (!mimeLower.contains("zip")) {
-                    if (header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B &&
-                            header[2] == 0x03 && header[3] == 0x04) {
-                        return ok(MSG_SUCCESS, mime, null, null);
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".doc":
-                // DOC는 msword MIME 타입이어야 함
-                if (!mimeLower.contains("msword") && !mimeLower.contains("application/msword")) {
-                    // 헤더만 읽어서 실제 DOC 파일인지 확인 (OLE2 포맷)
-                    if (header.length >= 8 && header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF &&
-                            header[2] == 0x11 && header[3] == (byte) 0xE0) {
-                        return ok(MSG_SUCCESS, mime, null, null);
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".docx":
-                // DOCX는 wordprocessingml MIME 타입이어야 함
-                if (!mimeLower.contains("wordprocessingml") && !mimeLower.contains("msword") &&
-                        !mimeLower.contains("ooxml")) {
-                    // 헤더만 읽어서 실제 DOCX 파일인지 확인
-                    if (header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B) {
-                        // ZIP 시그니처 확인
-                        if (header.length >= 1024) {
-                            String headerStr = new String(header, 0, Math.min(1024, header.length),
-                                    StandardCharsets.ISO_8859_1);
-                            if (headerStr.contains(OOXML_WORD_MAIN)) {
-                                return ok(MSG_SUCCESS, mime, null, null);
-                            }
-                        }
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".ppt":
-                // PPT는 ms-powerpoint MIME 타입이어야 함
-                if (!mimeLower.contains("ms-powerpoint") && !mimeLower.contains("application/vnd.ms-powerpoint")) {
-                    // 헤더만 읽어서 실제 PPT 파일인지 확인 (OLE2 포맷)
-                    if (header.length >= 8 && header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF &&
-                            header[2] == 0x11 && header[3] == (byte) 0xE0) {
-                        return ok(MSG_SUCCESS, mime, null, null);
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".pptx":
-                // PPTX는 presentationml MIME 타입이어야 함
-                if (!mimeLower.contains("presentationml") && !mimeLower.contains("ms-powerpoint") &&
-                        !mimeLower.contains("ooxml")) {
-                    // 헤더만 읽어서 실제 PPTX 파일인지 확인
-                    if (header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B) {
-                        // ZIP 시그니처 확인
-                        if (header.length >= 1024) {
-                            String headerStr = new String(header, 0, Math.min(1024, header.length),
-                                    StandardCharsets.ISO_8859_1);
-                            if (headerStr.contains(OOXML_PRESENTATION_MAIN)) {
-                                return ok(MSG_SUCCESS, mime, null, null);
-                            }
-                        }
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
+    /**
+     * CSV 앞부분의 인코딩을 판별한다.
+     * BOM, 순수 ASCII, 엄격한 UTF-8 디코딩 순으로 먼저 확인하고, 모두 아닐 때만 ICU4J 통계 감지를 수행한다.
+     * 순수 ASCII는 UTF-8의 부분집합이므로 UTF-8로 판정한다.
+     *
+     * @param bytes     파일 앞부분
+     * @param truncated 앞부분이 파일 끝까지 담지 못했는지 여부 (끝부분의 잘린 멀티바이트 문자 허용)
+     */
+    private static CharsetVerdict detectCsvCharset(byte[] bytes, boolean truncated) {
+        if (hasUtf8Bom(bytes)) {
+            return CHARSET_UTF8_SIG;
+        }
+        if (isStrictUtf8(bytes, truncated)) {
+            return CHARSET_UTF8;
+        }
+        String detected = detectCharsetWithIcu(bytes);
+        return detected == null ? CHARSET_UNKNOWN : new CharsetVerdict(detected, detected);
+    }
 
-            case ".txt":
-                // TXT는 text/plain MIME 타입이어야 함
-                if (!mimeLower.contains("text/plain") && !mimeLower.contains("text")) {
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".xml":
-                // XML은 application/xml 또는 text/xml MIME 타입이어야 함
-                if (!mimeLower.contains("xml")) {
-                    // 헤더만 읽어서 실제 XML 파일인지 확인 (XML 선언: <?xml)
-                    if (header.length >= 5) {
-                        String headerStr = new String(header, 0, Math.min(5, header.length), StandardCharsets.UTF_8)
-                                .trim();
-                        if (headerStr.startsWith("<?xml") || headerStr.startsWith("<")) {
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            default:
-                // 허용된 확장자인데 switch에 없는 경우는 개발 오류이지만, 안전을 위해 MIME 타입 불일치로 처리
-                // 허용되지 않은 확장자는 이미 앞에서 걸러졌으므로 여기 도달하면 안 됨
-                if (ALLOWED_EXTENSIONS.contains(extLower)) {
-                    // 허용된 확장자인데 검증 로직이 없는 경우 - 개발 오류
-                    // 안전을 위해 MIME 타입 불일치로 처리
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime + " (검증 로직 누락)");
-                }
-                // 허용되지 않은 확장자는 이미 앞에서 걸러졌으므로 여기 도달하면 안 됨
-                break;
+    /**
+     * 판별한 인코딩을 정책이 허용하지 않으면, 정책이 허용한 UTF-8 외 인코딩 중 앞부분을 엄격하게 디코딩할 수 있는 것으로 바꾼다.
+     * 짧은 한국어 표본은 통계 감지가 Big5 등 다른 문자셋으로 판별하기 쉬우므로 허용 목록을 우선한다.
+     *
+     * @return 보정한 판별 결과, 허용 인코딩으로 디코딩할 수 없으면 원래 판별 결과
+     */
+    private static CharsetVerdict acceptedCsvCharset(CharsetVerdict charset, byte[] bytes, boolean truncated,
+                                                     FileCheckPolicy policy) {
+        if (charset.normalized() != null && policy.acceptsEncoding(charset.normalized())) {
+            return charset;
         }
-
-        return ok(MSG_SUCCESS, mime, null, null);
+        String legacy = policy.legacyEncodingOf(bytes, truncated);
+        return legacy == null ? charset : new CharsetVerdict(legacy, legacy);
     }
 
     /**
-     * 바이트 배열에서 CSV 형식인지 확인합니다.
+     * 바이트 배열이 엄격한 UTF-8인지 확인한다 (ASCII 구간은 8바이트 단위로 건너뜀).
      */
-    private static boolean looksLikeCsvFromBytes(byte[] bytes) {
-        if (bytes == null || bytes.length == 0) {
+    private static boolean isStrictUtf8(byte[] bytes, boolean truncated) {
+        Utf8StreamValidator validator = new Utf8StreamValidator();
+        if (!validator.update(bytes, 0, bytes.length)) {
             return false;
         }
-        byte[] stripped = stripBomIfNecessary(bytes);
-        String sample = new String(stripped, 0, Math.min(stripped.length, CSV_SNIFF_BYTES),
-                StandardCharsets.ISO_8859_1);
-        boolean hasDelimiter = sample.contains(",") || sample.contains(";") || sample.contains("\t");
-        boolean hasNewLine = sample.contains("\n") || sample.contains("\r");
-        return hasDelimiter && hasNewLine;
+        return truncated || validator.finish();
     }
 
     /**
-     * 바이트 배열에서 인코딩을 감지합니다.
+     * ICU4J 통계 감지. 감지기는 스레드별로 재사용한다.
      */
-    private static String detectCharsetFromBytes(byte[] bytes) {
-        if (bytes == null || bytes.length == 0) {
+    private static String detectCharsetWithIcu(byte[] bytes) {
+        if (bytes.length == 0) {
             return null;
         }
+        CharsetDetector detector = CHARSET_DETECTOR.get();
         try {
-            CharsetDetector detector = new CharsetDetector();
             detector.setText(bytes);
             CharsetMatch match = detector.detect();
             if (match != null && match.getConfidence() > 0) {
@@ -533,37 +1468,9 @@ public final class MultipartFileHeaderChecker {
             return null;
         } catch (Exception e) {
             return null;
-        }
-    }
-
-    /**
-     * 바이트 배열에서 UTF-8 인코딩을 정규화합니다.
-     */
-    private static String normalizeUtf8FromBytes(String detected, byte[] bytes) {
-        try {
-            if (hasUtf8Bom(bytes)) {
-                return ENC_UTF8_SIG;
-            }
-            if (detected == null) {
-                return null;
-            }
-            // 감지된 인코딩이 UTF-8 계열이 아니면 그대로 반환 (검증 실패용)
-            if (!detected.equalsIgnoreCase(ENC_UTF8) && !detected.equalsIgnoreCase(ENC_UTF8_SIG)) {
-                return detected; // UTF-8이 아니므로 원래 인코딩 반환
-            }
-            // UTF-8로 디코딩 가능한지 엄격하게 확인
-            // MalformedInputException을 발생시키기 위해 Decoder를 사용
-            java.nio.charset.CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
-                    .onMalformedInput(java.nio.charset.CodingErrorAction.REPORT)
-                    .onUnmappableCharacter(java.nio.charset.CodingErrorAction.REPORT);
-            decoder.decode(java.nio.ByteBuffer.wrap(bytes, 0, Math.min(bytes.length, COPY_BUFFER_SIZE)));
-            // 디코딩 성공 시 UTF-8로 간주
-            return ENC_UTF8;
-        } catch (java.nio.charset.CharacterCodingException e) {
-            // UTF-8로 디코딩 실패 - 원래 감지된 인코딩 반환
-            return detected;
-        } catch (Exception e) {
-            return detected;
+        } finally {
+            // 감지기가 입력 배열을 붙잡고 있지 않도록 비움
+            detector.setText(EMPTY_BYTES);
         }
     }
 
@@ -591,24 +1498,53 @@ public final class MultipartFileHeaderChecker {
      */
     public static FileCheckResult validate(Path filePath, String originalName, boolean deleteAfterValidation,
                                            boolean checkUTF8Encoding) {
+        return validate(filePath, originalName, deleteAfterValidation,
+                ValidationOptions.builder().checkUTF8Encoding(checkUTF8Encoding).build());
+    }
+
+    /**
+     * 파일 경로로 직접 파일을 주어진 옵션으로 검증한다.
+     *
+     * @param filePath              검증할 파일의 경로
+     * @param originalName          원본 파일명 (확장자 판별을 위해 사용)
+     * @param deleteAfterValidation 검증 후 파일을 삭제할지 여부
+     * @param options               검증 옵션
+     * @return 검증 결과
+     */
+    public static FileCheckResult validate(Path filePath, String originalName, boolean deleteAfterValidation,
+                                           ValidationOptions options) {
+        ValidationTrace trace = ValidationTrace.start(metrics, ValidationTrace.Route.PATH);
+        return trace.finish(validateFile(filePath, originalName, deleteAfterValidation, options, trace));
+    }
+
+    private static FileCheckResult validateFile(Path filePath, String originalName, boolean deleteAfterValidation,
+                                                ValidationOptions options, ValidationTrace trace) {
+        // 정책 스냅샷은 검증 한 건에 한 번만 읽음
+        FileCheckPolicy policy = policyFor(options);
+        options = policy.apply(options);
         if (filePath == null || !Files.exists(filePath)) {
-            return fail(ERR_EMPTY_FILE);
+            return FAIL_EMPTY_FILE;
         }
 
         if (originalName == null) {
-            return fail(ERR_FILE_PROCESS + ERR_DETAIL_NO_FILENAME);
+            return FAIL_NO_FILENAME;
         }
 
-        // 파일 확장자 유효성 체크
-        String extension = extractExtension(originalName);
-        if (!isAllowedExtension(extension)) {
-            return fail(ERR_INVALID_EXTENSION + String.join(", ", ALLOWED_EXTENSIONS));
+        // 파일 확장자 유효성 체크 (정책의 허용 확장자)
+        ExtensionRule rule = ExtensionRule.ofName(originalName);
+        if (!policy.allows(rule)) {
+            return policy.extensionNotAllowed();
         }
 
         try {
-            return validatePath(filePath, originalName, deleteAfterValidation, checkUTF8Encoding);
+            // 파일을 열기 전에 메타데이터의 크기로 먼저 거부
+            FileCheckResult sizeCheck = validateSize(rule, Files.size(filePath), policy);
+            if (sizeCheck != null) {
+                return sizeCheck;
+            }
+            return validatePath(filePath, originalName, rule, deleteAfterValidation, options, policy, trace);
         } catch (IOException e) {
-            return fail(ERR_FILE_PROCESS + e.getMessage());
+            return ioFailure(e);
         } finally {
             if (deleteAfterValidation) {
                 try {
@@ -634,47 +1570,115 @@ public final class MultipartFileHeaderChecker {
     /**
      * 내부 검증 로직 (공통).
      */
-    private static FileCheckResult validatePath(Path path, String originalName, boolean deleteAfterValidation,
-                                                boolean checkUTF8Encoding) throws IOException {
-        try {
+    private static FileCheckResult validatePath(Path path, String originalName, ExtensionRule rule,
+                                                boolean deleteAfterValidation, ValidationOptions options,
+                                                FileCheckPolicy policy, ValidationTrace trace) throws IOException {
+        // 파일은 한 번만 열고, 이후 모든 검사는 세션 헤더 버퍼에서 수행
+        long phaseStart = trace.begin();
+        PathValidationSession opened = PathValidationSession.open(path, policy.headerReadBytes());
+        trace.end(ValidationTrace.Phase.HEADER_READ, phaseStart);
+        try (PathValidationSession session = opened) {
+            byte[] header = session.head();
+
             // 파일 헤더만 읽어서 MIME 타입 감지
-            String mime = detectMimeFromHeader(path, originalName);
-            String extension = extractExtension(originalName);
+            phaseStart = trace.begin();
+            SignatureMatcher.Signature signature = SignatureMatcher.match(header);
+            String mime = detectMimeFromHeader(signature, header, originalName, rule.extension());
+            trace.end(ValidationTrace.Phase.MIME_DETECTION, phaseStart);
+            if (signature != null) {
+                trace.fileType(signature.fileType());
+            }
+
+            // 컨테이너 포맷(ZIP, OLE2)은 내부 디렉터리로 문서 종류를 확정 (파일 크기에 무관)
+            phaseStart = trace.begin();
+            FileCheckResult containerCheck = validateContainer(signature, session, rule, originalName, mime);
+            trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+            if (containerCheck != null) {
+                if (!containerCheck.ok()) {
+                    return containerCheck;
+                }
+                mime = containerCheck.mimeType();
+            }
 
             // 확장자와 MIME 타입이 일치하는지 확인
-            FileCheckResult extensionMimeCheck = validateExtensionMimeMatch(extension, mime, path, originalName);
-            if (!extensionMimeCheck.ok()) {
+            phaseStart = trace.begin();
+            FileCheckResult extensionMimeCheck = validateExtensionMimeMatch(rule, originalName, mime, header);
+            trace.end(ValidationTrace.Phase.EXTENSION_MATCH, phaseStart);
+            if (extensionMimeCheck != null) {
                 return extensionMimeCheck;
             }
 
-            FileType fileType = determineFileType(mime, path, originalName);
-            if (fileType == null) {
-                return fail(ERR_UNSUPPORTED_TYPE + mime + ERR_SUFFIX_CLOSE_PAREN);
+            // 파일 타입은 확장자 규칙으로 결정 (MIME 타입/시그니처 확인을 통과한 상태)
+            FileType fileType = rule.fileType();
+            trace.fileType(fileType);
+
+            // PDF는 파일 끝 구조로 잘린 파일을 거부 (끝 구간과 오프셋 위치만 위치 지정 읽기)
+            if (rule == ExtensionRule.PDF) {
+                phaseStart = trace.begin();
+                FileCheckResult pdfCheck = validatePdfTrailer(session);
+                trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                if (pdfCheck != null) {
+                    return pdfCheck;
+                }
             }
 
-            // CSV/XLS/XLSX 파일이고 인코딩 체크가 필요한 경우
-            if (checkUTF8Encoding) {
-                if (EXT_CSV.equalsIgnoreCase(extension)) {
-                    // 확장자가 .csv인 경우, 실제 파일 내용이 CSV 형식인지 확인
-                    if (!looksLikeCsv(path)) {
-                        return fail(ERR_CSV_FORMAT_INVALID);
-                    }
-                    return validateCsv(path, mime);
-                } else if (EXT_XLS.equalsIgnoreCase(extension) || EXT_XLSX.equalsIgnoreCase(extension)) {
-                    return validateExcel(path, mime, originalName);
+            // PNG/JPEG는 청크/마커 구조에서 크기를 읽어 픽셀 수 한도를 확인 (JPEG 세그먼트 본문은 읽지 않고 건너뜀)
+            ImageWalker imageWalker = ImageWalker.forRule(rule, policy.imageCrcCheck());
+            if (imageWalker != null) {
+                phaseStart = trace.begin();
+                walkImage(imageWalker, session);
+                trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                FileCheckResult imageCheck = checkImage(imageWalker, policy);
+                if (imageCheck != null) {
+                    return imageCheck;
                 }
-            } else {
-                // 인코딩 체크가 필요 없더라도 확장자가 .csv인 경우 CSV 형식인지 확인
-                if (EXT_CSV.equalsIgnoreCase(extension)) {
-                    if (!looksLikeCsv(path)) {
-                        return fail(ERR_CSV_FORMAT_INVALID);
-                    }
+                return ok(MSG_SUCCESS, mime, fileType, null).withContent(imageWalker.info());
+            }
+
+            // XML 심층 검사는 채널을 처음부터 순차로 읽음 (세션의 위치 지정 읽기 집계에 잡히지 않으므로 따로 기록)
+            if (rule == ExtensionRule.XML && options.xmlWellFormed()) {
+                phaseStart = trace.begin();
+                XmlWellFormedness.Result xml = XmlWellFormedness.check(Channels.newInputStream(session.channel()),
+                        policy.xmlMaxDepth(), policy.xmlMaxAttributes(), policy.maxSize(FileType.XML));
+                trace.end(ValidationTrace.Phase.XML_SCAN, phaseStart);
+                trace.addBytesRead(xml.bytesRead());
+                FileCheckResult xmlCheck = checkXml(xml, policy);
+                if (xmlCheck != null) {
+                    return xmlCheck;
+                }
+                return ok(MSG_SUCCESS, mime, fileType, null).withContent(xml.info());
+            }
+
+            // 확장자가 .csv인 경우, 실제 파일 내용이 CSV 형식인지 확인
+            if (rule == ExtensionRule.CSV) {
+                phaseStart = trace.begin();
+                boolean looksLikeCsv = looksLikeCsvFromBytes(header, policy.csvSniffBytes());
+                trace.end(ValidationTrace.Phase.CSV_SNIFF, phaseStart);
+                if (!looksLikeCsv) {
+                    return FAIL_CSV_FORMAT_INVALID;
+                }
+            }
+
+            // CSV/XLS/XLSX 파일이고 인코딩 체크가 필요한 경우
+            if (options.utf8CheckRequested()) {
+                if (rule == ExtensionRule.CSV) {
+                    return validateCsv(session, mime, options, policy, trace);
+                } else if (rule == ExtensionRule.XLS || rule == ExtensionRule.XLSX) {
+                    return validateExcel(header, mime, rule, containerCheck != null);
                 }
             }
 
             // 일반적인 검증 성공
-            return ok(MSG_SUCCESS, mime, fileType, null);
+            FileCheckResult success = ok(MSG_SUCCESS, mime, fileType, null);
+            if (rule == ExtensionRule.CSV) {
+                // 인코딩을 판별하지 않으므로 열 이름은 UTF-8로 디코딩
+                phaseStart = trace.begin();
+                success = success.withContent(sniffCsv(header, session.size(), null, policy));
+                trace.end(ValidationTrace.Phase.CSV_SNIFF, phaseStart);
+            }
+            return success;
         } finally {
+            trace.addBytesRead(opened.bytesRead());
             if (deleteAfterValidation) {
                 try {
                     Files.deleteIfExists(path);
@@ -686,488 +1690,356 @@ public final class MultipartFileHeaderChecker {
     }
 
     /**
-     * 허용된 파일 확장자인지 확인.
+     * 컨테이너 포맷의 내부 디렉터리로 문서 종류를 확정하고 확장자와 대조한다.
+     * ZIP은 중앙 디렉터리의 메인 파트로 .xlsx/.docx/.pptx를, OLE2는 루트 스트림 이름으로 .xls/.doc/.ppt를 구분한다.
+     *
+     * @return 컨테이너가 아니면 null, 불일치나 손상이면 실패 결과, 그 외에는 확정된 MIME 타입을 담은 성공 결과
      */
-    private static boolean isAllowedExtension(String extension) {
-        if (extension == null || extension.isEmpty()) {
-            return false;
+    private static FileCheckResult validateContainer(SignatureMatcher.Signature signature, PositionalSource source,
+                                                     ExtensionRule rule, String originalName, String mime)
+            throws IOException {
+        if (signature == SignatureMatcher.Signature.ZIP) {
+            ZipCentralDirectory.Kind kind = ZipCentralDirectory.classify(source);
+            if (kind == ZipCentralDirectory.Kind.CORRUPT) {
+                return FAIL_ZIP_INVALID;
+            }
+            if (rule.container() == ExtensionRule.Container.OOXML && !rule.extension().equals(kind.extension())) {
+                return fail(FailureCode.EXTENSION_MIME_MISMATCH, extractExtension(originalName), kind.mime());
+            }
+            return ok(MSG_SUCCESS, kind.isOoxml() ? kind.mime() : mime, null, null);
         }
-        return ALLOWED_EXTENSIONS.contains(extension.toLowerCase());
-    }
-
-    /**
-     * 확장자와 MIME 타입이 일치하는지 검증 (헤더만 읽어서 검증).
-     */
-    private static FileCheckResult validateExtensionMimeMatch(String extension, String mime, Path path,
-                                                              String originalName) throws IOException {
-        if (extension == null || extension.isEmpty() || mime == null) {
-            return ok(MSG_SUCCESS, mime, null, null);
-        }
-
-        String extLower = extension.toLowerCase();
-        String mimeLower = mime.toLowerCase();
-
-        // 확장자별 예상 MIME 타입과 실제 감지된 MIME 타입 비교
-        switch (extLower) {
-            case ".xlsx":
-                // XLSX는 ZIP 기반이므로 application/zip 또는 spreadsheet MIME 타입이어야 함
-                if (!mimeLower.contains("spreadsheet") && !mimeLower.contains("zip") &&
-                        !mimeLower.contains("ooxml") && !mimeLower.contains("ms-excel")) {
-                    // 헤더만 읽어서 실제 XLSX 파일인지 확인
-                    try {
-                        byte[] header = readHead(path, 4);
-                        if (header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B) {
-                            // ZIP 시그니처가 있으므로 XLSX일 가능성이 높음
-                            // 더 정확한 검증을 위해 헤더에서 spreadsheet 확인
-                            byte[] moreHeader = readHead(path, 1024);
-                            String headerStr = new String(moreHeader, StandardCharsets.ISO_8859_1);
-                            if (headerStr.contains(OOXML_SPREADSHEET_MAIN)) {
-                                // 실제로 XLSX 파일이므로 통과
-                                return ok(MSG_SUCCESS, mime, null, null);
-                            }
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".xls":
-                // XLS는 OLE2 포맷이므로 ms-excel MIME 타입이어야 함
-                if (!mimeLower.contains("ms-excel") && !mimeLower.contains("spreadsheet")) {
-                    // 헤더만 읽어서 실제 XLS 파일인지 확인
-                    try {
-                        byte[] header = readHead(path, 8);
-                        if (header.length >= 8 && header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF &&
-                                header[2] == 0x11 && header[3] == (byte) 0xE0) {
-                            // OLE2 시그니처가 있으므로 XLS 파일임
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".csv":
-                // CSV는 text/csv 또는 text/plain MIME 타입이어야 함
-                if (!mimeLower.contains("csv") && !mimeLower.contains("text/plain") &&
-                        !mimeLower.contains("text/comma-separated-values")) {
-                    // 헤더만 읽어서 실제 CSV 파일인지 확인
-                    if (!looksLikeCsv(path)) {
-                        return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                    }
-                }
-                break;
-
-            case ".docx":
-                // DOCX는 wordprocessingml MIME 타입이어야 함
-                if (!mimeLower.contains("wordprocessingml") && !mimeLower.contains("msword") &&
-                        !mimeLower.contains("ooxml")) {
-                    // 헤더만 읽어서 실제 DOCX 파일인지 확인
-                    try {
-                        byte[] header = readHead(path, 4);
-                        if (header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B) {
-                            byte[] moreHeader = readHead(path, 1024);
-                            String headerStr = new String(moreHeader, StandardCharsets.ISO_8859_1);
-                            if (headerStr.contains(OOXML_WORD_MAIN)) {
-                                return ok(MSG_SUCCESS, mime, null, null);
-                            }
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".doc":
-                // DOC는 msword MIME 타입이어야 함
-                if (!mimeLower.contains("msword") && !mimeLower.contains("application/msword")) {
-                    // 헤더만 읽어서 실제 DOC 파일인지 확인 (OLE2 포맷)
-                    try {
-                        byte[] header = readHead(path, 8);
-                        if (header.length >= 8 && header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF &&
-                                header[2] == 0x11 && header[3] == (byte) 0xE0) {
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".pptx":
-                // PPTX는 presentationml MIME 타입이어야 함
-                if (!mimeLower.contains("presentationml") && !mimeLower.contains("ms-powerpoint") &&
-                        !mimeLower.contains("ooxml")) {
-                    // 헤더만 읽어서 실제 PPTX 파일인지 확인
-                    try {
-                        byte[] header = readHead(path, 4);
-                        if (header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B) {
-                            byte[] moreHeader = readHead(path, 1024);
-                            String headerStr = new String(moreHeader, StandardCharsets.ISO_8859_1);
-                            if (headerStr.contains(OOXML_PRESENTATION_MAIN)) {
-                                return ok(MSG_SUCCESS, mime, null, null);
-                            }
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".ppt":
-                // PPT는 ms-powerpoint MIME 타입이어야 함
-                if (!mimeLower.contains("ms-powerpoint") && !mimeLower.contains("application/vnd.ms-powerpoint")) {
-                    // 헤더만 읽어서 실제 PPT 파일인지 확인 (OLE2 포맷)
-                    try {
-                        byte[] header = readHead(path, 8);
-                        if (header.length >= 8 && header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF &&
-                                header[2] == 0x11 && header[3] == (byte) 0xE0) {
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".pdf":
-                // PDF는 application/pdf MIME 타입이어야 함
-                if (!mimeLower.contains("pdf")) {
-                    // 헤더만 읽어서 실제 PDF 파일인지 확인 (PDF 시그니처: %PDF)
-                    try {
-                        byte[] header = readHead(path, 4);
-                        if (header.length >= 4 && header[0] == 0x25 && header[1] == 0x50 &&
-                                header[2] == 0x44 && header[3] == 0x46) {
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".png":
-                // PNG는 image/png MIME 타입이어야 함
-                if (!mimeLower.contains("image/png")) {
-                    // 헤더만 읽어서 실제 PNG 파일인지 확인 (PNG 시그니처: 89 50 4E 47)
-                    try {
-                        byte[] header = readHead(path, 4);
-                        if (header.length >= 4 && header[0] == (byte) 0x89 && header[1] == 0x50 &&
-                                header[2] == 0x4E && header[3] == 0x47) {
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".jpg":
-            case ".jpeg":
-                // JPEG는 image/jpeg MIME 타입이어야 함
-                if (!mimeLower.contains("image/jpeg")) {
-                    // 헤더만 읽어서 실제 JPEG 파일인지 확인 (JPEG 시그니처: FF D8 FF)
-                    try {
-                        byte[] header = readHead(path, 3);
-                        if (header.length >= 3 && header[0] == (byte) 0xFF && header[1] == (byte) 0xD8 &&
-                                header[2] == (byte) 0xFF) {
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".txt":
-                // TXT는 text/plain MIME 타입이어야 함
-                if (!mimeLower.contains("text/plain") && !mimeLower.contains("text")) {
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".zip":
-                // ZIP은 application/zip MIME 타입이어야 함
-                if (!mimeLower.contains("zip")) {
-                    // 헤더만 읽어서 실제 ZIP 파일인지 확인 (ZIP 시그니처: PK 03 04)
-                    try {
-                        byte[] header = readHead(path, 4);
-                        if (header.length >= 4 && header[0] == 0x50 && header[1] == 0x4B &&
-                                header[2] == 0x03 && header[3] == 0x04) {
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            case ".xml":
-                // XML은 application/xml 또는 text/xml MIME 타입이어야 함
-                if (!mimeLower.contains("xml")) {
-                    // 헤더만 읽어서 실제 XML 파일인지 확인 (XML 선언: <?xml)
-                    try {
-                        byte[] header = readHead(path, 5);
-                        String headerStr = new String(header, StandardCharsets.UTF_8).trim();
-                        if (headerStr.startsWith("<?xml") || headerStr.startsWith("<")) {
-                            return ok(MSG_SUCCESS, mime, null, null);
-                        }
-                    } catch (Exception e) {
-                        // 헤더 읽기 실패 시 MIME 타입 불일치로 간주
-                    }
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime);
-                }
-                break;
-
-            default:
-                // 허용된 확장자인데 switch에 없는 경우는 개발 오류이지만, 안전을 위해 MIME 타입 불일치로 처리
-                // 허용되지 않은 확장자는 이미 앞에서 걸러졌으므로 여기 도달하면 안 됨
-                if (ALLOWED_EXTENSIONS.contains(extLower)) {
-                    // 허용된 확장자인데 검증 로직이 없는 경우 - 개발 오류
-                    // 안전을 위해 MIME 타입 불일치로 처리
-                    return fail(ERR_EXTENSION_MIME_MISMATCH + extension + ", 감지된 MIME: " + mime + " (검증 로직 누락)");
-                }
-                // 허용되지 않은 확장자는 이미 앞에서 걸러졌으므로 여기 도달하면 안 됨
-                break;
+        if (signature == SignatureMatcher.Signature.OLE2) {
+            CompoundFileDirectory.Kind kind = CompoundFileDirectory.classify(source);
+            if (kind == CompoundFileDirectory.Kind.CORRUPT) {
+                return FAIL_OLE2_INVALID;
+            }
+            if (rule.container() == ExtensionRule.Container.OLE2 && !rule.extension().equals(kind.extension())) {
+                return fail(FailureCode.EXTENSION_MIME_MISMATCH, extractExtension(originalName), kind.mime());
+            }
+            return ok(MSG_SUCCESS, kind.extension() != null ? kind.mime() : mime, null, null);
         }
-
-        return ok(MSG_SUCCESS, mime, null, null);
+        return null;
     }
 
     /**
-     * 파일 헤더만 읽어서 MIME 타입을 감지한다.
+     * 헤더 구간 검증을 통과한 OLE2 문서(.doc/.xls/.ppt)의 디렉터리를 원본에서 읽어 확장자와 대조한다.
+     * 헤더 구간만으로 검증해 문서 종류를 확정하지 못한 호출자가 파일 전체를 받은 뒤 사용한다.
+     *
+     * @return 실패 결과, 문제가 없으면 null
      */
-    private static String detectMimeFromHeader(Path path, String originalName) throws IOException {
-        // 파일 헤더만 읽기 (최대 HEADER_READ_BYTES 바이트)
-        byte[] header = readHead(path, HEADER_READ_BYTES);
-        if (header.length == 0) {
-            throw new IOException(ERR_DETAIL_FILE_READ);
-        }
-
-        DefaultDetector detector = new DefaultDetector();
-        Metadata metadata = new Metadata();
-        if (originalName != null) {
-            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, originalName);
-        }
-
-        // 헤더 바이트만으로 MIME 타입 감지 (ByteArrayInputStream 사용)
-        try (ByteArrayInputStream byteStream = new ByteArrayInputStream(header);
-             TikaInputStream stream = TikaInputStream.get(byteStream)) {
-            MediaType mediaType = detector.detect(stream, metadata);
-            String mime = mediaType.toString();
-            if (MIME_TIKA_OOXML.equalsIgnoreCase(mime)) {
-                return refineOoxmlMime(header, mime);
-            }
-            return mime;
-        }
+    static FileCheckResult validateOle2Directory(PositionalSource source, String originalName) throws IOException {
+        FileCheckResult check = validateContainer(SignatureMatcher.Signature.OLE2, source,
+                ExtensionRule.ofName(originalName), originalName, null);
+        return check.ok() ? null : check;
     }
 
     /**
-     * 확장자와 MIME 타입만으로 파일 타입을 결정합니다 (path 없이).
-     * InputStream 기반 검증에서 사용됩니다.
+     * PDF 파일 끝 구조를 확인한다.
+     *
+     * @return 실패 결과, 문제가 없으면 null
      */
-    private static FileType determineFileTypeFromExtensionAndMime(String mime, String extension) {
-        if (mime == null) {
+    static FileCheckResult validatePdfTrailer(PositionalSource source) throws IOException {
+        PdfTrailer.Violation violation = PdfTrailer.check(source);
+        if (violation == null) {
             return null;
         }
+        return switch (violation) {
+            case MISSING_EOF -> FAIL_PDF_EOF;
+            case MISSING_STARTXREF -> FAIL_PDF_STARTXREF;
+            case XREF_OFFSET -> FAIL_PDF_XREF;
+        };
+    }
 
-        String mimeLower = mime.toLowerCase();
-        String extLower = extension != null ? extension.toLowerCase() : "";
-
-        // Excel
-        if (mimeLower.contains("spreadsheet") || mimeLower.contains("ms-excel") ||
-                EXT_XLS.equalsIgnoreCase(extLower) || EXT_XLSX.equalsIgnoreCase(extLower)) {
-            return FileType.EXCEL;
-        }
-
-        // CSV
-        if (mimeLower.contains("csv") || EXT_CSV.equalsIgnoreCase(extLower)) {
-            return FileType.CSV;
-        }
-
-        // Word 문서
-        if (mimeLower.contains("wordprocessingml") || mimeLower.contains("msword") ||
-                extLower.equals(".doc") || extLower.equals(".docx")) {
-            return FileType.DOCUMENT;
-        }
-
-        // PowerPoint
-        if (mimeLower.contains("presentationml") || mimeLower.contains("ms-powerpoint") ||
-                extLower.equals(".ppt") || extLower.equals(".pptx")) {
-            return FileType.PRESENTATION;
-        }
-
-        // PDF
-        if (mimeLower.contains("pdf") || extLower.equals(".pdf")) {
-            return FileType.PDF;
-        }
-
-        // 이미지
-        if (mimeLower.contains("image/png") || extLower.equals(".png")) {
-            return FileType.IMAGE;
-        }
-        if (mimeLower.contains("image/jpeg") || extLower.equals(".jpg") || extLower.equals(".jpeg")) {
-            return FileType.IMAGE;
-        }
+    /**
+     * 이미지 구조 확인 결과를 판정한다. 위반이 없고 크기를 읽었으면 정책의 최대 픽셀 수와 비교한다.
+     *
+     * @param walker 판정이 끝났거나 입력이 끝난 상태 기계
+     * @return 실패 결과, 문제가 없으면 null
+     */
+    static FileCheckResult checkImage(ImageWalker walker, FileCheckPolicy policy) {
+        ImageWalker.Violation violation = walker.violation();
+        if (violation != null) {
+            return switch (violation) {
+                case HEADER_INVALID -> FAIL_IMAGE_HEADER;
+                case STRUCTURE_INVALID -> FAIL_IMAGE_STRUCTURE;
+                case CRC_MISMATCH -> FAIL_IMAGE_CRC;
+                case TRUNCATED -> FAIL_IMAGE_TRUNCATED;
+            };
+        }
+        ImageInfo info = walker.info();
+        return info != null ? policy.imagePixelsExceeded(info.pixels()) : null;
+    }
 
-        // 텍스트
-        if (mimeLower.contains("text/plain") || extLower.equals(".txt")) {
-            return FileType.TEXT;
+    /**
+     * XML 심층 검사 결과를 실패 결과로 바꾼다.
+     *
+     * @return 위반이 없으면 null
+     */
+    static FileCheckResult checkXml(XmlWellFormedness.Result result, FileCheckPolicy policy) {
+        XmlWellFormedness.Violation violation = result.violation();
+        if (violation == null) {
+            return null;
         }
+        return switch (violation) {
+            case MALFORMED -> result.line() > 0
+                    ? fail(FailureCode.XML_MALFORMED, result.line() + ":" + result.column(), null)
+                    : FAIL_XML_MALFORMED;
+            case DTD -> FAIL_XML_DTD;
+            case DEPTH -> policy.xmlDepthExceeded();
+            case ATTRIBUTES -> policy.xmlAttributesExceeded();
+            case TOKEN -> FAIL_XML_TOKEN_TOO_LARGE;
+            case SIZE -> policy.sizeLimitExceeded(FileType.XML, result.bytesRead());
+        };
+    }
 
-        // ZIP
-        if (mimeLower.contains("zip") || extLower.equals(".zip")) {
-            return FileType.ARCHIVE;
+    /**
+     * 이미지 구조를 위치 지정 읽기로 따라간다. 건너뛸 세그먼트 본문은 읽지 않는다.
+     */
+    private static void walkImage(ImageWalker walker, PositionalSource source) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(IMAGE_WALK_BUFFER_SIZE);
+        long position = 0L;
+        while (!walker.done()) {
+            long skip = walker.pendingSkip();
+            if (skip > 0) {
+                walker.skipped(skip);
+                position += skip;
+            }
+            buffer.clear();
+            int n = source.read(position, buffer);
+            if (n <= 0) {
+                walker.finish();
+                return;
+            }
+            walker.update(buffer.array(), 0, n);
+            position += n;
         }
+    }
 
-        // XML
-        if (mimeLower.contains("xml") || extLower.equals(".xml")) {
-            return FileType.XML;
+    /**
+     * 헤더 구간부터 이미지 구조를 따라가고, 판정이 끝나지 않으면 스트림을 이어 읽는다.
+     * 건너뛸 세그먼트 본문은 {@link InputStream#skip}으로 넘긴다 (파일 기반 스트림은 읽지 않고 이동).
+     *
+     * @param input 헤더 구간 시작 위치로 되돌린 스트림 (판정에 필요한 만큼 소비됨)
+     */
+    private static void walkImage(ImageWalker walker, byte[] header, InputStream input) throws IOException {
+        if (walker.update(header, 0, header.length)) {
+            return;
+        }
+        input.skipNBytes(header.length);
+        byte[] buffer = new byte[IMAGE_WALK_BUFFER_SIZE];
+        while (!walker.done()) {
+            long skip = walker.pendingSkip();
+            if (skip > 0) {
+                long skipped = input.skip(skip);
+                if (skipped > 0) {
+                    walker.skipped(skipped);
+                    continue;
+                }
+            }
+            int n = input.read(buffer);
+            if (n < 0) {
+                walker.finish();
+                return;
+            }
+            walker.update(buffer, 0, n);
         }
-
-        return FileType.OTHER;
     }
 
-    private static FileType determineFileType(String mime, Path path, String originalName) {
+    /**
+     * 확장자 규칙으로 감지된 MIME 타입을 확인한다.
+     * MIME 타입이 허용 토큰과 맞지 않으면 헤더 시그니처로 한 번 더 확인한다 (파일 경로/스트림 검증 공통).
+     *
+     * @return 실패 결과, 문제가 없으면 null
+     */
+    private static FileCheckResult validateExtensionMimeMatch(ExtensionRule rule, String originalName, String mime,
+                                                              byte[] header) {
         if (mime == null) {
-            return null;
-        }
-
-        String mimeLower = mime.toLowerCase();
-        String extension = extractExtension(originalName).toLowerCase();
-
-        // Excel
-        if (mimeLower.contains("spreadsheet") || mimeLower.contains("ms-excel") ||
-                EXT_XLS.equalsIgnoreCase(extension) || EXT_XLSX.equalsIgnoreCase(extension)) {
-            return FileType.EXCEL;
+            return fail(FailureCode.UNSUPPORTED_TYPE, null, null);
         }
-
-        // CSV
-        if (mimeLower.contains("csv") || EXT_CSV.equalsIgnoreCase(extension) ||
-                (path != null && looksLikeCsv(path))) {
-            return FileType.CSV;
+        if (rule.accepts(mime, header)) {
+            return null;
         }
+        return fail(FailureCode.EXTENSION_MIME_MISMATCH, extractExtension(originalName), mime);
+    }
 
-        // Word 문서
-        if (mimeLower.contains("wordprocessingml") || mimeLower.contains("msword") ||
-                extension.equals(".doc") || extension.equals(".docx")) {
-            return FileType.DOCUMENT;
+    /**
+     * 세션에서 읽어 둔 파일 헤더로 MIME 타입을 감지한다.
+     */
+    private static String detectMimeFromHeader(SignatureMatcher.Signature signature, byte[] header,
+                                               String originalName, String extension) throws IOException {
+        if (header.length == 0) {
+            throw new IOException(ERR_DETAIL_FILE_READ);
         }
 
-        // PowerPoint
-        if (mimeLower.contains("presentationml") || mimeLower.contains("ms-powerpoint") ||
-                extension.equals(".ppt") || extension.equals(".pptx")) {
-            return FileType.PRESENTATION;
-        }
+        // 헤더 바이트만으로 MIME 타입 감지 (내장 시그니처 매처, 필요 시 공유 Tika 감지기)
+        return detectMimeFromHeaderBytes(signature, header, originalName, extension);
+    }
 
-        // PDF
-        if (mimeLower.contains("pdf") || extension.equals(".pdf")) {
-            return FileType.PDF;
+    private static FileCheckResult validateCsv(PathValidationSession session, String mime,
+                                               ValidationOptions options, FileCheckPolicy policy,
+                                               ValidationTrace trace) {
+        // 세션 헤더 버퍼로 인코딩 감지 (CSV 형식 여부는 호출자가 이미 확인함)
+        byte[] header = session.head();
+        long phaseStart = trace.begin();
+        CharsetVerdict charset = acceptedCsvCharset(detectCsvCharset(header, session.isTruncated()), header,
+                session.isTruncated(), policy);
+        String detected = charset.detected();
+        String normalized = charset.normalized();
+        trace.end(ValidationTrace.Phase.CHARSET_DETECTION, phaseStart);
+        if (normalized == null) {
+            return FAIL_CSV_ENCODING_UNKNOWN;
+        }
+        if (!policy.acceptsEncoding(normalized)) {
+            return fail(FailureCode.CSV_ENCODING_INVALID, detected, null);
+        }
+        // 빈 파일 체크 (BOM만 있는 경우 포함)
+        if (header.length <= (hasUtf8Bom(header) ? 3 : 0)) {
+            return FAIL_CSV_EMPTY;
+        }
+        phaseStart = trace.begin();
+        CsvInfo dialect = sniffCsv(header, session.size(), normalized, policy);
+        trace.end(ValidationTrace.Phase.CSV_SNIFF, phaseStart);
+        // 엄격 모드: 파일 끝까지 UTF-8 유효성 검사 (UTF-8 계열로 판별된 경우)
+        if (options.fullScanRequested() && isUtf8Encoding(normalized)) {
+            try {
+                phaseStart = trace.begin();
+                CsvContentScanner.Result scan = scanCsv(session, options, trace);
+                trace.end(ValidationTrace.Phase.CSV_FULL_SCAN, phaseStart);
+                FileCheckResult scanCheck = checkCsvScan(scan);
+                if (scanCheck != null) {
+                    return scanCheck;
+                }
+                return csvSuccess(mime, normalized).withContent(csvInfo(dialect, scan));
+            } catch (IOException e) {
+                return ioFailure(e);
+            }
         }
+        return csvSuccess(mime, normalized).withContent(dialect);
+    }
 
-        // 이미지
-        if (mimeLower.contains("image/png") || extension.equals(".png")) {
-            return FileType.IMAGE;
-        }
-        if (mimeLower.contains("image/jpeg") || extension.equals(".jpg") || extension.equals(".jpeg")) {
-            return FileType.IMAGE;
-        }
+    /**
+     * CSV 전체 검사. 병렬 옵션이 켜져 있고 파일이 한 구간보다 크면 메모리 매핑 구간을 공용 포크-조인 풀에서 병렬 검사한다.
+     * 구조 검사는 따옴표 상태가 구간 경계를 넘으므로 항상 순차로 수행한다.
+     */
+    private static CsvContentScanner.Result scanCsv(PathValidationSession session, ValidationOptions options,
+                                                    ValidationTrace trace) throws IOException {
+        if (options.parallelScan() && !options.csvStructure()
+                && session.size() > CsvContentScanner.DEFAULT_SEGMENT_SIZE) {
+            // 메모리 매핑 구간은 세션 읽기 집계에 잡히지 않으므로 파일 전체를 읽은 것으로 기록
+            trace.addBytesRead(session.size());
+            return CsvContentScanner.scanParallel(session.channel(), session.size(),
+                    CsvContentScanner.DEFAULT_SEGMENT_SIZE, ForkJoinPool.commonPool());
+        }
+        return CsvContentScanner.scan(session, FULL_SCAN_BUFFER_SIZE,
+                newStructureScanner(options, session.head()));
+    }
 
-        // 텍스트
-        if (mimeLower.contains("text/plain") || extension.equals(".txt")) {
-            return FileType.TEXT;
-        }
+    /**
+     * CSV 전체 검사 결과를 검증 실패로 변환한다.
+     *
+     * @return 실패 결과, 문제가 없으면 null
+     */
+    private static FileCheckResult checkCsvScan(CsvContentScanner.Result scan) {
+        if (scan.malformedOffset() >= 0) {
+            return fail(FailureCode.CSV_UTF8_MALFORMED, Long.toString(scan.malformedOffset()), null);
+        }
+        CsvStructureScanner.Result structure = scan.structure();
+        if (structure != null && !structure.valid()) {
+            String line = Long.toString(structure.line());
+            return switch (structure.violation()) {
+                case UNCLOSED_QUOTE -> fail(FailureCode.CSV_QUOTE_UNBALANCED, line, null);
+                case STRAY_QUOTE -> fail(FailureCode.CSV_QUOTE_INVALID, line, null);
+                case COLUMN_COUNT -> fail(FailureCode.CSV_COLUMN_COUNT_MISMATCH, line, null);
+                case LINE_ENDING -> fail(FailureCode.CSV_LINE_ENDING_INVALID, line, null);
+            };
+        }
+        return null;
+    }
 
-        // ZIP
-        if (mimeLower.contains("zip") || extension.equals(".zip")) {
-            return FileType.ARCHIVE;
-        }
+    /**
+     * CSV 판별에 읽은 앞부분으로 방언과 스키마를 추정한다.
+     *
+     * @param sample   파일 앞부분 (정책의 CSV 판별 구간까지만 사용)
+     * @param size     파일 크기, 모르면 -1
+     * @param encoding 판별된 인코딩 (열 이름 디코딩용), 모르거나 지원하지 않으면 UTF-8로 디코딩
+     * @return CSV 정보, 앞부분에 완전한 레코드가 없으면 null
+     */
+    private static CsvInfo sniffCsv(byte[] sample, long size, String encoding, FileCheckPolicy policy) {
+        int length = Math.min(sample.length, policy.csvSniffBytes());
+        // 크기를 모르면 판별 구간보다 짧게 읽힌 경우만 파일 전체로 봄
+        boolean complete = size >= 0 ? size <= length : sample.length < policy.csvSniffBytes();
+        return CsvDialectSniffer.sniff(sample, length, complete, size, csvCharset(encoding));
+    }
 
-        // XML
-        if (mimeLower.contains("xml") || extension.equals(".xml")) {
-            return FileType.XML;
+    private static Charset csvCharset(String encoding) {
+        if (encoding == null || isUtf8Encoding(encoding)) {
+            return StandardCharsets.UTF_8;
         }
-
-        return FileType.OTHER;
+        Charset charset = Utf8TranscodingChannel.decodingCharset(encoding);
+        return charset != null ? charset : StandardCharsets.UTF_8;
     }
 
-    private static FileCheckResult validateCsv(Path path, String mime) {
-        // 확장자가 .csv인 경우, 실제 파일 내용이 CSV 형식인지 확인
-        if (!looksLikeCsv(path)) {
-            return fail(ERR_CSV_FORMAT_INVALID);
-        }
+    /**
+     * 추정한 CSV 정보에 구조 검사로 센 레코드 수를 합친다.
+     *
+     * @param dialect 앞부분으로 추정한 CSV 정보, 없으면 null
+     * @return CSV 정보, 둘 다 없으면 null
+     */
+    private static CsvInfo csvInfo(CsvInfo dialect, CsvContentScanner.Result scan) {
+        CsvStructureScanner.Result structure = scan.structure();
+        if (structure == null) {
+            return dialect;
+        }
+        if (dialect == null) {
+            // 앞부분에 완전한 레코드가 없을 만큼 레코드가 긴 경우
+            return new CsvInfo((char) structure.delimiter(), (char) structure.quote(), structure.lineTerminator(), false,
+                    structure.columns(), List.of(), List.of(), structure.records(), structure.records());
+        }
+        long dataRows = structure.records() - (dialect.header() ? 1 : 0);
+        return new CsvInfo(dialect.delimiter(), dialect.quote(), dialect.lineTerminator(), dialect.header(),
+                dialect.columns(), dialect.columnNames(), dialect.columnTypes(), Math.max(dataRows, 0L),
+                structure.records());
+    }
 
-        // 헤더만 읽어서 인코딩 감지
-        String detected = detectCharset(path, CHARSET_SAMPLE_BYTES);
-        String normalized = normalizeUtf8(detected, path);
-        if (normalized == null) {
-            return fail(ERR_CSV_ENCODING_UNKNOWN);
-        }
-        if (!normalized.equalsIgnoreCase(ENC_UTF8) && !normalized.equalsIgnoreCase(ENC_UTF8_SIG)) {
-            return fail(ERR_CSV_ENCODING_INVALID + detected + ERR_SUFFIX_CLOSE_PAREN);
+    private static FileCheckResult validateExcel(byte[] header, String mime, ExtensionRule rule,
+                                                 boolean containerVerified) {
+        // 헤더만 읽어서 Excel 파일 유효성 검증
+        FileCheckResult headerCheck;
+        if (rule == ExtensionRule.XLSX) {
+            // 중앙 디렉터리에서 XLSX로 확정된 경우 헤더 추정은 생략
+            headerCheck = containerVerified ? null : validateXlsxHeader(header);
+        } else if (rule == ExtensionRule.XLS) {
+            headerCheck = validateXlsHeader(header);
+        } else {
+            // 확장자가 없거나 다른 경우 헤더만으로 검증
+            headerCheck = validateExcelHeader(header);
         }
-        // 헤더만 읽어서 빈 파일 체크
-        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            if (reader.readLine() == null) {
-                return fail(ERR_CSV_EMPTY);
-            }
-        } catch (IOException e) {
-            return fail(ERR_FILE_PROCESS + e.getMessage());
+        if (headerCheck != null) {
+            return headerCheck;
         }
-        return ok(MSG_SUCCESS_CSV, mime, FileType.CSV, normalized);
-    }
 
-    private static FileCheckResult validateExcel(Path path, String mime, String originalName) {
-        String extension = extractExtension(originalName);
-        try {
-            // 헤더만 읽어서 Excel 파일 유효성 검증
-            if (EXT_XLSX.equalsIgnoreCase(extension)) {
-                validateXlsxHeader(path);
-            } else if (EXT_XLS.equalsIgnoreCase(extension)) {
-                validateXlsHeader(path);
-            } else {
-                // 확장자가 없거나 다른 경우 헤더만으로 검증
-                validateExcelHeader(path);
-            }
-
-            // 인코딩 체크는 필요시 추가 가능 (현재는 MIME 타입만 확인)
-            return ok(MSG_SUCCESS_EXCEL, mime, FileType.EXCEL, null);
-        } catch (IOException e) {
-            return fail(ERR_FILE_PROCESS + e.getMessage());
-        } catch (RuntimeException e) {
-            return fail(e.getMessage());
-        }
+        // 인코딩 체크는 필요시 추가 가능 (현재는 MIME 타입만 확인)
+        return ok(MSG_SUCCESS_EXCEL, mime, FileType.EXCEL, null);
     }
 
     /**
      * XLSX 파일 헤더만 읽어서 유효성 검증 (대용량 파일 지원).
+     *
+     * @return 실패 결과, 문제가 없으면 null
      */
-    private static void validateXlsxHeader(Path path) throws IOException {
+    private static FileCheckResult validateXlsxHeader(byte[] header) {
         // XLSX는 ZIP 기반이므로 헤더만 읽어서 ZIP 시그니처 확인
-        byte[] header = readHead(path, 4);
         if (header.length < 4) {
-            throw new IOException(ERR_XLSX_INVALID + ERR_DETAIL_FILE_TOO_SMALL);
+            return FAIL_XLSX_TOO_SMALL;
         }
         // ZIP 파일 시그니처 확인 (PK\x03\x04)
         if (header[0] != 0x50 || header[1] != 0x4B || header[2] != 0x03 || header[3] != 0x04) {
-            throw new IOException(ERR_XLSX_INVALID + ERR_DETAIL_INVALID_XLSX);
+            return FAIL_XLSX_INVALID;
         }
 
-        // Content_Types.xml 확인을 위해 더 읽기 (헤더 범위 내, 대용량 파일 지원)
+        // Content_Types.xml 확인 (헤더 범위 내, 대용량 파일 지원)
         // ZIP 파일의 Local File Header는 파일 시작 부분에 있으므로 헤더만 읽어서 확인 가능
-        byte[] moreHeader = readHead(path, 8192); // 충분한 크기의 헤더 읽기
+        byte[] moreHeader = header;
         String headerStr = new String(moreHeader, StandardCharsets.ISO_8859_1);
 
         // OOXML 관련 문자열이 헤더에 있는지 확인
@@ -1176,7 +2048,7 @@ public final class MultipartFileHeaderChecker {
             // 헤더에서 찾지 못한 경우, ZIP Local File Header 구조를 확인
             // ZIP Local File Header는 최소 30바이트이므로 더 읽어서 확인
             if (moreHeader.length < 30) {
-                throw new IOException(ERR_XLSX_INVALID + ERR_DETAIL_FILE_TOO_SMALL);
+                return FAIL_XLSX_TOO_SMALL;
             }
 
             // ZIP Local File Header의 파일명 길이 확인
@@ -1189,88 +2061,60 @@ public final class MultipartFileHeaderChecker {
                 // [Content_Types].xml 파일명이 있는지 확인
                 if (fileName.contains(OOXML_CONTENT_TYPES_XML) || fileName.contains("xl/")) {
                     // XLSX 파일로 판단
-                    return;
+                    return null;
                 }
             }
 
             // 헤더만으로는 확실히 판단할 수 없지만, ZIP 시그니처는 맞으므로 경고만
             // 실제 파일 내용 검증은 사용 시점에 수행하도록 함
-            throw new IOException(ERR_XLSX_INVALID + "헤더에서 XLSX 형식을 확인할 수 없습니다.");
+            return FAIL_XLSX_UNCONFIRMED;
         }
+        return null;
     }
 
     /**
      * XLS 파일 헤더만 읽어서 유효성 검증.
+     *
+     * @return 실패 결과, 문제가 없으면 null
      */
-    private static void validateXlsHeader(Path path) throws IOException {
+    private static FileCheckResult validateXlsHeader(byte[] header) {
         // XLS는 OLE2 포맷이므로 헤더만 읽어서 시그니처 확인
-        byte[] header = readHead(path, 8);
         if (header.length < 8) {
-            throw new IOException(ERR_XLS_INVALID + ERR_DETAIL_FILE_TOO_SMALL);
+            return FAIL_XLS_TOO_SMALL;
         }
         // OLE2 시그니처 확인 (0xD0CF11E0A1B11AE1)
         if (header[0] != (byte) 0xD0 || header[1] != (byte) 0xCF ||
                 header[2] != 0x11 || header[3] != (byte) 0xE0) {
-            throw new IOException(ERR_XLS_INVALID + ERR_DETAIL_INVALID_XLS);
+            return FAIL_XLS_INVALID;
         }
+        return null;
     }
 
     /**
      * Excel 파일 헤더만 읽어서 유효성 검증 (fallback).
+     *
+     * @return 실패 결과, 문제가 없으면 null
      */
-    private static void validateExcelHeader(Path path) throws IOException {
-        // WorkbookFactory는 내부적으로 헤더를 읽어서 검증
-        try (InputStream input = Files.newInputStream(path)) {
-            // 최소한의 헤더만 읽어서 검증
-            byte[] header = input.readNBytes(8);
-            if (header.length < 8) {
-                throw new IOException(ERR_EXCEL_INVALID + ERR_DETAIL_FILE_TOO_SMALL);
-            }
-            // XLSX (ZIP) 또는 XLS (OLE2) 시그니처 확인
-            boolean isZip = header[0] == 0x50 && header[1] == 0x4B;
-            boolean isOle2 = header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF;
-            if (!isZip && !isOle2) {
-                throw new IOException(ERR_EXCEL_INVALID + ERR_DETAIL_INVALID_EXCEL);
-            }
+    private static FileCheckResult validateExcelHeader(byte[] header) {
+        // 최소한의 헤더만으로 검증
+        if (header.length < 8) {
+            return FAIL_EXCEL_TOO_SMALL;
         }
+        // XLSX (ZIP) 또는 XLS (OLE2) 시그니처 확인
+        boolean isZip = header[0] == 0x50 && header[1] == 0x4B;
+        boolean isOle2 = header[0] == (byte) 0xD0 && header[1] == (byte) 0xCF;
+        if (!isZip && !isOle2) {
+            return FAIL_EXCEL_INVALID;
+        }
+        return null;
     }
 
     /**
      * OOXML 파일의 MIME 타입을 헤더에서 정제.
      */
     private static String refineOoxmlMime(byte[] header, String fallbackMime) {
-        try {
-            // 헤더에서 ZIP 엔트리 찾기
-            String headerStr = new String(header, StandardCharsets.ISO_8859_1);
-            if (headerStr.contains(OOXML_SPREADSHEET_MAIN)) {
-                return MIME_XLSX;
-            }
-            if (headerStr.contains(OOXML_WORD_MAIN)) {
-                return MIME_WORD;
-            }
-            if (headerStr.contains(OOXML_PRESENTATION_MAIN)) {
-                return MIME_PRESENTATION;
-            }
-        } catch (Exception refineError) {
-            throw new IllegalStateException(ERR_DETAIL_OOXML_REFINE, refineError);
-        }
-        return fallbackMime;
-    }
-
-    private static boolean looksLikeCsv(Path path) {
-        byte[] head = readHead(path, CSV_SNIFF_BYTES);
-        String sample = new String(stripBomIfNecessary(head), StandardCharsets.ISO_8859_1);
-        boolean hasDelimiter = sample.contains(",") || sample.contains(";") || sample.contains("\t");
-        boolean hasNewLine = sample.contains("\n") || sample.contains("\r");
-        return hasDelimiter && hasNewLine;
-    }
-
-    private static byte[] readHead(Path path, int size) {
-        try (InputStream input = Files.newInputStream(path)) {
-            return input.readNBytes(size);
-        } catch (IOException e) {
-            throw new IllegalStateException(ERR_DETAIL_HEADER_READ + path, e);
-        }
+        // 헤더에서 ZIP 엔트리 찾기 (문자열 변환 없이 바이트 검색)
+        return SignatureMatcher.refineOoxmlMime(header, fallbackMime);
     }
 
     private static String extractExtension(String originalName) {
@@ -1282,51 +2126,22 @@ public final class MultipartFileHeaderChecker {
     }
 
     /**
-     * 파일 헤더만 읽어서 인코딩 감지.
+     * CSV 인코딩 판별 결과.
+     *
+     * @param detected   감지한 인코딩 (실패 메시지용), 판별하지 못했으면 null
+     * @param normalized UTF-8 계열이면 {@code UTF-8}/{@code UTF-8-SIG}, 아니면 감지한 인코딩, 판별하지 못했으면 null
      */
-    private static String detectCharset(Path path, int maxBytes) {
-        try {
-            // 파일의 헤더 부분만 읽어서 인코딩 감지
-            byte[] sample = readHead(path, maxBytes);
-            if (sample.length == 0) {
-                return null;
-            }
-
-            // ICU4J CharsetDetector 사용
-            CharsetDetector detector = new CharsetDetector();
-            detector.setText(sample);
-            CharsetMatch match = detector.detect();
+    private record CharsetVerdict(String detected, String normalized) {
+    }
 
-            if (match != null && match.getConfidence() > 0) {
-                return match.getName();
-            }
-            return null;
-        } catch (Exception e) {
-            return null;
-        }
+    private static FileCheckResult csvSuccess(String mime, String encoding) {
+        // 정책이 UTF-8 외 인코딩을 허용한 경우에만 메시지를 조립함
+        String message = isUtf8Encoding(encoding) ? MSG_SUCCESS_CSV : MSG_SUCCESS_CSV_PREFIX + encoding + ")";
+        return ok(message, mime, FileType.CSV, encoding);
     }
 
-    private static String normalizeUtf8(String detected, Path path) {
-        try {
-            byte[] head = readHead(path, 4);
-            if (hasUtf8Bom(head)) {
-                return ENC_UTF8_SIG;
-            }
-            if (detected == null) {
-                return null;
-            }
-            if (detected.equalsIgnoreCase(ENC_UTF8) || detected.equalsIgnoreCase(ENC_UTF8_SIG)) {
-                return detected.toUpperCase();
-            }
-            // UTF-8로 디코딩 가능한지 헤더만 확인
-            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-                char[] buffer = new char[COPY_BUFFER_SIZE];
-                reader.read(buffer); // 헤더만 읽기
-            }
-            return ENC_UTF8;
-        } catch (Exception e) {
-            return detected;
-        }
+    private static boolean isUtf8Encoding(String encoding) {
+        return ENC_UTF8.equalsIgnoreCase(encoding) || ENC_UTF8_SIG.equalsIgnoreCase(encoding);
     }
 
     private static boolean hasUtf8Bom(byte[] bytes) {
@@ -1341,7 +2156,56 @@ public final class MultipartFileHeaderChecker {
         return new FileCheckResult(true, message, mime, type, encoding);
     }
 
-    private static FileCheckResult fail(String message) {
-        return new FileCheckResult(false, message, null, null, null);
+    /**
+     * 상세 값이 있는 실패 결과. 메시지는 조회할 때 만든다.
+     */
+    private static FileCheckResult fail(FailureCode code, String detail, String mime) {
+        return new FileCheckResult(false, null, mime, null, null, code, detail);
+    }
+
+    /**
+     * 고정 메시지 실패 결과 (상수 초기화용).
+     */
+    private static FileCheckResult failure(FailureCode code, String message) {
+        return new FileCheckResult(false, message, null, null, null, code, null);
+    }
+
+    private static FileCheckResult[] tooSmallFailures() {
+        ExtensionRule[] rules = ExtensionRule.values();
+        FileCheckResult[] failures = new FileCheckResult[rules.length];
+        for (ExtensionRule rule : rules) {
+            failures[rule.ordinal()] = fail(FailureCode.FILE_TOO_SMALL, Integer.toString(rule.minSize()), null);
+        }
+        return failures;
+    }
+
+    private static FileCheckResult ioFailure(IOException e) {
+        return fail(FailureCode.IO_ERROR, e.getMessage(), null);
+    }
+
+    /**
+     * 상세 값이 있는 실패의 메시지를 만든다.
+     */
+    private static String renderFailure(FailureCode code, String detail, String mime) {
+        if (code == null) {
+            return null;
+        }
+        return switch (code) {
+            case IO_ERROR -> ERR_FILE_PROCESS + detail;
+            case UNSUPPORTED_TYPE -> ERR_UNSUPPORTED_TYPE + mime + ERR_SUFFIX_CLOSE_PAREN;
+            case EXTENSION_MIME_MISMATCH -> ERR_EXTENSION_MIME_MISMATCH + detail + ERR_DETECTED_MIME + mime;
+            case CSV_ENCODING_INVALID -> ERR_CSV_ENCODING_INVALID + detail + ERR_SUFFIX_CLOSE_PAREN;
+            case CSV_UTF8_MALFORMED -> ERR_CSV_UTF8_MALFORMED + detail + ERR_SUFFIX_BYTE_OFFSET;
+            case FILE_TOO_LARGE -> ERR_FILE_TOO_LARGE + detail + ERR_SUFFIX_BYTE_OFFSET;
+            case FILE_TOO_SMALL -> ERR_FILE_TOO_SMALL + detail + ERR_SUFFIX_BYTE_OFFSET;
+            case IMAGE_TOO_LARGE -> ERR_IMAGE_TOO_LARGE + detail + ERR_SUFFIX_PIXELS;
+            case CSV_QUOTE_UNBALANCED -> ERR_CSV_QUOTE_UNBALANCED_LINE + detail + ERR_SUFFIX_CLOSE_PAREN;
+            case CSV_QUOTE_INVALID -> ERR_CSV_QUOTE_INVALID + detail + ERR_SUFFIX_CLOSE_PAREN;
+            case CSV_COLUMN_COUNT_MISMATCH -> ERR_CSV_COLUMN_COUNT + detail + ERR_SUFFIX_CLOSE_PAREN;
+            case CSV_LINE_ENDING_INVALID -> ERR_CSV_LINE_ENDING + detail + ERR_SUFFIX_CLOSE_PAREN;
+            case CSV_TRANSCODE_FAILED -> ERR_CSV_TRANSCODE_FAILED + detail + ERR_SUFFIX_BYTE_OFFSET;
+            case XML_MALFORMED -> ERR_XML_MALFORMED_AT + detail + ERR_SUFFIX_CLOSE_PAREN;
+            default -> detail;
+        };
     }
 }
@@ -0,0 +1,281 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.multipart.MultipartException;
+
+/**
+ * {@code multipart/form-data} 본문(RFC 7578, RFC 2046)을 한 번의 스트리밍으로 파트 단위로 나누는 파서.
+ * 고정 크기 버퍼에서 경계 구분자를 찾으며, 파트 본문은 다음 구분자 앞까지만 돌려주는 스트림으로 읽는다.
+ * 파트 본문을 다 읽지 않고 다음 파트로 넘어가면 남은 본문은 버린다.
+ * 닫는 경계 뒤의 에필로그는 읽지 않는다.
+ */
+final class MultipartStreamParser {
+
+    // RFC 2046: 경계는 1~70자
+    static final int MAX_BOUNDARY_LENGTH = 70;
+
+    private static final int MAX_HEADER_BYTES = 8192;
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+
+    private static final String ERR_TRUNCATED = "멀티파트 본문이 닫는 경계 전에 끝났습니다.";
+    private static final String ERR_HEADER_TOO_LARGE = "멀티파트 파트 헤더가 너무 큽니다. (최대 "
+            + MAX_HEADER_BYTES + " 바이트)";
+    private static final String ERR_MALFORMED_DELIMITER = "멀티파트 경계 뒤에 줄바꿈이 없습니다.";
+    private static final String ERR_MALFORMED_HEADER = "멀티파트 파트 헤더 형식이 잘못되었습니다: ";
+
+    private final InputStream input;
+    // 본문 안의 경계 구분자 (CRLF + "--" + 경계)
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    // 버퍼의 유효 구간 [head, tail)
+    private int head;
+    private int tail;
+    // [head, scanned) 구간은 구분자가 시작되지 않는 본문 바이트로 확인됨 (같은 구간을 다시 찾지 않기 위함)
+    private int scanned;
+    private boolean eof;
+    private boolean finished;
+    // 읽는 중인 파트 본문 (처음에는 첫 경계 앞의 프리앰블)
+    private PartInputStream current;
+
+    /**
+     * @param input      요청 본문 (닫지 않음)
+     * @param boundary   {@code Content-Type}의 경계 값
+     * @param bufferSize 읽기 버퍼 크기 (파트 헤더 최대 크기보다 작으면 늘림)
+     */
+    MultipartStreamParser(InputStream input, String boundary, int bufferSize) {
+        this.input = input;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(bufferSize, MAX_HEADER_BYTES * 2)];
+        // 첫 경계는 앞에 줄바꿈이 없으므로 본문 앞에 CRLF가 있는 것처럼 시작
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        tail = 2;
+        current = new PartInputStream();
+    }
+
+    /**
+     * 다음 파트로 이동해 파트 헤더를 읽는다. 이전 파트 본문에서 읽지 않은 바이트는 버린다.
+     *
+     * @return 파트 헤더, 닫는 경계에 도달했으면 null
+     * @throws MultipartException 본문 형식이 잘못되었거나 닫는 경계 전에 끝난 경우
+     */
+    HttpHeaders nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        current.skipRemaining();
+        if (!ensure(2)) {
+            throw new MultipartException(ERR_TRUNCATED);
+        }
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        // 경계 뒤의 공백(transport padding)은 무시
+        while (ensure(1) && (buffer[head] == ' ' || buffer[head] == '\t')) {
+            head++;
+        }
+        if (!ensure(2)) {
+            throw new MultipartException(ERR_TRUNCATED);
+        }
+        if (buffer[head] != '\r' || buffer[head + 1] != '\n') {
+            throw new MultipartException(ERR_MALFORMED_DELIMITER);
+        }
+        HttpHeaders headers = readHeaders();
+        current = new PartInputStream();
+        return headers;
+    }
+
+    /**
+     * 현재 파트 본문. {@link #nextPart()}를 다시 호출하면 더 이상 읽을 수 없다.
+     */
+    InputStream body() {
+        return current;
+    }
+
+    /**
+     * 경계 뒤 줄바꿈부터 빈 줄까지의 헤더 블록을 읽는다. 헤더가 없는 파트면 줄바꿈 바로 뒤가 빈 줄이다.
+     */
+    private HttpHeaders readHeaders() throws IOException {
+        int end;
+        while ((end = indexOf(HEADER_END)) < 0) {
+            if (tail - head >= MAX_HEADER_BYTES) {
+                throw new MultipartException(ERR_HEADER_TOO_LARGE);
+            }
+            if (!fill()) {
+                throw new MultipartException(ERR_TRUNCATED);
+            }
+        }
+        if (end - head > MAX_HEADER_BYTES) {
+            throw new MultipartException(ERR_HEADER_TOO_LARGE);
+        }
+        // 브라우저는 파일명을 UTF-8 그대로 보냄
+        String block = new String(buffer, head + 2, Math.max(end - head - 2, 0), StandardCharsets.UTF_8);
+        head = end + HEADER_END.length;
+
+        HttpHeaders headers = new HttpHeaders();
+        String name = null;
+        StringBuilder value = new StringBuilder();
+        for (String line : block.split("\r\n", -1)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.charAt(0) == ' ' || line.charAt(0) == '\t') {
+                // 접힌 줄 (obs-fold)은 앞 헤더 값에 이어 붙임
+                if (name == null) {
+                    throw new MultipartException(ERR_MALFORMED_HEADER + line);
+                }
+                value.append(' ').append(line.trim());
+                continue;
+            }
+            if (name != null) {
+                headers.add(name, value.toString());
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new MultipartException(ERR_MALFORMED_HEADER + line);
+            }
+            name = line.substring(0, colon).trim();
+            value.setLength(0);
+            value.append(line.substring(colon + 1).trim());
+        }
+        if (name != null) {
+            headers.add(name, value.toString());
+        }
+        return headers;
+    }
+
+    /**
+     * 버퍼의 유효 구간에서 패턴의 첫 위치를 찾는다.
+     *
+     * @return 절대 인덱스, 없으면 -1
+     */
+    private int indexOf(byte[] pattern) {
+        byte first = pattern[0];
+        int last = tail - pattern.length;
+        for (int i = head; i <= last; i++) {
+            if (buffer[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < pattern.length && buffer[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 남은 바이트를 버퍼 앞으로 옮기고 입력을 더 읽는다.
+     *
+     * @return 입력이 끝났으면 false
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            scanned = Math.max(scanned - head, 0);
+            head = 0;
+        }
+        int n = input.read(buffer, tail, buffer.length - tail);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        tail += n;
+        return true;
+    }
+
+    private boolean ensure(int count) throws IOException {
+        while (tail - head < count) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 파트 본문 스트림. 다음 경계 구분자 앞에서 끝나며, 닫아도 요청 본문은 닫지 않는다.
+     */
+    private final class PartInputStream extends InputStream {
+
+        private boolean done;
+        private final byte[] single = new byte[1];
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            int n = readable();
+            if (n < 0) {
+                return -1;
+            }
+            n = Math.min(n, len);
+            System.arraycopy(buffer, head, b, off, n);
+            head += n;
+            return n;
+        }
+
+        /**
+         * 남은 본문을 버리고 다음 경계 구분자 뒤로 이동한다.
+         */
+        void skipRemaining() throws IOException {
+            int n;
+            while ((n = readable()) >= 0) {
+                head += n;
+            }
+        }
+
+        /**
+         * 버퍼 앞에서 본문으로 돌려줄 수 있는 바이트 수. 구분자에 도달하면 구분자를 건너뛰고 -1을 돌려준다.
+         * 구분자 일부가 버퍼 끝에 걸쳐 있을 수 있으므로 구분자 길이보다 짧게 남은 바이트는 더 읽은 뒤 판단한다.
+         */
+        private int readable() throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (scanned > head) {
+                return scanned - head;
+            }
+            while (true) {
+                int found = indexOf(delimiter);
+                if (found > head) {
+                    scanned = found;
+                    return found - head;
+                }
+                if (found == head) {
+                    head += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                int safe = tail - head - (delimiter.length - 1);
+                if (safe > 0) {
+                    scanned = head + safe;
+                    return safe;
+                }
+                if (!fill()) {
+                    throw new MultipartException(ERR_TRUNCATED);
+                }
+            }
+        }
+    }
+}
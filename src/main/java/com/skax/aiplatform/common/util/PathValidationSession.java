@@ -0,0 +1,113 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 파일 경로 검증 한 건 동안 유지되는 읽기 세션.
+ * 파일을 한 번만 열고 헤더 구간을 단일 위치 지정 읽기(positional read)로 버퍼에 적재한다.
+ * 이후 검사는 이 버퍼를 재사용하거나 같은 채널에서 추가 위치 지정 읽기를 수행한다.
+ * NFS 등 원격 스풀 디렉터리에서 파일 열기/닫기 비용을 한 번으로 줄이기 위한 용도이다.
+ */
+final class PathValidationSession implements PositionalSource, Closeable {
+
+    private final FileChannel channel;
+    private final long size;
+    private final byte[] head;
+    // 헤더 이후 추가로 읽은 바이트 수 (메트릭용, 세션은 한 스레드에서만 사용)
+    private long extraBytesRead;
+
+    private PathValidationSession(FileChannel channel, long size, byte[] head) {
+        this.channel = channel;
+        this.size = size;
+        this.head = head;
+    }
+
+    /**
+     * 파일을 열고 최대 {@code headerBytes} 바이트의 헤더를 읽는다.
+     *
+     * @param path        검증할 파일 경로
+     * @param headerBytes 헤더 버퍼 크기
+     * @return 열린 세션 (호출자가 닫아야 함)
+     */
+    static PathValidationSession open(Path path, int headerBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, headerBytes));
+            int read = readFully(channel, 0L, buffer);
+            byte[] head = read == buffer.capacity() ? buffer.array() : Arrays.copyOf(buffer.array(), read);
+            return new PathValidationSession(channel, size, head);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 세션 시작 시 읽어 둔 헤더 바이트. 호출자는 배열을 수정하지 않아야 한다.
+     */
+    byte[] head() {
+        return head;
+    }
+
+    /**
+     * 세션을 연 시점의 파일 크기.
+     */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 헤더 버퍼가 파일 끝까지 담지 못했는지 여부.
+     */
+    boolean isTruncated() {
+        return head.length < size;
+    }
+
+    /**
+     * 지정 위치에서 버퍼의 남은 공간만큼 읽는다. 파일 끝에 도달하면 덜 읽을 수 있다.
+     *
+     * @return 읽은 바이트 수
+     */
+    @Override
+    public int read(long position, ByteBuffer target) throws IOException {
+        int read = readFully(channel, position, target);
+        extraBytesRead += read;
+        return read;
+    }
+
+    /**
+     * 세션에서 읽은 총 바이트 수 (헤더 포함, 채널을 직접 사용한 읽기는 제외).
+     */
+    long bytesRead() {
+        return head.length + extraBytesRead;
+    }
+
+    FileChannel channel() {
+        return channel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int readFully(FileChannel channel, long position, ByteBuffer target) throws IOException {
+        int total = 0;
+        while (target.hasRemaining()) {
+            int n = channel.read(target, position + total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,273 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * PDF 파일 끝 구조(트레일러)로 잘린 파일을 걸러낸다.
+ * 파일 끝 {@link #TAIL_BYTES}바이트에서 마지막 {@code %%EOF}와 그 앞의 {@code startxref} 오프셋을 찾고,
+ * 오프셋 위치에 교차 참조 테이블({@code xref})이나 교차 참조 스트림 객체({@code N G obj})가 있는지 확인한다.
+ * 파싱이 아니라 꼬리 읽기와 오프셋 위치 읽기, 최대 두 번의 위치 지정 읽기로 끝나는 제한된 구조 검사다.
+ */
+final class PdfTrailer {
+
+    /**
+     * 구조 위반 종류.
+     */
+    enum Violation {
+        /** 파일 끝 구간에 {@code %%EOF}가 없음 (전송 중 잘린 파일) */
+        MISSING_EOF,
+        /** {@code %%EOF} 앞에 {@code startxref}와 오프셋이 없음 */
+        MISSING_STARTXREF,
+        /** {@code startxref} 오프셋 위치에 교차 참조 테이블이나 스트림 객체가 없음 */
+        XREF_OFFSET
+    }
+
+    // Acrobat은 %%EOF가 파일 끝 1024바이트 안에 있으면 허용하므로 그 뒤의 찌꺼기까지 담을 수 있는 크기
+    static final int TAIL_BYTES = 4096;
+
+    // 스트림 검증에서 파일 끝 쪽으로 보관하는 크기 (교차 참조 테이블이 이 안에 있으면 오프셋까지 확인)
+    private static final int RETAINED_TAIL_BYTES = 16 * 1024;
+    // 오프셋 위치에서 읽는 크기 ("N G obj" 또는 "xref" 확인용)
+    private static final int XREF_PROBE_BYTES = 64;
+    private static final int MAX_OFFSET_DIGITS = 18;
+
+    private static final byte[] EOF_MARKER = SignatureMatcher.ascii("%%EOF");
+    private static final byte[] STARTXREF = SignatureMatcher.ascii("startxref");
+    private static final byte[] XREF = SignatureMatcher.ascii("xref");
+    private static final byte[] OBJ = SignatureMatcher.ascii("obj");
+
+    private PdfTrailer() {
+    }
+
+    /**
+     * 원본 끝의 트레일러를 확인한다.
+     *
+     * @return 처음 발견한 위반, 없으면 null
+     */
+    static Violation check(PositionalSource source) throws IOException {
+        long size = source.size();
+        int length = (int) Math.min(size, TAIL_BYTES);
+        long tailStart = size - length;
+        ByteBuffer tail = ByteBuffer.allocate(length);
+        readFully(source, tailStart, tail);
+        byte[] bytes = tail.array();
+        int filled = tail.position();
+
+        int eof = lastIndexOf(bytes, filled, EOF_MARKER);
+        if (eof < 0) {
+            return Violation.MISSING_EOF;
+        }
+        int startxref = lastIndexOf(bytes, eof, STARTXREF);
+        if (startxref < 0) {
+            return Violation.MISSING_STARTXREF;
+        }
+        int i = skipWhitespace(bytes, startxref + STARTXREF.length, eof);
+        long offset = 0L;
+        int digits = 0;
+        while (i < eof && isDigit(bytes[i]) && digits < MAX_OFFSET_DIGITS) {
+            offset = offset * 10 + (bytes[i++] - '0');
+            digits++;
+        }
+        if (digits == 0) {
+            return Violation.MISSING_STARTXREF;
+        }
+        // 교차 참조 구간은 startxref 앞에 있어야 함
+        if (offset >= tailStart + startxref) {
+            return Violation.XREF_OFFSET;
+        }
+
+        ByteBuffer probe = ByteBuffer.allocate((int) Math.min(XREF_PROBE_BYTES, size - offset));
+        readFully(source, offset, probe);
+        if (probe.hasRemaining()) {
+            // 원본이 이 구간을 보관하지 않음 (스트림 검증) - 오프셋 범위만 확인
+            return null;
+        }
+        return isXrefStart(probe.array(), probe.position()) ? null : Violation.XREF_OFFSET;
+    }
+
+    /**
+     * 스트림 끝까지 읽으면서 헤더 구간과 끝 구간만 보관한 원본을 만든다.
+     * 크기를 알면 끝 구간 앞까지는 건너뛴다 (파일 기반 스트림은 읽지 않고 이동).
+     *
+     * @param input  파일 처음부터 읽는 스트림 (끝까지 소비됨)
+     * @param header 이미 읽어 둔 헤더 구간
+     * @param size   파일 크기, 모르면 -1
+     */
+    static Tail readTail(InputStream input, byte[] header, long size) throws IOException {
+        Tail tail = new Tail(header);
+        long toSkip = size - RETAINED_TAIL_BYTES;
+        long skipped = 0L;
+        while (skipped < toSkip) {
+            long n = input.skip(toSkip - skipped);
+            if (n <= 0) {
+                break;
+            }
+            skipped += n;
+        }
+        tail.total = skipped;
+        byte[] buffer = new byte[RETAINED_TAIL_BYTES];
+        int n;
+        while ((n = input.read(buffer)) > 0) {
+            tail.update(buffer, 0, n);
+        }
+        return tail;
+    }
+
+    /**
+     * 오프셋 위치가 교차 참조 테이블({@code xref})이나 간접 객체 머리({@code N G obj})로 시작하는지 확인한다.
+     * 일부 생성기는 오프셋을 줄바꿈 앞으로 기록하므로 앞의 공백은 건너뛴다.
+     */
+    private static boolean isXrefStart(byte[] bytes, int length) {
+        int i = skipWhitespace(bytes, 0, length);
+        if (startsWith(bytes, i, length, XREF)) {
+            return true;
+        }
+        // 교차 참조 스트림: "객체번호 세대번호 obj"
+        for (int field = 0; field < 2; field++) {
+            int start = i;
+            while (i < length && isDigit(bytes[i])) {
+                i++;
+            }
+            if (i == start) {
+                return false;
+            }
+            int afterDigits = i;
+            i = skipWhitespace(bytes, i, length);
+            if (i == afterDigits) {
+                return false;
+            }
+        }
+        return startsWith(bytes, i, length, OBJ);
+    }
+
+    private static void readFully(PositionalSource source, long position, ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            int n = source.read(position + target.position(), target);
+            if (n <= 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * {@code [0, end)} 구간에서 패턴이 마지막으로 시작하는 위치, 없으면 -1.
+     */
+    private static int lastIndexOf(byte[] bytes, int end, byte[] pattern) {
+        for (int i = end - pattern.length; i >= 0; i--) {
+            if (startsWith(bytes, i, end, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] bytes, int from, int end, byte[] pattern) {
+        if (end - from < pattern.length) {
+            return false;
+        }
+        for (int j = 0; j < pattern.length; j++) {
+            if (bytes[from + j] != pattern[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(byte[] bytes, int from, int end) {
+        int i = from;
+        while (i < end && isWhitespace(bytes[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    // PDF 공백 문자: NUL, HT, LF, FF, CR, SP
+    private static boolean isWhitespace(byte b) {
+        return b == 0 || b == '\t' || b == '\n' || b == '\f' || b == '\r' || b == ' ';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * 헤더 구간과 끝 구간만 보관하는 원본. 보관하지 않은 구간을 읽으면 0바이트를 돌려준다.
+     * 끝 구간은 고정 크기 링 버퍼이므로 파일 크기와 관계없이 메모리 사용량이 일정하다.
+     */
+    static final class Tail implements PositionalSource {
+
+        private final byte[] head;
+        private final byte[] ring = new byte[RETAINED_TAIL_BYTES];
+        // 지금까지 지나간 바이트 수 (건너뛴 구간 포함)
+        private long total;
+
+        /**
+         * @param head 파일 앞부분 (헤더 구간)
+         */
+        Tail(byte[] head) {
+            this.head = head;
+        }
+
+        /**
+         * 파일 바이트를 순서대로 받는다 (건너뛴 구간이 있으면 그 뒤부터, 헤더 구간도 포함).
+         */
+        void update(byte[] bytes, int offset, int length) {
+            if (length >= ring.length) {
+                offset += length - ring.length;
+                total += length - ring.length;
+                length = ring.length;
+            }
+            int at = (int) (total % ring.length);
+            int first = Math.min(length, ring.length - at);
+            System.arraycopy(bytes, offset, ring, at, first);
+            System.arraycopy(bytes, offset + first, ring, 0, length - first);
+            total += length;
+        }
+
+        /**
+         * 버퍼의 남은 바이트를 순서대로 받는다. 버퍼의 position은 limit까지 이동한다.
+         */
+        void update(ByteBuffer bytes) {
+            if (bytes.hasArray()) {
+                update(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                bytes.position(bytes.limit());
+                return;
+            }
+            int skip = Math.max(bytes.remaining() - ring.length, 0);
+            bytes.position(bytes.position() + skip);
+            total += skip;
+            while (bytes.hasRemaining()) {
+                int at = (int) (total % ring.length);
+                int length = Math.min(bytes.remaining(), ring.length - at);
+                bytes.get(ring, at, length);
+                total += length;
+            }
+        }
+
+        @Override
+        public long size() {
+            return total;
+        }
+
+        @Override
+        public int read(long position, ByteBuffer target) {
+            if (position < head.length) {
+                int length = (int) Math.min(target.remaining(), head.length - position);
+                target.put(head, (int) position, length);
+                return length;
+            }
+            long retainedFrom = total - Math.min(total, ring.length);
+            if (position < retainedFrom || position >= total) {
+                return 0;
+            }
+            int length = (int) Math.min(target.remaining(), total - position);
+            int at = (int) (position % ring.length);
+            int first = Math.min(length, ring.length - at);
+            target.put(ring, at, first);
+            target.put(ring, 0, length - first);
+            return length;
+        }
+    }
+}
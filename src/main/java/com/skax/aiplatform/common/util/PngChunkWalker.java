@@ -0,0 +1,213 @@
+package com.skax.aiplatform.common.util;
+
+import java.util.zip.CRC32;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ImageInfo;
+
+/**
+ * PNG 청크 구조(시그니처, 길이, 타입, 데이터, CRC)를 따라가는 {@link ImageWalker}.
+ * 첫 청크는 IHDR이어야 하며, IHDR의 너비, 높이, 비트 깊이, 색 형식 조합과 CRC를 확인한다.
+ * CRC 확인을 켜면 IEND 청크까지 모든 청크의 CRC를 확인한다 (IDAT 데이터는 CRC 계산에만 쓰고 압축을 풀지 않음).
+ */
+final class PngChunkWalker implements ImageWalker {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int IHDR = 0x49484452;
+    private static final int IEND = 0x49454E44;
+    private static final int IHDR_LENGTH = 13;
+    private static final int CHUNK_HEAD_BYTES = 8;
+    private static final int CRC_BYTES = 4;
+
+    private enum State {
+        SIGNATURE,
+        CHUNK_HEAD,
+        IHDR_DATA,
+        DATA,
+        CRC,
+        DONE
+    }
+
+    private final boolean verifyCrc;
+    private final CRC32 crc = new CRC32();
+    // 고정 길이 필드 수집 버퍼 (시그니처, 청크 머리, IHDR 데이터, CRC)
+    private final byte[] field = new byte[IHDR_LENGTH];
+    private int need;
+    private int filled;
+    private State state;
+    private int chunkType;
+    // 현재 청크에서 남은 데이터 바이트 수
+    private long remaining;
+    private ImageInfo info;
+    private Violation violation;
+
+    /**
+     * @param verifyCrc IEND 청크까지 모든 청크의 CRC를 확인할지 여부 (끄면 IHDR에서 끝냄)
+     */
+    PngChunkWalker(boolean verifyCrc) {
+        this.verifyCrc = verifyCrc;
+        expect(State.SIGNATURE, SIGNATURE.length);
+    }
+
+    @Override
+    public boolean update(byte[] bytes, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        while (i < end && state != State.DONE) {
+            if (state == State.DATA) {
+                int n = (int) Math.min(remaining, end - i);
+                crc.update(bytes, i, n);
+                i += n;
+                remaining -= n;
+                if (remaining == 0) {
+                    expect(State.CRC, CRC_BYTES);
+                }
+                continue;
+            }
+            int n = Math.min(need - filled, end - i);
+            System.arraycopy(bytes, i, field, filled, n);
+            filled += n;
+            i += n;
+            if (filled == need) {
+                complete();
+            }
+        }
+        return state == State.DONE;
+    }
+
+    @Override
+    public boolean done() {
+        return state == State.DONE;
+    }
+
+    @Override
+    public void finish() {
+        if (state != State.DONE) {
+            reject(Violation.TRUNCATED);
+        }
+    }
+
+    @Override
+    public Violation violation() {
+        return violation;
+    }
+
+    @Override
+    public ImageInfo info() {
+        return violation == null ? info : null;
+    }
+
+    /**
+     * 고정 길이 필드를 다 모았을 때 다음 상태를 정한다.
+     */
+    private void complete() {
+        switch (state) {
+            case SIGNATURE -> {
+                for (int i = 0; i < SIGNATURE.length; i++) {
+                    if (field[i] != SIGNATURE[i]) {
+                        reject(Violation.STRUCTURE_INVALID);
+                        return;
+                    }
+                }
+                expect(State.CHUNK_HEAD, CHUNK_HEAD_BYTES);
+            }
+            case CHUNK_HEAD -> {
+                int length = readInt(0);
+                chunkType = readInt(4);
+                if (info == null && (chunkType != IHDR || length != IHDR_LENGTH)) {
+                    // 첫 청크는 반드시 IHDR
+                    reject(Violation.HEADER_INVALID);
+                    return;
+                }
+                if (length < 0 || !isChunkType() || info != null && chunkType == IHDR) {
+                    reject(Violation.STRUCTURE_INVALID);
+                    return;
+                }
+                crc.reset();
+                crc.update(field, 4, 4);
+                if (chunkType == IHDR) {
+                    expect(State.IHDR_DATA, IHDR_LENGTH);
+                } else if (length == 0) {
+                    expect(State.CRC, CRC_BYTES);
+                } else {
+                    remaining = length;
+                    state = State.DATA;
+                }
+            }
+            case IHDR_DATA -> {
+                crc.update(field, 0, IHDR_LENGTH);
+                if (!readHeader()) {
+                    reject(Violation.HEADER_INVALID);
+                    return;
+                }
+                expect(State.CRC, CRC_BYTES);
+            }
+            case CRC -> {
+                if (readInt(0) != (int) crc.getValue()) {
+                    reject(Violation.CRC_MISMATCH);
+                } else if (chunkType == IEND || !verifyCrc) {
+                    state = State.DONE;
+                } else {
+                    expect(State.CHUNK_HEAD, CHUNK_HEAD_BYTES);
+                }
+            }
+            default -> throw new IllegalStateException(state.name());
+        }
+    }
+
+    /**
+     * IHDR 데이터를 읽는다 (너비, 높이, 비트 깊이, 색 형식, 압축, 필터, 인터레이스).
+     *
+     * @return 값이 PNG 명세에 맞으면 true
+     */
+    private boolean readHeader() {
+        int width = readInt(0);
+        int height = readInt(4);
+        int bitDepth = field[8] & 0xFF;
+        int colorType = field[9] & 0xFF;
+        if (width <= 0 || height <= 0 || !isValidDepth(colorType, bitDepth)
+                || field[10] != 0 || field[11] != 0 || (field[12] & 0xFF) > 1) {
+            return false;
+        }
+        info = new ImageInfo(width, height, bitDepth);
+        return true;
+    }
+
+    /**
+     * 색 형식별 허용 비트 깊이 (0: 회색조, 2: RGB, 3: 팔레트, 4: 회색조+알파, 6: RGBA).
+     */
+    private static boolean isValidDepth(int colorType, int bitDepth) {
+        return switch (colorType) {
+            case 0 -> bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8 || bitDepth == 16;
+            case 3 -> bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8;
+            case 2, 4, 6 -> bitDepth == 8 || bitDepth == 16;
+            default -> false;
+        };
+    }
+
+    // 청크 타입은 영문자 4개
+    private boolean isChunkType() {
+        for (int i = 4; i < CHUNK_HEAD_BYTES; i++) {
+            int c = field[i] | 0x20;
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int readInt(int at) {
+        return (field[at] & 0xFF) << 24 | (field[at + 1] & 0xFF) << 16 | (field[at + 2] & 0xFF) << 8
+                | field[at + 3] & 0xFF;
+    }
+
+    private void expect(State next, int bytes) {
+        state = next;
+        need = bytes;
+        filled = 0;
+    }
+
+    private void reject(Violation found) {
+        violation = found;
+        state = State.DONE;
+    }
+}
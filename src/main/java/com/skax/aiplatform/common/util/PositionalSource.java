@@ -0,0 +1,45 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 위치 지정 읽기(positional read)를 지원하는 읽기 전용 데이터 원본.
+ * 파일 끝 구조(ZIP 중앙 디렉터리 등)나 내부 디렉터리를 파일 전체를 읽지 않고 확인할 때 사용한다.
+ */
+interface PositionalSource {
+
+    /**
+     * 전체 크기 (바이트).
+     */
+    long size();
+
+    /**
+     * 지정 위치에서 버퍼의 남은 공간만큼 읽는다. 끝에 도달하면 덜 읽을 수 있다.
+     *
+     * @return 읽은 바이트 수
+     */
+    int read(long position, ByteBuffer target) throws IOException;
+
+    /**
+     * 메모리에 모두 올라와 있는 작은 파일(헤더 구간에 파일 전체가 담긴 경우)을 원본으로 사용한다.
+     */
+    static PositionalSource of(byte[] bytes) {
+        return new PositionalSource() {
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public int read(long position, ByteBuffer target) {
+                if (position >= bytes.length) {
+                    return 0;
+                }
+                int length = (int) Math.min(target.remaining(), bytes.length - position);
+                target.put(bytes, (int) position, length);
+                return length;
+            }
+        };
+    }
+}
@@ -0,0 +1,310 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.multipart.FilePart;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ValidationOptions;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux 업로드({@link FilePart}, {@code Flux<DataBuffer>})를 논블로킹으로 검증하는 진입점.
+ * 도착하는 {@link DataBuffer}에서 헤더 구간만 복사하고 버퍼는 즉시 해제하므로,
+ * 메모리에는 헤더 구간(정책의 {@link FileCheckPolicy#headerReadBytes()}, 기본 8KB)만 유지된다.
+ * 헤더 구간이 채워지면 나머지 콘텐츠 구독을 취소하고 결과를 낸다.
+ * 받은 바이트 수는 버퍼마다 정책의 타입별 최대 크기와 비교하며, 넘으면 그 시점에 구독을 취소하고 거부한다.
+ * CSV 전체 검사 옵션을 켜면 콘텐츠 끝까지 받으면서 조각 단위로 검사한다(이 경우에도 버퍼는 바로 해제).
+ * PDF는 헤더 구간보다 크면 콘텐츠 끝까지 받으면서 끝 구간만 고정 크기 링 버퍼에 보관해 끝 구조를 확인한다.
+ * PNG/JPEG는 헤더 구간에서 판정되지 않으면(헤더 뒤의 SOF, CRC 확인) 판정이 끝날 때까지 이어 받으며 구조를 따라간다.
+ * XML 심층 검사가 필요한 .xml은 콘텐츠를 {@link InputStream}으로 바꿔 boundedElastic 스케줄러에서 StAX로 끝까지 읽는다
+ * (StAX는 블로킹 읽기이므로 이벤트 루프에서 실행하지 않음).
+ * 그 밖의 검증은 블로킹 I/O 없이 수신 스레드에서 수행되므로 이벤트 루프 스레드에서 구독해도 된다.
+ * Reactor는 선택 의존성이므로 WebFlux 애플리케이션에서만 이 클래스를 사용한다.
+ */
+public final class ReactiveMultipartFileHeaderChecker {
+
+    private static final int IMAGE_WALK_BUFFER_SIZE = 8192;
+    // XML 심층 검사 시 StAX가 읽기 전에 미리 요청해 둘 버퍼 수
+    private static final int XML_PREFETCH_BUFFERS = 4;
+
+    private ReactiveMultipartFileHeaderChecker() {
+    }
+
+    /**
+     * 업로드 파트를 검증한다. 파트 콘텐츠는 이 검증에서 소비된다.
+     *
+     * @param part    검증할 파일 파트
+     * @param options 검증 옵션
+     * @return 검증 결과
+     */
+    public static Mono<FileCheckResult> validate(FilePart part, ValidationOptions options) {
+        return validate(part.content(), part.filename(), options);
+    }
+
+    /**
+     * 데이터 버퍼 스트림을 검증한다. 스트림은 이 검증에서 소비된다.
+     *
+     * @param content      파일 콘텐츠
+     * @param originalName 원본 파일명
+     * @param options      검증 옵션
+     * @return 검증 결과
+     */
+    public static Mono<FileCheckResult> validate(Flux<DataBuffer> content, String originalName,
+                                                 ValidationOptions options) {
+        return Mono.defer(() -> {
+            FileCheckPolicy policy = MultipartFileHeaderChecker.policyFor(options);
+            ValidationOptions applied = policy.apply(options);
+            ValidationTrace trace = MultipartFileHeaderChecker.startTrace(ValidationTrace.Route.REACTIVE);
+            if (applied.xmlWellFormed() && ExtensionRule.ofName(originalName) == ExtensionRule.XML) {
+                return validateXml(content, originalName, applied, policy, trace);
+            }
+            HeaderWindow window = new HeaderWindow(originalName, applied, policy, trace);
+            return content
+                    .handle((DataBuffer buffer, SynchronousSink<Object> sink) -> {
+                        boolean done;
+                        try {
+                            done = window.accept(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                        if (done) {
+                            // 결과가 정해졌으므로 나머지 콘텐츠 구독 취소
+                            sink.complete();
+                        }
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then(Mono.fromCallable(window::result));
+        });
+    }
+
+    /**
+     * XML 문서를 끝까지 읽어 검증한다. 헤더 구간을 먼저 검증하고, 통과하면 이어서 StAX로 문서 전체를 확인한다.
+     * 스트림을 닫으면 남은 콘텐츠 구독을 취소하고 받아 둔 버퍼를 해제한다.
+     *
+     * @param trace 메트릭 추적 ({@link ValidationTrace#NOOP}이면 측정 안 함)
+     */
+    private static Mono<FileCheckResult> validateXml(Flux<DataBuffer> content, String originalName,
+                                                     ValidationOptions options, FileCheckPolicy policy,
+                                                     ValidationTrace trace) {
+        return Mono.fromCallable(() -> {
+            try (InputStream input = trace.count(
+                    DataBufferUtils.subscriberInputStream(content, XML_PREFETCH_BUFFERS))) {
+                long phaseStart = trace.begin();
+                byte[] header = input.readNBytes(policy.headerReadBytes());
+                trace.end(ValidationTrace.Phase.HEADER_READ, phaseStart);
+                FileCheckResult headerResult = MultipartFileHeaderChecker.validateHeader(header, originalName,
+                        options, policy, null, trace);
+                if (!headerResult.ok() || header.length < policy.headerReadBytes()) {
+                    // 헤더 구간 안에서 끝나는 문서는 헤더 검증에서 심층 검사까지 마침
+                    return trace.finish(headerResult);
+                }
+                phaseStart = trace.begin();
+                XmlWellFormedness.Result xml = XmlWellFormedness.check(
+                        new SequenceInputStream(new ByteArrayInputStream(header), input),
+                        policy.xmlMaxDepth(), policy.xmlMaxAttributes(), policy.maxSize(FileType.XML));
+                trace.end(ValidationTrace.Phase.XML_SCAN, phaseStart);
+                FileCheckResult xmlCheck = MultipartFileHeaderChecker.checkXml(xml, policy);
+                return trace.finish(xmlCheck != null ? xmlCheck : headerResult.withContent(xml.info()));
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 검증 한 건의 수신 상태. 헤더 구간 버퍼와, 필요 시 CSV 전체 검사 누적기, PDF 끝 구간 버퍼, 이미지 구조 상태 기계를 가진다.
+     */
+    private static final class HeaderWindow {
+
+        private final String originalName;
+        private final ValidationOptions options;
+        private final FileCheckPolicy policy;
+        private final ValidationTrace trace;
+        private final byte[] header;
+        private final boolean scanRequired;
+        private final ExtensionRule rule;
+        private final boolean trailerRequired;
+        // 구조 검사 구분자를 헤더 구간으로 정하므로 헤더 구간이 찬 뒤에 만듦
+        private CsvContentScanner.Incremental scan;
+        // 헤더 구간보다 큰 PDF만 만듦 (작은 파일은 헤더 검증에서 끝 구조까지 확인)
+        private PdfTrailer.Tail pdfTail;
+        // PNG/JPEG만 만듦. 헤더 구간이 찬 뒤부터 사용 (작은 파일은 헤더 검증에서 끝까지 확인)
+        private final ImageWalker imageWalker;
+        private boolean walking;
+        // 직접 버퍼(direct)를 상태 기계에 넘길 때만 만듦
+        private byte[] walkBuffer;
+        private int filled;
+        private long received;
+        private FileCheckResult sizeResult;
+        private FileCheckResult headerResult;
+        private boolean malformed;
+
+        HeaderWindow(String originalName, ValidationOptions options, FileCheckPolicy policy, ValidationTrace trace) {
+            this.originalName = originalName;
+            this.options = options;
+            this.policy = policy;
+            this.trace = trace;
+            this.header = new byte[policy.headerReadBytes()];
+            this.scanRequired = MultipartFileHeaderChecker.isFullCsvScanRequired(originalName, options);
+            this.rule = ExtensionRule.ofName(originalName);
+            this.trailerRequired = rule == ExtensionRule.PDF;
+            this.imageWalker = ImageWalker.forRule(rule, policy.imageCrcCheck());
+        }
+
+        /**
+         * 버퍼 하나를 받는다. 버퍼 해제는 호출자가 한다.
+         *
+         * @return 결과가 정해져 더 받을 필요가 없으면 true
+         */
+        boolean accept(DataBuffer buffer) {
+            received += buffer.readableByteCount();
+            trace.addBytesRead(buffer.readableByteCount());
+            if (rule != null) {
+                // 크기를 미리 알 수 없으므로 받은 만큼으로 확인 (넘으면 나머지는 받지 않음)
+                sizeResult = policy.sizeLimitExceeded(rule.fileType(), received);
+                if (sizeResult != null) {
+                    return true;
+                }
+            }
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+                    int length = Math.min(chunk.remaining(), header.length - filled);
+                    chunk.get(header, filled, length);
+                    filled += length;
+                    if (filled < header.length) {
+                        continue;
+                    }
+                    long phaseStart = trace.begin();
+                    if (scanRequired && !malformed) {
+                        // 헤더 구간 이후 바이트 (헤더 구간은 스캐너를 만들 때 검사함)
+                        malformed = !startScan().update(chunk, chunk.position(), chunk.limit());
+                        trace.end(ValidationTrace.Phase.CSV_FULL_SCAN, phaseStart);
+                    }
+                    if (trailerRequired) {
+                        startTail().update(chunk);
+                        trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                    }
+                    if (imageWalker != null) {
+                        walk(chunk);
+                        trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                    }
+                }
+            }
+            if (filled < header.length) {
+                return false;
+            }
+            if (headerResult == null) {
+                headerResult = MultipartFileHeaderChecker.validateHeader(header, originalName, options, policy,
+                        null, trace);
+            }
+            return !headerResult.ok()
+                    || !(scanRequired && !malformed) && !trailerRequired && !(walking && !imageWalker.done());
+        }
+
+        /**
+         * 콘텐츠가 끝났거나 구독을 취소한 뒤 결과를 내고 추적을 마친다.
+         */
+        FileCheckResult result() throws IOException {
+            return trace.finish(decide());
+        }
+
+        private FileCheckResult decide() throws IOException {
+            if (sizeResult != null) {
+                return sizeResult;
+            }
+            if (headerResult == null) {
+                // 헤더 구간을 채우기 전에 콘텐츠가 끝남 (작은 파일 - 헤더가 파일 전체)
+                headerResult = MultipartFileHeaderChecker.validateHeader(Arrays.copyOf(header, filled),
+                        originalName, options, policy, null, trace);
+            }
+            if (pdfTail != null && headerResult.ok()) {
+                long phaseStart = trace.begin();
+                FileCheckResult pdfCheck = MultipartFileHeaderChecker.validatePdfTrailer(pdfTail);
+                trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                return pdfCheck != null ? pdfCheck : headerResult;
+            }
+            if (walking && headerResult.ok()) {
+                // 헤더 구간 검증은 크기를 모르므로 헤더 구간 안에서 판정된 경우만 확인함 - 끝까지 따라간 결과로 판정
+                long phaseStart = trace.begin();
+                imageWalker.finish();
+                trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                FileCheckResult imageCheck = MultipartFileHeaderChecker.checkImage(imageWalker, policy);
+                return imageCheck != null ? imageCheck : headerResult.withContent(imageWalker.info());
+            }
+            if (!scanRequired) {
+                return headerResult;
+            }
+            long phaseStart = trace.begin();
+            CsvContentScanner.Result scanned = startScan().finish();
+            trace.end(ValidationTrace.Phase.CSV_FULL_SCAN, phaseStart);
+            return MultipartFileHeaderChecker.completeCsvScan(headerResult, scanned);
+        }
+
+        /**
+         * 끝 구간 버퍼를 처음 요청받으면 헤더 구간부터 받은 상태로 만든다.
+         */
+        private PdfTrailer.Tail startTail() {
+            if (pdfTail == null) {
+                pdfTail = new PdfTrailer.Tail(header);
+                pdfTail.update(header, 0, header.length);
+            }
+            return pdfTail;
+        }
+
+        /**
+         * 버퍼의 남은 바이트로 이미지 구조를 따라간다. 처음 호출되면 헤더 구간부터 넘긴다.
+         * 건너뛸 세그먼트 본문(EXIF 등)은 복사하지 않고 넘기며, 버퍼의 position은 limit까지 이동한다.
+         */
+        private void walk(ByteBuffer chunk) {
+            if (!walking) {
+                walking = true;
+                imageWalker.update(header, 0, header.length);
+            }
+            while (chunk.hasRemaining() && !imageWalker.done()) {
+                long skip = imageWalker.pendingSkip();
+                if (skip > 0) {
+                    int skipped = (int) Math.min(skip, chunk.remaining());
+                    chunk.position(chunk.position() + skipped);
+                    imageWalker.skipped(skipped);
+                    continue;
+                }
+                if (chunk.hasArray()) {
+                    imageWalker.update(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+                    chunk.position(chunk.limit());
+                } else {
+                    if (walkBuffer == null) {
+                        walkBuffer = new byte[IMAGE_WALK_BUFFER_SIZE];
+                    }
+                    int length = Math.min(chunk.remaining(), walkBuffer.length);
+                    chunk.get(walkBuffer, 0, length);
+                    imageWalker.update(walkBuffer, 0, length);
+                }
+            }
+            chunk.position(chunk.limit());
+        }
+
+        /**
+         * 스캐너를 처음 요청받으면 모인 헤더 구간으로 만들고 헤더 구간을 먼저 검사한다.
+         */
+        private CsvContentScanner.Incremental startScan() {
+            if (scan == null) {
+                byte[] head = filled == header.length ? header : Arrays.copyOf(header, filled);
+                scan = new CsvContentScanner.Incremental(MultipartFileHeaderChecker.newStructureScanner(options, head));
+                malformed = !scan.update(ByteBuffer.wrap(head), 0, head.length);
+            }
+            return scan;
+        }
+    }
+}
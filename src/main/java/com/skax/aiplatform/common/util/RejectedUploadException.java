@@ -0,0 +1,81 @@
+package com.skax.aiplatform.common.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.multipart.MultipartException;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FailureCode;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+
+/**
+ * 멀티파트 요청을 파싱하는 중 파일 파트가 검증에 실패해 요청을 중단한 경우.
+ * {@link ErrorResponse}이므로 Spring MVC는 크기 초과면 413, 그 외에는 422 상태와
+ * 문제 상세(RFC 9457)로 응답하며, 문제 상세의 {@code part}, {@code filename}, {@code failureCode} 속성에
+ * 실패한 파트와 실패 코드를 담는다.
+ */
+public class RejectedUploadException extends MultipartException implements ErrorResponse {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String PROPERTY_PART = "part";
+    private static final String PROPERTY_FILENAME = "filename";
+    private static final String PROPERTY_FAILURE_CODE = "failureCode";
+
+    private final String partName;
+    private final String filename;
+    private final FileCheckResult result;
+    private final HttpStatus status;
+    private final ProblemDetail body;
+
+    /**
+     * @param partName 폼 필드 이름
+     * @param filename 업로드 파일명
+     * @param result   실패한 검증 결과
+     */
+    public RejectedUploadException(String partName, String filename, FileCheckResult result) {
+        super(result.message());
+        this.partName = partName;
+        this.filename = filename;
+        this.result = result;
+        this.status = result.failureCode() == FailureCode.FILE_TOO_LARGE
+                ? HttpStatus.PAYLOAD_TOO_LARGE
+                : HttpStatus.UNPROCESSABLE_ENTITY;
+        this.body = ProblemDetail.forStatusAndDetail(status, result.message());
+        body.setProperty(PROPERTY_PART, partName);
+        body.setProperty(PROPERTY_FILENAME, filename);
+        body.setProperty(PROPERTY_FAILURE_CODE, result.failureCode());
+    }
+
+    /**
+     * 실패한 파트의 폼 필드 이름.
+     */
+    public String getPartName() {
+        return partName;
+    }
+
+    /**
+     * 실패한 파트의 업로드 파일명.
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * 실패한 검증 결과.
+     */
+    public FileCheckResult getResult() {
+        return result;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return status;
+    }
+
+    @Override
+    public ProblemDetail getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,79 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.springframework.core.io.InputStreamSource;
+
+/**
+ * 다시 열 수 있는 스트림(업로드 파일 등)을 위치 지정 읽기 원본으로 쓴다.
+ * 열어 둔 스트림에서 앞으로만 건너뛰며 읽고, 이미 지나간 위치를 읽을 때만 스트림을 다시 연다.
+ * OLE2 디렉터리처럼 파일 앞쪽의 몇 구간만 읽는 검사에 쓰며, 파일 기반 스트림은 건너뛴 구간을 읽지 않는다.
+ * 스트림은 처음 읽을 때 열고 {@link #close()}에서 닫는다.
+ */
+final class ReopeningStreamSource implements PositionalSource, Closeable {
+
+    private final InputStreamSource source;
+    private final long size;
+    private InputStream input;
+    // 열어 둔 스트림의 다음 읽기 위치
+    private long position;
+
+    /**
+     * @param source 처음부터 읽는 스트림을 여는 원본 (열 때마다 같은 내용)
+     * @param size   원본 크기 (바이트)
+     */
+    ReopeningStreamSource(InputStreamSource source, long size) {
+        this.source = source;
+        this.size = size;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read(long at, ByteBuffer target) throws IOException {
+        if (at >= size) {
+            return 0;
+        }
+        if (input == null || at < position) {
+            close();
+            input = source.getInputStream();
+            position = 0L;
+        }
+        try {
+            input.skipNBytes(at - position);
+        } catch (EOFException e) {
+            // 원본이 알려진 크기보다 짧음
+            close();
+            return 0;
+        }
+        position = at;
+
+        int length = (int) Math.min(target.remaining(), size - at);
+        byte[] bytes = target.hasArray() ? target.array() : new byte[length];
+        int offset = target.hasArray() ? target.arrayOffset() + target.position() : 0;
+        int n = input.readNBytes(bytes, offset, length);
+        if (!target.hasArray()) {
+            target.put(bytes, 0, n);
+        } else {
+            target.position(target.position() + n);
+        }
+        position += n;
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (input != null) {
+            InputStream opened = input;
+            input = null;
+            opened.close();
+        }
+    }
+}
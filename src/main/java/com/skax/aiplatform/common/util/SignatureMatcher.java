@@ -0,0 +1,199 @@
+package com.skax.aiplatform.common.util;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+
+/**
+ * 허용 포맷의 매직 넘버(파일 시그니처)를 판별하는 내장 매처.
+ * 첫 바이트로 분기한 뒤 나머지 시그니처 바이트만 비교하므로(선두 바이트 트라이)
+ * 객체를 할당하지 않고 몇 번의 바이트 비교로 MIME 타입을 결정한다.
+ * 텍스트 계열(CSV, TXT, XML)처럼 시그니처가 없는 내용은 판별하지 않으며, 이 경우 호출자가 Tika로 폴백한다.
+ */
+final class SignatureMatcher {
+
+    static final String MIME_PDF = "application/pdf";
+    static final String MIME_PNG = "image/png";
+    static final String MIME_JPEG = "image/jpeg";
+    static final String MIME_ZIP = "application/zip";
+    static final String MIME_TIKA_OOXML = "application/x-tika-ooxml";
+    static final String MIME_TIKA_MSOFFICE = "application/x-tika-msoffice";
+    static final String MIME_XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    static final String MIME_DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    static final String MIME_PPTX = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+    static final String MIME_XLS = "application/vnd.ms-excel";
+    static final String MIME_DOC = "application/msword";
+    static final String MIME_PPT = "application/vnd.ms-powerpoint";
+
+    private static final byte[] PDF = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] OLE2 = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    // ZIP 첫 엔트리 이름 (Local File Header offset 30) - Tika의 x-tika-ooxml 매직과 동일
+    private static final int ZIP_FIRST_ENTRY_NAME_OFFSET = 30;
+    private static final byte[] OOXML_CONTENT_TYPES = ascii("[Content_Types].xml");
+    private static final byte[] OOXML_RELS = ascii("_rels/.rels");
+
+    // OOXML 메인 파트 콘텐츠 타입 (헤더 내 [Content_Types].xml 평문에서 검색)
+    static final byte[] OOXML_SPREADSHEET_MAIN = ascii("spreadsheetml.sheet.main+xml");
+    static final byte[] OOXML_WORD_MAIN = ascii("wordprocessingml.document.main+xml");
+    static final byte[] OOXML_PRESENTATION_MAIN = ascii("presentationml.presentation.main+xml");
+
+    private SignatureMatcher() {
+    }
+
+    /**
+     * 판별된 시그니처.
+     */
+    enum Signature {
+        PDF(FileType.PDF),
+        PNG(FileType.IMAGE),
+        JPEG(FileType.IMAGE),
+        // 컨테이너 포맷은 확장자에 따라 파일 타입이 달라지므로 null
+        ZIP(null),
+        OLE2(null);
+
+        private final FileType fileType;
+
+        Signature(FileType fileType) {
+            this.fileType = fileType;
+        }
+
+        /**
+         * 시그니처만으로 확정되는 파일 타입. 컨테이너 포맷이면 null.
+         */
+        FileType fileType() {
+            return fileType;
+        }
+    }
+
+    /**
+     * 헤더의 선두 바이트로 시그니처를 판별한다.
+     *
+     * @return 판별된 시그니처, 알려진 시그니처가 없으면 null (Tika 폴백 대상)
+     */
+    static Signature match(byte[] header) {
+        if (header == null || header.length < 3) {
+            return null;
+        }
+        switch (header[0]) {
+            case '%':
+                return startsWith(header, PDF) ? Signature.PDF : null;
+            case (byte) 0x89:
+                return startsWith(header, PNG) ? Signature.PNG : null;
+            case (byte) 0xFF:
+                return startsWith(header, JPEG) ? Signature.JPEG : null;
+            case (byte) 0xD0:
+                return startsWith(header, OLE2) ? Signature.OLE2 : null;
+            case 'P':
+                return isZip(header) ? Signature.ZIP : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 시그니처와 파일명 확장자로 MIME 타입을 결정한다.
+     * Tika와 동일하게, 확장자가 가리키는 타입이 시그니처 타입의 하위 타입이면 확장자 쪽 타입을 택한다.
+     */
+    static String mimeOf(Signature signature, byte[] header, String extension) {
+        switch (signature) {
+            case PDF:
+                return MIME_PDF;
+            case PNG:
+                return MIME_PNG;
+            case JPEG:
+                return MIME_JPEG;
+            case OLE2:
+                if (".xls".equalsIgnoreCase(extension)) {
+                    return MIME_XLS;
+                }
+                if (".doc".equalsIgnoreCase(extension)) {
+                    return MIME_DOC;
+                }
+                if (".ppt".equalsIgnoreCase(extension)) {
+                    return MIME_PPT;
+                }
+                return MIME_TIKA_MSOFFICE;
+            case ZIP:
+                if (".xlsx".equalsIgnoreCase(extension)) {
+                    return MIME_XLSX;
+                }
+                if (".docx".equalsIgnoreCase(extension)) {
+                    return MIME_DOCX;
+                }
+                if (".pptx".equalsIgnoreCase(extension)) {
+                    return MIME_PPTX;
+                }
+                if (regionMatches(header, ZIP_FIRST_ENTRY_NAME_OFFSET, OOXML_CONTENT_TYPES)
+                        || regionMatches(header, ZIP_FIRST_ENTRY_NAME_OFFSET, OOXML_RELS)) {
+                    return refineOoxmlMime(header, MIME_TIKA_OOXML);
+                }
+                return MIME_ZIP;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 헤더 평문에서 OOXML 메인 파트 콘텐츠 타입을 찾아 MIME 타입을 정제한다.
+     */
+    static String refineOoxmlMime(byte[] header, String fallbackMime) {
+        if (indexOf(header, header.length, OOXML_SPREADSHEET_MAIN) >= 0) {
+            return MIME_XLSX;
+        }
+        if (indexOf(header, header.length, OOXML_WORD_MAIN) >= 0) {
+            return MIME_DOCX;
+        }
+        if (indexOf(header, header.length, OOXML_PRESENTATION_MAIN) >= 0) {
+            return MIME_PPTX;
+        }
+        return fallbackMime;
+    }
+
+    /**
+     * {@code bytes[0, limit)} 범위에서 {@code pattern}이 처음 나타나는 위치를 찾는다.
+     *
+     * @return 위치, 없으면 -1
+     */
+    static int indexOf(byte[] bytes, int limit, byte[] pattern) {
+        int end = Math.min(limit, bytes.length) - pattern.length;
+        byte first = pattern[0];
+        for (int i = 0; i <= end; i++) {
+            if (bytes[i] == first && regionMatches(bytes, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean startsWith(byte[] bytes, byte[] prefix) {
+        return regionMatches(bytes, 0, prefix);
+    }
+
+    static boolean regionMatches(byte[] bytes, int offset, byte[] pattern) {
+        if (offset < 0 || bytes.length - offset < pattern.length) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (bytes[offset + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static byte[] ascii(String value) {
+        return value.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isZip(byte[] header) {
+        if (header.length < 4 || header[1] != 'K') {
+            return false;
+        }
+        // PK\3\4 (일반), PK\5\6 (빈 아카이브), PK\7\8 (분할 아카이브)
+        return (header[2] == 0x03 && header[3] == 0x04)
+                || (header[2] == 0x05 && header[3] == 0x06)
+                || (header[2] == 0x07 && header[3] == 0x08);
+    }
+}
@@ -0,0 +1,126 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * {@link HeaderCheckingMultipartResolver}가 헤더 검증을 통과한 파일 파트를 담아 두는 {@link MultipartFile}.
+ * 작은 파트는 메모리에, 나머지는 임시 파일에 보관한다.
+ * {@link #transferTo}는 임시 파일을 대상으로 옮기므로 (옮길 수 없으면 복사) 한 번만 호출할 수 있다.
+ */
+final class SpooledMultipartFile implements MultipartFile {
+
+    private static final String ERR_ALREADY_MOVED = "업로드 파일이 이미 다른 위치로 옮겨졌습니다: ";
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final byte[] content;
+    private final Path file;
+    private final long size;
+    private volatile boolean moved;
+
+    /**
+     * 메모리에 보관하는 파트.
+     */
+    SpooledMultipartFile(String name, String originalFilename, String contentType, byte[] content) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.content = content;
+        this.file = null;
+        this.size = content.length;
+    }
+
+    /**
+     * 임시 파일에 보관하는 파트.
+     */
+    SpooledMultipartFile(String name, String originalFilename, String contentType, Path file, long size) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.content = null;
+        this.file = file;
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return content != null ? content.clone() : Files.readAllBytes(spooled());
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return content != null ? new ByteArrayInputStream(content) : Files.newInputStream(spooled());
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        if (content != null) {
+            Files.write(dest, content);
+            return;
+        }
+        Path source = spooled();
+        try {
+            Files.move(source, dest, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // 다른 파일 시스템이면 옮길 수 없으므로 복사
+            Files.copy(source, dest, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(source);
+        }
+        moved = true;
+    }
+
+    /**
+     * 임시 파일을 삭제한다. 이미 옮겼거나 메모리에 보관한 파트면 아무것도 하지 않는다.
+     */
+    void delete() throws IOException {
+        if (file != null && !moved) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Path spooled() {
+        if (moved) {
+            throw new IllegalStateException(ERR_ALREADY_MOVED + originalFilename);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,43 @@
+package com.skax.aiplatform.common.util;
+
+import org.springframework.cache.Cache;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+
+/**
+ * Spring {@link Cache}를 2차 저장소로 사용하는 어댑터.
+ * {@code spring-boot-starter-cache}로 구성한 캐시(예: Redis, JCache)를 검증 결과 캐시의 2차 저장소로 연결할 때 사용한다.
+ * 원격 캐시를 쓰는 경우 {@link FileCheckResult}는 직렬화 가능하다.
+ */
+public final class SpringCacheVerdictStore implements VerdictStore {
+
+    private final Cache cache;
+
+    public SpringCacheVerdictStore(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public FileCheckResult get(String key) {
+        try {
+            return cache.get(key, FileCheckResult.class);
+        } catch (RuntimeException e) {
+            // 2차 저장소 장애는 캐시 미스로 처리 (검증은 계속 수행)
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, FileCheckResult result) {
+        try {
+            cache.put(key, result);
+        } catch (RuntimeException e) {
+            // 저장 실패는 무시 (다음 요청에서 다시 검증)
+        }
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,300 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.StoreResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.ValidationOptions;
+
+/**
+ * 업로드 스트림을 한 번만 읽으면서 검증, 저장, SHA-256 계산을 함께 수행하는 파이프라인.
+ * 헤더 구간을 먼저 읽어 검증하고, 통과하면 헤더와 나머지 바이트를 대상에 쓰면서 다이제스트와
+ * (요청 시) CSV 전체 검사를 같은 버퍼로 진행한다. 헤더 검증에 실패하면 대상에 아무것도 쓰지 않는다.
+ * 정책이 {@code csvTranscode}를 켜고 CSV가 UTF-8 외 허용 인코딩으로 판별되면 읽는 동안 UTF-8로 변환해 쓰며,
+ * 다이제스트와 전체 검사는 변환한 내용을 대상으로 한다.
+ * PDF는 쓰는 동안 파일 끝 구간을 고정 크기 링 버퍼에 보관해 두었다가 끝 구조를 확인한다.
+ * PNG/JPEG는 쓰는 동안 청크/마커 구조를 따라가 헤더 구간 뒤의 JPEG SOF와 (정책이 켜면) PNG 청크 CRC까지 확인한다.
+ * XML 심층 검사를 켜면 StAX 파서가 읽는 바이트를 그대로 대상과 다이제스트에 넘겨 파싱과 저장을 한 번의 읽기로 끝낸다.
+ * 복사하면서 하는 검사는 버퍼마다 검사 시간만 해당 단계에 누적하므로 쓰기 시간은 단계별 시간에 들어가지 않는다
+ * (XML 심층 검사는 파싱과 쓰기가 한 번의 읽기이므로 쓰기 시간을 포함).
+ */
+final class StoringValidator {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private StoringValidator() {
+    }
+
+    /**
+     * 스트림을 검증하면서 대상에 복사한다. 스트림과 대상은 닫지 않는다.
+     * 전체 검사에서 실패하면 그때까지 쓴 내용은 대상에 남으므로 호출자가 폐기해야 한다.
+     *
+     * @param options   정책의 최소 검증 단계를 적용한 옵션
+     * @param policy    헤더 구간 크기와 허용 규칙을 정하는 정책
+     * @param container 파일 전체를 위치 지정 읽기로 읽는 원본 (헤더 구간보다 큰 OLE2 문서의 디렉터리 확인용),
+     *                  없으면 null
+     * @param trace     메트릭 추적 ({@link ValidationTrace#NOOP}이면 측정 안 함)
+     * @return 저장 결과 (헤더 검증 실패 시 저장 크기 0, 다이제스트 null)
+     */
+    static StoreResult copy(InputStream input, String originalName, OutputStream output, ValidationOptions options,
+                            FileCheckPolicy policy, int bufferSize, PositionalSource container,
+                            ValidationTrace trace) throws IOException {
+        if (policy.csvTranscode() && !options.utf8CheckRequested()) {
+            // 변환할 원본 인코딩을 알아야 하므로 인코딩 검증을 함께 수행
+            options = options.toBuilder().checkUTF8Encoding(true).build();
+        }
+        long phaseStart = trace.begin();
+        byte[] header = input.readNBytes(policy.headerReadBytes());
+        trace.end(ValidationTrace.Phase.HEADER_READ, phaseStart);
+        FileCheckResult headerResult = MultipartFileHeaderChecker.validateHeader(header, originalName, options,
+                policy, container, trace);
+        if (!headerResult.ok()) {
+            return new StoreResult(headerResult, 0L, null);
+        }
+        Charset transcode = policy.csvTranscode() ? MultipartFileHeaderChecker.transcodeCharset(headerResult) : null;
+        if (transcode != null) {
+            return transcode(header, input, originalName, output, options, policy, headerResult, transcode,
+                    bufferSize, trace);
+        }
+        if (options.xmlWellFormed() && ExtensionRule.ofName(originalName) == ExtensionRule.XML
+                && header.length == policy.headerReadBytes()) {
+            phaseStart = trace.begin();
+            StoreResult stored = copyXml(header, input, output, policy, headerResult);
+            trace.end(ValidationTrace.Phase.XML_SCAN, phaseStart);
+            return stored;
+        }
+
+        MessageDigest digest = newDigest();
+        CsvContentScanner.Incremental scan = MultipartFileHeaderChecker.isFullCsvScanRequired(originalName, options)
+                ? new CsvContentScanner.Incremental(MultipartFileHeaderChecker.newStructureScanner(options, header))
+                : null;
+
+        // 헤더 구간 검증은 PDF 끝 구조를 보지 못하므로 복사하면서 끝 구간을 보관해 확인
+        PdfTrailer.Tail pdfTail = ExtensionRule.ofName(originalName) == ExtensionRule.PDF
+                && header.length == policy.headerReadBytes() ? new PdfTrailer.Tail(header) : null;
+        // 헤더 구간 검증은 헤더 뒤의 JPEG SOF와 PNG 청크 CRC를 보지 못하므로 복사하면서 구조를 따라가 확인
+        ImageWalker imageWalker = header.length == policy.headerReadBytes()
+                ? ImageWalker.forRule(ExtensionRule.ofName(originalName), policy.imageCrcCheck())
+                : null;
+
+        digest.update(header);
+        if (scan != null) {
+            phaseStart = trace.begin();
+            scan.update(ByteBuffer.wrap(header), 0, header.length);
+            trace.end(ValidationTrace.Phase.CSV_FULL_SCAN, phaseStart);
+        }
+        if (pdfTail != null || imageWalker != null) {
+            phaseStart = trace.begin();
+            if (pdfTail != null) {
+                pdfTail.update(header, 0, header.length);
+            }
+            if (imageWalker != null) {
+                imageWalker.update(header, 0, header.length);
+            }
+            trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+        }
+        output.write(header);
+        long size = header.length;
+
+        if (header.length == policy.headerReadBytes()) {
+            byte[] buffer = new byte[bufferSize];
+            ByteBuffer view = ByteBuffer.wrap(buffer);
+            int n;
+            while ((n = input.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+                if (scan != null) {
+                    // 잘못된 시퀀스를 찾은 뒤로는 누적기가 입력을 무시함
+                    phaseStart = trace.begin();
+                    scan.update(view, 0, n);
+                    trace.end(ValidationTrace.Phase.CSV_FULL_SCAN, phaseStart);
+                }
+                if (pdfTail != null || imageWalker != null && !imageWalker.done()) {
+                    phaseStart = trace.begin();
+                    if (pdfTail != null) {
+                        pdfTail.update(buffer, 0, n);
+                    }
+                    if (imageWalker != null && !imageWalker.done()) {
+                        imageWalker.update(buffer, 0, n);
+                    }
+                    trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+                }
+                output.write(buffer, 0, n);
+                size += n;
+            }
+        }
+        output.flush();
+
+        FileCheckResult result = scan != null
+                ? MultipartFileHeaderChecker.completeCsvScan(headerResult, scan.finish())
+                : headerResult;
+        if (pdfTail != null) {
+            phaseStart = trace.begin();
+            FileCheckResult pdfCheck = MultipartFileHeaderChecker.validatePdfTrailer(pdfTail);
+            trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+            if (pdfCheck != null) {
+                result = pdfCheck;
+            }
+        }
+        if (imageWalker != null) {
+            phaseStart = trace.begin();
+            imageWalker.finish();
+            trace.end(ValidationTrace.Phase.CONTAINER_CHECK, phaseStart);
+            FileCheckResult imageCheck = MultipartFileHeaderChecker.checkImage(imageWalker, policy);
+            result = imageCheck != null ? imageCheck : result.withContent(imageWalker.info());
+        }
+        return new StoreResult(result, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * 원본 인코딩을 UTF-8로 변환하면서 대상에 쓴다. 헤더 구간과 나머지 스트림을 이어 한 번만 읽는다.
+     */
+    private static StoreResult transcode(byte[] header, InputStream input, String originalName, OutputStream output,
+                                         ValidationOptions options, FileCheckPolicy policy,
+                                         FileCheckResult headerResult, Charset charset, int bufferSize,
+                                         ValidationTrace trace) throws IOException {
+        MessageDigest digest = newDigest();
+        // 구분자, 따옴표, 줄 끝은 ASCII이므로 원본 헤더로 구분자를 정해도 변환한 내용과 같음
+        CsvContentScanner.Incremental scan = MultipartFileHeaderChecker.isFullCsvScanRequired(originalName, options)
+                ? new CsvContentScanner.Incremental(MultipartFileHeaderChecker.newStructureScanner(options, header))
+                : null;
+        InputStream source = header.length == policy.headerReadBytes()
+                ? new SequenceInputStream(new ByteArrayInputStream(header), input)
+                : new ByteArrayInputStream(header);
+        // 채널을 닫으면 호출자의 입력 스트림도 닫히므로 닫지 않음 (변환 채널은 버퍼 외 자원이 없음)
+        ReadableByteChannel utf8 = new Utf8TranscodingChannel(Channels.newChannel(source), charset);
+
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        byte[] bytes = buffer.array();
+        long size = 0L;
+        try {
+            int n;
+            while ((n = utf8.read(buffer)) >= 0) {
+                digest.update(bytes, 0, n);
+                if (scan != null) {
+                    long phaseStart = trace.begin();
+                    scan.update(buffer, 0, n);
+                    trace.end(ValidationTrace.Phase.CSV_FULL_SCAN, phaseStart);
+                }
+                output.write(bytes, 0, n);
+                size += n;
+                buffer.clear();
+            }
+        } catch (Utf8TranscodingChannel.MalformedSourceException e) {
+            return new StoreResult(MultipartFileHeaderChecker.transcodeFailure(e.offset()), size, null, true);
+        }
+        output.flush();
+
+        FileCheckResult result = scan != null
+                ? MultipartFileHeaderChecker.completeCsvScan(headerResult, scan.finish(), true)
+                : headerResult;
+        return new StoreResult(result, size, HexFormat.of().formatHex(digest.digest()), true);
+    }
+
+    /**
+     * XML 문서를 StAX로 읽으면서 읽은 바이트를 대상에 쓴다. 헤더 구간과 나머지 스트림을 이어 한 번만 읽는다.
+     * 문서 끝 뒤의 남은 바이트도 모두 쓴다. 위반을 찾으면 그 자리에서 멈추고 다이제스트 없이 돌려준다.
+     */
+    private static StoreResult copyXml(byte[] header, InputStream input, OutputStream output,
+                                       FileCheckPolicy policy, FileCheckResult headerResult) throws IOException {
+        CopyingInputStream source = new CopyingInputStream(
+                new SequenceInputStream(new ByteArrayInputStream(header), input), output, newDigest());
+        XmlWellFormedness.Result xml = XmlWellFormedness.check(source, policy.xmlMaxDepth(),
+                policy.xmlMaxAttributes(), policy.maxSize(MultipartFileHeaderChecker.FileType.XML));
+        FileCheckResult xmlCheck = MultipartFileHeaderChecker.checkXml(xml, policy);
+        if (xmlCheck != null) {
+            output.flush();
+            return new StoreResult(xmlCheck, source.size, null);
+        }
+        // 문서 끝 뒤의 남은 바이트 (읽은 바이트는 스트림이 대상에 씀)
+        source.transferTo(OutputStream.nullOutputStream());
+        output.flush();
+        return new StoreResult(headerResult.withContent(xml.info()), source.size,
+                HexFormat.of().formatHex(source.digest.digest()));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 Java 플랫폼은 SHA-256을 제공해야 함
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 읽은 바이트를 대상과 다이제스트에 넘기는 스트림. 닫아도 원본 스트림은 닫지 않는다.
+     */
+    private static final class CopyingInputStream extends FilterInputStream {
+
+        private static final int SKIP_BUFFER_SIZE = 8192;
+
+        private final OutputStream output;
+        private final MessageDigest digest;
+        private long size;
+
+        CopyingInputStream(InputStream input, OutputStream output, MessageDigest digest) {
+            super(input);
+            this.output = output;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                digest.update((byte) b);
+                output.write(b);
+                size++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int n = super.read(bytes, offset, length);
+            if (n > 0) {
+                digest.update(bytes, offset, n);
+                output.write(bytes, offset, n);
+                size += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 건너뛴 바이트도 대상에 써야 하므로 읽어서 넘김
+            byte[] buffer = new byte[(int) Math.min(Math.max(n, 0L), SKIP_BUFFER_SIZE)];
+            long skipped = 0L;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // 호출자의 스트림은 닫지 않음
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.skax.aiplatform.common.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 스트림 전체를 고정 크기 메모리로 검사하는 엄격한 UTF-8 검증기.
+ * 데이터를 조각 단위로 {@link #update(byte[], int, int)}에 넘기면 조각 경계에 걸친 멀티바이트 문자도 이어서 검사한다.
+ * 메모리 매핑 구간처럼 {@link ByteBuffer}로 주어진 데이터는 복사 없이 {@link #update(ByteBuffer, int, int)}로 검사한다.
+ * ASCII 구간은 8바이트 단위(word-at-a-time)로 건너뛰어 디스크 대역폭에 가깝게 동작한다.
+ * 과잉 표현(overlong), 서로게이트 영역, U+10FFFF 초과 코드 포인트도 오류로 처리한다.
+ */
+final class Utf8StreamValidator {
+
+    private static final long NON_ASCII_MASK = 0x8080808080808080L;
+
+    // 지금까지 처리한 바이트 수 (다음 바이트의 절대 위치)
+    private long position;
+    // 현재 멀티바이트 문자에서 남은 연속 바이트 수
+    private int pending;
+    // 다음 연속 바이트의 허용 범위 (두 번째 바이트에만 좁은 범위가 적용됨)
+    private int lower = 0x80;
+    private int upper = 0xBF;
+    // 현재 멀티바이트 문자의 선두 바이트 위치
+    private long sequenceStart;
+    private long errorOffset = -1L;
+
+    Utf8StreamValidator() {
+        this(0L);
+    }
+
+    /**
+     * 파일 중간 구간을 검사할 때 사용한다. 오류 위치는 {@code startPosition} 기준의 절대 위치로 보고된다.
+     */
+    Utf8StreamValidator(long startPosition) {
+        this.position = startPosition;
+    }
+
+    /**
+     * 다음 조각을 검사한다.
+     *
+     * @return 지금까지 오류가 없으면 true, 잘못된 시퀀스를 발견하면 false (이후 호출은 무시됨)
+     */
+    boolean update(byte[] bytes, int offset, int length) {
+        return update(ByteBuffer.wrap(bytes), offset, offset + length);
+    }
+
+    /**
+     * 버퍼의 {@code [from, to)} 구간을 절대 인덱스로 검사한다. 버퍼의 position/limit은 변경하지 않는다.
+     *
+     * @return 지금까지 오류가 없으면 true, 잘못된 시퀀스를 발견하면 false (이후 호출은 무시됨)
+     */
+    boolean update(ByteBuffer buffer, int from, int to) {
+        if (errorOffset >= 0) {
+            return false;
+        }
+        int i = from;
+        while (i < to) {
+            if (pending == 0) {
+                // ASCII 고속 경로: 8바이트 단위로 최상위 비트 검사
+                while (i + Long.BYTES <= to && (buffer.getLong(i) & NON_ASCII_MASK) == 0L) {
+                    i += Long.BYTES;
+                }
+                if (i >= to) {
+                    break;
+                }
+                int b = buffer.get(i) & 0xFF;
+                if (b < 0x80) {
+                    i++;
+                    continue;
+                }
+                if (!startSequence(b, position + (i - from))) {
+                    errorOffset = position + (i - from);
+                    position += i - from;
+                    return false;
+                }
+            } else {
+                int b = buffer.get(i) & 0xFF;
+                if (b < lower || b > upper) {
+                    errorOffset = sequenceStart;
+                    position += i - from;
+                    return false;
+                }
+                lower = 0x80;
+                upper = 0xBF;
+                pending--;
+            }
+            i++;
+        }
+        position += to - from;
+        return true;
+    }
+
+    /**
+     * 입력 끝을 알린다. 끝에서 잘린 멀티바이트 문자가 있으면 오류로 처리한다.
+     *
+     * @return 전체 입력이 올바른 UTF-8이면 true
+     */
+    boolean finish() {
+        if (errorOffset < 0 && pending > 0) {
+            errorOffset = sequenceStart;
+        }
+        return errorOffset < 0;
+    }
+
+    /**
+     * 멀티바이트 문자 중간에서 입력이 끝났는지 여부.
+     */
+    boolean hasPendingSequence() {
+        return errorOffset < 0 && pending > 0;
+    }
+
+    /**
+     * 처음 발견한 잘못된 시퀀스의 바이트 위치. 오류가 없으면 -1.
+     */
+    long errorOffset() {
+        return errorOffset;
+    }
+
+    /**
+     * 지금까지 검사한 바이트 수.
+     */
+    long position() {
+        return position;
+    }
+
+    private boolean startSequence(int lead, long at) {
+        sequenceStart = at;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            pending = 1;
+        } else if (lead == 0xE0) {
+            pending = 2;
+            lower = 0xA0; // 과잉 표현 방지
+        } else if (lead >= 0xE1 && lead <= 0xEC || lead == 0xEE || lead == 0xEF) {
+            pending = 2;
+        } else if (lead == 0xED) {
+            pending = 2;
+            upper = 0x9F; // 서로게이트 영역 방지
+        } else if (lead == 0xF0) {
+            pending = 3;
+            lower = 0x90; // 과잉 표현 방지
+        } else if (lead >= 0xF1 && lead <= 0xF3) {
+            pending = 3;
+        } else if (lead == 0xF4) {
+            pending = 3;
+            upper = 0x8F; // U+10FFFF 초과 방지
+        } else {
+            // 연속 바이트(0x80-0xBF), C0/C1, F5 이상은 선두 바이트가 될 수 없음
+            return false;
+        }
+        return true;
+    }
+}
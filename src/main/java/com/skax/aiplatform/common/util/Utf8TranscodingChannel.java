@@ -0,0 +1,212 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 원본 채널을 읽으면서 UTF-8로 변환해 돌려주는 채널.
+ * 원본 바이트, 디코딩한 문자, 인코딩한 UTF-8 바이트를 각각 고정 크기 버퍼에 담으므로 파일 크기와 관계없이
+ * 메모리 사용량이 일정하며, 변환한 사본을 따로 만들지 않는다.
+ * 원본 인코딩으로 디코딩할 수 없는 바이트가 있으면 {@link MalformedSourceException}을 던진다.
+ */
+final class Utf8TranscodingChannel implements ReadableByteChannel {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // 한국어 레거시 인코딩 (Excel의 CP949는 Microsoft 코드 페이지 949이며, Java의 "CP949" 별칭은 IBM-949를 가리킴)
+    private static final String ENC_EUC_KR = "EUC-KR";
+    private static final String ENC_CP949 = "CP949";
+    private static final String ENC_MS949 = "x-windows-949";
+
+    private final ReadableByteChannel source;
+    private final CharsetDecoder decoder;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    // 원본 바이트 (쓰기 모드)
+    private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+    // 디코딩한 문자 (쓰기 모드)
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    // 아직 돌려주지 않은 UTF-8 바이트 (읽기 모드)
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE * 2).flip();
+
+    // 디코더가 소비한 원본 바이트 수 (오류 위치 보고용)
+    private long consumed;
+    private boolean sourceEnded;
+    // 입력을 다 디코딩하고 남은 문자를 비우는 중
+    private boolean flushing;
+    private boolean finished;
+    private boolean open = true;
+
+    /**
+     * @param source  원본 채널 (이 채널을 닫으면 함께 닫힘)
+     * @param charset 원본 인코딩 ({@link #decodingCharset}으로 정한 문자셋)
+     */
+    Utf8TranscodingChannel(ReadableByteChannel source, Charset charset) {
+        this.source = source;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    /**
+     * 판별된 인코딩 이름을 디코딩에 쓸 문자셋으로 바꾼다.
+     * EUC-KR과 CP949는 Excel이 실제로 쓰는 상위 집합인 Microsoft 코드 페이지 949({@code x-windows-949})로 읽는다.
+     *
+     * @return 문자셋, 지원하지 않는 이름이면 null
+     */
+    static Charset decodingCharset(String encoding) {
+        if (encoding == null) {
+            return null;
+        }
+        String name = encoding.trim();
+        if ((ENC_EUC_KR.equalsIgnoreCase(name) || ENC_CP949.equalsIgnoreCase(name)
+                || isAlias(name, ENC_EUC_KR)) && Charset.isSupported(ENC_MS949)) {
+            return Charset.forName(ENC_MS949);
+        }
+        try {
+            return Charset.isSupported(name) ? Charset.forName(name) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isAlias(String name, String charsetName) {
+        try {
+            return Charset.isSupported(name) && Charset.forName(name).name().equals(charsetName);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        int written = 0;
+        while (dst.hasRemaining()) {
+            if (!out.hasRemaining() && !fill()) {
+                break;
+            }
+            int n = Math.min(out.remaining(), dst.remaining());
+            int limit = out.limit();
+            out.limit(out.position() + n);
+            dst.put(out);
+            out.limit(limit);
+            written += n;
+        }
+        return written == 0 ? -1 : written;
+    }
+
+    /**
+     * 출력 버퍼를 다시 채운다.
+     *
+     * @return 돌려줄 바이트가 생겼으면 true, 입력 끝까지 변환을 마쳤으면 false
+     */
+    private boolean fill() throws IOException {
+        out.clear();
+        try {
+            while (out.position() == 0 && !finished) {
+                if (flushing) {
+                    flushTail();
+                    continue;
+                }
+                // 디코딩해 둔 문자를 먼저 인코딩
+                chars.flip();
+                CoderResult encoded = encoder.encode(chars, out, false);
+                chars.compact();
+                if (encoded.isError()) {
+                    // 디코더는 짝이 맞는 서로게이트만 만들므로 발생하지 않음
+                    encoded.throwException();
+                }
+                if (out.position() > 0) {
+                    break;
+                }
+                if (!sourceEnded && source.read(in) < 0) {
+                    sourceEnded = true;
+                }
+                in.flip();
+                int before = in.position();
+                CoderResult decoded = decoder.decode(in, chars, sourceEnded);
+                consumed += in.position() - before;
+                boolean drained = !in.hasRemaining();
+                in.compact();
+                if (decoded.isError()) {
+                    throw new MalformedSourceException(consumed);
+                }
+                if (sourceEnded && drained && decoded.isUnderflow()) {
+                    if (decoder.flush(chars).isError()) {
+                        throw new MalformedSourceException(consumed);
+                    }
+                    flushing = true;
+                }
+            }
+        } finally {
+            out.flip();
+        }
+        return out.hasRemaining();
+    }
+
+    /**
+     * 입력 끝에서 남은 문자를 인코딩하고 인코더를 비운다. 출력 버퍼가 차면 다음 호출에서 이어서 비운다.
+     */
+    private void flushTail() throws IOException {
+        chars.flip();
+        CoderResult encoded = encoder.encode(chars, out, true);
+        chars.compact();
+        if (encoded.isError()) {
+            encoded.throwException();
+        }
+        if (encoded.isOverflow() || encoder.flush(out).isOverflow()) {
+            return;
+        }
+        finished = true;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        open = false;
+        source.close();
+    }
+
+    /**
+     * 원본 인코딩으로 디코딩할 수 없는 바이트를 만난 경우.
+     */
+    static final class MalformedSourceException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long offset;
+
+        MalformedSourceException(long offset) {
+            super("원본 인코딩으로 읽을 수 없는 바이트가 있습니다. (위치: " + offset + " 바이트)");
+            this.offset = offset;
+        }
+
+        /**
+         * 디코딩하지 못한 바이트의 위치 (원본 기준).
+         */
+        long offset() {
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.skax.aiplatform.common.util;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FailureCode;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 검증 메트릭을 Micrometer 레지스트리에 기록한다.
+ * 태그 조합(경로/단계 x 파일 타입 x 결과)이 고정되어 있으므로 미터는 처음 사용할 때 한 번만 등록하고 배열에 보관해,
+ * 검증마다 미터 조회나 태그 객체 생성이 일어나지 않는다.
+ *
+ * <ul>
+ *   <li>{@code file.check.validation} (Timer) - 검증 전체 시간. 태그: route, file.type, outcome</li>
+ *   <li>{@code file.check.phase} (Timer) - 단계별 시간. 태그: phase, file.type, outcome</li>
+ *   <li>{@code file.check.rejections} (Counter) - 거부 사유별 건수. 태그: reason ({@link FailureCode} 소문자)</li>
+ *   <li>{@code file.check.bytes.read} (DistributionSummary) - 검증 한 건에서 읽은 바이트 수. 태그: route</li>
+ * </ul>
+ */
+final class ValidationMetrics {
+
+    static final String METER_VALIDATION = "file.check.validation";
+    static final String METER_PHASE = "file.check.phase";
+    static final String METER_REJECTIONS = "file.check.rejections";
+    static final String METER_BYTES_READ = "file.check.bytes.read";
+
+    private static final String TAG_ROUTE = "route";
+    private static final String TAG_PHASE = "phase";
+    private static final String TAG_FILE_TYPE = "file.type";
+    private static final String TAG_OUTCOME = "outcome";
+    private static final String TAG_REASON = "reason";
+    private static final String OUTCOME_ACCEPTED = "accepted";
+    private static final String OUTCOME_REJECTED = "rejected";
+    private static final String FILE_TYPE_UNKNOWN = "unknown";
+
+    private static final ValidationTrace.Route[] ROUTES = ValidationTrace.Route.values();
+    private static final ValidationTrace.Phase[] PHASES = ValidationTrace.Phase.values();
+    private static final FailureCode[] FAILURE_CODES = FailureCode.values();
+    // 파일 타입 슬롯: FileType 값 + 미확정(unknown)
+    private static final int FILE_TYPE_SLOTS = FileType.values().length + 1;
+
+    private final MeterRegistry registry;
+    private final AtomicReferenceArray<Timer> validationTimers;
+    private final AtomicReferenceArray<Timer> phaseTimers;
+    private final AtomicReferenceArray<DistributionSummary> bytesRead;
+    private final AtomicReferenceArray<Counter> rejections;
+
+    ValidationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.validationTimers = new AtomicReferenceArray<>(ROUTES.length * FILE_TYPE_SLOTS * 2);
+        this.phaseTimers = new AtomicReferenceArray<>(PHASES.length * FILE_TYPE_SLOTS * 2);
+        this.bytesRead = new AtomicReferenceArray<>(ROUTES.length);
+        this.rejections = new AtomicReferenceArray<>(FAILURE_CODES.length);
+    }
+
+    MeterRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * 끝난 검증 한 건의 메트릭을 기록한다.
+     */
+    void record(ValidationTrace trace, FileCheckResult result) {
+        FileType type = result.fileType() != null ? result.fileType() : trace.fileType();
+        int typeSlot = type != null ? type.ordinal() : FILE_TYPE_SLOTS - 1;
+        int outcome = result.ok() ? 0 : 1;
+
+        int route = trace.route().ordinal();
+        validationTimer(route, typeSlot, outcome).record(trace.elapsedNanos(), TimeUnit.NANOSECONDS);
+        for (ValidationTrace.Phase phase : PHASES) {
+            if (trace.isRecorded(phase)) {
+                phaseTimer(phase.ordinal(), typeSlot, outcome).record(trace.phaseNanos(phase), TimeUnit.NANOSECONDS);
+            }
+        }
+        bytesReadSummary(route).record(trace.bytesRead());
+        if (!result.ok()) {
+            FailureCode code = result.failureCode() != null ? result.failureCode() : FailureCode.OTHER;
+            rejectionCounter(code.ordinal()).increment();
+        }
+    }
+
+    private Counter rejectionCounter(int code) {
+        Counter counter = rejections.get(code);
+        if (counter == null) {
+            counter = Counter.builder(METER_REJECTIONS)
+                    .description("Rejected file validations by reason")
+                    .tag(TAG_REASON, FAILURE_CODES[code].name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+            rejections.set(code, counter);
+        }
+        return counter;
+    }
+
+    private Timer validationTimer(int route, int typeSlot, int outcome) {
+        int index = (route * FILE_TYPE_SLOTS + typeSlot) * 2 + outcome;
+        Timer timer = validationTimers.get(index);
+        if (timer == null) {
+            timer = Timer.builder(METER_VALIDATION)
+                    .description("Whole file validation time")
+                    .tag(TAG_ROUTE, ROUTES[route].tag())
+                    .tag(TAG_FILE_TYPE, fileTypeTag(typeSlot))
+                    .tag(TAG_OUTCOME, outcomeTag(outcome))
+                    .register(registry);
+            validationTimers.set(index, timer);
+        }
+        return timer;
+    }
+
+    private Timer phaseTimer(int phase, int typeSlot, int outcome) {
+        int index = (phase * FILE_TYPE_SLOTS + typeSlot) * 2 + outcome;
+        Timer timer = phaseTimers.get(index);
+        if (timer == null) {
+            timer = Timer.builder(METER_PHASE)
+                    .description("File validation time per phase")
+                    .tag(TAG_PHASE, PHASES[phase].tag())
+                    .tag(TAG_FILE_TYPE, fileTypeTag(typeSlot))
+                    .tag(TAG_OUTCOME, outcomeTag(outcome))
+                    .register(registry);
+            phaseTimers.set(index, timer);
+        }
+        return timer;
+    }
+
+    private DistributionSummary bytesReadSummary(int route) {
+        DistributionSummary summary = bytesRead.get(route);
+        if (summary == null) {
+            summary = DistributionSummary.builder(METER_BYTES_READ)
+                    .description("Bytes read per file validation")
+                    .baseUnit("bytes")
+                    .tag(TAG_ROUTE, ROUTES[route].tag())
+                    .register(registry);
+            bytesRead.set(route, summary);
+        }
+        return summary;
+    }
+
+    private static String fileTypeTag(int typeSlot) {
+        return typeSlot < FILE_TYPE_SLOTS - 1 ? FileType.values()[typeSlot].name() : FILE_TYPE_UNKNOWN;
+    }
+
+    private static String outcomeTag(int outcome) {
+        return outcome == 0 ? OUTCOME_ACCEPTED : OUTCOME_REJECTED;
+    }
+}
@@ -0,0 +1,188 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+
+/**
+ * 검증 한 건의 단계별 소요 시간과 읽은 바이트 수를 모으는 추적 객체.
+ * 단계별 시간은 검증 중에 누적해 두었다가, 파일 타입과 결과(성공/실패)가 정해지는 {@link #finish}에서 한 번에 기록한다.
+ * 메트릭 레지스트리가 없으면 {@link #NOOP}을 사용하며, 이때 모든 메서드는 시간 측정 없이 즉시 반환한다.
+ */
+final class ValidationTrace {
+
+    /**
+     * 검증 단계.
+     */
+    enum Phase {
+        HEADER_READ("header_read"),
+        MIME_DETECTION("mime_detection"),
+        CONTAINER_CHECK("container_check"),
+        EXTENSION_MATCH("extension_match"),
+        CSV_SNIFF("csv_sniff"),
+        CHARSET_DETECTION("charset_detection"),
+        CSV_FULL_SCAN("csv_full_scan"),
+        XML_SCAN("xml_scan");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+
+        String tag() {
+            return tag;
+        }
+    }
+
+    /**
+     * 검증 경로.
+     */
+    enum Route {
+        STREAM("stream"),
+        PATH("path"),
+        STORE("store"),
+        REACTIVE("reactive"),
+        MULTIPART("multipart");
+
+        private final String tag;
+
+        Route(String tag) {
+            this.tag = tag;
+        }
+
+        String tag() {
+            return tag;
+        }
+    }
+
+    static final ValidationTrace NOOP = new ValidationTrace(null, null);
+
+    private final ValidationMetrics metrics;
+    private final Route route;
+    private final long startedAt;
+    private final long[] phaseNanos;
+    private int recordedPhases;
+    private FileType fileType;
+    private long bytesRead;
+
+    private ValidationTrace(ValidationMetrics metrics, Route route) {
+        this.metrics = metrics;
+        this.route = route;
+        this.startedAt = metrics != null ? System.nanoTime() : 0L;
+        this.phaseNanos = metrics != null ? new long[Phase.values().length] : null;
+    }
+
+    /**
+     * 검증 한 건의 추적을 시작한다. 메트릭이 없으면 {@link #NOOP}.
+     */
+    static ValidationTrace start(ValidationMetrics metrics, Route route) {
+        return metrics != null ? new ValidationTrace(metrics, route) : NOOP;
+    }
+
+    /**
+     * 단계 시작 시각. 추적하지 않으면 0.
+     */
+    long begin() {
+        return metrics != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * {@link #begin()}부터의 시간을 단계에 누적한다.
+     */
+    void end(Phase phase, long begunAt) {
+        if (metrics != null) {
+            phaseNanos[phase.ordinal()] += System.nanoTime() - begunAt;
+            recordedPhases |= 1 << phase.ordinal();
+        }
+    }
+
+    /**
+     * 판별된 파일 타입을 기록한다 (실패 결과에는 파일 타입이 없으므로 태그용으로 따로 보관).
+     */
+    void fileType(FileType type) {
+        if (metrics != null) {
+            this.fileType = type;
+        }
+    }
+
+    void addBytesRead(long bytes) {
+        if (metrics != null) {
+            bytesRead += bytes;
+        }
+    }
+
+    /**
+     * 실제로 읽은 바이트 수를 세도록 스트림을 감싼다. 추적하지 않으면 그대로 돌려준다.
+     * 감싼 스트림은 mark/reset을 지원하지 않으므로 호출자가 버퍼 스트림으로 한 번 더 감싸게 되어,
+     * reset 후 다시 읽는 바이트는 중복 집계되지 않는다.
+     */
+    InputStream count(InputStream input) {
+        if (metrics == null) {
+            return input;
+        }
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesRead++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    bytesRead += n;
+                }
+                return n;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 추적을 마치고 메트릭을 기록한다.
+     *
+     * @return 전달받은 결과 (호출 체인용)
+     */
+    FileCheckResult finish(FileCheckResult result) {
+        if (metrics != null) {
+            metrics.record(this, result);
+        }
+        return result;
+    }
+
+    Route route() {
+        return route;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    boolean isRecorded(Phase phase) {
+        return (recordedPhases & (1 << phase.ordinal())) != 0;
+    }
+
+    long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    FileType fileType() {
+        return fileType;
+    }
+
+    long bytesRead() {
+        return bytesRead;
+    }
+}
@@ -0,0 +1,218 @@
+package com.skax.aiplatform.common.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+
+/**
+ * 내용 지문으로 검증 결과를 재사용하는 캐시.
+ * 지문은 파일 크기, 헤더 구간의 SHA-256, 확장자, 결과에 영향을 주는 옵션으로 구성하므로
+ * 같은 업로드의 재시도나 반복 업로드되는 양식 파일은 MIME 감지와 인코딩 감지를 모두 건너뛴다.
+ * 헤더 구간만으로 결과가 정해지는 검증만 저장된다(파일 끝까지 읽는 검사는 저장하지 않음).
+ * 1차 캐시는 메모리 LRU(최대 항목 수, TTL)이며, 선택적으로 {@link VerdictStore} 2차 저장소를 둘 수 있다.
+ *
+ * <pre>{@code
+ * MultipartFileHeaderChecker.setVerdictCache(VerdictCache.builder()
+ *         .maxEntries(10_000)
+ *         .ttl(Duration.ofHours(1))
+ *         .secondTier(new FileVerdictStore(Path.of("/var/cache/file-check"), Duration.ofDays(1)))
+ *         .build());
+ * }</pre>
+ */
+public final class VerdictCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final VerdictStore secondTier;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder secondTierHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private VerdictCache(Builder builder) {
+        this.maxEntries = builder.maxEntries;
+        this.ttlNanos = builder.ttl.toNanos();
+        this.secondTier = builder.secondTier;
+        // 접근 순서 LinkedHashMap: 가장 오래 사용하지 않은 항목부터 제거
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > VerdictCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 캐시 통계.
+     *
+     * @param hits           캐시에서 결과를 찾은 횟수 (2차 저장소 적중 포함)
+     * @param misses         어느 계층에서도 찾지 못한 횟수
+     * @param secondTierHits 2차 저장소에서 찾은 횟수
+     * @param evictions      크기 제한으로 메모리에서 제거된 항목 수
+     * @param size           현재 메모리 항목 수
+     */
+    public record Stats(long hits, long misses, long secondTierHits, long evictions, int size) {
+
+        /**
+         * 적중률 (조회가 없으면 0).
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), secondTierHits.sum(), evictions.sum(), size);
+    }
+
+    /**
+     * 메모리 항목과 2차 저장소를 모두 비운다.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        if (secondTier != null) {
+            secondTier.clear();
+        }
+    }
+
+    /**
+     * 지문 키로 결과를 조회한다.
+     *
+     * @return 저장된 결과, 없거나 만료되었으면 null
+     */
+    FileCheckResult get(String key) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.storedAt <= ttlNanos) {
+                    hits.increment();
+                    return entry.result;
+                }
+                entries.remove(key);
+            }
+        }
+        if (secondTier != null) {
+            FileCheckResult result = secondTier.get(key);
+            if (result != null) {
+                hits.increment();
+                secondTierHits.increment();
+                putLocal(key, result, now);
+                return result;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 결과를 메모리와 2차 저장소에 저장한다.
+     */
+    void put(String key, FileCheckResult result) {
+        putLocal(key, result, System.nanoTime());
+        if (secondTier != null) {
+            secondTier.put(key, result);
+        }
+    }
+
+    private void putLocal(String key, FileCheckResult result, long now) {
+        synchronized (entries) {
+            entries.put(key, new Entry(result, now));
+        }
+    }
+
+    /**
+     * 내용 지문 키를 만든다. 파일명으로 사용할 수 있는 문자(영숫자, '-')만 포함한다.
+     *
+     * @param size       파일 크기
+     * @param header     헤더 구간
+     * @param extension  확장자 (점 포함, 허용 확장자만 전달됨)
+     * @param optionBits 결과에 영향을 주는 옵션 비트
+     * @param policyTag  적용한 검증 정책의 지문 (16진수)
+     */
+    static String key(long size, byte[] header, String extension, int optionBits, String policyTag) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 Java 플랫폼은 SHA-256을 제공해야 함
+            throw new IllegalStateException(e);
+        }
+        String ext = extension.startsWith(".") ? extension.substring(1) : extension;
+        return size + "-" + ext.toLowerCase() + "-" + optionBits + "-" + policyTag + "-"
+                + HexFormat.of().formatHex(digest.digest(header));
+    }
+
+    private record Entry(FileCheckResult result, long storedAt) {
+    }
+
+    /**
+     * {@link VerdictCache} 빌더.
+     */
+    public static final class Builder {
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private Duration ttl = DEFAULT_TTL;
+        private VerdictStore secondTier;
+
+        private Builder() {
+        }
+
+        /**
+         * 메모리에 유지할 최대 항목 수 (기본 10,000).
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * 메모리 항목 유효 기간 (기본 1시간).
+         */
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * 2차 저장소 (기본 없음).
+         */
+        public Builder secondTier(VerdictStore secondTier) {
+            this.secondTier = secondTier;
+            return this;
+        }
+
+        public VerdictCache build() {
+            return new VerdictCache(this);
+        }
+    }
+}
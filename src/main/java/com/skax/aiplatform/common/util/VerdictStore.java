@@ -0,0 +1,35 @@
+package com.skax.aiplatform.common.util;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileCheckResult;
+
+/**
+ * 검증 결과 캐시의 2차 저장소.
+ * 메모리 캐시({@link VerdictCache})에서 찾지 못한 결과를 조회하고, 새 결과를 함께 저장한다.
+ * 여러 스레드에서 동시에 호출되므로 구현은 스레드 안전해야 하며, 저장소 오류는 예외 대신 조회 실패(null)로 처리하는 것이 좋다.
+ *
+ * @see FileVerdictStore
+ * @see SpringCacheVerdictStore
+ */
+public interface VerdictStore {
+
+    /**
+     * 저장된 결과를 조회한다.
+     *
+     * @param key 내용 지문 키 (파일명으로 사용할 수 있는 문자만 포함)
+     * @return 저장된 결과, 없으면 null
+     */
+    FileCheckResult get(String key);
+
+    /**
+     * 결과를 저장한다.
+     *
+     * @param key    내용 지문 키
+     * @param result 검증 결과
+     */
+    void put(String key, FileCheckResult result);
+
+    /**
+     * 저장된 결과를 모두 지운다.
+     */
+    void clear();
+}
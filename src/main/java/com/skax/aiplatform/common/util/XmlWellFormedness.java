@@ -0,0 +1,211 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.XmlInfo;
+
+/**
+ * XML 문서 전체를 StAX로 한 번 읽어 잘 구성되었는지(well-formed) 확인한다.
+ * DTD는 허용하지 않으므로 내부/외부 엔티티 선언이 없고, 엔티티 확장 폭탄이나 외부 엔티티 조회가 일어나지 않는다.
+ * 텍스트와 CDATA는 조각 단위로 읽고 문서 트리를 만들지 않으므로 메모리 사용량은 문서 크기와 무관하다.
+ * 한 번에 버퍼링되는 토큰(시작 태그와 속성, 주석, 처리 명령)의 크기는 {@link #MAX_TOKEN_BYTES}로 제한한다.
+ */
+final class XmlWellFormedness {
+
+    /**
+     * 위반 종류.
+     */
+    enum Violation {
+        /** 잘 구성되지 않은 문서 (태그 짝, 뒤따르는 내용, 선언되지 않은 엔티티, 네임스페이스 접두사 등) */
+        MALFORMED,
+        /** DOCTYPE 선언 */
+        DTD,
+        /** 요소 중첩 깊이 초과 */
+        DEPTH,
+        /** 요소 하나의 속성 수(네임스페이스 선언 포함) 초과 */
+        ATTRIBUTES,
+        /** 토큰 하나의 크기 초과 */
+        TOKEN,
+        /** 문서 크기 초과 */
+        SIZE
+    }
+
+    /**
+     * 검사 결과.
+     *
+     * @param violation 위반, 없으면 null
+     * @param line      잘 구성되지 않은 위치의 줄 번호 (1부터), 알 수 없으면 -1
+     * @param column    잘 구성되지 않은 위치의 열 번호 (1부터), 알 수 없으면 -1
+     * @param info      선언 인코딩과 루트 요소 (위반이 없을 때만)
+     * @param bytesRead 읽은 바이트 수
+     */
+    record Result(Violation violation, int line, int column, XmlInfo info, long bytesRead) {
+    }
+
+    // 이벤트 하나를 만들기까지 읽을 수 있는 최대 바이트 수 (시작 태그, 주석, 처리 명령은 통째로 버퍼링됨)
+    static final int MAX_TOKEN_BYTES = 1 << 20;
+    // CDATA 구간을 나눠 돌려받는 크기
+    private static final int CDATA_CHUNK_SIZE = 8192;
+    private static final String PROPERTY_CDATA_CHUNK_SIZE = "jdk.xml.cdataChunkSize";
+
+    // 속성은 생성 후 바꾸지 않으며, 리더 생성은 스레드 안전 (JDK 내장 구현)
+    private static final XMLInputFactory FACTORY = newFactory();
+
+    private XmlWellFormedness() {
+    }
+
+    /**
+     * 스트림 끝까지 읽으며 문서를 확인한다. 스트림은 닫지 않는다.
+     *
+     * @param maxDepth      최대 요소 중첩 깊이
+     * @param maxAttributes 요소 하나의 최대 속성 수 (네임스페이스 선언 포함)
+     * @param maxBytes      최대 문서 크기 (바이트)
+     * @throws IOException 스트림을 읽을 수 없는 경우
+     */
+    static Result check(InputStream input, int maxDepth, int maxAttributes, long maxBytes) throws IOException {
+        BoundedInputStream bounded = new BoundedInputStream(input, maxBytes);
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(bounded);
+            String declaredEncoding = reader.getCharacterEncodingScheme();
+            String root = null;
+            String namespace = null;
+            int depth = 0;
+            while (reader.hasNext()) {
+                bounded.eventStart = bounded.count;
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        if (++depth > maxDepth) {
+                            return violation(Violation.DEPTH, bounded);
+                        }
+                        if (reader.getAttributeCount() + reader.getNamespaceCount() > maxAttributes) {
+                            return violation(Violation.ATTRIBUTES, bounded);
+                        }
+                        if (root == null) {
+                            String prefix = reader.getPrefix();
+                            root = prefix == null || prefix.isEmpty()
+                                    ? reader.getLocalName()
+                                    : prefix + ':' + reader.getLocalName();
+                            namespace = reader.getNamespaceURI();
+                            if (XMLConstants.NULL_NS_URI.equals(namespace)) {
+                                namespace = null;
+                            }
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> depth--;
+                    case XMLStreamConstants.DTD -> {
+                        return violation(Violation.DTD, bounded);
+                    }
+                    case XMLStreamConstants.ENTITY_REFERENCE -> {
+                        // DTD가 없으므로 미리 정의된 엔티티 외의 참조는 선언되지 않은 엔티티
+                        Location location = reader.getLocation();
+                        return new Result(Violation.MALFORMED, location.getLineNumber(),
+                                location.getColumnNumber(), null, bounded.count);
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return new Result(null, -1, -1, new XmlInfo(declaredEncoding, root, namespace), bounded.count);
+        } catch (XMLStreamException e) {
+            if (bounded.violation != null) {
+                return violation(bounded.violation, bounded);
+            }
+            if (e.getNestedException() instanceof IOException cause) {
+                throw cause;
+            }
+            Location location = e.getLocation();
+            return location != null
+                    ? new Result(Violation.MALFORMED, location.getLineNumber(), location.getColumnNumber(), null,
+                    bounded.count)
+                    : violation(Violation.MALFORMED, bounded);
+        } finally {
+            if (reader != null) {
+                try {
+                    // 리더를 닫아도 스트림은 닫히지 않음
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // 읽기가 끝난 리더의 정리 실패는 결과와 무관
+                }
+            }
+        }
+    }
+
+    private static Result violation(Violation violation, BoundedInputStream bounded) {
+        return new Result(violation, -1, -1, null, bounded.count);
+    }
+
+    private static XMLInputFactory newFactory() {
+        // 클래스패스의 다른 StAX 구현(Woodstox 등)과 무관하게 JDK 내장 구현과 그 보안 한도를 사용
+        XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        factory.setProperty(PROPERTY_CDATA_CHUNK_SIZE, CDATA_CHUNK_SIZE);
+        return factory;
+    }
+
+    /**
+     * 문서 크기와 이벤트 하나를 만들기까지 읽은 바이트 수를 제한하는 스트림.
+     * 한도를 넘으면 위반을 기록하고 {@link IOException}으로 파서를 중단시킨다.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long count;
+        // 현재 이벤트를 읽기 시작한 위치
+        private long eventStart;
+        private Violation violation;
+
+        BoundedInputStream(InputStream input, long maxBytes) {
+            super(input);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int n = super.read(bytes, offset, length);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // 호출자의 스트림은 닫지 않음
+        }
+
+        private void advance(int n) throws IOException {
+            count += n;
+            if (count > maxBytes) {
+                violation = Violation.SIZE;
+            } else if (count - eventStart > MAX_TOKEN_BYTES) {
+                violation = Violation.TOKEN;
+            }
+            if (violation != null) {
+                throw new IOException(violation.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.skax.aiplatform.common.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * ZIP 중앙 디렉터리(Central Directory)로 OOXML 문서 종류를 판별한다.
+ * 파일 끝에서 EOCD(End Of Central Directory) 레코드를 찾고 중앙 디렉터리 엔트리 이름만 확인하므로,
+ * 엔트리가 어떤 순서로 저장되었든(LibreOffice, Google 내보내기, Java zip 도구 등) 파일 크기와 무관하게
+ * 꼬리 읽기와 중앙 디렉터리 읽기, 최대 두 번의 위치 지정 읽기로 결과를 낸다.
+ */
+final class ZipCentralDirectory {
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int EOCD_MIN_SIZE = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_EOCD_SIZE = 56;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    // 중앙 디렉터리는 이 크기까지만 읽는다 (OOXML 문서는 보통 수 KB)
+    private static final int MAX_CENTRAL_DIRECTORY_BYTES = 1024 * 1024;
+
+    private static final byte[] CONTENT_TYPES = SignatureMatcher.ascii("[Content_Types].xml");
+    private static final byte[] XLSX_MAIN_PART = SignatureMatcher.ascii("xl/workbook.xml");
+    private static final byte[] DOCX_MAIN_PART = SignatureMatcher.ascii("word/document.xml");
+    private static final byte[] PPTX_MAIN_PART = SignatureMatcher.ascii("ppt/presentation.xml");
+    private static final byte[] XLSX_DIR = SignatureMatcher.ascii("xl/");
+    private static final byte[] DOCX_DIR = SignatureMatcher.ascii("word/");
+    private static final byte[] PPTX_DIR = SignatureMatcher.ascii("ppt/");
+
+    private ZipCentralDirectory() {
+    }
+
+    /**
+     * 판별 결과.
+     */
+    enum Kind {
+        XLSX(SignatureMatcher.MIME_XLSX, ".xlsx"),
+        DOCX(SignatureMatcher.MIME_DOCX, ".docx"),
+        PPTX(SignatureMatcher.MIME_PPTX, ".pptx"),
+        // OOXML이 아닌 일반 ZIP 아카이브
+        ZIP(SignatureMatcher.MIME_ZIP, ".zip"),
+        // EOCD 또는 중앙 디렉터리를 찾을 수 없음 (잘린 파일, 손상된 아카이브)
+        CORRUPT(null, null);
+
+        private final String mime;
+        private final String extension;
+
+        Kind(String mime, String extension) {
+            this.mime = mime;
+            this.extension = extension;
+        }
+
+        String mime() {
+            return mime;
+        }
+
+        /**
+         * 이 종류에 해당하는 확장자 (소문자, 점 포함).
+         */
+        String extension() {
+            return extension;
+        }
+
+        boolean isOoxml() {
+            return this == XLSX || this == DOCX || this == PPTX;
+        }
+    }
+
+    /**
+     * 원본 끝의 EOCD와 중앙 디렉터리를 읽어 아카이브 종류를 판별한다.
+     */
+    static Kind classify(PositionalSource source) throws IOException {
+        long size = source.size();
+        if (size < EOCD_MIN_SIZE) {
+            return Kind.CORRUPT;
+        }
+
+        // 1) 꼬리 읽기: EOCD(22바이트) + 최대 주석 길이
+        int tailLength = (int) Math.min(size, EOCD_MIN_SIZE + MAX_COMMENT_LENGTH);
+        long tailStart = size - tailLength;
+        ByteBuffer tail = readAt(source, tailStart, tailLength);
+        int eocd = findEocd(tail);
+        if (eocd < 0) {
+            return Kind.CORRUPT;
+        }
+
+        long entries = tail.getShort(eocd + 10) & 0xFFFFL;
+        long directorySize = tail.getInt(eocd + 12) & 0xFFFFFFFFL;
+        long directoryOffset = tail.getInt(eocd + 16) & 0xFFFFFFFFL;
+        if (entries == 0xFFFFL || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+            // ZIP64: 로케이터가 가리키는 ZIP64 EOCD에서 실제 값을 읽는다
+            long[] zip64 = readZip64Directory(source, tail, tailStart, eocd);
+            if (zip64 == null) {
+                return Kind.CORRUPT;
+            }
+            directorySize = zip64[0];
+            directoryOffset = zip64[1];
+        }
+        if (directoryOffset < 0 || directorySize < 0 || directoryOffset + directorySize > tailStart + eocd) {
+            return Kind.CORRUPT;
+        }
+
+        // 2) 중앙 디렉터리 읽기: 꼬리 버퍼에 이미 들어 있으면 추가 읽기 없음
+        int length = (int) Math.min(directorySize, MAX_CENTRAL_DIRECTORY_BYTES);
+        ByteBuffer directory;
+        int base;
+        if (directoryOffset >= tailStart) {
+            directory = tail;
+            base = (int) (directoryOffset - tailStart);
+        } else {
+            directory = readAt(source, directoryOffset, length);
+            base = 0;
+        }
+        return classifyEntries(directory, base, base + Math.min(length, directory.limit() - base));
+    }
+
+    private static Kind classifyEntries(ByteBuffer directory, int from, int to) {
+        boolean contentTypes = false;
+        Kind mainPart = null;
+        Kind directoryHint = null;
+        int hints = 0;
+
+        int position = from;
+        while (position + CENTRAL_HEADER_SIZE <= to && directory.getInt(position) == CENTRAL_HEADER_SIGNATURE) {
+            int nameLength = directory.getShort(position + 28) & 0xFFFF;
+            int extraLength = directory.getShort(position + 30) & 0xFFFF;
+            int commentLength = directory.getShort(position + 32) & 0xFFFF;
+            int name = position + CENTRAL_HEADER_SIZE;
+            if (name + nameLength > to) {
+                break;
+            }
+
+            if (nameEquals(directory, name, nameLength, CONTENT_TYPES)) {
+                contentTypes = true;
+            } else if (mainPart == null) {
+                if (nameEquals(directory, name, nameLength, XLSX_MAIN_PART)) {
+                    mainPart = Kind.XLSX;
+                } else if (nameEquals(directory, name, nameLength, DOCX_MAIN_PART)) {
+                    mainPart = Kind.DOCX;
+                } else if (nameEquals(directory, name, nameLength, PPTX_MAIN_PART)) {
+                    mainPart = Kind.PPTX;
+                } else {
+                    Kind hint = directoryHint(directory, name, nameLength);
+                    if (hint != null && hint != directoryHint) {
+                        directoryHint = hint;
+                        hints++;
+                    }
+                }
+            }
+            if (contentTypes && mainPart != null) {
+                return mainPart;
+            }
+            position = name + nameLength + extraLength + commentLength;
+        }
+
+        if (!contentTypes) {
+            return Kind.ZIP;
+        }
+        if (mainPart != null) {
+            return mainPart;
+        }
+        // 메인 파트 이름이 표준과 다른 경우, 한 종류의 파트 디렉터리만 있을 때만 인정
+        return hints == 1 ? directoryHint : Kind.ZIP;
+    }
+
+    private static Kind directoryHint(ByteBuffer directory, int name, int nameLength) {
+        if (nameStartsWith(directory, name, nameLength, XLSX_DIR)) {
+            return Kind.XLSX;
+        }
+        if (nameStartsWith(directory, name, nameLength, DOCX_DIR)) {
+            return Kind.DOCX;
+        }
+        if (nameStartsWith(directory, name, nameLength, PPTX_DIR)) {
+            return Kind.PPTX;
+        }
+        return null;
+    }
+
+    /**
+     * 꼬리 버퍼에서 뒤쪽부터 EOCD 시그니처를 찾는다. 주석 길이가 버퍼 끝과 맞아야 한다.
+     */
+    private static int findEocd(ByteBuffer tail) {
+        int limit = tail.limit();
+        for (int i = limit - EOCD_MIN_SIZE; i >= 0; i--) {
+            if (tail.get(i) == 0x50 && tail.getInt(i) == EOCD_SIGNATURE) {
+                int commentLength = tail.getShort(i + 20) & 0xFFFF;
+                if (i + EOCD_MIN_SIZE + commentLength <= limit) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * ZIP64 EOCD에서 중앙 디렉터리 크기와 위치를 읽는다.
+     *
+     * @return {크기, 위치}, 찾을 수 없으면 null
+     */
+    private static long[] readZip64Directory(PositionalSource source, ByteBuffer tail, long tailStart, int eocd)
+            throws IOException {
+        int locator = eocd - ZIP64_LOCATOR_SIZE;
+        if (locator < 0 || tail.getInt(locator) != ZIP64_LOCATOR_SIGNATURE) {
+            return null;
+        }
+        long recordOffset = tail.getLong(locator + 8);
+        if (recordOffset < 0 || recordOffset + ZIP64_EOCD_SIZE > tailStart + locator) {
+            return null;
+        }
+        ByteBuffer record = readAt(source, recordOffset, ZIP64_EOCD_SIZE);
+        if (record.limit() < ZIP64_EOCD_SIZE || record.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+            return null;
+        }
+        return new long[]{record.getLong(40), record.getLong(48)};
+    }
+
+    private static ByteBuffer readAt(PositionalSource source, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        int read = source.read(position, buffer);
+        buffer.clear();
+        buffer.limit(Math.max(read, 0));
+        return buffer;
+    }
+
+    private static boolean nameEquals(ByteBuffer buffer, int offset, int length, byte[] expected) {
+        return length == expected.length && nameStartsWith(buffer, offset, length, expected);
+    }
+
+    private static boolean nameStartsWith(ByteBuffer buffer, int offset, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -175,8 +175,8 @@ public class Main {
                     System.out.printf("✅ 검증 성공! (검증 시간: %.2f ms, 전체 시간: %.2f ms)%n",
                             validationTimeMs, totalTimeMs);
                 } else {
-                    System.out.printf("❌ 검증 실패: %s (검증 시간: %.2f ms, 전체 시간: %.2f ms)%n",
-                            result.message(), validationTimeMs, totalTimeMs);
+                    System.out.printf("❌ 검증 실패 [%s]: %s (검증 시간: %.2f ms, 전체 시간: %.2f ms)%n",
+                            result.failureCode(), result.message(), validationTimeMs, totalTimeMs);
                 }
 
             } catch (Exception e) {
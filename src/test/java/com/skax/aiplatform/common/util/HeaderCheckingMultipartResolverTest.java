@@ -0,0 +1,233 @@
+package com.skax.aiplatform.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FailureCode;
+import com.skax.aiplatform.common.util.MultipartFileHeaderChecker.FileType;
+
+class HeaderCheckingMultipartResolverTest {
+
+    private static final String BOUNDARY = "----boundary7MA4YWxk";
+    // 헤더 구간(8KB)보다 커서 검증을 통과하면 임시 파일에 쓰이는 크기
+    private static final int LARGE = 20 * 1024;
+
+    @TempDir
+    Path location;
+
+    @AfterEach
+    void resetPolicies() {
+        MultipartFileHeaderChecker.setPolicies(null);
+    }
+
+    @Test
+    void acceptsPartsUpToMaxParts() {
+        HeaderCheckingMultipartResolver resolver = new HeaderCheckingMultipartResolver();
+        resolver.setMaxParts(2);
+
+        MultipartHttpServletRequest resolved = resolver.resolveMultipart(request(2));
+
+        assertThat(resolved.getParameterValues("field")).containsExactly("value0", "value1");
+    }
+
+    @Test
+    void rejectsRequestWithMorePartsThanMaxParts() {
+        HeaderCheckingMultipartResolver resolver = new HeaderCheckingMultipartResolver();
+        resolver.setMaxParts(2);
+
+        assertThatThrownBy(() -> resolver.resolveMultipart(request(3))).isInstanceOf(MultipartException.class);
+    }
+
+    @Test
+    void acceptsAnyPartCountWithoutLimit() {
+        HeaderCheckingMultipartResolver resolver = new HeaderCheckingMultipartResolver();
+
+        MultipartHttpServletRequest resolved = resolver.resolveMultipart(request(100));
+
+        assertThat(resolved.getParameterValues("field")).hasSize(100);
+    }
+
+    @Test
+    void spoolsAcceptedFilePartToLocation() throws IOException {
+        HeaderCheckingMultipartResolver resolver = resolver();
+
+        MultipartHttpServletRequest resolved = resolver.resolveMultipart(request(
+                filePart("file", "data.csv", csv(LARGE))));
+
+        MultipartFile file = resolved.getFile("file");
+        assertThat(file.getSize()).isEqualTo(csv(LARGE).length);
+        assertThat(spooledFiles()).isEqualTo(1);
+        resolver.cleanupMultipart(resolved);
+        assertThat(spooledFiles()).isZero();
+    }
+
+    @Test
+    void rejectsSpoofedFilePartBeforeWritingIt() throws IOException {
+        HeaderCheckingMultipartResolver resolver = resolver();
+        byte[] text = "plain text, not an image\n".repeat(LARGE / 25).getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> resolver.resolveMultipart(request(filePart("file", "photo.png", text))))
+                .isInstanceOfSatisfying(RejectedUploadException.class, e -> {
+                    assertThat(e.getPartName()).isEqualTo("file");
+                    assertThat(e.getFilename()).isEqualTo("photo.png");
+                    assertThat(e.getResult().failureCode()).isEqualTo(FailureCode.EXTENSION_MIME_MISMATCH);
+                });
+        assertThat(spooledFiles()).isZero();
+    }
+
+    @Test
+    void abortsSpoolingAtMaxFileSize() throws IOException {
+        HeaderCheckingMultipartResolver resolver = resolver();
+        resolver.setMaxFileSize(LARGE / 2);
+
+        assertThatThrownBy(() -> resolver.resolveMultipart(request(filePart("file", "data.csv", csv(LARGE)))))
+                .isInstanceOf(MaxUploadSizeExceededException.class);
+        assertThat(spooledFiles()).isZero();
+    }
+
+    @Test
+    void abortsSpoolingAtPolicyTypeLimit() throws IOException {
+        MultipartFileHeaderChecker.setPolicies(FileCheckPolicies.of(FileCheckPolicy.builder()
+                .maxSize(FileType.CSV, LARGE / 2)
+                .build()));
+        HeaderCheckingMultipartResolver resolver = resolver();
+
+        assertThatThrownBy(() -> resolver.resolveMultipart(request(filePart("file", "data.csv", csv(LARGE)))))
+                .isInstanceOfSatisfying(RejectedUploadException.class, e ->
+                        assertThat(e.getResult().failureCode()).isEqualTo(FailureCode.FILE_TOO_LARGE));
+        assertThat(spooledFiles()).isZero();
+    }
+
+    @Test
+    void deletesSpooledPartsWhenLaterPartFails() throws IOException {
+        HeaderCheckingMultipartResolver resolver = resolver();
+        byte[] text = "plain text, not an image\n".repeat(40).getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> resolver.resolveMultipart(request(
+                filePart("first", "data.csv", csv(LARGE)),
+                filePart("second", "data2.csv", csv(LARGE)),
+                filePart("third", "photo.png", text))))
+                .isInstanceOfSatisfying(RejectedUploadException.class, e ->
+                        assertThat(e.getPartName()).isEqualTo("third"));
+        assertThat(spooledFiles()).isZero();
+    }
+
+    @Test
+    void abortsSpoolingWhenJpegFrameExceedsPixelBudget() throws IOException {
+        MultipartFileHeaderChecker.setPolicies(FileCheckPolicies.of(FileCheckPolicy.builder()
+                .maxImagePixels(100_000_000L)
+                .build()));
+        HeaderCheckingMultipartResolver resolver = resolver();
+        // EXIF 세그먼트가 커서 SOF가 헤더 구간 뒤에 있음 - 헤더 검증은 통과하고 쓰는 중에 거부되어야 함
+        byte[] jpeg = jpeg(LARGE, 50_000, 50_000);
+
+        assertThatThrownBy(() -> resolver.resolveMultipart(request(filePart("file", "photo.jpg", jpeg))))
+                .isInstanceOfSatisfying(RejectedUploadException.class, e ->
+                        assertThat(e.getResult().failureCode()).isEqualTo(FailureCode.IMAGE_TOO_LARGE));
+        assertThat(spooledFiles()).isZero();
+    }
+
+    @Test
+    void acceptsJpegWithinPixelBudget() throws IOException {
+        MultipartFileHeaderChecker.setPolicies(FileCheckPolicies.of(FileCheckPolicy.builder()
+                .maxImagePixels(100_000_000L)
+                .build()));
+        HeaderCheckingMultipartResolver resolver = resolver();
+        byte[] jpeg = jpeg(LARGE, 4_000, 3_000);
+
+        MultipartHttpServletRequest resolved = resolver.resolveMultipart(request(
+                filePart("file", "photo.jpg", jpeg)));
+
+        assertThat(resolved.getFile("file").getBytes()).isEqualTo(jpeg);
+    }
+
+    private HeaderCheckingMultipartResolver resolver() {
+        HeaderCheckingMultipartResolver resolver = new HeaderCheckingMultipartResolver();
+        resolver.setLocation(location);
+        return resolver;
+    }
+
+    private long spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(location)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] csv(int size) {
+        StringBuilder csv = new StringBuilder("id,name,amount\n");
+        for (int row = 0; csv.length() < size; row++) {
+            csv.append(row).append(",name").append(row).append(',').append(row * 7).append('\n');
+        }
+        return csv.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * SOI, 지정 길이의 APP1(EXIF) 세그먼트, 기준선 SOF0, EOI로 된 JPEG.
+     */
+    private static byte[] jpeg(int app1Length, int width, int height) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1});
+        out.write(app1Length >> 8);
+        out.write(app1Length);
+        byte[] exif = new byte[app1Length - 2];
+        System.arraycopy("Exif\0\0".getBytes(StandardCharsets.US_ASCII), 0, exif, 0, 6);
+        out.writeBytes(exif);
+        out.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xC0, 0, 17, 8,
+                (byte) (height >> 8), (byte) height, (byte) (width >> 8), (byte) width,
+                3, 1, 0x22, 0, 2, 0x11, 1, 3, 0x11, 1});
+        out.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xD9});
+        return out.toByteArray();
+    }
+
+    private static byte[] filePart(String name, String filename, byte[] content) {
+        ByteArrayOutputStream part = new ByteArrayOutputStream();
+        part.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        part.writeBytes(content);
+        part.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        return part.toByteArray();
+    }
+
+    private static MockHttpServletRequest request(byte[]... parts) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            body.writeBytes(part);
+        }
+        body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.toByteArray());
+        return request;
+    }
+
+    private static MockHttpServletRequest request(int parts) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < parts; i++) {
+            body.append("--").append(BOUNDARY).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"field\"\r\n\r\n")
+                    .append("value").append(i).append("\r\n");
+        }
+        body.append("--").append(BOUNDARY).append("--\r\n");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.toString().getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,183 @@
+package com.skax.aiplatform.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.multipart.MultipartException;
+
+class MultipartStreamParserTest {
+
+    private static final String BOUNDARY = "----boundary7MA4YWxk";
+    // 파서의 최소 버퍼 크기 (파트 헤더 최대 크기의 두 배)
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 7, 4096})
+    void findsDelimiterSplitAcrossBufferFills(int chunkSize) throws IOException {
+        // 첫 파트 본문이 버퍼보다 커서 구분자가 버퍼를 다시 채우는 지점에 걸침
+        String large = "x".repeat(BUFFER_SIZE - 5);
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+                + large + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"b\"\r\n\r\n"
+                + "second\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+
+        List<String> values = readAll(new ChunkedInputStream(bytes(body), chunkSize));
+
+        assertThat(values).containsExactly(large, "second");
+    }
+
+    @Test
+    void keepsBodyBytesThatOnlyResembleTheDelimiter() throws IOException {
+        String value = "line\r\n--" + BOUNDARY.substring(0, 10) + "\r\n--";
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+                + value + "\r\n"
+                + "--" + BOUNDARY + "--";
+
+        assertThat(readAll(new ChunkedInputStream(bytes(body), 2))).containsExactly(value);
+    }
+
+    @Test
+    void readsFirstPartWithoutPreamble() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+                + "value\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+
+        assertThat(readAll(new ByteArrayInputStream(bytes(body)))).containsExactly("value");
+    }
+
+    @Test
+    void skipsPreamble() throws IOException {
+        String body = "preamble text\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+                + "value\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+
+        assertThat(readAll(new ByteArrayInputStream(bytes(body)))).containsExactly("value");
+    }
+
+    @Test
+    void readsEmptyPartBody() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+                + "\r\n"
+                + "--" + BOUNDARY + "--";
+
+        assertThat(readAll(new ByteArrayInputStream(bytes(body)))).containsExactly("");
+    }
+
+    @Test
+    void unfoldsFoldedHeaders() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data;\r\n"
+                + " name=\"file\";\r\n"
+                + "\tfilename=\"a.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + "a,b\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(bytes(body)), BOUNDARY,
+                BUFFER_SIZE);
+
+        HttpHeaders headers = parser.nextPart();
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("form-data; name=\"file\"; filename=\"a.csv\"");
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("text/csv");
+        assertThat(new String(parser.body().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("a,b");
+        assertThat(parser.nextPart()).isNull();
+    }
+
+    @Test
+    void rejectsFoldedLineWithoutHeader() {
+        String body = "--" + BOUNDARY + "\r\n"
+                + " name=\"a\"\r\n\r\n"
+                + "value\r\n"
+                + "--" + BOUNDARY + "--";
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(bytes(body)), BOUNDARY,
+                BUFFER_SIZE);
+
+        assertThatThrownBy(parser::nextPart).isInstanceOf(MultipartException.class);
+    }
+
+    @Test
+    void rejectsBodyTruncatedInsidePart() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+                + "value without closing delimiter";
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(bytes(body)), BOUNDARY,
+                BUFFER_SIZE);
+
+        assertThat(parser.nextPart()).isNotNull();
+        assertThatThrownBy(() -> parser.body().readAllBytes()).isInstanceOf(MultipartException.class);
+    }
+
+    @Test
+    void rejectsBodyTruncatedInsideHeaders() {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n";
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(bytes(body)), BOUNDARY,
+                BUFFER_SIZE);
+
+        assertThatThrownBy(parser::nextPart).isInstanceOf(MultipartException.class);
+    }
+
+    @Test
+    void rejectsBodyTruncatedAfterDelimiter() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+                + "value\r\n"
+                + "--" + BOUNDARY;
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(bytes(body)), BOUNDARY,
+                BUFFER_SIZE);
+
+        assertThat(parser.nextPart()).isNotNull();
+        assertThatThrownBy(parser::nextPart).isInstanceOf(MultipartException.class);
+    }
+
+    private static List<String> readAll(InputStream input) throws IOException {
+        MultipartStreamParser parser = new MultipartStreamParser(input, BOUNDARY, BUFFER_SIZE);
+        List<String> values = new ArrayList<>();
+        while (parser.nextPart() != null) {
+            values.add(new String(parser.body().readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 한 번에 최대 {@code chunkSize} 바이트만 돌려주는 스트림 (네트워크에서 조각으로 도착하는 본문).
+     */
+    private static final class ChunkedInputStream extends ByteArrayInputStream {
+
+        private final int chunkSize;
+
+        ChunkedInputStream(byte[] bytes, int chunkSize) {
+            super(bytes);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, chunkSize));
+        }
+    }
+}